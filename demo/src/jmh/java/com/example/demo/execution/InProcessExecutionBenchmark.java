@@ -0,0 +1,97 @@
+package com.example.demo.execution;
+
+import com.example.demo.execution.builder.CompileBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로세스 내 실행(CompileBuilder.runObjectWithStreams) 동시 처리량 벤치마크
+ *
+ * - parallel1/8/32: 동시에 실행하는 요청 수 (JMH 스레드 수)
+ * - routed: StandardStreamRouter로 스레드별 표준 입출력 연결 (현재 방식)
+ * - locked: 실행 전체를 전역 잠금으로 감싼 기존 방식 (IO_LOCK) 비교 기준
+ * - 실행 하나 = stdin에서 숫자 읽기 + 계산 + 여러 줄 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InProcessExecutionBenchmark {
+
+    private static final Object GLOBAL_LOCK = new Object();
+
+    private static final String SOURCE = "import java.util.Scanner;\n"
+            + "public class Worker {\n"
+            + "    public static void main(String[] args) {\n"
+            + "        int rounds = new Scanner(System.in).nextInt();\n"
+            + "        long sum = 0;\n"
+            + "        for (int r = 0; r < rounds; r++) {\n"
+            + "            for (int i = 0; i < 100000; i++) {\n"
+            + "                sum += (long) i * i % 7;\n"
+            + "            }\n"
+            + "            System.out.println(\"round \" + r + \": \" + sum);\n"
+            + "        }\n"
+            + "        System.err.println(\"done\");\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final byte[] STDIN = "5\n".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"routed", "locked"})
+    private String mode;
+
+    private CompileBuilder compileBuilder;
+    private Object compiled;
+
+    @Setup
+    public void setUp() throws Exception {
+        compileBuilder = new CompileBuilder();
+        compiled = compileBuilder.compileCode(SOURCE);
+        if(!(compiled instanceof Class)) {
+            throw new IllegalStateException("compile failed: " + compiled);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<String, Object> parallel1() throws Exception {
+        return run();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Map<String, Object> parallel8() throws Exception {
+        return run();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Map<String, Object> parallel32() throws Exception {
+        return run();
+    }
+
+    private Map<String, Object> run() throws Exception {
+        InputStream stdin = new ByteArrayInputStream(STDIN);
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        if("locked".equals(mode)) {
+            synchronized (GLOBAL_LOCK) {
+                return compileBuilder.runObjectWithStreams(compiled, null, stdin, stdout, stderr);
+            }
+        }
+        return compileBuilder.runObjectWithStreams(compiled, null, stdin, stdout, stderr);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.demo.filecontent;
+
+import com.example.demo.file.repository.FileRepository;
+import com.example.demo.filecontent.config.FileContentProperties;
+import com.example.demo.filecontent.entity.ContentBlob;
+import com.example.demo.filecontent.entity.FileContent;
+import com.example.demo.filecontent.repository.FileContentRepository;
+import com.example.demo.filecontent.service.ContentBlobStore;
+import com.example.demo.filecontent.service.FileContentVersionStore;
+import com.example.demo.filecontent.util.ContentCompressor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 버전 저장(DELTA + 키프레임) 벤치마크
+ *
+ * - versions개 버전을 실제 FileContentVersionStore.append로 저장 (DB 대신 메모리 저장소)
+ * - 편집 하나 = 임의 위치에 몇 글자 입력, 가끔 한 줄 교체 (타이핑 중 자동 저장)
+ * - keyframeInterval: 1이면 모든 버전이 전체 텍스트 (기존 FULL 방식 + blob 압축)
+ * - 저장량은 보조 결과로 보고
+ *   - fullBytes: 모든 버전을 압축 없이 전체 텍스트로 저장했을 때 (기존 방식)
+ *   - storedBytes: 키프레임 blob(압축 후) + DELTA 변경 텍스트
+ * - 복원 지연
+ *   - reconstructLatest: 최신 버전 (가장 가까운 키프레임부터 적용)
+ *   - reconstructRandomVersion: 임의 버전 (버전별 조회)
+ *   - reconstructHistoryPage: 최근 20개 버전 (히스토리 한 페이지)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VersionHistoryBenchmark {
+
+    private static final Long FILE_ID = 1L;
+    private static final int HISTORY_PAGE_SIZE = 20;
+
+    @Param({"10000", "200000"})
+    private int documentSize;
+
+    @Param({"1", "10", "50", "200"})
+    private int keyframeInterval;
+
+    @Param({"1000"})
+    private int versions;
+
+    private FileContentVersionStore versionStore;
+    private List<FileContent> rows;
+    private List<FileContent> historyPage;
+    private int[] randomVersions;
+    private int next;
+    private long fullBytes;
+    private long storedBytes;
+
+    @Setup
+    public void setUp() {
+        FileContentProperties properties = new FileContentProperties();
+        properties.setKeyframeInterval(keyframeInterval);
+
+        rows = new ArrayList<>();
+        InMemoryBlobStore blobStore = new InMemoryBlobStore(properties);
+        versionStore = new FileContentVersionStore(contentRepository(rows), properties, blobStore, fileRepository());
+
+        Random random = new Random(42);
+        String text = generateSource(documentSize, random);
+        String previous = null;
+        for (int version = 1; version <= versions; version++) {
+            versionStore.append(FILE_ID, version, text, version > 1 ? version - 1 : null, previous, null);
+            fullBytes += text.getBytes(StandardCharsets.UTF_8).length;
+            previous = text;
+            text = edit(text, random);
+        }
+
+        storedBytes = blobStore.storedBytes;
+        for (FileContent row : rows) {
+            if (!row.isKeyframe()) {
+                storedBytes += row.getContent().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+
+        historyPage = new ArrayList<>(rows.subList(rows.size() - HISTORY_PAGE_SIZE, rows.size()));
+        randomVersions = new int[1024];
+        for (int i = 0; i < randomVersions.length; i++) {
+            randomVersions[i] = random.nextInt(rows.size());
+        }
+    }
+
+    @Benchmark
+    public String reconstructLatest(StorageCounters counters) {
+        counters.report(this);
+        return versionStore.reconstruct(rows.get(rows.size() - 1));
+    }
+
+    @Benchmark
+    public String reconstructRandomVersion(StorageCounters counters) {
+        counters.report(this);
+        int index = randomVersions[next++ & (randomVersions.length - 1)];
+        return versionStore.reconstruct(rows.get(index));
+    }
+
+    @Benchmark
+    public Map<Integer, String> reconstructHistoryPage(StorageCounters counters) {
+        counters.report(this);
+        return versionStore.reconstructAll(historyPage);
+    }
+
+    /**
+     * 저장량 보조 결과 (반복마다 같은 값)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StorageCounters {
+        public long fullBytes;
+        public long storedBytes;
+
+        void report(VersionHistoryBenchmark benchmark) {
+            fullBytes = benchmark.fullBytes;
+            storedBytes = benchmark.storedBytes;
+        }
+    }
+
+    // 저장된 행을 버전 순서대로 보관하는 FileContentRepository (append/복원에서 쓰는 조회만 구현)
+    private static FileContentRepository contentRepository(List<FileContent> rows) {
+        return (FileContentRepository) Proxy.newProxyInstance(
+            FileContentRepository.class.getClassLoader(), new Class<?>[]{FileContentRepository.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "save":
+                        rows.add((FileContent) args[0]);
+                        return args[0];
+                    case "findFirstByFileIdOrderByVersionDesc":
+                        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(rows.size() - 1));
+                    case "findByFileIdAndVersionBetweenOrderByVersionAsc":
+                        // 버전 번호 = 행 순서 (1부터 빠짐 없이 저장)
+                        return new ArrayList<>(rows.subList((Integer) args[1] - 1, (Integer) args[2]));
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "InMemoryFileContentRepository";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    // 파일 행이 없는 저장소 (head 포인터 없이 버전 역순 조회로 최신 버전을 찾음)
+    private static FileRepository fileRepository() {
+        return (FileRepository) Proxy.newProxyInstance(
+            FileRepository.class.getClassLoader(), new Class<?>[]{FileRepository.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "findByIdForUpdate":
+                    case "findById":
+                        return Optional.empty();
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "InMemoryFileRepository";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    // 실제 저장소와 같은 조건으로 압축하여 메모리에 보관하는 blob 저장소
+    private static class InMemoryBlobStore extends ContentBlobStore {
+        private final FileContentProperties properties;
+        private final Map<String, byte[]> blobs = new HashMap<>();
+        private final Map<String, Integer> deflatedLengths = new HashMap<>();
+        private long storedBytes;
+
+        InMemoryBlobStore(FileContentProperties properties) {
+            super(null, properties);
+            this.properties = properties;
+        }
+
+        @Override
+        public String store(String content) {
+            String hash = String.valueOf(blobs.size());
+            byte[] data;
+            if (properties.getCompression() == ContentBlob.Encoding.DEFLATE
+                && content.length() >= properties.getCompressionMinSize()) {
+                data = ContentCompressor.deflate(content, properties.getCompressionLevel());
+                deflatedLengths.put(hash, content.length());
+            } else {
+                data = content.getBytes(StandardCharsets.UTF_8);
+            }
+            blobs.put(hash, data);
+            storedBytes += data.length;
+            return hash;
+        }
+
+        @Override
+        public String load(String hash) {
+            byte[] data = blobs.get(hash);
+            Integer length = deflatedLengths.get(hash);
+            return length != null ? ContentCompressor.inflate(data, length) : new String(data, StandardCharsets.UTF_8);
+        }
+    }
+
+    // 소스 코드와 비슷한 줄 단위 텍스트 생성
+    private static String generateSource(int size, Random random) {
+        StringBuilder builder = new StringBuilder(size + 80);
+        int line = 0;
+        while (builder.length() < size) {
+            int indent = random.nextInt(4) * 4;
+            builder.append(" ".repeat(indent))
+                .append("int value").append(line).append(" = compute(").append(random.nextInt(1000)).append(");\n");
+            line++;
+        }
+        return builder.substring(0, size);
+    }
+
+    // 자동 저장 사이의 편집: 대부분 몇 글자 입력, 10번에 한 번 한 줄 교체
+    private static String edit(String text, Random random) {
+        int position = random.nextInt(text.length() + 1);
+        if (random.nextInt(10) != 0) {
+            return text.substring(0, position) + "x".repeat(1 + random.nextInt(8)) + text.substring(position);
+        }
+        int lineStart = text.lastIndexOf('\n', Math.max(0, position - 1)) + 1;
+        int lineEnd = text.indexOf('\n', position);
+        lineEnd = lineEnd < 0 ? text.length() : lineEnd;
+        return text.substring(0, lineStart) + "String replaced = \"line" + random.nextInt(1000) + "\";"
+            + text.substring(lineEnd);
+    }
+}
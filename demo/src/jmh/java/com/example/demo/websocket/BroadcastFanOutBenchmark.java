@@ -0,0 +1,102 @@
+package com.example.demo.websocket;
+
+import com.example.demo.common.websocket.MessageCodec;
+import com.example.demo.websocket.broadcast.EditorBroadcaster;
+import com.example.demo.websocket.config.EditorProperties;
+import com.example.demo.websocket.dto.TextSnapshotMessage;
+import com.example.demo.websocket.dto.TextSyncMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TEXT_SYNC 브로드캐스트 fan-out 벤치마크
+ *
+ * - roomSize: 같은 파일을 편집 중인 세션 수
+ * - broadcast: EditorBroadcaster에 넘기고 반환될 때까지 (직렬화 1회 + 세션별 큐 추가, 파일 lane이 막히는 시간)
+ * - broadcastAndDeliver: 모든 세션에 실제 전송이 끝날 때까지
+ * - serializePerSession: 기존 방식 (세션마다 직렬화 후 같은 스레드에서 바로 전송) 비교 기준
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastFanOutBenchmark {
+
+    @Param({"2", "10", "50", "100", "500"})
+    private int roomSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong delivered = new AtomicLong();
+
+    private EditorBroadcaster broadcaster;
+    private List<WebSocketSession> sessions;
+    private TextSyncMessage syncMessage;
+    private TextSnapshotMessage snapshotMessage;
+
+    @Setup
+    public void setUp() {
+        broadcaster = new EditorBroadcaster(new MessageCodec(), new EditorProperties(), new SimpleMeterRegistry());
+        sessions = new ArrayList<>(roomSize);
+        for (int i = 0; i < roomSize; i++) {
+            WebSocketSession session = new BenchmarkWebSocketSession("session-" + i, delivered);
+            broadcaster.register(session);
+            sessions.add(session);
+        }
+
+        TextSyncMessage.TextChange change = new TextSyncMessage.TextChange(
+            new TextSyncMessage.TextChange.Range(120, 125), "value");
+        syncMessage = new TextSyncMessage(6, change, Collections.singletonList(change), null, null);
+        syncMessage.setType("TEXT_SYNC");
+        syncMessage.setFileId(1L);
+        syncMessage.setUserId(1L);
+
+        snapshotMessage = new TextSnapshotMessage();
+        snapshotMessage.setType("TEXT_SNAPSHOT");
+        snapshotMessage.setFileId(1L);
+        snapshotMessage.setContent("");
+        snapshotMessage.setVersion(6);
+    }
+
+    @TearDown
+    public void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        // 전송은 sender 스레드가 동시에 처리 (밀리면 느린 클라이언트 정책이 적용됨)
+        broadcaster.broadcast(sessions, syncMessage, () -> snapshotMessage);
+    }
+
+    @Benchmark
+    public void broadcastAndDeliver() {
+        long target = delivered.get() + roomSize;
+        broadcaster.broadcast(sessions, syncMessage, () -> snapshotMessage);
+        while (delivered.get() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    public void serializePerSession() throws Exception {
+        for (WebSocketSession session : sessions) {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(syncMessage)));
+        }
+    }
+}
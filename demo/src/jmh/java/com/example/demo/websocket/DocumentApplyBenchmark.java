@@ -0,0 +1,76 @@
+package com.example.demo.websocket;
+
+import com.example.demo.websocket.document.EditorDocument;
+import com.example.demo.websocket.ot.TextOperation;
+import com.example.demo.websocket.util.TextDiffUtil;
+import com.example.demo.websocket.util.TextRope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 큰 문서의 편집 적용 지연 벤치마크 (String vs TextRope)
+ *
+ * - 편집 하나 = 임의 위치 한 글자 입력 + 역연산 생성 (EditorDocument.apply와 같은 작업)
+ * - string: 기존 방식 (편집마다 문서 전체 복사)
+ * - rope: TextRope (바뀐 경로만 새로 만듦)
+ * - editorDocument: 연산 로그 기록까지 포함한 EditorDocument.apply
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentApplyBenchmark {
+
+    @Param({"1000000", "5000000"})
+    private int documentSize;
+
+    private final Random random = new Random(42);
+
+    private String stringText;
+    private TextRope ropeText;
+    private EditorDocument document;
+
+    @Setup
+    public void setUp() {
+        String text = TextDiffBenchmark.generateSource(documentSize, new Random(42));
+        stringText = text;
+        ropeText = TextRope.of(text);
+        document = new EditorDocument(1L, text, 0, 100);
+    }
+
+    @Benchmark
+    public String string() {
+        TextOperation operation = insertAtRandom(stringText.length());
+        // 역연산에 필요한 지워지는 구간만 꺼냄 (invert(String)은 TextRope로 바꾸어 처리하므로 기존 방식 비용과 다름)
+        TextDiffUtil.TextChange change = operation.getChanges().get(0);
+        stringText.substring(change.getRange().getStart(), change.getRange().getEnd());
+        stringText = operation.apply(stringText);
+        return stringText;
+    }
+
+    @Benchmark
+    public TextRope rope() {
+        TextOperation operation = insertAtRandom(ropeText.length());
+        operation.invert(ropeText);
+        ropeText = operation.apply(ropeText);
+        return ropeText;
+    }
+
+    @Benchmark
+    public int editorDocument() {
+        return document.apply(insertAtRandom(document.getContent().length()), 1L, null);
+    }
+
+    private TextOperation insertAtRandom(int length) {
+        int position = random.nextInt(length + 1);
+        return TextOperation.of(new TextDiffUtil.TextChange(new TextDiffUtil.TextChange.Range(position, position), "x"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.websocket;
+
+import com.example.demo.common.websocket.MessageCodec;
+import com.example.demo.common.websocket.WireFormat;
+import com.example.demo.websocket.dto.EditorMessage;
+import com.example.demo.websocket.dto.TextChangeMessage;
+import com.example.demo.websocket.dto.TextSyncMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에디터 메시지 JSON 직렬화/역직렬화 벤치마크
+ *
+ * - TEXT_CHANGE: 전체 텍스트를 담은 클라이언트 메시지 (contentSize 크기)
+ * - TEXT_SYNC: 서버가 브로드캐스트하는 변경 사항 메시지 (changeCount개 변경)
+ * - decode는 이전 핸들러 방식 (EditorMessage로 타입 확인 후 구체 타입으로 다시 읽기),
+ *   다형성 한 번 읽기, 핸들러가 사용하는 MessageCodec(미리 만든 ObjectReader)을 함께 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EditorMessageCodecBenchmark {
+
+    @Param({"1000", "100000"})
+    private int contentSize;
+
+    @Param({"1", "10"})
+    private int changeCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MessageCodec codec = new MessageCodec();
+
+    private TextChangeMessage textChangeMessage;
+    private TextSyncMessage textSyncMessage;
+    private String textChangeJson;
+    private String textSyncJson;
+    private TextMessage textChangeFrame;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+
+        textChangeMessage = new TextChangeMessage(TextDiffBenchmark.generateSource(contentSize, random), 5, null);
+        textChangeMessage.setType("TEXT_CHANGE");
+        textChangeMessage.setFileId(123L);
+        textChangeMessage.setUserId(1L);
+
+        List<TextSyncMessage.TextChange> changes = new ArrayList<>();
+        for (int i = 0; i < changeCount; i++) {
+            int start = i * 100;
+            changes.add(new TextSyncMessage.TextChange(
+                new TextSyncMessage.TextChange.Range(start, start + 5), "value" + random.nextInt(1000)));
+        }
+        textSyncMessage = new TextSyncMessage(6, changes.size() == 1 ? changes.get(0) : null, changes, null, null);
+        textSyncMessage.setType("TEXT_SYNC");
+        textSyncMessage.setFileId(123L);
+        textSyncMessage.setUserId(1L);
+
+        textChangeJson = objectMapper.writeValueAsString(textChangeMessage);
+        textSyncJson = objectMapper.writeValueAsString(textSyncMessage);
+        textChangeFrame = new TextMessage(textChangeJson);
+    }
+
+    @Benchmark
+    public String encodeTextChange() throws Exception {
+        return objectMapper.writeValueAsString(textChangeMessage);
+    }
+
+    @Benchmark
+    public String encodeTextSync() throws Exception {
+        return objectMapper.writeValueAsString(textSyncMessage);
+    }
+
+    @Benchmark
+    public EditorMessage decodeTextChange() throws Exception {
+        return objectMapper.readValue(textChangeJson, EditorMessage.class);
+    }
+
+    @Benchmark
+    public EditorMessage decodeTextChangeCodec() throws Exception {
+        return codec.decode(textChangeFrame, EditorMessage.class);
+    }
+
+    @Benchmark
+    public WebSocketMessage<?> encodeTextSyncCodec() throws Exception {
+        return codec.encode(textSyncMessage, WireFormat.JSON);
+    }
+
+    @Benchmark
+    public TextChangeMessage decodeTextChangeTwice() throws Exception {
+        // 이전 EditorWebSocketHandler 방식: 타입 확인 후 구체 타입으로 다시 파싱
+        objectMapper.readValue(textChangeJson, EditorMessage.class);
+        return objectMapper.readValue(textChangeJson, TextChangeMessage.class);
+    }
+
+    @Benchmark
+    public EditorMessage decodeTextSync() throws Exception {
+        return objectMapper.readValue(textSyncJson, EditorMessage.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.websocket;
+
+import com.example.demo.websocket.util.TextDiffUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TEXT_CHANGE 처리의 diff 계산 벤치마크
+ *
+ * - documentSize: 문서 크기 (문자 수)
+ * - shape: 편집 형태
+ *   - SINGLE_INSERT: 문서 중간에 한 글자 입력 (가장 흔한 타이핑)
+ *   - LINE_REPLACE: 문서 중간의 한 줄 교체
+ *   - SCATTERED: 떨어진 여러 줄을 동시에 수정 (찾아 바꾸기, 포매터)
+ *   - REPLACE_ALL: 전체 텍스트 교체 (붙여넣기)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextDiffBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int documentSize;
+
+    @Param({"SINGLE_INSERT", "LINE_REPLACE", "SCATTERED", "REPLACE_ALL"})
+    private String shape;
+
+    private String oldText;
+    private String newText;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        oldText = generateSource(documentSize, random);
+        newText = edit(oldText, shape, random);
+    }
+
+    @Benchmark
+    public TextDiffUtil.TextChange calculateDiff() {
+        return TextDiffUtil.calculateDiff(oldText, newText);
+    }
+
+    @Benchmark
+    public List<TextDiffUtil.TextChange> calculateDiffs() {
+        return TextDiffUtil.calculateDiffs(oldText, newText);
+    }
+
+    // 소스 코드와 비슷한 줄 단위 텍스트 생성
+    static String generateSource(int size, Random random) {
+        StringBuilder builder = new StringBuilder(size + 80);
+        int line = 0;
+        while (builder.length() < size) {
+            int indent = random.nextInt(4) * 4;
+            builder.append(" ".repeat(indent))
+                .append("int value").append(line).append(" = compute(").append(random.nextInt(1000)).append(");\n");
+            line++;
+        }
+        return builder.substring(0, size);
+    }
+
+    static String edit(String text, String shape, Random random) {
+        int middle = text.length() / 2;
+        switch (shape) {
+            case "SINGLE_INSERT":
+                return text.substring(0, middle) + "x" + text.substring(middle);
+            case "LINE_REPLACE": {
+                int lineStart = text.lastIndexOf('\n', middle) + 1;
+                int lineEnd = text.indexOf('\n', middle);
+                lineEnd = lineEnd < 0 ? text.length() : lineEnd;
+                return text.substring(0, lineStart) + "String replaced = \"line\";" + text.substring(lineEnd);
+            }
+            case "SCATTERED": {
+                StringBuilder builder = new StringBuilder(text);
+                int step = Math.max(1, text.length() / 10);
+                for (int position = text.length() - step / 2; position > 0; position -= step) {
+                    builder.insert(position, "/* edit " + random.nextInt(100) + " */");
+                }
+                return builder.toString();
+            }
+            case "REPLACE_ALL":
+                return generateSource(text.length(), random);
+            default:
+                throw new IllegalArgumentException("알 수 없는 편집 형태: " + shape);
+        }
+    }
+}
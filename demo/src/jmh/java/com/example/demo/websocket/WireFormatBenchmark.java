@@ -0,0 +1,103 @@
+package com.example.demo.websocket;
+
+import com.example.demo.common.websocket.MessageCodec;
+import com.example.demo.common.websocket.WireFormat;
+import com.example.demo.websocket.dto.EditorMessage;
+import com.example.demo.websocket.dto.TextOperationMessage;
+import com.example.demo.websocket.dto.TextSyncMessage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 형식(JSON/CBOR)별 키 입력 한 번의 크기와 직렬화/역직렬화 시간
+ *
+ * - keystroke: 한 글자 TEXT_OPERATION (클라이언트 → 서버)
+ * - sync: 그 결과로 브로드캐스트되는 TEXT_SYNC (서버 → 클라이언트)
+ * - 프레임 크기는 보조 결과로 보고 (FrameSizes: keystrokeBytes, syncBytes)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    private WireFormat format;
+
+    private final MessageCodec codec = new MessageCodec();
+
+    private TextOperationMessage keystroke;
+    private TextSyncMessage sync;
+    private WebSocketMessage<?> keystrokeFrame;
+    private WebSocketMessage<?> syncFrame;
+    private long keystrokeBytes;
+    private long syncBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        keystroke = new TextOperationMessage(new TextSyncMessage.TextChange.Range(1234, 1234), "a", 57, null);
+        keystroke.setType("TEXT_OPERATION");
+        keystroke.setFileId(123L);
+
+        TextSyncMessage.TextChange change = new TextSyncMessage.TextChange(
+            new TextSyncMessage.TextChange.Range(1234, 1234), "a");
+        sync = new TextSyncMessage(58, change, Collections.singletonList(change), null, null);
+        sync.setType("TEXT_SYNC");
+        sync.setFileId(123L);
+        sync.setUserId(1L);
+
+        keystrokeFrame = codec.encode(keystroke, format);
+        syncFrame = codec.encode(sync, format);
+        keystrokeBytes = keystrokeFrame.getPayloadLength();
+        syncBytes = syncFrame.getPayloadLength();
+    }
+
+    @Benchmark
+    public WebSocketMessage<?> encodeKeystroke(FrameSizes sizes) throws Exception {
+        sizes.report(this);
+        return codec.encode(keystroke, format);
+    }
+
+    @Benchmark
+    public EditorMessage decodeKeystroke(FrameSizes sizes) throws Exception {
+        sizes.report(this);
+        return codec.decode(keystrokeFrame, EditorMessage.class);
+    }
+
+    @Benchmark
+    public WebSocketMessage<?> encodeSync(FrameSizes sizes) throws Exception {
+        sizes.report(this);
+        return codec.encode(sync, format);
+    }
+
+    @Benchmark
+    public EditorMessage decodeSync(FrameSizes sizes) throws Exception {
+        sizes.report(this);
+        return codec.decode(syncFrame, EditorMessage.class);
+    }
+
+    /**
+     * 프레임 크기 보조 결과 (바이트, 반복마다 같은 값)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FrameSizes {
+        public long keystrokeBytes;
+        public long syncBytes;
+
+        void report(WireFormatBenchmark benchmark) {
+            keystrokeBytes = benchmark.keystrokeBytes;
+            syncBytes = benchmark.syncBytes;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SecurityScheme(
         name = "Authorization",
@@ -13,6 +14,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
         scheme = "bearer",
         in = SecuritySchemeIn.HEADER
 )
+@EnableScheduling
 @SpringBootApplication
 public class DemoApplication {
 
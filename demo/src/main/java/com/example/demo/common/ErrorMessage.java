@@ -27,6 +27,7 @@ public enum ErrorMessage {
     PARENT_NOT_FOLDER("부모 유형이 폴더여야 합니다.", HttpStatus.BAD_REQUEST),
     CANNOT_SAVE_TO_FOLDER("폴더에는 내용을 저장할 수 없습니다.", HttpStatus.BAD_REQUEST),
     CANNOT_READ_FOLDER_CONTENT("폴더는 내용을 조회할 수 없습니다.", HttpStatus.BAD_REQUEST),
+    EDITOR_SUBSCRIPTION_LIMIT_EXCEEDED("한 연결에서 동시에 편집할 수 있는 파일 수를 넘었습니다.", HttpStatus.BAD_REQUEST),
 
     // 401 Unauthorized
     INVALID_CREDENTIALS("아이디 또는 비밀번호가 올바르지 않습니다.", HttpStatus.UNAUTHORIZED),
@@ -41,7 +42,11 @@ public enum ErrorMessage {
     // 409 Conflict
     DUPLICATE_USER("이미 존재하는 사용자입니다.", HttpStatus.CONFLICT),
     PROJECT_MEMBER_ALREADY_EXISTS("이미 프로젝트 멤버입니다.", HttpStatus.CONFLICT),
-    FILE_ALREADY_EXISTS("같은 이름의 파일이 이미 존재합니다.", HttpStatus.CONFLICT);
+    FILE_ALREADY_EXISTS("같은 이름의 파일이 이미 존재합니다.", HttpStatus.CONFLICT),
+    FILE_CONTENT_VERSION_CONFLICT("다른 사용자가 먼저 저장했습니다. 다시 시도해 주세요.", HttpStatus.CONFLICT),
+
+    // 503 Service Unavailable
+    EDITOR_ROOM_UNAVAILABLE("편집 중인 파일에 저장을 반영하지 못했습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.SERVICE_UNAVAILABLE);
 
     private final String message;
     private final HttpStatus httpStatus;
@@ -0,0 +1,98 @@
+package com.example.demo.common.websocket;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 메시지 직렬화/역직렬화 (에디터, 실시간 실행 핸들러 공용)
+ *
+ * - 보내는 메시지는 연결의 형식(WireFormat)으로 직렬화
+ * - 받은 메시지는 프레임 종류로 형식 판단 (텍스트 = JSON, 바이너리 = CBOR)
+ * - 메시지 기본 타입을 넘기면 "type" 필드로 구체 타입까지 한 번에 읽음 (@JsonTypeInfo)
+ * - ObjectReader/ObjectWriter는 형식/타입별로 한 번만 만들고 재사용 (불변, 스레드 안전)
+ * - 모르는 필드는 무시 (클라이언트가 필드를 추가해도 기존 서버가 메시지를 버리지 않음)
+ */
+@Component
+public class MessageCodec {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectWriter jsonWriter = jsonMapper.writer();
+    private final ObjectWriter cborWriter = cborMapper.writer();
+    private final Map<Class<?>, ObjectReader> jsonReaders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> cborReaders = new ConcurrentHashMap<>();
+
+    /**
+     * 메시지 직렬화
+     *
+     * @param message 보낼 메시지
+     * @param format 연결의 형식
+     * @return JSON이면 TextMessage, CBOR면 BinaryMessage
+     */
+    public WebSocketMessage<?> encode(Object message, WireFormat format) throws IOException {
+        if (format == WireFormat.CBOR) {
+            return new BinaryMessage(cborWriter.writeValueAsBytes(message));
+        }
+        return new TextMessage(jsonWriter.writeValueAsString(message));
+    }
+
+    /**
+     * 메시지 역직렬화
+     *
+     * @param message 받은 프레임
+     * @param type 메시지 타입 (다형성 기본 타입이면 구체 타입으로 생성)
+     */
+    public <T> T decode(WebSocketMessage<?> message, Class<T> type) throws IOException {
+        if (message instanceof TextMessage) {
+            return reader(jsonReaders, jsonMapper, type).readValue(((TextMessage) message).getPayload());
+        }
+        ByteBuffer buffer = binaryPayload(message);
+        return reader(cborReaders, cborMapper, type)
+            .readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+
+    /**
+     * 로그용 메시지 요약 (바이너리는 크기만)
+     */
+    public static String describe(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage) {
+            return ((TextMessage) message).getPayload();
+        }
+        return "binary(" + message.getPayloadLength() + " bytes)";
+    }
+
+    private static ObjectReader reader(Map<Class<?>, ObjectReader> readers, ObjectMapper mapper, Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, key -> mapper.readerFor(key)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        }
+        return reader;
+    }
+
+    // 배열 기반 버퍼로 (복사 없이 읽기 위함)
+    private static ByteBuffer binaryPayload(WebSocketMessage<?> message) {
+        if (!(message instanceof BinaryMessage)) {
+            throw new IllegalArgumentException("지원하지 않는 메시지 종류: " + message.getClass().getSimpleName());
+        }
+        ByteBuffer buffer = ((BinaryMessage) message).getPayload();
+        if (buffer.hasArray()) {
+            return buffer;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.common.websocket;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * WebSocket 메시지 형식
+ *
+ * - 연결 시 서브프로토콜(Sec-WebSocket-Protocol)로 선택, 요청하지 않으면 JSON
+ *   예) new WebSocket(url, ["cbor"])
+ * - JSON: 텍스트 프레임, CBOR: 바이너리 프레임 (필드 구조는 같음)
+ */
+public enum WireFormat {
+
+    JSON("json"),
+    CBOR("cbor");
+
+    private static final List<String> SUBPROTOCOLS;
+
+    static {
+        List<String> subprotocols = new ArrayList<>();
+        for (WireFormat format : values()) {
+            subprotocols.add(format.subprotocol);
+        }
+        SUBPROTOCOLS = Collections.unmodifiableList(subprotocols);
+    }
+
+    private final String subprotocol;
+
+    WireFormat(String subprotocol) {
+        this.subprotocol = subprotocol;
+    }
+
+    public String getSubprotocol() {
+        return subprotocol;
+    }
+
+    /**
+     * 핸들러가 지원하는 서브프로토콜 목록 (SubProtocolCapable)
+     */
+    public static List<String> subprotocols() {
+        return SUBPROTOCOLS;
+    }
+
+    /**
+     * 연결 시 선택된 형식 (선택하지 않았으면 JSON)
+     */
+    public static WireFormat of(WebSocketSession session) {
+        String accepted = session.getAcceptedProtocol();
+        for (WireFormat format : values()) {
+            if (format.subprotocol.equalsIgnoreCase(accepted)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
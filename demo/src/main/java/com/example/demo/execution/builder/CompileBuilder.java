@@ -2,17 +2,20 @@ package com.example.demo.execution.builder;
 
 import com.example.demo.execution.dto.response.ApiResponseResult;
 import com.example.demo.execution.execute.MethodExecutation;
-import com.example.demo.execution.util.common.UUIDUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
 import javax.tools.ToolProvider;
 import java.io.*;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -21,95 +24,85 @@ import java.util.regex.Pattern;
  * Java 소스코드 컴파일 및 실행 빌더
  * 
  * 주요 기능:
- * 1. Java 소스코드를 파일로 저장하고 컴파일
- * 2. 컴파일된 클래스를 동적으로 로드하여 인스턴스 생성
+ * 1. Java 소스코드를 메모리에서 컴파일
+ * 2. 컴파일된 클래스를 동적으로 로드
  * 3. 로드된 클래스의 메서드를 리플렉션으로 실행
  */
 @Slf4j
 @Component
 public class CompileBuilder {
-	// 임시 파일 저장 경로 (각 요청마다 UUID로 고유 디렉토리 생성)
-	private final String path = "/Users/yangjaehyeog/Desktop";
-	private static final Object IO_LOCK = new Object();
 	private static final Pattern CLASS_NAME_PATTERN = Pattern.compile("(?m)^\\s*(public\\s+)?class\\s+([A-Za-z_][A-Za-z0-9_]*)");
 	
+	public CompileBuilder() {
+		// 표준 입출력 라우팅은 시작 시 한 번만 설치
+		StandardStreamRouter.install();
+	}
+	
 	/**
-	 * Java 소스코드를 컴파일하고 클래스 인스턴스 생성
+	 * Java 소스코드를 메모리에서 컴파일하고 클래스 로드
 	 * 
 	 * 처리 과정:
-	 * 1. UUID로 고유 디렉토리 생성
-	 * 2. 소스코드를 DynamicClass.java 파일로 저장
-	 * 3. JavaCompiler로 컴파일
-	 * 4. URLClassLoader로 클래스 로드
-	 * 5. 클래스 인스턴스 생성 및 반환
+	 * 1. 소스코드 문자열을 컴파일 대상으로 준비
+	 * 2. JavaCompiler.getTask로 컴파일 (결과는 MemoryJavaFileManager에 바이트코드로 보관)
+	 * 3. 컴파일 에러는 DiagnosticCollector로 수집
+	 * 4. MemoryClassLoader로 바이트코드에서 클래스 로드
+	 * 
+	 * 파일을 쓰지 않고 System.err도 바꾸지 않으므로 여러 요청이 동시에 컴파일할 수 있습니다.
 	 * 
 	 * @param body Java 소스코드 문자열
 	 * @return 컴파일 성공 시 클래스 정보, 실패 시 에러 메시지(String)
 	 */
-	@SuppressWarnings({ "resource", "deprecation" })
 	public Object compileCode(String body) throws Exception {
-		// 1단계: 고유한 임시 디렉토리 경로 생성
-		String uuid = UUIDUtil.createUUID();
-		String uuidPath = path + uuid + "/";
 		String className = extractClassName(body);
 		
 		if(className == null) {
 			return "클래스명을 찾을 수 없습니다.";
 		}
 		
-		File newFolder = new File(uuidPath);
-		File sourceFile = new File(uuidPath + className + ".java");
-		File classFile = new File(uuidPath + className + ".class");
-		
-		Class<?> cls = null;
-		
-		// 컴파일 에러 메시지를 캡처하기 위한 스트림 설정
-		ByteArrayOutputStream err = new ByteArrayOutputStream();
-		PrintStream origErr = System.err;
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if(compiler == null) {
+			return "Java 컴파일러를 사용할 수 없습니다. (JDK 필요)";
+		}
 		
-		try {
-			// 2단계: 디렉토리 생성 및 소스 파일 저장
-			newFolder.mkdir();
-			new FileWriter(sourceFile).append(body).close();
-			
-			// 3단계: Java 컴파일러로 소스 파일 컴파일
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-			
-			// System.err를 ByteArrayOutputStream으로 리다이렉트하여 에러 메시지 캡처
-			System.setErr(new PrintStream(err));
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try(MemoryJavaFileManager fileManager = new MemoryJavaFileManager(
+				compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8))) {
+			// 1~2단계: 문자열 소스를 메모리에서 컴파일 (어노테이션 프로세서 탐색 생략)
+			JavaFileObject source = MemoryJavaFileManager.source(className, body);
+			Boolean compiled = compiler.getTask(null, fileManager, diagnostics,
+					Collections.singletonList("-proc:none"), null, Collections.singletonList(source)).call();
 			
-			// 컴파일 실행 (반환값: 0=성공, 1=실패)
-			int compileResult = compiler.run(null, null, null, sourceFile.getPath());
-			
-			// 컴파일 실패 시 에러 메시지 반환
-			if(compileResult == 1) {
-				return err.toString();
+			// 3단계: 컴파일 실패 시 에러 메시지 반환
+			if(!Boolean.TRUE.equals(compiled)) {
+				return formatDiagnostics(className, diagnostics.getDiagnostics());
 			}
 			
-			// 4단계: 컴파일된 클래스 파일을 동적으로 로드
-			URLClassLoader classLoader = URLClassLoader.newInstance(new URL[] {new File(uuidPath).toURI().toURL()});
-			cls = Class.forName(className, true, classLoader);
-			
-			// 5단계: 로드된 클래스 정보 반환
-			return cls;
+			// 4단계: 메모리의 바이트코드로 클래스 로드
+			MemoryClassLoader classLoader = new MemoryClassLoader(fileManager.getClassBytes(), CompileBuilder.class.getClassLoader());
+			return Class.forName(className, true, classLoader);
 
 		} catch (Exception e) {
 			log.error("[CompileBuilder] 소스 컴파일 중 에러 발생 :: {}", e.getMessage());
 			e.printStackTrace();
 			return null;
+		}
+	}
 
-		} finally {
-			// System.err 원상복구
-			System.setErr(origErr);
-			
-			// 임시 파일 정리 (보안 및 디스크 공간 확보)
-			if(sourceFile.exists())
-				sourceFile.delete();
-			if(classFile.exists())
-				classFile.delete();
-			if(newFolder.exists())
-				newFolder.delete();
+	// javac 출력과 같은 형식 (파일명:줄: 종류: 메시지)
+	private static String formatDiagnostics(String className, List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+		StringBuilder builder = new StringBuilder();
+		int errors = 0;
+		for(Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+			if(diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				errors++;
+			}
+			builder.append(className).append(".java:").append(diagnostic.getLineNumber()).append(": ")
+				.append(diagnostic.getKind() == Diagnostic.Kind.ERROR ? "error" : "warning").append(": ")
+				.append(diagnostic.getMessage(null))
+				.append(System.lineSeparator());
 		}
+		builder.append(errors).append(errors == 1 ? " error" : " errors").append(System.lineSeparator());
+		return builder.toString();
 	}
 
 	private static String extractClassName(String body) {
@@ -184,6 +177,8 @@ public class CompileBuilder {
 	/**
 	 * 컴파일된 클래스 인스턴스를 스트리밍 입출력으로 실행
 	 *
+	 * 실행 스레드와 그 스레드가 만든 스레드의 System.out/err/in만 전달된 스트림으로 연결되므로 여러 실행을 동시에 처리할 수 있습니다.
+	 *
 	 * @param stdin 표준 입력 스트림 (null이면 기존 System.in 유지)
 	 * @param stdout 표준 출력 스트림
 	 * @param stderr 표준 에러 스트림
@@ -201,36 +196,20 @@ public class CompileBuilder {
 			return returnMap;
 		}
 		
-		PrintStream origOut = System.out;
-		PrintStream origErr = System.err;
-		InputStream origIn = System.in;
 		PrintStream wrappedOut = (stdout != null) ? new PrintStream(stdout, true) : null;
 		PrintStream wrappedErr = (stderr != null) ? new PrintStream(stderr, true) : null;
 		
-		synchronized (IO_LOCK) {
-			try {
-				if(stdin != null) {
-					System.setIn(stdin);
-				}
-				if(wrappedOut != null) {
-					System.setOut(wrappedOut);
-				}
-				if(wrappedErr != null) {
-					System.setErr(wrappedErr);
-				}
-				
-				Map<String, Object> result = MethodExecutation.timeOutCall(obj, selection.methodName, selection.params, selection.arguments);
-				returnMap.putAll(result);
-			} finally {
-				if(wrappedOut != null) {
-					wrappedOut.flush();
-				}
-				if(wrappedErr != null) {
-					wrappedErr.flush();
-				}
-				System.setIn(origIn);
-				System.setOut(origOut);
-				System.setErr(origErr);
+		// System.out/err/in은 StandardStreamRouter가 실행 스레드별로 나누어 보내므로 전역 잠금 없이 동시에 실행
+		try {
+			Map<String, Object> result = StandardStreamRouter.route(stdin, wrappedOut, wrappedErr,
+					() -> MethodExecutation.timeOutCall(obj, selection.methodName, selection.params, selection.arguments));
+			returnMap.putAll(result);
+		} finally {
+			if(wrappedOut != null) {
+				wrappedOut.flush();
+			}
+			if(wrappedErr != null) {
+				wrappedErr.flush();
 			}
 		}
 		
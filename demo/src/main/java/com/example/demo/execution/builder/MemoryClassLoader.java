@@ -0,0 +1,26 @@
+package com.example.demo.execution.builder;
+
+import java.util.Map;
+
+/**
+ * 메모리에 있는 바이트코드로 클래스를 정의하는 ClassLoader.
+ *
+ * 컴파일 한 번마다 새로 만들어 사용하므로, 같은 이름의 클래스를 여러 요청이 동시에 컴파일해도 서로 영향을 주지 않습니다.
+ */
+class MemoryClassLoader extends ClassLoader {
+	private final Map<String, byte[]> classBytes;
+
+	MemoryClassLoader(Map<String, byte[]> classBytes, ClassLoader parent) {
+		super(parent);
+		this.classBytes = classBytes;
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		byte[] bytes = classBytes.get(name);
+		if(bytes == null) {
+			return super.findClass(name);
+		}
+		return defineClass(name, bytes, 0, bytes.length);
+	}
+}
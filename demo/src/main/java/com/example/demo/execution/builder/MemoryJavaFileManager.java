@@ -0,0 +1,69 @@
+package com.example.demo.execution.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * 컴파일 결과(.class)를 파일 대신 메모리에 보관하는 JavaFileManager.
+ *
+ * 소스도 문자열로 전달하므로 컴파일 과정에서 파일시스템을 쓰지 않습니다. (JDK 클래스 조회만 기본 file manager에 위임)
+ * 컴파일 한 번마다 새로 만들어 사용합니다.
+ */
+class MemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+	// 클래스 이름(binary name) → 바이트코드 (중첩/익명 클래스는 Outer$Inner 형태로 따로 생성됨)
+	private final Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+
+	MemoryJavaFileManager(StandardJavaFileManager fileManager) {
+		super(fileManager);
+	}
+
+	/**
+	 * 문자열 소스를 컴파일 대상으로 만듭니다.
+	 */
+	static JavaFileObject source(String className, String code) {
+		URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+		return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return code;
+			}
+		};
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+		if(location != StandardLocation.CLASS_OUTPUT || kind != JavaFileObject.Kind.CLASS) {
+			throw new IllegalStateException("unsupported output: " + location + ", " + kind);
+		}
+		URI uri = URI.create("mem:///" + className.replace('.', '/') + kind.extension);
+		return new SimpleJavaFileObject(uri, kind) {
+			@Override
+			public OutputStream openOutputStream() {
+				ByteArrayOutputStream output = new ByteArrayOutputStream();
+				outputs.put(className, output);
+				return output;
+			}
+		};
+	}
+
+	/**
+	 * 컴파일된 클래스 바이트코드 (클래스 이름 → 바이트)
+	 */
+	Map<String, byte[]> getClassBytes() {
+		Map<String, byte[]> classBytes = new HashMap<>();
+		for(Map.Entry<String, ByteArrayOutputStream> entry : outputs.entrySet()) {
+			classBytes.put(entry.getKey(), entry.getValue().toByteArray());
+		}
+		return classBytes;
+	}
+}
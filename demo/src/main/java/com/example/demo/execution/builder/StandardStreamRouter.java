@@ -0,0 +1,323 @@
+package com.example.demo.execution.builder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * System.out/err/in을 실행(스레드)별 스트림으로 보내는 라우터.
+ *
+ * - 최초 한 번 System.out/err/in을 라우팅 스트림으로 교체하고 이후에는 다시 바꾸지 않음
+ * - 실행마다 route(...)로 현재 스레드의 스트림을 지정하며, InheritableThreadLocal이라
+ *   실행 중에 만들어진 스레드(MethodExecutation의 실행 스레드, 사용자 코드가 만든 스레드)도 같은 스트림을 사용
+ * - 지정된 스트림이 없는 스레드(서버 스레드, 실행 전에 만들어진 스레드 풀)는 원래 스트림을 그대로 사용
+ * - 공용 ForkJoinPool 워커는 실행 스레드가 만들어도 값을 물려받지 않음 (JDK가 워커의 스레드 로컬을 비움)
+ *   → 사용자 코드의 parallel stream, ForkJoinPool.commonPool() 작업이 쓴 출력은 실행 결과가 아니라 원래 System.out/err로 가고,
+ *   System.in 읽기도 원래 입력을 사용 (다른 실행의 스트림과 섞이지는 않음)
+ * → 전역 잠금 없이 여러 실행이 동시에 표준 입출력을 사용할 수 있음
+ */
+public final class StandardStreamRouter {
+	private static final InheritableThreadLocal<Route> ROUTE = new InheritableThreadLocal<>();
+	private static volatile boolean installed;
+
+	private StandardStreamRouter() {
+	}
+
+	/**
+	 * System.out/err/in을 라우팅 스트림으로 교체합니다. (여러 번 호출해도 한 번만 교체)
+	 */
+	public static synchronized void install() {
+		if(installed) {
+			return;
+		}
+		PrintStream originalOut = System.out;
+		PrintStream originalErr = System.err;
+		InputStream originalIn = System.in;
+		System.setOut(new RoutingPrintStream(originalOut, true));
+		System.setErr(new RoutingPrintStream(originalErr, false));
+		System.setIn(new RoutingInputStream(originalIn));
+		installed = true;
+	}
+
+	/**
+	 * 현재 스레드(와 여기서 만들어지는 스레드)의 표준 입출력을 지정하고 작업을 실행합니다.
+	 *
+	 * @param in 표준 입력 (null이면 원래 System.in)
+	 * @param out 표준 출력 (null이면 원래 System.out)
+	 * @param err 표준 에러 (null이면 원래 System.err)
+	 */
+	public static <T> T route(InputStream in, PrintStream out, PrintStream err, Callable<T> task) throws Exception {
+		// 설치 후에는 잠금 없이 확인만 (실행마다 호출)
+		if(!installed) {
+			install();
+		}
+		Route previous = ROUTE.get();
+		ROUTE.set(new Route(in, out, err));
+		try {
+			return task.call();
+		} finally {
+			if(previous != null) {
+				ROUTE.set(previous);
+			} else {
+				ROUTE.remove();
+			}
+		}
+	}
+
+	private static class Route {
+		private final InputStream in;
+		private final PrintStream out;
+		private final PrintStream err;
+
+		Route(InputStream in, PrintStream out, PrintStream err) {
+			this.in = in;
+			this.out = out;
+			this.err = err;
+		}
+	}
+
+	/**
+	 * 호출한 스레드의 출력 스트림으로 위임하는 PrintStream.
+	 * - 모든 출력 메서드를 대상 스트림에 그대로 넘겨 이 객체의 잠금/버퍼를 공유하지 않음
+	 */
+	private static class RoutingPrintStream extends PrintStream {
+		private final PrintStream fallback;
+		private final boolean stdout;
+
+		RoutingPrintStream(PrintStream fallback, boolean stdout) {
+			super(fallback, true);
+			this.fallback = fallback;
+			this.stdout = stdout;
+		}
+
+		private PrintStream target() {
+			Route route = ROUTE.get();
+			PrintStream routed = route == null ? null : (stdout ? route.out : route.err);
+			return routed != null ? routed : fallback;
+		}
+
+		@Override
+		public void flush() {
+			target().flush();
+		}
+
+		@Override
+		public void close() {
+			// 원래 스트림은 닫지 않음 (실행별 스트림은 실행한 쪽에서 닫음)
+			Route route = ROUTE.get();
+			PrintStream routed = route == null ? null : (stdout ? route.out : route.err);
+			if(routed != null) {
+				routed.close();
+			}
+		}
+
+		@Override
+		public boolean checkError() {
+			return target().checkError();
+		}
+
+		@Override
+		public void write(int b) {
+			target().write(b);
+		}
+
+		@Override
+		public void write(byte[] buf, int off, int len) {
+			target().write(buf, off, len);
+		}
+
+		@Override
+		public void write(byte[] buf) throws IOException {
+			target().write(buf);
+		}
+
+		@Override
+		public void writeBytes(byte[] buf) {
+			target().writeBytes(buf);
+		}
+
+		@Override
+		public void print(boolean b) {
+			target().print(b);
+		}
+
+		@Override
+		public void print(char c) {
+			target().print(c);
+		}
+
+		@Override
+		public void print(int i) {
+			target().print(i);
+		}
+
+		@Override
+		public void print(long l) {
+			target().print(l);
+		}
+
+		@Override
+		public void print(float f) {
+			target().print(f);
+		}
+
+		@Override
+		public void print(double d) {
+			target().print(d);
+		}
+
+		@Override
+		public void print(char[] s) {
+			target().print(s);
+		}
+
+		@Override
+		public void print(String s) {
+			target().print(s);
+		}
+
+		@Override
+		public void print(Object obj) {
+			target().print(obj);
+		}
+
+		@Override
+		public void println() {
+			target().println();
+		}
+
+		@Override
+		public void println(boolean x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(char x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(int x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(long x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(float x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(double x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(char[] x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(String x) {
+			target().println(x);
+		}
+
+		@Override
+		public void println(Object x) {
+			target().println(x);
+		}
+
+		@Override
+		public PrintStream printf(String format, Object... args) {
+			target().printf(format, args);
+			return this;
+		}
+
+		@Override
+		public PrintStream printf(Locale l, String format, Object... args) {
+			target().printf(l, format, args);
+			return this;
+		}
+
+		@Override
+		public PrintStream format(String format, Object... args) {
+			target().format(format, args);
+			return this;
+		}
+
+		@Override
+		public PrintStream format(Locale l, String format, Object... args) {
+			target().format(l, format, args);
+			return this;
+		}
+
+		@Override
+		public PrintStream append(CharSequence csq) {
+			target().append(csq);
+			return this;
+		}
+
+		@Override
+		public PrintStream append(CharSequence csq, int start, int end) {
+			target().append(csq, start, end);
+			return this;
+		}
+
+		@Override
+		public PrintStream append(char c) {
+			target().append(c);
+			return this;
+		}
+	}
+
+	/**
+	 * 호출한 스레드의 입력 스트림에서 읽는 InputStream.
+	 */
+	private static class RoutingInputStream extends InputStream {
+		private final InputStream fallback;
+
+		RoutingInputStream(InputStream fallback) {
+			this.fallback = fallback;
+		}
+
+		private InputStream target() {
+			Route route = ROUTE.get();
+			return route != null && route.in != null ? route.in : fallback;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return target().read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return target().read(b, off, len);
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			return target().skip(n);
+		}
+
+		@Override
+		public int available() throws IOException {
+			return target().available();
+		}
+
+		@Override
+		public void close() throws IOException {
+			// 원래 System.in은 닫지 않음
+			Route route = ROUTE.get();
+			if(route != null && route.in != null) {
+				route.in.close();
+			}
+		}
+	}
+}
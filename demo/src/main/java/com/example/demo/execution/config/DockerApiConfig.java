@@ -0,0 +1,37 @@
+package com.example.demo.execution.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import com.github.dockerjava.transport.DockerHttpClient;
+
+/**
+ * docker-java 클라이언트 설정 (execution.engine=api 일 때만).
+ *
+ * 데몬 주소는 docker CLI와 같은 규칙(DOCKER_HOST 환경 변수, 없으면 unix:///var/run/docker.sock)으로 정합니다.
+ * attach 스트림은 프로그램이 끝날 때까지 열려 있으므로 응답 타임아웃은 두지 않습니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "execution", name = "engine", havingValue = "api", matchIfMissing = true)
+public class DockerApiConfig {
+
+	@Bean(destroyMethod = "close")
+	public DockerClient dockerClient() {
+		DockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder().build();
+		DockerHttpClient httpClient = new ApacheDockerHttpClient.Builder()
+			.dockerHost(config.getDockerHost())
+			.sslConfig(config.getSSLConfig())
+			.maxConnections(100)
+			.connectionTimeout(Duration.ofSeconds(10))
+			.build();
+		return DockerClientImpl.getInstance(config, httpClient);
+	}
+}
@@ -15,6 +15,10 @@ import org.springframework.context.annotation.Configuration;
 				+ "### 인증\n"
 				+ "- 로그인 후 발급받은 JWT를 요청에 포함해야 합니다.\n"
 				+ "- WebSocket 핸드셰이크 요청 헤더에 Authorization: Bearer <token> 을 넣습니다.\n\n"
+				+ "### 메시지 형식 (코드 실행, 에디터 WebSocket 공통)\n"
+				+ "- 기본은 JSON 텍스트 프레임입니다.\n"
+				+ "- 연결 시 서브프로토콜로 cbor를 요청하면 (예: new WebSocket(url, [\"cbor\"])) 같은 필드를 CBOR 바이너리 프레임으로 주고받습니다.\n"
+				+ "- 서버가 선택한 형식은 응답의 Sec-WebSocket-Protocol 헤더(브라우저: socket.protocol)로 확인합니다. 비어 있으면 JSON입니다.\n\n"
 				+ "## 코드 실행 WebSocket 사용법\n"
 				+ "1) ws://localhost:8080/ws/compile 로 WebSocket 연결을 엽니다.\n"
 				+ "2) 연결이 열린 뒤 start 메시지로 실행을 요청합니다.\n"
@@ -43,17 +47,19 @@ import org.springframework.context.annotation.Configuration;
 				+ "- error: {\"type\":\"error\",\"message\":\"...\"}\n"
 				+ "  - message: 오류 메시지\n\n"
 				+ "## 실시간 협업 에디터 WebSocket 사용법\n"
-				+ "1) ws://localhost:8080/ws/editor/{fileId}?token={jwtToken} 로 WebSocket 연결을 엽니다.\n"
-				+ "  - fileId: 편집할 파일 ID\n"
+				+ "1) ws://localhost:8080/ws/editor?token={jwtToken} 로 WebSocket 연결을 하나만 엽니다.\n"
 				+ "  - token: JWT 인증 토큰 (쿼리 파라미터)\n"
-				+ "2) 연결이 열린 뒤 같은 파일을 편집하는 다른 사용자들과 실시간으로 동기화됩니다.\n"
-				+ "3) 텍스트 변경 시 TEXT_CHANGE 메시지를 서버로 전송합니다.\n"
+				+ "  - 기존 방식 ws://localhost:8080/ws/editor/{fileId}?token={jwtToken} 도 지원합니다 (연결한 파일을 바로 구독).\n"
+				+ "2) 편집할 파일마다 SUBSCRIBE 메시지를 보내면 같은 파일을 편집하는 다른 사용자들과 실시간으로 동기화됩니다.\n"
+				+ "  - 모든 메시지에 fileId가 있으므로 파일 탭이 여러 개여도 연결 하나로 처리합니다 (연결당 최대 50개, editor.session.max-subscriptions).\n"
+				+ "  - 탭을 닫으면 UNSUBSCRIBE 메시지를 보냅니다.\n"
+				+ "3) 텍스트 변경 시 TEXT_OPERATION(변경 범위만) 메시지를 서버로 전송합니다. 전체 텍스트를 보내는 TEXT_CHANGE도 계속 지원합니다.\n"
 				+ "4) 서버는 변경 사항을 계산하여 TEXT_SYNC 메시지로 모든 클라이언트에 브로드캐스트합니다.\n"
 				+ "5) 커서 이동 시 CURSOR_MOVE 메시지를 전송하여 다른 사용자의 커서 위치를 공유합니다.\n\n"
 				+ "### 버전 관리\n"
 				+ "- 각 파일은 버전 번호를 가지며, 텍스트 변경 시마다 버전이 증가합니다.\n"
-				+ "- 클라이언트가 보낸 버전이 서버의 최신 버전보다 낮으면 해당 변경사항은 무시됩니다.\n"
-				+ "- 버전 충돌 시 클라이언트는 최신 파일 내용을 다시 요청해야 합니다.\n\n"
+				+ "- 클라이언트가 보낸 버전이 서버의 최신 버전보다 낮으면, 그 사이에 적용된 변경 사항에 맞춰 변환(OT)하여 병합합니다.\n"
+				+ "- 서버가 보관하는 최근 연산 범위보다 오래된 버전이면 해당 클라이언트에게만 TEXT_SNAPSHOT(전체 텍스트)을 보냅니다.\n\n"
 				+ "### 클라이언트 → 서버 메시지\n"
 				+ "- TEXT_CHANGE: {\"type\":\"TEXT_CHANGE\",\"fileId\":123,\"userId\":1,\"content\":\"...\",\"version\":5}\n"
 				+ "  - type: TEXT_CHANGE\n"
@@ -61,13 +67,34 @@ import org.springframework.context.annotation.Configuration;
 				+ "  - userId: 사용자 ID\n"
 				+ "  - content: 변경된 전체 텍스트 내용\n"
 				+ "  - version: 클라이언트가 알고 있는 파일 버전\n"
+				+ "- TEXT_OPERATION: {\"type\":\"TEXT_OPERATION\",\"fileId\":123,\"range\":{\"start\":10,\"end\":15},\"text\":\"새로운 텍스트\",\"baseVersion\":5}\n"
+				+ "  - type: TEXT_OPERATION\n"
+				+ "  - fileId: 편집 중인 파일 ID\n"
+				+ "  - range: baseVersion 텍스트 기준 교체 범위 (start, end)\n"
+				+ "  - text: 새로 삽입/교체할 텍스트 (삭제의 경우 빈 문자열)\n"
+				+ "  - baseVersion: 클라이언트가 알고 있는 파일 버전\n"
+				+ "  - 범위가 baseVersion 텍스트를 벗어나면 해당 클라이언트에게 TEXT_SNAPSHOT을 보냅니다.\n"
 				+ "- CURSOR_MOVE: {\"type\":\"CURSOR_MOVE\",\"fileId\":123,\"userId\":1,\"cursor\":{\"line\":10,\"column\":5}}\n"
 				+ "  - type: CURSOR_MOVE\n"
 				+ "  - fileId: 편집 중인 파일 ID\n"
 				+ "  - userId: 사용자 ID\n"
 				+ "  - cursor: 커서 위치 정보\n"
 				+ "    - line: 줄 번호 (0부터 시작)\n"
-				+ "    - column: 열 번호 (0부터 시작)\n\n"
+				+ "    - column: 열 번호 (0부터 시작)\n"
+				+ "- SUBSCRIBE: {\"type\":\"SUBSCRIBE\",\"fileId\":123,\"sinceVersion\":5}\n"
+				+ "  - type: SUBSCRIBE\n"
+				+ "  - fileId: 편집할 파일 ID\n"
+				+ "  - sinceVersion: (선택) 이미 가지고 있는 버전. 있으면 이후 버전의 TEXT_SYNC를, 없으면 TEXT_SNAPSHOT을 보냅니다.\n"
+				+ "- UNSUBSCRIBE: {\"type\":\"UNSUBSCRIBE\",\"fileId\":123}\n"
+				+ "  - type: UNSUBSCRIBE\n"
+				+ "  - fileId: 편집을 마친 파일 ID (연결은 유지)\n"
+				+ "- RESYNC: {\"type\":\"RESYNC\",\"fileId\":123,\"sinceVersion\":5}\n"
+				+ "  - type: RESYNC\n"
+				+ "  - fileId: 편집 중인 파일 ID\n"
+				+ "  - sinceVersion: 재연결 전에 마지막으로 적용한 버전\n"
+				+ "  - 연산 로그에 남아 있으면 sinceVersion 이후 버전의 TEXT_SYNC를 순서대로, 아니면 TEXT_SNAPSHOT을 보냅니다.\n"
+				+ "  - 같은 내용을 REST GET /api/file-contents/file/{fileId}/operations?sinceVersion=5 로도 조회할 수 있습니다.\n"
+				+ "  - 클라이언트는 로컬 버전 + 1이 아닌 TEXT_SYNC는 적용하지 않습니다 (이미 적용한 버전은 무시, 버전이 건너뛰면 RESYNC).\n\n"
 				+ "### 서버 → 클라이언트 메시지\n"
 				+ "- TEXT_SYNC: {\"type\":\"TEXT_SYNC\",\"fileId\":123,\"userId\":1,\"version\":6,\"change\":{\"range\":{\"start\":10,\"end\":15},\"newText\":\"새로운 텍스트\"}}\n"
 				+ "  - type: TEXT_SYNC\n"
@@ -79,18 +106,27 @@ import org.springframework.context.annotation.Configuration;
 				+ "      - start: 변경 시작 위치 (0부터 시작)\n"
 				+ "      - end: 변경 끝 위치\n"
 				+ "    - newText: 새로 삽입/교체할 텍스트 (삭제의 경우 빈 문자열)\n"
-				+ "- CURSOR_MOVE: {\"type\":\"CURSOR_MOVE\",\"fileId\":123,\"userId\":2,\"cursor\":{\"line\":10,\"column\":5}}\n"
-				+ "  - type: CURSOR_MOVE\n"
+				+ "  - changes: 변경 사항 목록 (이전 버전 좌표, start 오름차순 → 뒤에서부터 적용). 변경이 하나면 change에도 같은 값이 들어갑니다.\n"
+				+ "- TEXT_SNAPSHOT: {\"type\":\"TEXT_SNAPSHOT\",\"fileId\":123,\"content\":\"...\",\"version\":6}\n"
+				+ "  - content: 현재 전체 텍스트 (로컬 텍스트를 교체)\n"
+				+ "  - version: 현재 파일 버전\n"
+				+ "- CURSOR_BATCH: {\"type\":\"CURSOR_BATCH\",\"fileId\":123,\"cursors\":[{\"userId\":2,\"cursor\":{\"line\":10,\"column\":5}}]}\n"
+				+ "  - type: CURSOR_BATCH\n"
 				+ "  - fileId: 편집 중인 파일 ID\n"
-				+ "  - userId: 커서를 이동한 사용자 ID\n"
-				+ "  - cursor: 커서 위치 정보\n"
-				+ "    - line: 줄 번호 (0부터 시작)\n"
-				+ "    - column: 열 번호 (0부터 시작)\n\n"
+				+ "  - cursors: 마지막 전송 이후 커서를 이동한 사용자별 마지막 위치 (자신의 userId 항목은 무시)\n"
+				+ "    - userId: 커서를 이동한 사용자 ID\n"
+				+ "    - cursor: 커서 위치 정보 (line, column: 0부터 시작)\n"
+				+ "- SUBSCRIBE_ERROR: {\"type\":\"SUBSCRIBE_ERROR\",\"fileId\":123,\"code\":\"FILE_NOT_FOUND\",\"message\":\"...\"}\n"
+				+ "  - fileId: 구독하지 못한 파일 ID (SUBSCRIBE를 보낸 연결에만 전송)\n"
+				+ "  - code: FILE_NOT_FOUND(없거나 삭제된 파일), CANNOT_READ_FOLDER_CONTENT(폴더), EDITOR_SUBSCRIPTION_LIMIT_EXCEEDED(연결당 구독 수 초과), EDITOR_ROOM_UNAVAILABLE(잠시 후 다시 시도)\n"
+				+ "  - message: 오류 메시지\n\n"
 				+ "### 동작 방식\n"
-				+ "- 서버는 TEXT_CHANGE 메시지를 받으면 전체 텍스트를 DB에 저장하고, 이전 버전과 비교하여 변경 사항(delta)만 계산합니다.\n"
+				+ "- TEXT_OPERATION 메시지는 diff 계산 없이 그대로 메모리 문서에 적용됩니다 (동시 편집은 OT로 변환).\n"
+				+ "- TEXT_CHANGE 메시지는 파일별 메모리 문서를 기준으로 이전 버전과 비교하여 변경 사항(delta)만 계산합니다.\n"
+				+ "- DB 저장은 메시지마다 하지 않고, 일정 시간/편집 수마다 또는 마지막 사용자가 나갈 때 스냅샷으로 모아서 저장합니다.\n"
 				+ "- 계산된 변경 사항은 같은 파일을 편집하는 모든 클라이언트에게 TEXT_SYNC 메시지로 브로드캐스트됩니다.\n"
 				+ "- 클라이언트는 TEXT_SYNC 메시지를 받아 로컬 텍스트에 변경 사항을 적용하여 동기화합니다.\n"
-				+ "- CURSOR_MOVE 메시지는 DB에 저장되지 않으며, 같은 파일을 편집하는 다른 사용자들에게만 실시간으로 전달됩니다."
+				+ "- CURSOR_MOVE 메시지는 DB에 저장되지 않으며, 서버가 사용자별 마지막 위치만 모아 일정 주기(기본 50ms)마다 CURSOR_BATCH로 전달합니다."
 	),
 	servers = {
 		@Server(url = "https://t2.mobidic.shop", description = "배포 서버"),
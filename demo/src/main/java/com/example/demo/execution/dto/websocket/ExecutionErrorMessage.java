@@ -0,0 +1,16 @@
+package com.example.demo.execution.dto.websocket;
+
+import lombok.Getter;
+
+/**
+ * error: {"type":"error","message":"..."}
+ */
+@Getter
+public class ExecutionErrorMessage extends ExecutionMessage {
+	private final String message;
+
+	public ExecutionErrorMessage(String message) {
+		super("error");
+		this.message = message;
+	}
+}
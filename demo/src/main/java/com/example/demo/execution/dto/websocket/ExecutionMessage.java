@@ -0,0 +1,31 @@
+package com.example.demo.execution.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 실시간 실행 WebSocket 메시지의 기본 클래스
+ *
+ * - 요청 메시지는 "type" 필드로 구체 클래스를 한 번에 역직렬화
+ *   start → StartMessage, input → InputMessage, stop → StopMessage
+ * - 응답 메시지(output, result, error)도 같은 type 필드를 사용
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
+@JsonSubTypes({
+	@JsonSubTypes.Type(value = StartMessage.class, name = "start"),
+	@JsonSubTypes.Type(value = InputMessage.class, name = "input"),
+	@JsonSubTypes.Type(value = StopMessage.class, name = "stop"),
+})
+public abstract class ExecutionMessage {
+	private String type;
+
+	protected ExecutionMessage(String type) {
+		this.type = type;
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.demo.execution.dto.websocket;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * input: {"type":"input","data":"..."} (이전 필드명 input도 허용)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class InputMessage extends ExecutionMessage {
+	private String data;
+	private String input;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.execution.dto.websocket;
+
+import lombok.Getter;
+
+/**
+ * output: {"type":"output","stream":"stdout|stderr","data":"..."}
+ */
+@Getter
+public class OutputMessage extends ExecutionMessage {
+	private final String stream;
+	private final String data;
+
+	public OutputMessage(String stream, String data) {
+		super("output");
+		this.stream = stream;
+		this.data = data;
+	}
+}
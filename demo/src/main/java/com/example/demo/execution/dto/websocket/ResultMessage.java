@@ -0,0 +1,33 @@
+package com.example.demo.execution.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+/**
+ * result: {"type":"result","result":"...","stdout":"...","stderr":"...","exitCode":0,"SystemOut":"...","performance":123,"stage":"run"}
+ */
+@Getter
+public class ResultMessage extends ExecutionMessage {
+	private final String result;
+	private final String stage;
+	private final long performance;
+	private final int exitCode;
+	private final String stdout;
+	private final String stderr;
+	@JsonProperty("SystemOut")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private final String systemOut;
+
+	public ResultMessage(String result, String systemOut, String stage, long performance, int exitCode,
+			String stdout, String stderr) {
+		super("result");
+		this.result = result;
+		this.systemOut = systemOut;
+		this.stage = stage;
+		this.performance = performance;
+		this.exitCode = exitCode;
+		this.stdout = stdout;
+		this.stderr = stderr;
+	}
+}
@@ -0,0 +1,17 @@
+package com.example.demo.execution.dto.websocket;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * start: {"type":"start","code":"...","params":[...],"language":"java|python"}
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class StartMessage extends ExecutionMessage {
+	private String code;
+	private Object params; // argv (배열, 단일 값도 허용)
+	private String language;
+}
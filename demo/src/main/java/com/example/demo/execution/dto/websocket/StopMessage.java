@@ -0,0 +1,10 @@
+package com.example.demo.execution.dto.websocket;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * stop: {"type":"stop"}
+ */
+@NoArgsConstructor
+public class StopMessage extends ExecutionMessage {
+}
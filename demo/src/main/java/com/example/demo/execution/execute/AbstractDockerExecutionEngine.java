@@ -0,0 +1,329 @@
+package com.example.demo.execution.execute;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 엔진 공통 실행 흐름.
+ *
+ * 풀(DockerContainerPool)에 유휴 컨테이너가 있으면 그 컨테이너에서 실행하고, 없으면 새 컨테이너를 띄웁니다.
+ * 작업 디렉토리 준비, 출력 수집, 결과 생성, 컨테이너 반납은 여기서 처리하고
+ * 하위 클래스는 컨테이너에 명령을 실행하는 방법만 구현합니다.
+ * 실행 시작부터 첫 출력까지의 시간은 execution.first-output 타이머(mode=pooled|cold, engine)로 기록합니다.
+ */
+public abstract class AbstractDockerExecutionEngine implements DockerExecutionEngine {
+	protected static final String CONTAINER_WORKDIR = "/workspace";
+	private final ExecutionProperties properties;
+	private final DockerContainerPool containerPool;
+	private final MeterRegistry meterRegistry;
+
+	protected AbstractDockerExecutionEngine(ExecutionProperties properties, DockerContainerPool containerPool, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.containerPool = containerPool;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * workDir를 /workspace에 마운트한 새 컨테이너에서 실행하고 종료 코드를 반환합니다.
+	 */
+	protected abstract int runInNewContainer(Path workDir, DockerExecutionRequest request, OutputStream stdout, OutputStream stderr)
+			throws Exception;
+
+	/**
+	 * 풀에서 꺼낸 컨테이너에서 실행하고 종료 코드를 반환합니다.
+	 */
+	protected abstract int runInContainer(DockerContainerPool.PooledContainer container, DockerExecutionRequest request,
+			OutputStream stdout, OutputStream stderr) throws Exception;
+
+	/**
+	 * 메트릭 태그에 사용할 엔진 이름
+	 */
+	protected abstract String engineName();
+
+	@Override
+	public ScriptExecutionResult execute(DockerExecutionRequest request) {
+		if(request == null) {
+			return new ScriptExecutionResult(false, -1, "", "", "execution request is required");
+		}
+		if(request.getImage() == null || request.getImage().trim().isEmpty()) {
+			return new ScriptExecutionResult(false, -1, "", "", "docker image is required");
+		}
+		if(request.getCommand() == null || request.getCommand().isEmpty()) {
+			return new ScriptExecutionResult(false, -1, "", "", "container command is required");
+		}
+
+		long startedAt = System.nanoTime();
+		DockerContainerPool.PooledContainer container = containerPool.acquire(request.getImage());
+		Timer firstOutputTimer = firstOutputTimer(request.getImage(), container != null);
+		AtomicBoolean firstOutput = new AtomicBoolean();
+		boolean clean = false;
+
+		Path workDir = null;
+		ByteArrayOutputStream stdoutBuffer = new ByteArrayOutputStream();
+		ByteArrayOutputStream stderrBuffer = new ByteArrayOutputStream();
+		OutputStream stdoutTarget = new FirstOutputStream(tee(request.getStdout(), stdoutBuffer), firstOutput, firstOutputTimer, startedAt);
+		OutputStream stderrTarget = new FirstOutputStream(tee(request.getStderr(), stderrBuffer), firstOutput, firstOutputTimer, startedAt);
+
+		try {
+			// 컨테이너에 마운트할 로컬 작업 디렉토리를 준비합니다. (풀 컨테이너는 이미 마운트된 디렉토리 사용)
+			workDir = container != null ? container.getHostDir() : createWorkDir();
+			writeFiles(workDir, request.getFiles());
+			copyDirectories(workDir, request.getDirectories());
+
+			int exitCode = container != null
+					? runInContainer(container, request, stdoutTarget, stderrTarget)
+					: runInNewContainer(workDir, request, stdoutTarget, stderrTarget);
+			if(request.getWorkDirConsumer() != null) {
+				request.getWorkDirConsumer().accept(workDir);
+			}
+
+			String outText = new String(stdoutBuffer.toByteArray(), StandardCharsets.UTF_8);
+			String errText = new String(stderrBuffer.toByteArray(), StandardCharsets.UTF_8);
+			boolean success = exitCode == 0;
+			clean = success;
+			String errorMessage = null;
+			if(!success) {
+				errorMessage = !errText.isEmpty() ? errText : "process exited with code " + exitCode;
+			}
+			return new ScriptExecutionResult(success, exitCode, outText, errText, errorMessage);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			String outText = new String(stdoutBuffer.toByteArray(), StandardCharsets.UTF_8);
+			String errText = new String(stderrBuffer.toByteArray(), StandardCharsets.UTF_8);
+			return new ScriptExecutionResult(false, -1, outText, errText, "execution interrupted");
+		} catch (Exception e) {
+			String outText = new String(stdoutBuffer.toByteArray(), StandardCharsets.UTF_8);
+			String errText = new String(stderrBuffer.toByteArray(), StandardCharsets.UTF_8);
+			return new ScriptExecutionResult(false, -1, outText, errText, e.getMessage());
+		} finally {
+			flushQuietly(stdoutTarget);
+			flushQuietly(stderrTarget);
+			closeQuietly(request.getStdin());
+			if(container != null) {
+				// 정상 종료가 아니면 컨테이너 안에 프로세스가 남아 있을 수 있으므로 풀에서 폐기
+				containerPool.release(container, clean);
+			} else {
+				deleteQuietly(workDir);
+			}
+		}
+	}
+
+	/**
+	 * 컨테이너 안에서 실행할 명령 (command + args)
+	 */
+	protected static List<String> containerCommand(DockerExecutionRequest request) {
+		List<String> command = new ArrayList<>(request.getCommand());
+		if(request.getArgs() != null) {
+			for(String arg : request.getArgs()) {
+				command.add(arg);
+			}
+		}
+		return command;
+	}
+
+	private Path createWorkDir() throws IOException {
+		if(properties == null) {
+			return Files.createTempDirectory("compiler-exec-");
+		}
+		String baseDir = properties.getWorkDir();
+		if(baseDir == null || baseDir.trim().isEmpty()) {
+			return Files.createTempDirectory("compiler-exec-");
+		}
+		Path basePath = Paths.get(baseDir);
+		Files.createDirectories(basePath);
+		return Files.createTempDirectory(basePath, "compiler-exec-");
+	}
+
+	private static void writeFiles(Path workDir, Map<String, String> files) throws IOException {
+		if(files == null || files.isEmpty()) {
+			return;
+		}
+		for(Map.Entry<String, String> entry : files.entrySet()) {
+			Path filePath = workDir.resolve(entry.getKey());
+			Path parent = filePath.getParent();
+			if(parent != null) {
+				Files.createDirectories(parent);
+			}
+			Files.write(filePath, entry.getValue().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void copyDirectories(Path workDir, Map<String, Path> directories) throws IOException {
+		if(directories == null || directories.isEmpty()) {
+			return;
+		}
+		for(Map.Entry<String, Path> entry : directories.entrySet()) {
+			Path source = entry.getValue();
+			Path target = workDir.resolve(entry.getKey());
+			List<Path> paths = new ArrayList<>();
+			try(Stream<Path> walk = Files.walk(source)) {
+				walk.forEach(paths::add);
+			}
+			for(Path path : paths) {
+				Path destination = target.resolve(source.relativize(path).toString());
+				if(Files.isDirectory(path)) {
+					Files.createDirectories(destination);
+				} else {
+					Files.copy(path, destination);
+				}
+			}
+		}
+	}
+
+	private Timer firstOutputTimer(String image, boolean pooled) {
+		return Timer.builder("execution.first-output")
+			.description("실행 요청부터 첫 stdout/stderr 출력까지의 시간")
+			.tag("image", image)
+			.tag("mode", pooled ? "pooled" : "cold")
+			.tag("engine", engineName())
+			.publishPercentiles(0.5, 0.99)
+			.register(meterRegistry);
+	}
+
+	protected static void flushQuietly(OutputStream output) {
+		if(output == null) {
+			return;
+		}
+		try {
+			output.flush();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	protected static void closeQuietly(InputStream input) {
+		if(input == null) {
+			return;
+		}
+		try {
+			input.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	protected static void closeQuietly(OutputStream output) {
+		if(output == null) {
+			return;
+		}
+		try {
+			output.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private static void deleteQuietly(Path path) {
+		if(path == null) {
+			return;
+		}
+		try {
+			if(!Files.exists(path)) {
+				return;
+			}
+			Files.walk(path)
+				.sorted(Comparator.reverseOrder())
+				.map(Path::toFile)
+				.forEach(File::delete);
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private static OutputStream tee(OutputStream primary, OutputStream secondary) {
+		if(primary == null) {
+			return secondary;
+		}
+		if(secondary == null) {
+			return primary;
+		}
+		return new MultiOutputStream(primary, secondary);
+	}
+
+	/**
+	 * 처음 출력된 시점에 실행 시작부터의 시간을 기록합니다. (stdout/stderr가 같은 플래그를 공유)
+	 */
+	private static class FirstOutputStream extends OutputStream {
+		private final OutputStream delegate;
+		private final AtomicBoolean recorded;
+		private final Timer timer;
+		private final long startedAt;
+
+		FirstOutputStream(OutputStream delegate, AtomicBoolean recorded, Timer timer, long startedAt) {
+			this.delegate = delegate;
+			this.recorded = recorded;
+			this.timer = timer;
+			this.startedAt = startedAt;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			record();
+			delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if(len > 0) {
+				record();
+			}
+			delegate.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			delegate.flush();
+		}
+
+		private void record() {
+			if(!recorded.get() && recorded.compareAndSet(false, true)) {
+				timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private static class MultiOutputStream extends OutputStream {
+		private final OutputStream left;
+		private final OutputStream right;
+
+		MultiOutputStream(OutputStream left, OutputStream right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			left.write(b);
+			right.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			left.write(b, off, len);
+			right.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			left.flush();
+			right.flush();
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.example.demo.execution.execute;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectExecResponse;
+import com.github.dockerjava.api.command.TopContainerResponse;
+import com.github.dockerjava.api.model.Bind;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.HostConfig;
+import com.github.dockerjava.api.model.Volume;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * docker-java로 풀 컨테이너를 관리합니다. (execution.engine=api, 기본값)
+ *
+ * 점검/정리/제거마다 docker CLI 프로세스를 띄우지 않고 데몬 소켓에 바로 요청합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "execution", name = "engine", havingValue = "api", matchIfMissing = true)
+public class ApiDockerContainerLifecycle implements DockerContainerLifecycle {
+	private static final String CONTAINER_WORKDIR = "/workspace";
+	private static final long COMMAND_TIMEOUT_SECONDS = 60L;
+
+	private final DockerClient dockerClient;
+
+	public ApiDockerContainerLifecycle(DockerClient dockerClient) {
+		this.dockerClient = dockerClient;
+	}
+
+	@Override
+	public String create(String name, String label, String image, Path hostDir) {
+		String id = null;
+		try {
+			id = dockerClient.createContainerCmd(image)
+				.withName(name)
+				.withLabels(labelMap(label))
+				// 실행 요청을 기다리는 대기 프로세스 (PID 1)
+				.withCmd("tail", "-f", "/dev/null")
+				.withWorkingDir(CONTAINER_WORKDIR)
+				.withHostConfig(isolatedHostConfig(hostDir))
+				.exec()
+				.getId();
+			dockerClient.startContainerCmd(id).exec();
+			return id;
+		} catch (RuntimeException e) {
+			log.warn("[ApiDockerContainerLifecycle] 컨테이너 생성 실패: image={}, error={}", image, e.getMessage());
+			if(id != null) {
+				remove(id);
+			}
+			return null;
+		}
+	}
+
+	@Override
+	public int processCount(String containerId) {
+		try {
+			TopContainerResponse top = dockerClient.topContainerCmd(containerId).exec();
+			return top.getProcesses() != null ? top.getProcesses().length : 0;
+		} catch (RuntimeException e) {
+			return -1;
+		}
+	}
+
+	@Override
+	public int exec(String containerId, String script) {
+		try {
+			String execId = dockerClient.execCreateCmd(containerId)
+				.withCmd("sh", "-c", script)
+				.withAttachStdout(true)
+				.withAttachStderr(true)
+				.exec()
+				.getId();
+			try(ResultCallback.Adapter<Frame> output = dockerClient.execStartCmd(execId).exec(new ResultCallback.Adapter<>())) {
+				if(!output.awaitCompletion(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+					return -1;
+				}
+			}
+			InspectExecResponse inspect = dockerClient.inspectExecCmd(execId).exec();
+			return inspect.getExitCodeLong() != null ? inspect.getExitCodeLong().intValue() : -1;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return -1;
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+	@Override
+	public void remove(String containerId) {
+		try {
+			dockerClient.removeContainerCmd(containerId).withForce(true).exec();
+		} catch (RuntimeException e) {
+			// 이미 제거된 컨테이너
+			log.debug("[ApiDockerContainerLifecycle] 컨테이너 제거 생략: id={}, error={}", containerId, e.getMessage());
+		}
+	}
+
+	@Override
+	public List<String> list(String label) {
+		List<String> ids = new ArrayList<>();
+		try {
+			for(Container container : dockerClient.listContainersCmd()
+					.withShowAll(true)
+					.withLabelFilter(Collections.singletonList(label))
+					.exec()) {
+				ids.add(container.getId());
+			}
+		} catch (RuntimeException e) {
+			log.warn("[ApiDockerContainerLifecycle] 컨테이너 조회 실패: label={}, error={}", label, e.getMessage());
+		}
+		return ids;
+	}
+
+	/**
+	 * 풀 컨테이너와 API 엔진의 새 컨테이너가 공통으로 쓰는 격리 설정 (CliDockerContainerLifecycle.isolationOptions와 같음)
+	 * - 외부 네트워크 차단, 읽기 전용 루트 파일시스템, DockerContainerPool.TMPFS_DIRS를 tmpfs로 마운트
+	 * - workDir를 /workspace에 마운트
+	 */
+	static HostConfig isolatedHostConfig(Path workDir) {
+		Map<String, String> tmpfs = new LinkedHashMap<>();
+		for(String dir : DockerContainerPool.TMPFS_DIRS) {
+			// 옵션 없는 tmpfs 마운트 (docker run --tmpfs와 같음)
+			tmpfs.put(dir, "");
+		}
+		return HostConfig.newHostConfig()
+			// 외부 네트워크 접근을 차단합니다.
+			.withNetworkMode("none")
+			.withReadonlyRootfs(true)
+			.withTmpFs(tmpfs)
+			// 로컬 작업 디렉토리를 컨테이너 작업 디렉토리로 마운트합니다.
+			.withBinds(new Bind(workDir.toAbsolutePath().toString(), new Volume(CONTAINER_WORKDIR)));
+	}
+
+	// key=value 형식의 라벨
+	private static Map<String, String> labelMap(String label) {
+		int separator = label.indexOf('=');
+		return separator < 0
+			? Collections.singletonMap(label, "")
+			: Collections.singletonMap(label.substring(0, separator), label.substring(separator + 1));
+	}
+}
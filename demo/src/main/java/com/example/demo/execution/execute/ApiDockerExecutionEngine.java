@@ -0,0 +1,211 @@
+package com.example.demo.execution.execute;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.AttachContainerCmd;
+import com.github.dockerjava.api.command.ExecStartCmd;
+import com.github.dockerjava.api.command.InspectExecResponse;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.api.model.WaitResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * docker-java로 데몬 소켓에 직접 요청하는 엔진 (execution.engine=api, 기본값).
+ *
+ * - 새 컨테이너: create → attach → start → wait → remove
+ * - 풀 컨테이너: exec create → exec start(attach) → exec inspect
+ *   (실행마다 데몬 요청 3번, 돌려받은 뒤 reset에서 top → exec create → exec start → exec inspect 4번: execution.pool.reset)
+ * - 풀 컨테이너 실행 중단: exec는 따로 종료할 수 없고 exec inspect의 Pid는 호스트 PID 네임스페이스 값이라
+ *   컨테이너 안에서 kill할 수 없으므로, 컨테이너를 바로 제거한 뒤 풀에 돌려줌 (풀은 폐기 후 새로 띄움)
+ * - stdout/stderr는 attach 스트림의 multiplexed frame을 종류별로 나누어 씁니다.
+ * docker CLI 프로세스와 출력 중계 스레드 없이 실행하고, 중단 시 컨테이너를 바로 제거할 수 있습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "execution", name = "engine", havingValue = "api", matchIfMissing = true)
+public class ApiDockerExecutionEngine extends AbstractDockerExecutionEngine {
+	// 컨테이너 종료 후 attach 스트림에 남은 출력을 기다리는 시간
+	private static final long OUTPUT_DRAIN_SECONDS = 5L;
+
+	private final DockerClient dockerClient;
+
+	public ApiDockerExecutionEngine(ExecutionProperties properties, DockerContainerPool containerPool, MeterRegistry meterRegistry,
+			DockerClient dockerClient) {
+		super(properties, containerPool, meterRegistry);
+		this.dockerClient = dockerClient;
+	}
+
+	@Override
+	protected String engineName() {
+		return "api";
+	}
+
+	@Override
+	protected int runInNewContainer(Path workDir, DockerExecutionRequest request, OutputStream stdout, OutputStream stderr)
+			throws Exception {
+		InputStream stdin = request.getStdin();
+		String containerId = dockerClient.createContainerCmd(request.getImage())
+			.withCmd(containerCommand(request))
+			.withWorkingDir(CONTAINER_WORKDIR)
+			.withTty(false)
+			.withAttachStdout(true)
+			.withAttachStderr(true)
+			.withAttachStdin(stdin != null)
+			.withStdinOpen(stdin != null)
+			.withStdInOnce(stdin != null)
+			// 풀 컨테이너와 같은 격리 설정 (네트워크 차단, 읽기 전용 루트 파일시스템, tmpfs, 작업 디렉토리 마운트)
+			.withHostConfig(ApiDockerContainerLifecycle.isolatedHostConfig(workDir))
+			.exec()
+			.getId();
+
+		FrameCallback output = new FrameCallback(stdout, stderr);
+		try {
+			if(request.getHandleConsumer() != null) {
+				request.getHandleConsumer().accept(() -> removeQuietly(containerId));
+			}
+
+			// start 전에 attach해야 처음 출력부터 받을 수 있음
+			AttachContainerCmd attach = dockerClient.attachContainerCmd(containerId)
+				.withStdOut(true)
+				.withStdErr(true)
+				.withFollowStream(true);
+			if(stdin != null) {
+				attach.withStdIn(stdin);
+			}
+			attach.exec(output).awaitStarted();
+			dockerClient.startContainerCmd(containerId).exec();
+
+			try(ExitCodeCallback wait = dockerClient.waitContainerCmd(containerId).exec(new ExitCodeCallback())) {
+				int exitCode = wait.awaitExitCode();
+				output.awaitCompletion(OUTPUT_DRAIN_SECONDS, TimeUnit.SECONDS);
+				return exitCode;
+			}
+		} finally {
+			closeQuietly(output);
+			removeQuietly(containerId);
+		}
+	}
+
+	@Override
+	protected int runInContainer(DockerContainerPool.PooledContainer container, DockerExecutionRequest request,
+			OutputStream stdout, OutputStream stderr) throws Exception {
+		InputStream stdin = request.getStdin();
+		String execId = dockerClient.execCreateCmd(container.getId())
+			.withCmd(containerCommand(request).toArray(new String[0]))
+			.withWorkingDir(CONTAINER_WORKDIR)
+			.withTty(false)
+			.withAttachStdout(true)
+			.withAttachStderr(true)
+			.withAttachStdin(stdin != null)
+			.exec()
+			.getId();
+
+		FrameCallback output = new FrameCallback(stdout, stderr);
+		AtomicBoolean stopped = new AtomicBoolean();
+		try {
+			// 중단 시 컨테이너째 제거하여 exec 프로세스를 바로 종료 (스트림만 끊으면 폐기될 때까지 계속 실행됨)
+			if(request.getHandleConsumer() != null) {
+				request.getHandleConsumer().accept(() -> {
+					stopped.set(true);
+					removeQuietly(container.getId());
+					closeQuietly(output);
+				});
+			}
+
+			ExecStartCmd start = dockerClient.execStartCmd(execId)
+				.withDetach(false)
+				.withTty(false);
+			if(stdin != null) {
+				start.withStdIn(stdin);
+			}
+			start.exec(output).awaitCompletion();
+			if(stopped.get()) {
+				return -1;
+			}
+
+			InspectExecResponse inspect = dockerClient.inspectExecCmd(execId).exec();
+			if(Boolean.TRUE.equals(inspect.isRunning())) {
+				// 스트림만 끊긴 경우에도 프로세스가 남은 컨테이너가 풀에 돌아가기 전에 제거
+				removeQuietly(container.getId());
+				return -1;
+			}
+			if(inspect.getExitCodeLong() == null) {
+				return -1;
+			}
+			return inspect.getExitCodeLong().intValue();
+		} finally {
+			closeQuietly(output);
+		}
+	}
+
+	private void removeQuietly(String containerId) {
+		try {
+			dockerClient.removeContainerCmd(containerId).withForce(true).exec();
+		} catch (RuntimeException e) {
+			// 이미 제거된 컨테이너 (중단 핸들과 정리 경로가 둘 다 호출)
+			log.debug("[ApiDockerExecutionEngine] 컨테이너 제거 생략: id={}, error={}", containerId, e.getMessage());
+		}
+	}
+
+	private static void closeQuietly(ResultCallback<?> callback) {
+		try {
+			callback.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * attach 스트림의 frame을 stdout/stderr로 나누어 씁니다. (tty 없이 실행하므로 frame마다 스트림 종류가 붙음)
+	 */
+	private static class FrameCallback extends ResultCallback.Adapter<Frame> {
+		private final OutputStream stdout;
+		private final OutputStream stderr;
+
+		FrameCallback(OutputStream stdout, OutputStream stderr) {
+			this.stdout = stdout;
+			this.stderr = stderr;
+		}
+
+		@Override
+		public void onNext(Frame frame) {
+			OutputStream target = frame.getStreamType() == StreamType.STDERR ? stderr : stdout;
+			try {
+				target.write(frame.getPayload());
+				target.flush();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * 컨테이너 종료 코드를 받습니다. (awaitCompletion이 인터럽트에 그대로 반응하도록 직접 구현)
+	 */
+	private static class ExitCodeCallback extends ResultCallback.Adapter<WaitResponse> {
+		private volatile Integer exitCode;
+
+		@Override
+		public void onNext(WaitResponse response) {
+			this.exitCode = response.getStatusCode();
+		}
+
+		int awaitExitCode() throws InterruptedException {
+			awaitCompletion();
+			return exitCode != null ? exitCode : -1;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.demo.execution.execute;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * docker CLI 프로세스로 풀 컨테이너를 관리합니다. (execution.engine=cli)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "execution", name = "engine", havingValue = "cli")
+public class CliDockerContainerLifecycle implements DockerContainerLifecycle {
+	private static final String DOCKER_COMMAND = "docker";
+	private static final String CONTAINER_WORKDIR = "/workspace";
+	private static final long COMMAND_TIMEOUT_SECONDS = 60L;
+
+	@Override
+	public String create(String name, String label, String image, Path hostDir) {
+		List<String> command = new ArrayList<>(Arrays.asList(
+				DOCKER_COMMAND, "run", "-d",
+				"--name", name,
+				"--label", label));
+		command.addAll(isolationOptions());
+		command.addAll(Arrays.asList(
+				"-v", hostDir.toAbsolutePath() + ":" + CONTAINER_WORKDIR,
+				"-w", CONTAINER_WORKDIR,
+				image,
+				// 실행 요청을 기다리는 대기 프로세스 (PID 1)
+				"tail", "-f", "/dev/null"));
+		CommandResult result = run(command);
+		if(result.exitCode != 0) {
+			log.warn("[CliDockerContainerLifecycle] 컨테이너 생성 실패: image={}, output={}", image, result.output.trim());
+			return null;
+		}
+		return result.output.trim();
+	}
+
+	@Override
+	public int processCount(String containerId) {
+		CommandResult top = run(Arrays.asList(DOCKER_COMMAND, "top", containerId));
+		if(top.exitCode != 0) {
+			return -1;
+		}
+		// docker top 출력: 헤더 한 줄 + 프로세스마다 한 줄
+		int lines = 0;
+		for(String line : top.output.split("\n")) {
+			if(!line.trim().isEmpty()) {
+				lines++;
+			}
+		}
+		return lines - 1;
+	}
+
+	@Override
+	public int exec(String containerId, String script) {
+		return run(Arrays.asList(DOCKER_COMMAND, "exec", containerId, "sh", "-c", script)).exitCode;
+	}
+
+	@Override
+	public void remove(String containerId) {
+		run(Arrays.asList(DOCKER_COMMAND, "rm", "-f", containerId));
+	}
+
+	@Override
+	public List<String> list(String label) {
+		CommandResult listed = run(Arrays.asList(DOCKER_COMMAND, "ps", "-aq", "--filter", "label=" + label));
+		List<String> ids = new ArrayList<>();
+		if(listed.exitCode != 0) {
+			return ids;
+		}
+		for(String id : listed.output.split("\\s+")) {
+			if(!id.isEmpty()) {
+				ids.add(id);
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * docker run에 붙이는 격리 옵션 (풀 컨테이너와 CLI 엔진의 새 컨테이너가 공통으로 사용)
+	 * - 외부 네트워크 차단, 읽기 전용 루트 파일시스템, DockerContainerPool.TMPFS_DIRS를 tmpfs로 마운트
+	 */
+	static List<String> isolationOptions() {
+		// 외부 네트워크 접근을 차단합니다.
+		List<String> options = new ArrayList<>(Arrays.asList("--network", "none", "--read-only"));
+		for(String dir : DockerContainerPool.TMPFS_DIRS) {
+			options.add("--tmpfs");
+			options.add(dir);
+		}
+		return options;
+	}
+
+	private static CommandResult run(List<String> command) {
+		Process process = null;
+		try {
+			process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			process.getOutputStream().close();
+			String output = readAll(process.getInputStream());
+			if(!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+				return new CommandResult(-1, output);
+			}
+			return new CommandResult(process.exitValue(), output);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			process.destroyForcibly();
+			return new CommandResult(-1, "interrupted");
+		} catch (IOException e) {
+			if(process != null) {
+				process.destroyForcibly();
+			}
+			return new CommandResult(-1, String.valueOf(e.getMessage()));
+		}
+	}
+
+	private static String readAll(InputStream input) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		byte[] chunk = new byte[4096];
+		int len;
+		while((len = input.read(chunk)) != -1) {
+			buffer.write(chunk, 0, len);
+		}
+		return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static class CommandResult {
+		private final int exitCode;
+		private final String output;
+
+		CommandResult(int exitCode, String output) {
+			this.exitCode = exitCode;
+			this.output = output;
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.example.demo.execution.execute;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * docker CLI 프로세스로 실행하는 엔진 (execution.engine=cli).
+ *
+ * 실행마다 docker run/exec 프로세스를 띄우고 stdout/stderr/stdin을 스레드로 중계합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "execution", name = "engine", havingValue = "cli")
+public class CliDockerExecutionEngine extends AbstractDockerExecutionEngine {
+	private static final String DOCKER_COMMAND = "docker";
+
+	public CliDockerExecutionEngine(ExecutionProperties properties, DockerContainerPool containerPool, MeterRegistry meterRegistry) {
+		super(properties, containerPool, meterRegistry);
+	}
+
+	@Override
+	protected String engineName() {
+		return "cli";
+	}
+
+	@Override
+	protected int runInNewContainer(Path workDir, DockerExecutionRequest request, OutputStream stdout, OutputStream stderr)
+			throws IOException, InterruptedException {
+		return run(buildDockerCommand(workDir, request), workDir, request, stdout, stderr);
+	}
+
+	@Override
+	protected int runInContainer(DockerContainerPool.PooledContainer container, DockerExecutionRequest request,
+			OutputStream stdout, OutputStream stderr) throws IOException, InterruptedException {
+		return run(buildExecCommand(container, request), container.getHostDir(), request, stdout, stderr);
+	}
+
+	private static int run(List<String> dockerCommand, Path workDir, DockerExecutionRequest request, OutputStream stdout, OutputStream stderr)
+			throws IOException, InterruptedException {
+		Process process = null;
+		Thread stdoutThread = null;
+		Thread stderrThread = null;
+		Thread stdinThread = null;
+
+		try {
+			ProcessBuilder builder = new ProcessBuilder(dockerCommand);
+			builder.directory(workDir.toFile());
+			process = builder.start();
+
+			if(request.getHandleConsumer() != null) {
+				request.getHandleConsumer().accept(ExecutionHandle.of(process));
+			}
+
+			stdoutThread = pump(process.getInputStream(), stdout, false);
+			stderrThread = pump(process.getErrorStream(), stderr, false);
+
+			if(request.getStdin() != null) {
+				stdinThread = pump(request.getStdin(), process.getOutputStream(), true);
+			} else {
+				process.getOutputStream().close();
+			}
+
+			process.waitFor();
+
+			joinQuietly(stdoutThread);
+			joinQuietly(stderrThread);
+			joinQuietly(stdinThread, 200L);
+
+			return process.exitValue();
+		} catch (IOException | InterruptedException | RuntimeException e) {
+			if(process != null) {
+				process.destroyForcibly();
+			}
+			throw e;
+		}
+	}
+
+	private static List<String> buildDockerCommand(Path workDir, DockerExecutionRequest request) {
+		List<String> command = new ArrayList<>();
+		command.add(DOCKER_COMMAND);
+		command.add("run");
+		command.add("--rm");
+		command.add("-i");
+		// 풀 컨테이너와 같은 격리 옵션 (네트워크 차단, 읽기 전용 루트 파일시스템, tmpfs)
+		command.addAll(CliDockerContainerLifecycle.isolationOptions());
+		// 로컬 작업 디렉토리를 컨테이너 작업 디렉토리로 마운트합니다.
+		command.add("-v");
+		command.add(workDir.toAbsolutePath().toString() + ":" + CONTAINER_WORKDIR);
+		command.add("-w");
+		command.add(CONTAINER_WORKDIR);
+		command.add(request.getImage());
+		command.addAll(containerCommand(request));
+		return command;
+	}
+
+	private static List<String> buildExecCommand(DockerContainerPool.PooledContainer container, DockerExecutionRequest request) {
+		List<String> command = new ArrayList<>();
+		command.add(DOCKER_COMMAND);
+		command.add("exec");
+		command.add("-i");
+		command.add("-w");
+		command.add(CONTAINER_WORKDIR);
+		command.add(container.getId());
+		command.addAll(containerCommand(request));
+		return command;
+	}
+
+	private static Thread pump(InputStream input, OutputStream output, boolean closeOutput) {
+		Thread thread = new Thread(() -> {
+			byte[] buffer = new byte[4096];
+			int len;
+			try {
+				while((len = input.read(buffer)) != -1) {
+					output.write(buffer, 0, len);
+					output.flush();
+				}
+			} catch (IOException e) {
+				// ignore
+			} finally {
+				closeQuietly(input);
+				if(closeOutput) {
+					closeQuietly(output);
+				}
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	private static void joinQuietly(Thread thread) {
+		joinQuietly(thread, 0L);
+	}
+
+	private static void joinQuietly(Thread thread, long timeoutMillis) {
+		if(thread == null) {
+			return;
+		}
+		try {
+			if(timeoutMillis > 0) {
+				thread.join(timeoutMillis);
+			} else {
+				thread.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
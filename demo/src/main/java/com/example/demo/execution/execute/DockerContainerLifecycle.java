@@ -0,0 +1,41 @@
+package com.example.demo.execution.execute;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 풀 컨테이너의 생성/점검/정리/제거 방법.
+ *
+ * - cli: docker CLI 프로세스로 요청 (CliDockerContainerLifecycle)
+ * - api: docker-java로 데몬 소켓에 직접 요청 (ApiDockerContainerLifecycle)
+ * 실행 엔진과 같은 execution.engine 설정으로 선택합니다. (풀은 어떤 방식인지 알지 못함)
+ */
+public interface DockerContainerLifecycle {
+	/**
+	 * hostDir를 /workspace에 마운트하고 대기 프로세스(PID 1)만 실행하는 격리 컨테이너를 띄웁니다.
+	 *
+	 * @param label 풀 구분 라벨 (key=value, list/제거에 사용)
+	 * @return 컨테이너 ID (실패하면 null)
+	 */
+	String create(String name, String label, String image, Path hostDir);
+
+	/**
+	 * 컨테이너 안에서 실행 중인 프로세스 수 (조회 실패 시 -1)
+	 */
+	int processCount(String containerId);
+
+	/**
+	 * 컨테이너 안에서 sh -c script를 실행하고 종료 코드를 반환합니다. (실패 시 -1)
+	 */
+	int exec(String containerId, String script);
+
+	/**
+	 * 컨테이너를 강제로 제거합니다. (이미 없으면 무시)
+	 */
+	void remove(String containerId);
+
+	/**
+	 * 라벨이 붙은 컨테이너 ID (중지된 컨테이너 포함, 조회 실패 시 빈 목록)
+	 */
+	List<String> list(String label);
+}
@@ -0,0 +1,404 @@
+package com.example.demo.execution.execute;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이미지별로 미리 띄워 둔 컨테이너 풀.
+ *
+ * - 컨테이너는 네트워크 없이(--network none) 대기 프로세스만 실행한 상태로 유지하고, 코드는 docker exec로 실행합니다.
+ * - 컨테이너마다 전용 호스트 디렉토리를 /workspace에 마운트하여 실행 전 파일을 쓰고 실행 후 비웁니다.
+ * - 루트 파일시스템은 읽기 전용, /tmp와 /dev/shm은 tmpfs로 두어 실행이 남기는 상태를 /workspace, tmpfs, /dev/mqueue로 한정합니다.
+ *   (새 컨테이너 실행도 같은 옵션 사용: TMPFS_DIRS)
+ * - 정상 종료된 실행은 잔여 프로세스 확인과 tmpfs, /dev/mqueue 정리 후 풀로 돌려보내고,
+ *   비정상 종료/중단, 잔여 프로세스, maxRunsPerContainer 도달, idle TTL 초과 컨테이너는 폐기 후 새로 띄웁니다.
+ * - 컨테이너 생성/정리는 refillConcurrency개의 스레드에서만 수행하여 실행 요청 경로를 막지 않습니다.
+ * - 컨테이너 생성, 프로세스 확인, 정리, 제거는 실행 엔진과 같은 방식(DockerContainerLifecycle: docker-java 또는 CLI)으로 요청합니다.
+ */
+@Slf4j
+@Component
+public class DockerContainerPool {
+	private static final String POOL_LABEL = "compiler.pool";
+	private static final long RETRY_DELAY_MILLIS = 10000L;
+	// 컨테이너 안에서 쓸 수 있는 tmpfs 경로 (루트 파일시스템은 읽기 전용)
+	static final List<String> TMPFS_DIRS = List.of("/tmp", "/dev/shm");
+	// 실행이 상태를 남길 수 있는 컨테이너 경로 (reset에서 비움, POSIX 메시지 큐는 /dev/mqueue에 파일로 보임)
+	private static final List<String> SCRATCH_DIRS = List.of("/tmp", "/dev/shm", "/dev/mqueue");
+
+	private final ExecutionProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final DockerContainerLifecycle lifecycle;
+	private final String poolId = UUID.randomUUID().toString().substring(0, 8);
+	private final Map<String, ImagePool> pools = new ConcurrentHashMap<>();
+	private final ExecutorService maintenance;
+	private volatile boolean closed;
+
+	public DockerContainerPool(ExecutionProperties properties, MeterRegistry meterRegistry, DockerContainerLifecycle lifecycle) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.lifecycle = lifecycle;
+		int threads = Math.max(1, properties.getPool().getRefillConcurrency());
+		AtomicInteger sequence = new AtomicInteger();
+		this.maintenance = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "container-pool-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		ExecutionProperties.Docker docker = properties.getDocker();
+		ExecutionProperties.Pool pool = properties.getPool();
+		register(docker.getPythonImage(), pool.getPythonSize());
+		register(docker.getJavascriptImage(), pool.getJavascriptSize());
+		register(docker.getJavaImage(), pool.getJavaSize());
+	}
+
+	private void register(String image, int size) {
+		if(image == null || image.trim().isEmpty() || size <= 0) {
+			return;
+		}
+		pools.computeIfAbsent(image, key -> new ImagePool(key, meterRegistry)).addTarget(size);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if(!properties.getPool().isEnabled()) {
+			return;
+		}
+		for(ImagePool pool : pools.values()) {
+			refill(pool);
+		}
+	}
+
+	/**
+	 * 유휴 컨테이너 하나를 꺼냅니다.
+	 *
+	 * @return 풀이 비활성화되었거나 비어 있으면 null (호출 측에서 docker run으로 실행)
+	 */
+	public PooledContainer acquire(String image) {
+		if(!properties.getPool().isEnabled() || closed) {
+			return null;
+		}
+		ImagePool pool = pools.get(image);
+		if(pool == null) {
+			return null;
+		}
+		PooledContainer container = pool.idle.pollFirst();
+		if(container == null) {
+			pool.misses.increment();
+		} else {
+			pool.hits.increment();
+		}
+		refill(pool);
+		return container;
+	}
+
+	/**
+	 * 실행이 끝난 컨테이너를 돌려받습니다.
+	 *
+	 * @param clean 정상 종료(exitCode 0)이고 중단되지 않은 실행이면 true
+	 */
+	public void release(PooledContainer container, boolean clean) {
+		if(container == null) {
+			return;
+		}
+		ImagePool pool = pools.get(container.getImage());
+		container.runs++;
+		boolean exhausted = container.runs >= Math.max(1, properties.getPool().getMaxRunsPerContainer());
+		if(pool == null || !clean || exhausted || closed) {
+			discard(pool, container);
+			return;
+		}
+		maintenance.execute(() -> {
+			if(closed || !timedReset(pool, container)) {
+				discard(pool, container);
+				return;
+			}
+			container.lastUsedAt = System.currentTimeMillis();
+			pool.idle.offerFirst(container);
+		});
+	}
+
+	/**
+	 * idle TTL이 지난 컨테이너를 교체하고 목표 개수까지 다시 채웁니다.
+	 */
+	@Scheduled(fixedDelayString = "${execution.pool.sweep-interval-millis:10000}")
+	public void sweep() {
+		if(!properties.getPool().isEnabled() || closed) {
+			return;
+		}
+		long expiredBefore = System.currentTimeMillis() - properties.getPool().getIdleTtlMillis();
+		for(ImagePool pool : pools.values()) {
+			for(PooledContainer container : pool.idle) {
+				// acquire와 경쟁하면 remove가 false → 이미 실행에 사용 중
+				if(container.lastUsedAt < expiredBefore && pool.idle.remove(container)) {
+					discard(pool, container);
+				}
+			}
+			refill(pool);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		closed = true;
+		maintenance.shutdownNow();
+		for(ImagePool pool : pools.values()) {
+			PooledContainer container;
+			while((container = pool.idle.pollFirst()) != null) {
+				deleteQuietly(container.getHostDir());
+			}
+		}
+		// 생성 도중이던 컨테이너까지 포함하도록 라벨로 조회하여 제거
+		for(String id : lifecycle.list(poolLabel())) {
+			lifecycle.remove(id);
+		}
+	}
+
+	// 유휴 + 생성 중 개수가 목표보다 적은 만큼 생성 작업 등록
+	private void refill(ImagePool pool) {
+		if(!properties.getPool().isEnabled() || closed) {
+			return;
+		}
+		// 생성이 실패한 직후에는 요청마다 docker run을 반복하지 않도록 잠시 쉼
+		if(System.currentTimeMillis() < pool.retryAfter) {
+			return;
+		}
+		while(true) {
+			int starting = pool.starting.get();
+			if(pool.idle.size() + starting >= pool.target) {
+				return;
+			}
+			if(pool.starting.compareAndSet(starting, starting + 1)) {
+				maintenance.execute(() -> start(pool));
+			}
+		}
+	}
+
+	private void start(ImagePool pool) {
+		try {
+			PooledContainer container = create(pool.image);
+			if(container == null) {
+				pool.retryAfter = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+				return;
+			}
+			if(closed) {
+				remove(container);
+				return;
+			}
+			// starting을 줄이기 전에 넣어야 refill이 목표보다 많이 만들지 않음
+			pool.idle.offerFirst(container);
+		} finally {
+			pool.starting.decrementAndGet();
+		}
+	}
+
+	private PooledContainer create(String image) {
+		Path hostDir = null;
+		try {
+			hostDir = createHostDir();
+			String name = "compiler-pool-" + poolId + "-" + UUID.randomUUID().toString().substring(0, 8);
+			String id = lifecycle.create(name, poolLabel(), image, hostDir);
+			if(id == null) {
+				deleteQuietly(hostDir);
+				return null;
+			}
+			log.debug("[DockerContainerPool] 컨테이너 생성: image={}, id={}", image, id);
+			return new PooledContainer(id, image, hostDir);
+		} catch (IOException e) {
+			log.warn("[DockerContainerPool] 컨테이너 생성 실패: image={}, error={}", image, e.getMessage());
+			deleteQuietly(hostDir);
+			return null;
+		}
+	}
+
+	private String poolLabel() {
+		return POOL_LABEL + "=" + poolId;
+	}
+
+	/**
+	 * 다음 실행을 위해 컨테이너를 비웁니다.
+	 * - PID 1 외에 남은 프로세스가 있으면 재사용하지 않음 (백그라운드 프로세스가 다음 실행에 섞이지 않도록)
+	 * - SCRATCH_DIRS(tmpfs, POSIX 공유 메모리/메시지 큐)와 마운트된 작업 디렉토리를 비움
+	 * - 비운 뒤에도 남은 항목이 있으면 재사용하지 않음
+	 */
+	private boolean reset(PooledContainer container) {
+		if(lifecycle.processCount(container.getId()) != 1) {
+			return false;
+		}
+		if(lifecycle.exec(container.getId(), scratchCleanScript()) != 0) {
+			return false;
+		}
+		try {
+			clearDirectory(container.getHostDir());
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	// 실행마다 드는 정리 비용 (execution.pool.reset)
+	private boolean timedReset(ImagePool pool, PooledContainer container) {
+		long startedAt = System.nanoTime();
+		boolean reset = reset(container);
+		pool.resets.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		return reset;
+	}
+
+	// 각 경로의 (숨김 포함) 항목 삭제 후 남은 항목이 있으면 종료 코드 1
+	private static String scratchCleanScript() {
+		StringBuilder script = new StringBuilder();
+		for(String dir : SCRATCH_DIRS) {
+			script.append("rm -rf ").append(dir).append("/* ").append(dir).append("/.[!.]* ").append(dir).append("/..?* 2>/dev/null; ");
+		}
+		script.append("for d in");
+		for(String dir : SCRATCH_DIRS) {
+			script.append(' ').append(dir);
+		}
+		script.append("; do if [ -d \"$d\" ] && [ -n \"$(ls -A \"$d\")\" ]; then exit 1; fi; done; exit 0");
+		return script.toString();
+	}
+
+	private void discard(ImagePool pool, PooledContainer container) {
+		if(closed) {
+			remove(container);
+			return;
+		}
+		maintenance.execute(() -> {
+			remove(container);
+			if(pool != null) {
+				refill(pool);
+			}
+		});
+	}
+
+	private void remove(PooledContainer container) {
+		lifecycle.remove(container.getId());
+		deleteQuietly(container.getHostDir());
+		log.debug("[DockerContainerPool] 컨테이너 폐기: image={}, id={}, runs={}", container.getImage(), container.getId(), container.runs);
+	}
+
+	private Path createHostDir() throws IOException {
+		String baseDir = properties.getWorkDir();
+		if(baseDir == null || baseDir.trim().isEmpty()) {
+			return Files.createTempDirectory("compiler-pool-");
+		}
+		Path basePath = Paths.get(baseDir);
+		Files.createDirectories(basePath);
+		return Files.createTempDirectory(basePath, "compiler-pool-");
+	}
+
+	private static void clearDirectory(Path dir) throws IOException {
+		try(Stream<Path> children = Files.list(dir)) {
+			for(Path child : (Iterable<Path>) children::iterator) {
+				deleteRecursively(child);
+			}
+		}
+	}
+
+	private static void deleteRecursively(Path path) throws IOException {
+		try(Stream<Path> walk = Files.walk(path)) {
+			walk.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+		if(Files.exists(path)) {
+			throw new IOException("failed to delete " + path);
+		}
+	}
+
+	private static void deleteQuietly(Path path) {
+		if(path == null || !Files.exists(path)) {
+			return;
+		}
+		try {
+			deleteRecursively(path);
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * 풀에서 꺼낸 컨테이너.
+	 */
+	public static class PooledContainer {
+		private final String id;
+		private final String image;
+		private final Path hostDir;
+		private int runs;
+		private volatile long lastUsedAt = System.currentTimeMillis();
+
+		PooledContainer(String id, String image, Path hostDir) {
+			this.id = id;
+			this.image = image;
+			this.hostDir = hostDir;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public String getImage() {
+			return image;
+		}
+
+		/**
+		 * 컨테이너의 /workspace에 마운트된 호스트 디렉토리
+		 */
+		public Path getHostDir() {
+			return hostDir;
+		}
+	}
+
+	private static class ImagePool {
+		private final String image;
+		private final ConcurrentLinkedDeque<PooledContainer> idle = new ConcurrentLinkedDeque<>();
+		private final AtomicInteger starting = new AtomicInteger();
+		private final Counter hits;
+		private final Counter misses;
+		private final Timer resets;
+		private volatile int target;
+		private volatile long retryAfter;
+
+		ImagePool(String image, MeterRegistry meterRegistry) {
+			this.image = image;
+			this.hits = meterRegistry.counter("execution.pool.acquire", "image", image, "result", "hit");
+			this.misses = meterRegistry.counter("execution.pool.acquire", "image", image, "result", "miss");
+			this.resets = Timer.builder("execution.pool.reset")
+				.tag("image", image)
+				.register(meterRegistry);
+			Gauge.builder("execution.pool.idle", idle, ConcurrentLinkedDeque::size)
+				.tag("image", image)
+				.register(meterRegistry);
+		}
+
+		// 여러 언어가 같은 이미지를 쓰면 목표 개수를 합산
+		void addTarget(int size) {
+			this.target += size;
+		}
+	}
+}
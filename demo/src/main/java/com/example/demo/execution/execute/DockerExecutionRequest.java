@@ -2,6 +2,7 @@ package com.example.demo.execution.execute;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -17,10 +18,22 @@ public class DockerExecutionRequest {
 	private final InputStream stdin;
 	private final OutputStream stdout;
 	private final OutputStream stderr;
-	private final Consumer<Process> processConsumer;
+	private final Consumer<ExecutionHandle> handleConsumer;
+	private final Map<String, Path> directories;
+	private final Consumer<Path> workDirConsumer;
 
 	public DockerExecutionRequest(String image, Map<String, String> files, List<String> command, String[] args,
-			InputStream stdin, OutputStream stdout, OutputStream stderr, Consumer<Process> processConsumer) {
+			InputStream stdin, OutputStream stdout, OutputStream stderr, Consumer<ExecutionHandle> handleConsumer) {
+		this(image, files, command, args, stdin, stdout, stderr, handleConsumer, null, null);
+	}
+
+	/**
+	 * @param directories 작업 디렉토리에 복사할 호스트 디렉토리 (작업 디렉토리 기준 경로 → 원본 디렉토리)
+	 * @param workDirConsumer 실행이 끝난 뒤 작업 디렉토리를 정리하기 전에 호출 (실행 결과 파일 수집용)
+	 */
+	public DockerExecutionRequest(String image, Map<String, String> files, List<String> command, String[] args,
+			InputStream stdin, OutputStream stdout, OutputStream stderr, Consumer<ExecutionHandle> handleConsumer,
+			Map<String, Path> directories, Consumer<Path> workDirConsumer) {
 		this.image = image;
 		this.files = files;
 		this.command = command;
@@ -28,7 +41,9 @@ public class DockerExecutionRequest {
 		this.stdin = stdin;
 		this.stdout = stdout;
 		this.stderr = stderr;
-		this.processConsumer = processConsumer;
+		this.handleConsumer = handleConsumer;
+		this.directories = directories;
+		this.workDirConsumer = workDirConsumer;
 	}
 
 	public String getImage() {
@@ -59,7 +74,15 @@ public class DockerExecutionRequest {
 		return stderr;
 	}
 
-	public Consumer<Process> getProcessConsumer() {
-		return processConsumer;
+	public Consumer<ExecutionHandle> getHandleConsumer() {
+		return handleConsumer;
+	}
+
+	public Map<String, Path> getDirectories() {
+		return directories;
+	}
+
+	public Consumer<Path> getWorkDirConsumer() {
+		return workDirConsumer;
 	}
 }
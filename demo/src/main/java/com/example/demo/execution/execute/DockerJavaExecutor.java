@@ -2,7 +2,10 @@ package com.example.demo.execution.execute;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -15,17 +18,24 @@ import com.example.demo.execution.model.LanguageType;
 
 /**
  * Java 소스를 컨테이너에서 컴파일 후 실행합니다.
+ *
+ * 컴파일 결과는 JavaClassCache에 저장하고, 같은 이미지와 소스로 다시 실행하면 javac 없이 캐시된 클래스로 바로 실행합니다.
  */
 @Component
 public class DockerJavaExecutor implements LanguageExecutor {
 	private static final Pattern CLASS_NAME_PATTERN = Pattern.compile("(?m)^\\s*(public\\s+)?class\\s+([A-Za-z_][A-Za-z0-9_]*)");
+	private static final String CLASSES_DIR = "classes";
+	// java 실행 전에 복사해 둔 javac 출력 (캐시 저장용)
+	private static final String COMPILED_DIR = ".classes-compiled";
 
 	private final DockerExecutionEngine engine;
 	private final ExecutionProperties properties;
+	private final JavaClassCache classCache;
 
-	public DockerJavaExecutor(DockerExecutionEngine engine, ExecutionProperties properties) {
+	public DockerJavaExecutor(DockerExecutionEngine engine, ExecutionProperties properties, JavaClassCache classCache) {
 		this.engine = engine;
 		this.properties = properties;
+		this.classCache = classCache;
 	}
 
 	@Override
@@ -35,7 +45,7 @@ public class DockerJavaExecutor implements LanguageExecutor {
 
 	@Override
 	public ScriptExecutionResult execute(String code, String[] args, InputStream stdin, OutputStream stdout, OutputStream stderr,
-			Consumer<Process> processConsumer) {
+			Consumer<ExecutionHandle> handleConsumer) {
 		if(code == null || code.trim().isEmpty()) {
 			return new ScriptExecutionResult(false, -1, "", "", "code is required");
 		}
@@ -45,23 +55,60 @@ public class DockerJavaExecutor implements LanguageExecutor {
 			return new ScriptExecutionResult(false, -1, "", "", "class name is required");
 		}
 
+		String image = properties.getDocker().getJavaImage();
+		String cacheKey = classCache.isEnabled() ? classCache.key(image, code) : null;
+		Path cachedClasses = cacheKey != null ? classCache.checkout(cacheKey) : null;
+
+		DockerExecutionRequest request;
+		if(cachedClasses != null) {
+			// 캐시 적중: 캐시 디렉토리의 클래스를 작업 디렉토리로 한 번 복사하고 javac 없이 바로 실행합니다.
+			request = new DockerExecutionRequest(
+					image,
+					Collections.emptyMap(),
+					Arrays.asList("java", "-Dfile.encoding=UTF-8", "-cp", CLASSES_DIR, className),
+					args,
+					stdin,
+					stdout,
+					stderr,
+					handleConsumer,
+					Collections.singletonMap(CLASSES_DIR, cachedClasses),
+					null
+			);
+			try {
+				return engine.execute(request);
+			} finally {
+				classCache.release(cachedClasses);
+			}
+		}
+
 		Map<String, String> files = new HashMap<>();
 		files.put(className + ".java", code);
 		files.put("run.sh", buildRunScript(className));
 
-		DockerExecutionRequest request = new DockerExecutionRequest(
-				properties.getDocker().getJavaImage(),
+		request = new DockerExecutionRequest(
+				image,
 				files,
 				Arrays.asList("sh", "/workspace/run.sh"),
 				args,
 				stdin,
 				stdout,
 				stderr,
-				processConsumer
+				handleConsumer,
+				null,
+				cacheKey != null ? workDir -> storeClasses(cacheKey, workDir, className) : null
 		);
 		return engine.execute(request);
 	}
 
+	// 컴파일이 성공했으면 (메인 클래스 파일이 있으면) 실행 결과와 관계없이 캐시에 저장
+	// 실행 중인 코드가 바꿀 수 있는 classes가 아니라 실행 전에 복사한 javac 출력을 저장
+	private void storeClasses(String cacheKey, Path workDir, String className) {
+		Path classesDir = workDir.resolve(COMPILED_DIR);
+		if(Files.isRegularFile(classesDir.resolve(className + ".class"))) {
+			classCache.store(cacheKey, classesDir);
+		}
+	}
+
 	private static String extractClassName(String code) {
 		Matcher matcher = CLASS_NAME_PATTERN.matcher(code);
 		if(matcher.find()) {
@@ -71,10 +118,12 @@ public class DockerJavaExecutor implements LanguageExecutor {
 	}
 
 	private static String buildRunScript(String className) {
-		// 컴파일 + 실행을 한 번에 수행하는 간단한 셸 스크립트입니다.
+		// 컴파일 + 실행을 한 번에 수행하는 간단한 셸 스크립트입니다. (클래스는 캐시에 저장할 수 있도록 classes 아래에 출력하고 실행 전에 복사)
 		return "#!/bin/sh\n"
 				+ "set -e\n"
-				+ "javac -encoding UTF-8 " + className + ".java\n"
-				+ "java -Dfile.encoding=UTF-8 " + className + " \"$@\"\n";
+				+ "mkdir -p " + CLASSES_DIR + "\n"
+				+ "javac -encoding UTF-8 -d " + CLASSES_DIR + " " + className + ".java\n"
+				+ "cp -r " + CLASSES_DIR + " " + COMPILED_DIR + "\n"
+				+ "java -Dfile.encoding=UTF-8 -cp " + CLASSES_DIR + " " + className + " \"$@\"\n";
 	}
 }
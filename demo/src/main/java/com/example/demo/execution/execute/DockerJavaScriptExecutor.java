@@ -28,7 +28,7 @@ public class DockerJavaScriptExecutor implements LanguageExecutor {
 
 	@Override
 	public ScriptExecutionResult execute(String code, String[] args, InputStream stdin, OutputStream stdout, OutputStream stderr,
-			Consumer<Process> processConsumer) {
+			Consumer<ExecutionHandle> handleConsumer) {
 		if(code == null || code.trim().isEmpty()) {
 			return new ScriptExecutionResult(false, -1, "", "", "code is required");
 		}
@@ -44,7 +44,7 @@ public class DockerJavaScriptExecutor implements LanguageExecutor {
 				stdin,
 				stdout,
 				stderr,
-				processConsumer
+				handleConsumer
 		);
 		return engine.execute(request);
 	}
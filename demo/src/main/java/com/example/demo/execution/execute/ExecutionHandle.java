@@ -0,0 +1,22 @@
+package com.example.demo.execution.execute;
+
+/**
+ * 실행 중인 코드를 중단하기 위한 핸들.
+ *
+ * 엔진마다 실행 단위가 다르므로(docker CLI 프로세스, API로 만든 컨테이너/exec) 중단 방법만 노출합니다.
+ */
+@FunctionalInterface
+public interface ExecutionHandle {
+	/**
+	 * 실행을 강제로 종료합니다. 이미 끝났으면 아무것도 하지 않습니다.
+	 */
+	void destroy();
+
+	static ExecutionHandle of(Process process) {
+		return () -> {
+			if(process.isAlive()) {
+				process.destroyForcibly();
+			}
+		};
+	}
+}
@@ -7,12 +7,16 @@ import org.springframework.stereotype.Component;
  * 실행 엔진 설정.
  *
  * workDir는 컨테이너에서도 접근 가능한 호스트 경로여야 합니다.
+ * engine은 api(docker-java로 데몬 소켓에 직접 요청, 기본값) 또는 cli(docker CLI 프로세스 실행)입니다.
  */
 @Component
 @ConfigurationProperties(prefix = "execution")
 public class ExecutionProperties {
 	private String workDir;
+	private String engine = "api";
 	private final Docker docker = new Docker();
+	private final Pool pool = new Pool();
+	private final ClassCache classCache = new ClassCache();
 
 	public String getWorkDir() {
 		return workDir;
@@ -22,10 +26,26 @@ public class ExecutionProperties {
 		this.workDir = workDir;
 	}
 
+	public String getEngine() {
+		return engine;
+	}
+
+	public void setEngine(String engine) {
+		this.engine = engine;
+	}
+
 	public Docker getDocker() {
 		return docker;
 	}
 
+	public Pool getPool() {
+		return pool;
+	}
+
+	public ClassCache getClassCache() {
+		return classCache;
+	}
+
 	public static class Docker {
 		private String pythonImage = "python:3.11-alpine";
 		private String javascriptImage = "node:20-alpine";
@@ -55,4 +75,112 @@ public class ExecutionProperties {
 			this.javaImage = javaImage;
 		}
 	}
+
+	/**
+	 * 미리 띄워 둔 컨테이너 풀 설정.
+	 *
+	 * 이미지(언어)마다 size개의 유휴 컨테이너를 유지하고, 실행은 docker exec로 수행합니다.
+	 * 컨테이너는 maxRunsPerContainer번 실행했거나 비정상 종료/잔여 프로세스가 있으면 폐기 후 새로 띄웁니다.
+	 */
+	public static class Pool {
+		private boolean enabled = true;
+		private int pythonSize = 2;
+		private int javascriptSize = 0;
+		private int javaSize = 2;
+		private int maxRunsPerContainer = 20;
+		private long idleTtlMillis = 600000;
+		private int refillConcurrency = 2;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getPythonSize() {
+			return pythonSize;
+		}
+
+		public void setPythonSize(int pythonSize) {
+			this.pythonSize = pythonSize;
+		}
+
+		public int getJavascriptSize() {
+			return javascriptSize;
+		}
+
+		public void setJavascriptSize(int javascriptSize) {
+			this.javascriptSize = javascriptSize;
+		}
+
+		public int getJavaSize() {
+			return javaSize;
+		}
+
+		public void setJavaSize(int javaSize) {
+			this.javaSize = javaSize;
+		}
+
+		public int getMaxRunsPerContainer() {
+			return maxRunsPerContainer;
+		}
+
+		public void setMaxRunsPerContainer(int maxRunsPerContainer) {
+			this.maxRunsPerContainer = maxRunsPerContainer;
+		}
+
+		public long getIdleTtlMillis() {
+			return idleTtlMillis;
+		}
+
+		public void setIdleTtlMillis(long idleTtlMillis) {
+			this.idleTtlMillis = idleTtlMillis;
+		}
+
+		public int getRefillConcurrency() {
+			return refillConcurrency;
+		}
+
+		public void setRefillConcurrency(int refillConcurrency) {
+			this.refillConcurrency = refillConcurrency;
+		}
+	}
+
+	/**
+	 * Java 컴파일 결과(.class) 캐시 설정.
+	 *
+	 * 같은 이미지(JDK)와 같은 소스는 한 번만 컴파일하고, 이후 실행은 캐시된 클래스를 작업 디렉토리에 복사해 바로 java로 실행합니다.
+	 * dir를 비워두면 임시 디렉토리 아래 compiler-class-cache를 사용합니다.
+	 */
+	public static class ClassCache {
+		private boolean enabled = true;
+		private String dir;
+		private long maxBytes = 256L * 1024 * 1024;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getDir() {
+			return dir;
+		}
+
+		public void setDir(String dir) {
+			this.dir = dir;
+		}
+
+		public long getMaxBytes() {
+			return maxBytes;
+		}
+
+		public void setMaxBytes(long maxBytes) {
+			this.maxBytes = maxBytes;
+		}
+	}
 }
@@ -0,0 +1,278 @@
+package com.example.demo.execution.execute;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Java 컴파일 결과(.class) 캐시.
+ *
+ * - 키: JDK 이미지 + 소스 내용의 SHA-256 (javac 옵션이 바뀌면 KEY_VERSION을 올려 기존 항목을 무효화)
+ * - 항목마다 dir/키 디렉토리에 컴파일된 클래스 파일을 보관하고, 전체 크기가 maxBytes를 넘으면 가장 오래 사용하지 않은 항목부터 삭제 (LRU)
+ * - 사용 순서는 디렉토리 수정 시각에도 남겨 재시작 후에도 이어서 사용
+ * - 캐시 디렉토리는 컨테이너에 마운트하지 않음 → 실행마다 캐시 디렉토리에서 작업 디렉토리로 한 번 복사하여 다른 사용자의 클래스가 보이지 않도록 함
+ *   (꺼낸 항목은 release 전까지 evict가 목록에서만 빼고 디렉토리는 지우지 않음)
+ * - 저장할 클래스는 사용자 코드가 실행되기 전에 만든 javac 출력 복사본 (실행 중 classes를 바꿔도 캐시에 들어가지 않음)
+ */
+@Slf4j
+@Component
+public class JavaClassCache {
+	private static final String KEY_VERSION = "javac-utf8-v1";
+	private static final String TEMP_PREFIX = "tmp-";
+
+	private final ExecutionProperties.ClassCache properties;
+	private final Path root;
+	// 키 → 항목 크기 (접근 순서, 가장 오래 사용하지 않은 항목이 앞)
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+	// 키 → 꺼내 쓰는 중인 실행 수
+	private final Map<String, Integer> pins = new HashMap<>();
+	private long totalBytes;
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+
+	public JavaClassCache(ExecutionProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties.getClassCache();
+		String dir = this.properties.getDir();
+		this.root = (dir == null || dir.trim().isEmpty())
+				? Paths.get(System.getProperty("java.io.tmpdir"), "compiler-class-cache")
+				: Paths.get(dir);
+		this.hits = meterRegistry.counter("execution.class-cache.requests", "result", "hit");
+		this.misses = meterRegistry.counter("execution.class-cache.requests", "result", "miss");
+		this.evictions = meterRegistry.counter("execution.class-cache.evictions");
+		Gauge.builder("execution.class-cache.size", this, JavaClassCache::getTotalBytes)
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		if(this.properties.isEnabled()) {
+			load();
+		}
+	}
+
+	public boolean isEnabled() {
+		return properties.isEnabled();
+	}
+
+	/**
+	 * 캐시 키 (이미지 + 소스)
+	 */
+	public String key(String image, String source) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((KEY_VERSION + "\n" + image + "\n").getBytes(StandardCharsets.UTF_8));
+			byte[] hash = digest.digest(source.getBytes(StandardCharsets.UTF_8));
+			StringBuilder builder = new StringBuilder(hash.length * 2);
+			for(byte b : hash) {
+				builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return builder.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 캐시된 클래스 디렉토리를 꺼냅니다. (복사하지 않고 캐시 디렉토리를 그대로 반환)
+	 * - release 전까지 evict가 디렉토리를 지우지 않으므로 호출 측은 작업 디렉토리로 한 번만 복사
+	 * - 사용이 끝나면 호출 측에서 release 호출
+	 *
+	 * @return 없으면 null (컴파일 필요)
+	 */
+	public Path checkout(String key) {
+		if(!properties.isEnabled()) {
+			return null;
+		}
+		synchronized (this) {
+			if(entries.get(key) == null) {
+				misses.increment();
+				return null;
+			}
+			pins.merge(key, 1, Integer::sum);
+		}
+		hits.increment();
+		Path dir = root.resolve(key);
+		touch(dir);
+		return dir;
+	}
+
+	/**
+	 * checkout으로 꺼낸 항목 반납 (사용 중에 evict된 항목은 마지막 반납에서 삭제)
+	 */
+	public synchronized void release(Path checkedOut) {
+		String key = checkedOut.getFileName().toString();
+		Integer count = pins.get(key);
+		if(count == null) {
+			return;
+		}
+		if(count > 1) {
+			pins.put(key, count - 1);
+			return;
+		}
+		pins.remove(key);
+		if(!entries.containsKey(key)) {
+			deleteQuietly(checkedOut);
+		}
+	}
+
+	/**
+	 * 컴파일된 클래스 디렉토리를 캐시에 저장합니다.
+	 * - 임시 디렉토리에 복사한 뒤 이름을 바꿔 넣으므로 다른 실행이 복사 중인 항목을 읽지 않음
+	 *
+	 * @param classesDir javac -d 출력 디렉토리
+	 */
+	public void store(String key, Path classesDir) {
+		if(!properties.isEnabled()) {
+			return;
+		}
+		synchronized (this) {
+			if(entries.containsKey(key)) {
+				return;
+			}
+		}
+
+		Path temp = root.resolve(TEMP_PREFIX + UUID.randomUUID());
+		try {
+			long size = copyDirectory(classesDir, temp);
+			if(size > properties.getMaxBytes()) {
+				deleteQuietly(temp);
+				return;
+			}
+			Path target = root.resolve(key);
+			synchronized (this) {
+				// evict된 뒤 아직 사용 중인 디렉토리가 남아 있으면 이번에는 저장하지 않음
+				if(entries.containsKey(key) || pins.containsKey(key)) {
+					deleteQuietly(temp);
+					return;
+				}
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+				entries.put(key, size);
+				totalBytes += size;
+				evict();
+			}
+		} catch (IOException e) {
+			log.warn("[JavaClassCache] 저장 실패: key={}, error={}", key, e.getMessage());
+			deleteQuietly(temp);
+		}
+	}
+
+	public synchronized long getTotalBytes() {
+		return totalBytes;
+	}
+
+	// 최대 크기를 넘는 동안 가장 오래 사용하지 않은 항목부터 삭제
+	private void evict() {
+		Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+		while(totalBytes > properties.getMaxBytes() && iterator.hasNext()) {
+			Map.Entry<String, Long> eldest = iterator.next();
+			iterator.remove();
+			totalBytes -= eldest.getValue();
+			// 사용 중인 항목은 마지막 release에서 삭제
+			if(!pins.containsKey(eldest.getKey())) {
+				deleteQuietly(root.resolve(eldest.getKey()));
+			}
+			evictions.increment();
+		}
+	}
+
+	// 기존 캐시 디렉토리를 수정 시각 순으로 다시 등록
+	private void load() {
+		try {
+			Files.createDirectories(root);
+			List<Path> dirs = new ArrayList<>();
+			try(Stream<Path> children = Files.list(root)) {
+				children.filter(Files::isDirectory).forEach(dirs::add);
+			}
+			dirs.sort(Comparator.comparing(JavaClassCache::lastModified));
+			synchronized (this) {
+				for(Path dir : dirs) {
+					String name = dir.getFileName().toString();
+					if(name.startsWith(TEMP_PREFIX)) {
+						deleteQuietly(dir);
+						continue;
+					}
+					long size = sizeOf(dir);
+					entries.put(name, size);
+					totalBytes += size;
+				}
+				evict();
+			}
+			log.info("[JavaClassCache] 캐시 로드: dir={}, entries={}, bytes={}", root, entries.size(), totalBytes);
+		} catch (IOException e) {
+			log.warn("[JavaClassCache] 캐시 디렉토리 준비 실패: dir={}, error={}", root, e.getMessage());
+		}
+	}
+
+	private static long copyDirectory(Path source, Path target) throws IOException {
+		long size = 0;
+		List<Path> paths = new ArrayList<>();
+		try(Stream<Path> walk = Files.walk(source)) {
+			walk.forEach(paths::add);
+		}
+		for(Path path : paths) {
+			Path destination = target.resolve(source.relativize(path).toString());
+			if(Files.isDirectory(path)) {
+				Files.createDirectories(destination);
+			} else {
+				Files.copy(path, destination);
+				size += Files.size(destination);
+			}
+		}
+		return size;
+	}
+
+	private static long sizeOf(Path dir) throws IOException {
+		try(Stream<Path> walk = Files.walk(dir)) {
+			return walk.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+		}
+	}
+
+	private static FileTime lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path);
+		} catch (IOException e) {
+			return FileTime.fromMillis(0L);
+		}
+	}
+
+	private static void touch(Path path) {
+		try {
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private static void deleteQuietly(Path path) {
+		if(path == null || !Files.exists(path)) {
+			return;
+		}
+		try(Stream<Path> walk = Files.walk(path)) {
+			walk.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
@@ -12,5 +12,5 @@ import com.example.demo.execution.model.LanguageType;
 public interface LanguageExecutor {
 	LanguageType getLanguage();
 
-	ScriptExecutionResult execute(String code, String[] args, InputStream stdin, OutputStream stdout, OutputStream stderr, Consumer<Process> processConsumer);
+	ScriptExecutionResult execute(String code, String[] args, InputStream stdin, OutputStream stdout, OutputStream stderr, Consumer<ExecutionHandle> handleConsumer);
 }
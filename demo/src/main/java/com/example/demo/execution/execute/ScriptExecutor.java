@@ -25,7 +25,7 @@ public class ScriptExecutor {
 	}
 
 	public ScriptExecutionResult execute(LanguageType language, String code, Object[] params, InputStream stdin,
-			OutputStream stdout, OutputStream stderr, Consumer<Process> processConsumer) {
+			OutputStream stdout, OutputStream stderr, Consumer<ExecutionHandle> handleConsumer) {
 		LanguageType resolved = (language != null) ? language : LanguageType.JAVA;
 		if(code == null || code.trim().isEmpty()) {
 			return new ScriptExecutionResult(false, -1, "", "", "code is required");
@@ -35,6 +35,6 @@ public class ScriptExecutor {
 			return new ScriptExecutionResult(false, -1, "", "", "executor not available for " + resolved.name().toLowerCase());
 		}
 		String[] args = ExecutionArgumentUtil.toStringArgs(params);
-		return executor.execute(code, args, stdin, stdout, stderr, processConsumer);
+		return executor.execute(code, args, stdin, stdout, stderr, handleConsumer);
 	}
 }
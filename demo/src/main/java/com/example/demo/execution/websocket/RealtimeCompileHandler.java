@@ -1,23 +1,32 @@
 package com.example.demo.execution.websocket;
 
+import com.example.demo.common.websocket.MessageCodec;
+import com.example.demo.common.websocket.WireFormat;
 import com.example.demo.execution.dto.response.ApiResponseResult;
+import com.example.demo.execution.dto.websocket.ExecutionErrorMessage;
+import com.example.demo.execution.dto.websocket.ExecutionMessage;
+import com.example.demo.execution.dto.websocket.InputMessage;
+import com.example.demo.execution.dto.websocket.OutputMessage;
+import com.example.demo.execution.dto.websocket.ResultMessage;
+import com.example.demo.execution.dto.websocket.StartMessage;
+import com.example.demo.execution.execute.ExecutionHandle;
 import com.example.demo.execution.execute.ScriptExecutionResult;
 import com.example.demo.execution.execute.ScriptExecutor;
 import com.example.demo.execution.model.LanguageType;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,60 +47,72 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * - output: {"type":"output","stream":"stdout|stderr","data":"..."}
  * - result: {"type":"result","result":"ApiResponseResult text","stdout":"...","stderr":"...","exitCode":0,"SystemOut":"...","performance":123,"stage":"run"}
  * - error: {"type":"error","message":"..."}
+ *
+ * Wire format is negotiated with the WebSocket subprotocol: "json" (default, text frames)
+ * or "cbor" (binary frames with the same fields).
  */
 @Slf4j
 @Component
-public class RealtimeCompileHandler extends TextWebSocketHandler {
-	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
-	
+public class RealtimeCompileHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 	private final ScriptExecutor scriptExecutor;
-	private final ObjectMapper objectMapper;
+	private final MessageCodec codec;
 	private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
 	
-	public RealtimeCompileHandler(ScriptExecutor scriptExecutor,
-			@Qualifier("executionObjectMapper") ObjectMapper objectMapper) {
+	public RealtimeCompileHandler(ScriptExecutor scriptExecutor, MessageCodec codec) {
 		this.scriptExecutor = scriptExecutor;
-		this.objectMapper = objectMapper;
+		this.codec = codec;
+	}
+	
+	@Override
+	public List<String> getSubProtocols() {
+		return WireFormat.subprotocols();
 	}
 	
 	@Override
 	public void afterConnectionEstablished(WebSocketSession session) {
-		sessions.put(session.getId(), new SessionState(session, objectMapper));
+		sessions.put(session.getId(), new SessionState(session, codec, WireFormat.of(session)));
 	}
 	
 	@Override
 	protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+		receive(session, message);
+	}
+	
+	@Override
+	protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+		receive(session, message);
+	}
+	
+	private void receive(WebSocketSession session, WebSocketMessage<?> message) {
 		SessionState state = sessions.get(session.getId());
 		if(state == null) {
 			return;
 		}
 		
-		Map<String, Object> payload;
+		// "type" 필드로 구체 메시지 타입까지 한 번에 역직렬화
+		ExecutionMessage payload;
 		try {
-			payload = objectMapper.readValue(message.getPayload(), MAP_TYPE);
-		} catch (IOException e) {
-			state.sendError("invalid json payload");
+			payload = codec.decode(message, ExecutionMessage.class);
+		} catch (InvalidTypeIdException e) {
+			state.sendError(e.getTypeId() == null ? "missing message type" : "unsupported message type: " + e.getTypeId());
 			return;
-		}
-		
-		String type = asString(payload.get("type"));
-		if(type == null) {
-			state.sendError("missing message type");
+		} catch (IOException e) {
+			state.sendError("invalid payload");
 			return;
 		}
 		
-		switch(type) {
+		switch(payload.getType()) {
 			case "start":
-				handleStart(state, payload);
+				handleStart(state, (StartMessage) payload);
 				break;
 			case "input":
-				handleInput(state, payload);
+				handleInput(state, (InputMessage) payload);
 				break;
 			case "stop":
 				state.stop();
 				break;
 			default:
-				state.sendError("unsupported message type: " + type);
+				state.sendError("unsupported message type: " + payload.getType());
 		}
 	}
 	
@@ -103,22 +124,22 @@ public class RealtimeCompileHandler extends TextWebSocketHandler {
 		}
 	}
 	
-	private void handleStart(SessionState state, Map<String, Object> payload) {
-		String code = asString(payload.get("code"));
+	private void handleStart(SessionState state, StartMessage payload) {
+		String code = payload.getCode();
 		if(code == null || code.trim().isEmpty()) {
 			state.sendError("code is required");
 			return;
 		}
 		
-		Object[] params = parseParams(payload.get("params"));
-		LanguageType language = LanguageType.from(payload.get("language"));
+		Object[] params = parseParams(payload.getParams());
+		LanguageType language = LanguageType.from(payload.getLanguage());
 		state.start(scriptExecutor, language, code, params);
 	}
 	
-	private void handleInput(SessionState state, Map<String, Object> payload) {
-		String data = asString(payload.get("data"));
+	private void handleInput(SessionState state, InputMessage payload) {
+		String data = payload.getData();
 		if(data == null) {
-			data = asString(payload.get("input"));
+			data = payload.getInput();
 		}
 		if(data == null) {
 			state.sendError("input data is required");
@@ -128,10 +149,6 @@ public class RealtimeCompileHandler extends TextWebSocketHandler {
 		state.writeInput(data);
 	}
 	
-	private static String asString(Object value) {
-		return value != null ? value.toString() : null;
-	}
-	
 	private static Object[] parseParams(Object rawParams) {
 		if(rawParams == null) {
 			return new Object[0];
@@ -148,21 +165,23 @@ public class RealtimeCompileHandler extends TextWebSocketHandler {
 	
 	private static class SessionState {
 		private final WebSocketSession session;
-		private final ObjectMapper objectMapper;
+		private final MessageCodec codec;
+		private final WireFormat format;
 		private final Object sendLock = new Object();
 		private final Object inputLock = new Object();
 		private final ExecutorService executor = Executors.newSingleThreadExecutor();
 		private final AtomicBoolean running = new AtomicBoolean(false);
 		private Future<?> currentTask;
-		private Process currentProcess;
+		private ExecutionHandle currentHandle;
 		private PipedInputStream inputStream;
 		private PipedOutputStream inputWriter;
 		private SessionOutputStream stdout;
 		private SessionOutputStream stderr;
 		
-		SessionState(WebSocketSession session, ObjectMapper objectMapper) {
+		SessionState(WebSocketSession session, MessageCodec codec, WireFormat format) {
 			this.session = session;
-			this.objectMapper = objectMapper;
+			this.codec = codec;
+			this.format = format;
 		}
 		
 		void start(ScriptExecutor scriptExecutor, LanguageType language, String code, Object[] params) {
@@ -185,7 +204,7 @@ public class RealtimeCompileHandler extends TextWebSocketHandler {
 			currentTask = executor.submit(() -> {
 				long beforeTime = System.currentTimeMillis();
 				try {
-					ScriptExecutionResult result = scriptExecutor.execute(language, code, params, inputStream, stdout, stderr, this::setProcess);
+					ScriptExecutionResult result = scriptExecutor.execute(language, code, params, inputStream, stdout, stderr, this::setHandle);
 					long afterTime = System.currentTimeMillis();
 					String message = result.isSuccess() ? null : (result.getErrorMessage() != null ? result.getErrorMessage() : "execution failed");
 					sendResult(result.isSuccess() ? ApiResponseResult.SUCEESS.getText() : ApiResponseResult.FAIL.getText(),
@@ -237,55 +256,38 @@ public class RealtimeCompileHandler extends TextWebSocketHandler {
 			executor.shutdownNow();
 		}
 		
-		private void setProcess(Process process) {
-			this.currentProcess = process;
+		private void setHandle(ExecutionHandle handle) {
+			this.currentHandle = handle;
 		}
 		
 		private void stopProcess() {
-			if(currentProcess != null && currentProcess.isAlive()) {
-				currentProcess.destroyForcibly();
+			ExecutionHandle handle = currentHandle;
+			currentHandle = null;
+			if(handle != null) {
+				handle.destroy();
 			}
-			currentProcess = null;
 		}
 		
 		void sendOutput(String stream, String data) {
-			Map<String, Object> payload = new HashMap<String, Object>();
-			payload.put("type", "output");
-			payload.put("stream", stream);
-			payload.put("data", data);
-			sendMessage(payload);
+			sendMessage(new OutputMessage(stream, data));
 		}
 		
 		void sendResult(String result, String systemOut, String stage, long performanceMs, int exitCode, String stdout, String stderr) {
-			Map<String, Object> payload = new HashMap<String, Object>();
-			payload.put("type", "result");
-			payload.put("result", result);
-			payload.put("stage", stage);
-			payload.put("performance", performanceMs);
-			payload.put("exitCode", exitCode);
-			payload.put("stdout", stdout);
-			payload.put("stderr", stderr);
-			if(systemOut != null) {
-				payload.put("SystemOut", systemOut);
-			}
-			sendMessage(payload);
+			sendMessage(new ResultMessage(result, systemOut, stage, performanceMs, exitCode, stdout, stderr));
 		}
 		
 		void sendError(String message) {
-			Map<String, Object> payload = new HashMap<String, Object>();
-			payload.put("type", "error");
-			payload.put("message", message);
-			sendMessage(payload);
+			sendMessage(new ExecutionErrorMessage(message));
 		}
 		
-		private void sendMessage(Map<String, Object> payload) {
+		private void sendMessage(ExecutionMessage payload) {
 			if(!session.isOpen()) {
 				return;
 			}
 			try {
-				String json = objectMapper.writeValueAsString(payload);
+				WebSocketMessage<?> frame = codec.encode(payload, format);
 				synchronized (sendLock) {
-					session.sendMessage(new TextMessage(json));
+					session.sendMessage(frame);
 				}
 			} catch (IOException e) {
 				log.debug("[RealtimeCompileHandler] failed to send message", e);
@@ -39,6 +39,16 @@ public class FileEntity {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // 최신 내용(FileContent) 포인터 - 최신 내용 조회를 기본 키 조회로 처리 (null = 내용 없음 또는 기존 데이터)
+    @Column
+    private Long headContentId;
+
+    @Column
+    private Integer headVersion;
+
+    @Column
+    private Integer headLength; // 최신 버전 전체 텍스트 길이
+
     public enum FileType {
         FILE, FOLDER
     }
@@ -59,6 +69,21 @@ public class FileEntity {
         onUpdated();
     }
 
+    // 새 버전 저장 시 최신 내용 포인터 갱신 (같은 트랜잭션에서 파일 행을 잠근 뒤 호출)
+    public void updateHead(Long contentId, Integer version, Integer length) {
+        this.headContentId = contentId;
+        this.headVersion = version;
+        this.headLength = length;
+        onUpdated();
+    }
+
+    public void clearHead() {
+        this.headContentId = null;
+        this.headVersion = null;
+        this.headLength = null;
+        onUpdated();
+    }
+
     public void delete() {
         this.isDeleted = true;
         onUpdated();
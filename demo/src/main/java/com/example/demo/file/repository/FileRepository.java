@@ -1,7 +1,11 @@
 package com.example.demo.file.repository;
 
 import com.example.demo.file.entity.FileEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,5 +30,10 @@ public interface FileRepository extends JpaRepository<FileEntity, Long> {
 
     // 파일 조회 (삭제되지 않은 것만)
     Optional<FileEntity> findByIdAndIsDeletedFalse(Long id);
+
+    // 파일 조회 + 행 잠금 (같은 파일의 새 버전 저장을 순서대로 처리)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FileEntity f WHERE f.id = :id")
+    Optional<FileEntity> findByIdForUpdate(@Param("id") Long id);
 }
 
@@ -8,7 +8,7 @@ import com.example.demo.file.dto.response.FileResponseDto;
 import com.example.demo.file.dto.response.FileTreeNodeDto;
 import com.example.demo.file.entity.FileEntity;
 import com.example.demo.file.repository.FileRepository;
-import com.example.demo.filecontent.repository.FileContentRepository;
+import com.example.demo.filecontent.service.FileContentVersionStore;
 import com.example.demo.project.repository.ProjectRepository;
 import com.example.demo.project.service.ProjectMemberService;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +27,7 @@ public class FileServiceImpl implements FileService {
 
     private final FileRepository fileRepository;
     private final ProjectRepository projectRepository;
-    private final FileContentRepository fileContentRepository;
+    private final FileContentVersionStore fileContentVersionStore;
     private final ProjectMemberService projectMemberService;
 
     // 파일/폴더 생성
@@ -155,8 +155,8 @@ public class FileServiceImpl implements FileService {
             deleteChildrenRecursively(fileId);
         }
 
-        // 연관 FileContent 삭제
-        fileContentRepository.deleteAll(fileContentRepository.findByFileIdOrderByVersionDesc(fileId));
+        // 연관 FileContent 삭제 (참조가 없어진 blob도 삭제)
+        fileContentVersionStore.deleteAll(fileId);
 
         // 파일 삭제
         file.delete();
@@ -173,8 +173,8 @@ public class FileServiceImpl implements FileService {
                 deleteChildrenRecursively(child.getId());
             }
             
-            // 연관 FileContent 삭제
-            fileContentRepository.deleteAll(fileContentRepository.findByFileIdOrderByVersionDesc(child.getId()));
+            // 연관 FileContent 삭제 (참조가 없어진 blob도 삭제)
+            fileContentVersionStore.deleteAll(child.getId());
             
             // 파일 삭제
             child.delete();
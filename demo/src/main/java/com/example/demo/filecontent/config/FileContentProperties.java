@@ -0,0 +1,34 @@
+package com.example.demo.filecontent.config;
+
+import com.example.demo.filecontent.entity.ContentBlob;
+import com.example.demo.filecontent.entity.FileContent;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 파일 내용 버전 저장 설정
+ *
+ * - storageMode=DELTA이면 직전 버전 대비 변경 사항만 저장하고, keyframeInterval 버전마다 전체 텍스트 저장
+ * - storageMode=FULL이면 모든 버전을 전체 텍스트로 저장 (기존 방식)
+ * - 보존 정책: retentionKeepAllMillis 동안은 모든 버전, retentionPerMinuteMillis까지는 분당 하나, 이후는 시간당 하나만 보관
+ * - compression=DEFLATE이면 compressionMinSize 글자 이상인 전체 텍스트(blob)를 압축하여 저장
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "file-content")
+public class FileContentProperties {
+    private FileContent.StorageType storageMode = FileContent.StorageType.DELTA;
+    private int keyframeInterval = 50;
+    private ContentBlob.Encoding compression = ContentBlob.Encoding.DEFLATE;
+    private int compressionLevel = 6; // 1(빠름) ~ 9(작음)
+    private int compressionMinSize = 256;
+    private boolean compactionEnabled = true;
+    private long retentionKeepAllMillis = 3_600_000L; // 1시간
+    private long retentionPerMinuteMillis = 86_400_000L; // 1일
+    private int compactionBatchSize = 500; // 한 번에 처리할 최대 버전 수 (파일별)
+    private int compactionFilesPerRun = 20;
+    private long compactionIntervalMillis = 60_000L;
+}
@@ -2,6 +2,8 @@ package com.example.demo.filecontent.controller;
 
 import com.example.demo.common.SecurityUtil;
 import com.example.demo.filecontent.dto.request.SaveFileContentRequestDto;
+import com.example.demo.filecontent.dto.response.FileContentHistoryPageResponseDto;
+import com.example.demo.filecontent.dto.response.FileContentOperationsResponseDto;
 import com.example.demo.filecontent.dto.response.FileContentResponseDto;
 import com.example.demo.filecontent.service.FileContentService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -28,7 +30,9 @@ public class FileContentController {
             Authentication authentication) {
         Long userId = securityUtil.getUserIdFromAuthentication(authentication);
         FileContentResponseDto response = fileContentService.saveFileContent(requestDto, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        // 다른 노드의 room에 발행만 한 경우 적용 버전을 알 수 없으므로 202 (room이 적용 후 TEXT_SYNC로 알림)
+        HttpStatus status = response.getVersion() != null ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(response);
     }
 
     @GetMapping("/file/{fileId}")
@@ -58,4 +62,26 @@ public class FileContentController {
         List<FileContentResponseDto> response = fileContentService.getFileContentHistory(fileId, userId);
         return ResponseEntity.ok(response);
     }
+
+    // 버전 목록 (메타데이터만, 본문은 /file/{fileId}/version/{version}으로 조회)
+    @GetMapping("/file/{fileId}/versions")
+    public ResponseEntity<FileContentHistoryPageResponseDto> getFileContentVersions(
+            @PathVariable Long fileId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
+        Long userId = securityUtil.getUserIdFromAuthentication(authentication);
+        FileContentHistoryPageResponseDto response = fileContentService.getFileContentVersions(fileId, page, size, userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/file/{fileId}/operations")
+    public ResponseEntity<FileContentOperationsResponseDto> getOperationsSince(
+            @PathVariable Long fileId,
+            @RequestParam Integer sinceVersion,
+            Authentication authentication) {
+        Long userId = securityUtil.getUserIdFromAuthentication(authentication);
+        FileContentOperationsResponseDto response = fileContentService.getOperationsSince(fileId, sinceVersion, userId);
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.demo.filecontent.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class FileContentHistoryPageResponseDto {
+    private Long fileId;
+    private List<FileContentVersionSummaryDto> versions; // 최신 버전부터
+    private int page;
+    private int size;
+    private long totalElements;
+    private boolean hasNext;
+}
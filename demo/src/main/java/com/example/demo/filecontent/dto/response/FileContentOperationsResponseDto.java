@@ -0,0 +1,46 @@
+package com.example.demo.filecontent.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * sinceVersion 이후 변경 사항 (재연결 따라잡기)
+ * - snapshot이 false면 operations를 순서대로 적용 (각 연산은 직전 버전 텍스트 기준, TEXT_SYNC와 같은 형식)
+ * - snapshot이 true면 로그 범위를 벗어난 것이므로 content로 교체
+ */
+@Getter
+@Builder
+public class FileContentOperationsResponseDto {
+    private Long fileId;
+    private Integer sinceVersion;
+    private Integer version; // 응답 시점 최신 버전
+    private boolean snapshot;
+    private String content; // snapshot일 때만 설정
+    private List<Operation> operations;
+
+    @Getter
+    @Builder
+    public static class Operation {
+        private Integer version; // 적용 후 버전
+        private Long userId;
+        private List<Change> changes; // 직전 버전 텍스트 좌표 (start 오름차순 → 뒤에서부터 적용)
+    }
+
+    // TEXT_SYNC의 변경 하나와 같은 JSON 형식 ({range: {start, end}, newText})
+    @Getter
+    @AllArgsConstructor
+    public static class Change {
+        private Range range;
+        private String newText;
+
+        @Getter
+        @AllArgsConstructor
+        public static class Range {
+            private int start;
+            private int end;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.filecontent.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class FileContentVersionSummaryDto {
+    private Integer version;
+    private LocalDateTime updatedAt;
+    private Long authorId; // 저장한 사용자 (알 수 없으면 null)
+    private Integer size; // 전체 텍스트 길이 (기존 데이터는 null)
+    private Integer deltaSize; // 직전 버전 대비 변경 크기 (삭제 + 삽입 글자 수, 키프레임은 전체 길이)
+}
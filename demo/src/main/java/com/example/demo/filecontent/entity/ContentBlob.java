@@ -0,0 +1,68 @@
+package com.example.demo.filecontent.entity;
+
+import com.example.demo.filecontent.util.ContentCompressor;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 기반 텍스트 blob
+ *
+ * - hash(SHA-256)가 같은 텍스트는 한 번만 저장하고 여러 FileContent 버전이 참조
+ * - refCount: 참조 중인 FileContent 행 수 (0이 되면 삭제)
+ * - 본문은 encoding에 따라 압축된 바이트로 저장, getContent()를 호출할 때만 해제
+ */
+@Entity
+@Table(name = "content_blobs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Getter(AccessLevel.NONE)
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    @Column(length = 10, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Encoding encoding;
+
+    // 원본 텍스트 길이 (문자 수)
+    @Column(nullable = false)
+    private Integer size;
+
+    // 저장된 바이트 수 (압축 후)
+    @Column(nullable = false)
+    private Integer storedSize;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // 해제한 텍스트 (엔티티 인스턴스 안에서만 재사용)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private String content;
+
+    public enum Encoding {
+        NONE, DEFLATE
+    }
+
+    public String getContent() {
+        if (content == null) {
+            content = encoding == Encoding.DEFLATE
+                ? ContentCompressor.inflate(data, size)
+                : new String(data, StandardCharsets.UTF_8);
+        }
+        return content;
+    }
+}
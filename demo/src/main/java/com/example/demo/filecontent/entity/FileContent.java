@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "file_contents")
+@Table(
+    name = "file_contents",
+    uniqueConstraints = @UniqueConstraint(name = "uk_file_contents_file_version", columnNames = {"file_id", "version"})
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class FileContent {
@@ -20,24 +23,125 @@ public class FileContent {
     @Column(nullable = false)
     private Long fileId;
 
+    // FULL: 전체 텍스트 (contentHash가 있으면 blob에 저장되어 null), DELTA: 직전 버전 대비 변경 텍스트(newText)
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // FULL: 전체 텍스트가 저장된 blob의 hash (null = 기존 데이터, content에 직접 저장)
+    @Column(length = 64)
+    private String contentHash;
+
     @Column(nullable = false)
     private Integer version;
 
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
-    // 파일 내용 생성
-    public static FileContent create(Long fileId, String content, Integer version) {
+    // 이 버전을 저장한 사용자 (여러 편집을 모아 저장한 경우 마지막 편집자, null = 기존 데이터 또는 알 수 없음)
+    @Column
+    private Long authorId;
+
+    // 이 버전의 전체 텍스트 길이 (null = 기존 데이터)
+    @Column
+    private Integer contentLength;
+
+    // 저장 방식 (null = 기존 데이터, FULL과 동일)
+    @Column(length = 10)
+    @Enumerated(EnumType.STRING)
+    private StorageType storageType;
+
+    // 복원 시작점이 되는 키프레임(FULL) 버전 (FULL이면 자기 자신)
+    @Column
+    private Integer keyframeVersion;
+
+    // DELTA: 직전 버전 텍스트에서 교체할 범위
+    @Column
+    private Integer deltaStart;
+
+    @Column
+    private Integer deltaEnd;
+
+    // 보존 정책 적용 단계 (null/0: 원본, 1: 분 단위로 압축됨, 2: 시간 단위로 압축됨)
+    @Column
+    private Integer compactionLevel;
+
+    public enum StorageType {
+        FULL, DELTA
+    }
+
+    // 파일 내용 생성 (전체 텍스트 = 키프레임, 텍스트는 blob에 저장)
+    public static FileContent createKeyframe(Long fileId, String contentHash, Integer version,
+                                             Integer contentLength, Long authorId) {
+        FileContent fileContent = new FileContent();
+        fileContent.fileId = fileId;
+        fileContent.contentHash = contentHash;
+        fileContent.version = version;
+        fileContent.contentLength = contentLength;
+        fileContent.authorId = authorId;
+        fileContent.storageType = StorageType.FULL;
+        fileContent.keyframeVersion = version;
+        return fileContent;
+    }
+
+    // 직전 버전 대비 변경 사항만 저장
+    public static FileContent createDelta(Long fileId, Integer version, Integer keyframeVersion,
+                                          Integer deltaStart, Integer deltaEnd, String newText,
+                                          Integer contentLength, Long authorId) {
         FileContent fileContent = new FileContent();
         fileContent.fileId = fileId;
-        fileContent.content = content;
+        fileContent.content = newText;
         fileContent.version = version;
+        fileContent.contentLength = contentLength;
+        fileContent.authorId = authorId;
+        fileContent.storageType = StorageType.DELTA;
+        fileContent.keyframeVersion = keyframeVersion;
+        fileContent.deltaStart = deltaStart;
+        fileContent.deltaEnd = deltaEnd;
         return fileContent;
     }
 
+    // 압축 후 키프레임으로 다시 기록 (앞쪽 키프레임이 삭제된 경우)
+    public void rewriteAsKeyframe(String contentHash) {
+        this.storageType = StorageType.FULL;
+        this.content = null;
+        this.contentHash = contentHash;
+        this.keyframeVersion = version;
+        this.deltaStart = null;
+        this.deltaEnd = null;
+    }
+
+    // 압축 후 직전에 남은 버전 기준 변경 사항으로 다시 기록
+    public void rewriteAsDelta(Integer keyframeVersion, Integer deltaStart, Integer deltaEnd, String newText) {
+        this.storageType = StorageType.DELTA;
+        this.content = newText;
+        this.contentHash = null;
+        this.keyframeVersion = keyframeVersion;
+        this.deltaStart = deltaStart;
+        this.deltaEnd = deltaEnd;
+    }
+
+    // 압축 후 키프레임만 바뀐 경우 (변경 사항은 그대로, 복원을 시작할 키프레임 번호만 갱신)
+    public void moveKeyframe(Integer keyframeVersion) {
+        this.keyframeVersion = keyframeVersion;
+    }
+
+    public void markCompacted(int compactionLevel) {
+        this.compactionLevel = compactionLevel;
+    }
+
+    public boolean isKeyframe() {
+        return storageType != StorageType.DELTA;
+    }
+
+    public boolean isBlobReference() {
+        return contentHash != null;
+    }
+
+    // 키프레임 버전 (기존 데이터는 자기 자신)
+    public Integer getKeyframeVersion() {
+        return keyframeVersion != null ? keyframeVersion : version;
+    }
+
     @PrePersist
     protected void onCreated() {
         this.updatedAt = LocalDateTime.now();
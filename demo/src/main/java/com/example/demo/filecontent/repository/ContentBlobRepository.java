@@ -0,0 +1,31 @@
+package com.example.demo.filecontent.repository;
+
+import com.example.demo.filecontent.entity.ContentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, String> {
+
+    // 없으면 저장, 있으면 참조 수만 증가 (동시에 같은 hash를 저장해도 한 행)
+    @Modifying
+    @Query(value = "INSERT INTO content_blobs (hash, data, encoding, size, stored_size, ref_count, created_at) "
+        + "VALUES (:hash, :data, :encoding, :size, :storedSize, 1, NOW()) "
+        + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int insertOrReference(@Param("hash") String hash, @Param("data") byte[] data, @Param("encoding") String encoding,
+                          @Param("size") int size, @Param("storedSize") int storedSize);
+
+    @Modifying
+    @Query("UPDATE ContentBlob b SET b.refCount = b.refCount - :count WHERE b.hash = :hash")
+    int release(@Param("hash") String hash, @Param("count") int count);
+
+    // 참조가 없는 blob 삭제
+    @Modifying
+    @Query("DELETE FROM ContentBlob b WHERE b.hash IN :hashes AND b.refCount <= 0")
+    int deleteUnreferenced(@Param("hashes") Collection<String> hashes);
+}
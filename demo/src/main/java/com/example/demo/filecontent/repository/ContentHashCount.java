@@ -0,0 +1,10 @@
+package com.example.demo.filecontent.repository;
+
+/**
+ * 파일의 blob별 참조 수 projection (파일 삭제 시 blob 참조 해제용)
+ */
+public interface ContentHashCount {
+    String getContentHash();
+
+    Long getReferenceCount();
+}
@@ -1,9 +1,15 @@
 package com.example.demo.filecontent.repository;
 
 import com.example.demo.filecontent.entity.FileContent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +21,51 @@ public interface FileContentRepository extends JpaRepository<FileContent, Long>
     List<FileContent> findByFileIdOrderByVersionDesc(Long fileId);
 
     Optional<FileContent> findByFileIdAndVersion(Long fileId, Integer version);
-}
 
+    // 키프레임부터 대상 버전까지 (DELTA 복원용)
+    List<FileContent> findByFileIdAndVersionBetweenOrderByVersionAsc(Long fileId, Integer fromVersion, Integer toVersion);
+
+    // 키프레임부터 최대 pageable 크기만큼 (보존 정책 압축용)
+    List<FileContent> findByFileIdAndVersionBetweenOrderByVersionAsc(Long fileId, Integer fromVersion, Integer toVersion,
+                                                                    Pageable pageable);
+
+    // 압축으로 삭제된 버전 조회 시 그 버전을 흡수한 다음 보관 버전
+    Optional<FileContent> findFirstByFileIdAndVersionGreaterThanEqualOrderByVersionAsc(Long fileId, Integer version);
+
+    // 보존 정책을 적용할 버전이 남은 파일 (afterFileId 이후부터 순서대로)
+    @Query("SELECT DISTINCT f.fileId FROM FileContent f WHERE f.fileId > :afterFileId "
+        + "AND ((f.updatedAt < :minuteCutoff AND COALESCE(f.compactionLevel, 0) < 1) "
+        + "OR (f.updatedAt < :hourCutoff AND COALESCE(f.compactionLevel, 0) < 2)) "
+        + "ORDER BY f.fileId")
+    List<Long> findCompactionCandidates(@Param("afterFileId") Long afterFileId,
+                                        @Param("minuteCutoff") LocalDateTime minuteCutoff,
+                                        @Param("hourCutoff") LocalDateTime hourCutoff,
+                                        Pageable pageable);
+
+    // beforeVersion 이전에서 보존 정책을 적용할 가장 오래된 버전
+    @Query("SELECT MIN(f.version) FROM FileContent f WHERE f.fileId = :fileId AND f.version < :beforeVersion "
+        + "AND ((f.updatedAt < :minuteCutoff AND COALESCE(f.compactionLevel, 0) < 1) "
+        + "OR (f.updatedAt < :hourCutoff AND COALESCE(f.compactionLevel, 0) < 2))")
+    Integer findFirstCompactionVersion(@Param("fileId") Long fileId,
+                                       @Param("beforeVersion") Integer beforeVersion,
+                                       @Param("minuteCutoff") LocalDateTime minuteCutoff,
+                                       @Param("hourCutoff") LocalDateTime hourCutoff);
+
+    // 버전 메타데이터만 조회 (본문은 길이만 계산)
+    @Query(value = "SELECT f.version AS version, f.updatedAt AS updatedAt, f.authorId AS authorId, "
+        + "f.contentLength AS contentLength, f.storageType AS storageType, f.deltaStart AS deltaStart, "
+        + "f.deltaEnd AS deltaEnd, LENGTH(f.content) AS storedLength "
+        + "FROM FileContent f WHERE f.fileId = :fileId ORDER BY f.version DESC",
+        countQuery = "SELECT COUNT(f) FROM FileContent f WHERE f.fileId = :fileId")
+    Page<FileContentSummary> findSummariesByFileId(@Param("fileId") Long fileId, Pageable pageable);
+
+    // 파일이 참조하는 blob별 행 수 (본문은 읽지 않음)
+    @Query("SELECT f.contentHash AS contentHash, COUNT(f) AS referenceCount FROM FileContent f "
+        + "WHERE f.fileId = :fileId AND f.contentHash IS NOT NULL GROUP BY f.contentHash")
+    List<ContentHashCount> countContentHashesByFileId(@Param("fileId") Long fileId);
+
+    // 파일의 모든 버전을 한 번에 삭제 (행을 읽지 않음)
+    @Modifying
+    @Query("DELETE FROM FileContent f WHERE f.fileId = :fileId")
+    int deleteAllByFileId(@Param("fileId") Long fileId);
+}
@@ -0,0 +1,26 @@
+package com.example.demo.filecontent.repository;
+
+import com.example.demo.filecontent.entity.FileContent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 버전 목록 조회용 projection (본문 컬럼은 읽지 않음)
+ */
+public interface FileContentSummary {
+    Integer getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getAuthorId();
+
+    Integer getContentLength(); // 전체 텍스트 길이 (기존 데이터는 null)
+
+    FileContent.StorageType getStorageType();
+
+    Integer getDeltaStart();
+
+    Integer getDeltaEnd();
+
+    Integer getStoredLength(); // 행에 저장된 본문 길이 (DELTA: 새 텍스트, 기존 FULL: 전체 텍스트)
+}
@@ -0,0 +1,91 @@
+package com.example.demo.filecontent.service;
+
+import com.example.demo.common.CustomException;
+import com.example.demo.common.ErrorMessage;
+import com.example.demo.filecontent.config.FileContentProperties;
+import com.example.demo.filecontent.entity.ContentBlob;
+import com.example.demo.filecontent.repository.ContentBlobRepository;
+import com.example.demo.filecontent.util.ContentCompressor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * 내용 주소 기반 blob 저장소 (중복 제거 + 참조 수 관리)
+ *
+ * - 같은 텍스트(되돌리기, 변경 없는 저장 등)는 blob 하나를 공유하고 참조 수만 증가
+ * - FileContent 행을 지울 때 참조 수를 줄이고 0이 된 blob은 바로 삭제
+ * - 본문은 compressionMinSize 이상이면 deflate로 압축하여 저장 (작은 텍스트는 압축 이득이 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentBlobStore {
+
+    private final ContentBlobRepository contentBlobRepository;
+    private final FileContentProperties fileContentProperties;
+
+    /**
+     * 텍스트 저장 (이미 있으면 참조 수만 증가)
+     *
+     * @return 내용 hash
+     */
+    @Transactional
+    public String store(String content) {
+        String text = content != null ? content : "";
+        String hash = hash(text);
+
+        byte[] data;
+        ContentBlob.Encoding encoding;
+        if (fileContentProperties.getCompression() == ContentBlob.Encoding.DEFLATE
+            && text.length() >= fileContentProperties.getCompressionMinSize()) {
+            data = ContentCompressor.deflate(text, fileContentProperties.getCompressionLevel());
+            encoding = ContentBlob.Encoding.DEFLATE;
+        } else {
+            data = text.getBytes(StandardCharsets.UTF_8);
+            encoding = ContentBlob.Encoding.NONE;
+        }
+
+        // 이미 같은 hash가 있으면 본문은 무시되고 참조 수만 증가
+        contentBlobRepository.insertOrReference(hash, data, encoding.name(), text.length(), data.length);
+        return hash;
+    }
+
+    /**
+     * 텍스트 조회 (조회할 때 압축 해제)
+     */
+    @Transactional(readOnly = true)
+    public String load(String hash) {
+        return contentBlobRepository.findById(hash)
+            .map(ContentBlob::getContent)
+            .orElseThrow(() -> new CustomException(ErrorMessage.FILE_CONTENT_NOT_FOUND));
+    }
+
+    /**
+     * 참조 해제 후 참조가 없는 blob 삭제
+     *
+     * @param references hash별 해제할 참조 수
+     */
+    @Transactional
+    public void release(Map<String, Integer> references) {
+        if (references.isEmpty()) {
+            return;
+        }
+        references.forEach(contentBlobRepository::release);
+        contentBlobRepository.deleteUnreferenced(references.keySet());
+    }
+
+    static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
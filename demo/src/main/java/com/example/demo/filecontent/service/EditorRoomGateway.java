@@ -0,0 +1,42 @@
+package com.example.demo.filecontent.service;
+
+import com.example.demo.filecontent.dto.response.FileContentOperationsResponseDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 편집 중인 파일(에디터 room)과 파일 내용 API 사이의 연결
+ *
+ * - room이 열려 있으면 파일 내용의 기준은 room의 메모리 문서 (DB는 room이 write-behind로 저장)
+ * - 구현은 websocket 모듈 (filecontent 서비스는 room 클래스에 직접 의존하지 않음)
+ */
+public interface EditorRoomGateway {
+
+    /**
+     * 파일을 연 room의 위치
+     */
+    RoomLocation locate(Long fileId);
+
+    /**
+     * 저장할 전체 텍스트를 room에 서버 편집으로 발행 (세션 편집과 같은 순서로 적용)
+     *
+     * @param fileId 파일 ID
+     * @param userId 저장한 사용자 ID
+     * @param content 저장할 전체 텍스트
+     * @return 이 노드의 room에 적용된 버전 (이 노드에 room이 없거나 적용 전에 닫히면 null)
+     */
+    CompletableFuture<Integer> submitContent(Long fileId, Long userId, String content);
+
+    /**
+     * 이 노드 room의 sinceVersion 이후 변경 사항
+     *
+     * @return 이 노드에 room이 없으면 null
+     */
+    FileContentOperationsResponseDto operationsSince(Long fileId, Integer sinceVersion);
+
+    enum RoomLocation {
+        NONE, // 열린 room 없음 (DB가 기준)
+        LOCAL, // 이 노드에 room이 있음
+        REMOTE // 다른 노드에만 room이 있음
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.demo.filecontent.service;
+
+import com.example.demo.filecontent.config.FileContentProperties;
+import com.example.demo.filecontent.entity.FileContent;
+import com.example.demo.filecontent.repository.FileContentRepository;
+import com.example.demo.websocket.util.TextDiffUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파일 버전 보존 정책 적용 (파일 하나, 한 구간씩)
+ *
+ * - 최근 retentionKeepAllMillis: 모든 버전 보관
+ * - retentionPerMinuteMillis까지: 분 단위 구간마다 마지막 버전만 보관
+ * - 그 이후: 시간 단위 구간마다 마지막 버전만 보관
+ *
+ * 버전 번호와 조회 일관성
+ * - 남는 버전의 번호는 바뀌지 않음 (삭제된 버전은 같은 구간의 마지막 버전이 흡수)
+ * - 남는 DELTA는 기준 텍스트(바로 앞 버전)가 삭제되어 바뀐 경우만 다시 계산하고, 앞쪽 키프레임이 삭제되면 첫 버전을 키프레임으로 바꿈
+ *   (키프레임 번호만 바뀐 DELTA는 변경 사항을 그대로 두고 번호만 갱신)
+ * - 최신 키프레임 이후(현재 저장 중인 구간)는 건드리지 않음 → 새 버전 저장과 겹치지 않음
+ * - 한 번에 compactionBatchSize 버전까지, 키프레임 경계에서 끊어 짧은 트랜잭션으로 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileContentCompactor {
+
+    static final int LEVEL_NONE = 0;
+    static final int LEVEL_MINUTE = 1;
+    static final int LEVEL_HOUR = 2;
+
+    private final FileContentRepository fileContentRepository;
+    private final FileContentVersionStore fileContentVersionStore;
+    private final ContentBlobStore contentBlobStore;
+    private final FileContentProperties fileContentProperties;
+
+    /**
+     * 보존 정책 적용이 필요한 가장 오래된 구간 하나를 압축
+     *
+     * @param fileId 파일 ID
+     * @param now 기준 시각
+     * @return 압축한 구간이 있으면 true
+     */
+    @Transactional
+    public boolean compact(Long fileId, LocalDateTime now) {
+        FileContent latest = fileContentVersionStore.findLatest(fileId).orElse(null);
+        if (latest == null) {
+            return false;
+        }
+
+        LocalDateTime minuteCutoff = minuteCutoff(now);
+        LocalDateTime hourCutoff = hourCutoff(now);
+        int currentKeyframe = latest.getKeyframeVersion();
+
+        Integer firstVersion = fileContentRepository.findFirstCompactionVersion(
+            fileId, currentKeyframe, minuteCutoff, hourCutoff);
+        if (firstVersion == null) {
+            return false;
+        }
+        FileContent first = fileContentRepository.findByFileIdAndVersion(fileId, firstVersion).orElse(null);
+        if (first == null) {
+            return false;
+        }
+
+        List<FileContent> window = loadWindow(fileId, first.getKeyframeVersion(), currentKeyframe - 1);
+        if (window.isEmpty() || !window.get(0).isKeyframe()) {
+            log.warn("키프레임에서 시작하지 않는 버전 구간, 압축 생략: fileId={}, version={}",
+                fileId, first.getKeyframeVersion());
+            return false;
+        }
+
+        compactWindow(window, minuteCutoff, hourCutoff);
+        return true;
+    }
+
+    // 키프레임부터 최대 batchSize 버전, 다음 키프레임 직전에서 끊음 (구간 중간에서 끊으면 DELTA 복원 불가)
+    private List<FileContent> loadWindow(Long fileId, int fromVersion, int toVersion) {
+        int batchSize = Math.max(1, fileContentProperties.getCompactionBatchSize());
+        List<FileContent> rows = fileContentRepository.findByFileIdAndVersionBetweenOrderByVersionAsc(
+            fileId, fromVersion, toVersion, PageRequest.of(0, batchSize));
+        if (rows.size() < batchSize) {
+            return rows;
+        }
+
+        for (int i = rows.size() - 1; i > 0; i--) {
+            if (rows.get(i).isKeyframe()) {
+                return new ArrayList<>(rows.subList(0, i));
+            }
+        }
+
+        // 키프레임 구간 하나가 batchSize보다 긴 경우 → 그 구간 전체
+        List<FileContent> segment = new ArrayList<>();
+        for (FileContent row : fileContentRepository.findByFileIdAndVersionBetweenOrderByVersionAsc(
+            fileId, fromVersion, toVersion)) {
+            if (!segment.isEmpty() && row.isKeyframe()) {
+                break;
+            }
+            segment.add(row);
+        }
+        return segment;
+    }
+
+    private void compactWindow(List<FileContent> window, LocalDateTime minuteCutoff, LocalDateTime hourCutoff) {
+        Map<Integer, String> texts = fileContentVersionStore.replay(window);
+        int keyframeInterval = fileContentProperties.getKeyframeInterval();
+
+        List<FileContent> dropped = new ArrayList<>();
+        FileContent previousKept = null;
+        int keyframeVersion = 0;
+
+        for (int i = 0; i < window.size(); i++) {
+            FileContent row = window.get(i);
+            int level = level(row, minuteCutoff, hourCutoff);
+
+            // 같은 구간의 다음 버전이 있으면 삭제 (구간의 마지막 버전이 흡수)
+            FileContent next = i + 1 < window.size() ? window.get(i + 1) : null;
+            if (next != null && sameBucket(row, level, next, level(next, minuteCutoff, hourCutoff))) {
+                dropped.add(row);
+                continue;
+            }
+
+            String text = texts.get(row.getVersion());
+            if (previousKept == null) {
+                // 구간의 첫 보관 버전은 키프레임이어야 복원 가능
+                if (!row.isKeyframe()) {
+                    row.rewriteAsKeyframe(contentBlobStore.store(text));
+                }
+                keyframeVersion = row.getVersion();
+            } else if (row.isKeyframe()) {
+                keyframeVersion = row.getVersion();
+            } else {
+                // DELTA 기준: 창에서 바로 앞 행 (이전 압축으로 생긴 번호 공백은 이미 다시 계산되어 있음)
+                // 바로 앞 행이 이번에 삭제되고 남은 버전과 텍스트가 다를 때만 기준이 바뀐 것
+                FileContent base = window.get(i - 1);
+                boolean baseChanged = base != previousKept
+                    && !texts.get(base.getVersion()).equals(texts.get(previousKept.getVersion()));
+                boolean keyframeChanged = row.getKeyframeVersion() != keyframeVersion;
+
+                if ((baseChanged || keyframeChanged) && row.getVersion() - keyframeVersion >= keyframeInterval) {
+                    row.rewriteAsKeyframe(contentBlobStore.store(text));
+                    keyframeVersion = row.getVersion();
+                } else if (baseChanged) {
+                    TextDiffUtil.TextChange change = TextDiffUtil.calculateDiff(
+                        texts.get(previousKept.getVersion()), text);
+                    row.rewriteAsDelta(keyframeVersion,
+                        change != null ? change.getRange().getStart() : 0,
+                        change != null ? change.getRange().getEnd() : 0,
+                        change != null ? change.getNewText() : "");
+                } else if (keyframeChanged) {
+                    row.moveKeyframe(keyframeVersion);
+                }
+            }
+
+            row.markCompacted(level);
+            previousKept = row;
+        }
+
+        if (dropped.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> references = new HashMap<>();
+        for (FileContent row : dropped) {
+            if (row.getContentHash() != null) {
+                references.merge(row.getContentHash(), 1, Integer::sum);
+            }
+        }
+        fileContentRepository.deleteAll(dropped);
+        contentBlobStore.release(references);
+
+        log.info("버전 압축: fileId={}, versions={}~{}, deleted={}", window.get(0).getFileId(),
+            window.get(0).getVersion(), window.get(window.size() - 1).getVersion(), dropped.size());
+    }
+
+    // 버전이 속한 보존 단계
+    private int level(FileContent row, LocalDateTime minuteCutoff, LocalDateTime hourCutoff) {
+        if (row.getUpdatedAt().isBefore(hourCutoff)) {
+            return LEVEL_HOUR;
+        }
+        if (row.getUpdatedAt().isBefore(minuteCutoff)) {
+            return LEVEL_MINUTE;
+        }
+        return LEVEL_NONE;
+    }
+
+    private boolean sameBucket(FileContent row, int level, FileContent next, int nextLevel) {
+        if (level == LEVEL_NONE || level != nextLevel) {
+            return false;
+        }
+        ChronoUnit unit = level == LEVEL_HOUR ? ChronoUnit.HOURS : ChronoUnit.MINUTES;
+        return row.getUpdatedAt().truncatedTo(unit).equals(next.getUpdatedAt().truncatedTo(unit));
+    }
+
+    LocalDateTime minuteCutoff(LocalDateTime now) {
+        return now.minus(fileContentProperties.getRetentionKeepAllMillis(), ChronoUnit.MILLIS);
+    }
+
+    LocalDateTime hourCutoff(LocalDateTime now) {
+        return now.minus(fileContentProperties.getRetentionPerMinuteMillis(), ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.filecontent.service;
+
+import com.example.demo.filecontent.config.FileContentProperties;
+import com.example.demo.filecontent.repository.FileContentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 버전 보존 정책 주기 실행
+ *
+ * - 실행마다 최대 compactionFilesPerRun개 파일, 파일마다 구간 하나씩만 압축 (파일별 짧은 트랜잭션)
+ * - 마지막으로 처리한 fileId 다음부터 이어서 처리하여 모든 파일이 순서대로 처리됨
+ * - 압축은 전용 스레드에서 실행 (Spring 스케줄러 스레드는 CURSOR_BATCH 전송 등 짧은 주기 작업과 공유하므로 등록만 함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileContentRetentionScheduler implements DisposableBean {
+
+    private final FileContentRepository fileContentRepository;
+    private final FileContentCompactor fileContentCompactor;
+    private final FileContentProperties fileContentProperties;
+
+    // 압축 전용 단일 스레드 (이전 실행이 끝나지 않았으면 이번 주기는 건너뜀)
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "file-content-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private long lastFileId; // worker 스레드에서만 접근
+
+    @Scheduled(fixedDelayString = "${file-content.compaction-interval-millis:60000}")
+    public void compact() {
+        if (!fileContentProperties.isCompactionEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                compactNextFiles();
+            } catch (Exception e) {
+                log.warn("버전 압축 대상 조회 실패: error={}", e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void compactNextFiles() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> fileIds = fileContentRepository.findCompactionCandidates(
+            lastFileId,
+            fileContentCompactor.minuteCutoff(now),
+            fileContentCompactor.hourCutoff(now),
+            PageRequest.of(0, Math.max(1, fileContentProperties.getCompactionFilesPerRun()))
+        );
+
+        if (fileIds.isEmpty()) {
+            lastFileId = 0;
+            return;
+        }
+
+        for (Long fileId : fileIds) {
+            try {
+                fileContentCompactor.compact(fileId, now);
+            } catch (Exception e) {
+                log.warn("버전 압축 실패: fileId={}, error={}", fileId, e.getMessage());
+            }
+            lastFileId = fileId;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.demo.filecontent.service;
 
 import com.example.demo.filecontent.dto.request.SaveFileContentRequestDto;
+import com.example.demo.filecontent.dto.response.FileContentHistoryPageResponseDto;
+import com.example.demo.filecontent.dto.response.FileContentOperationsResponseDto;
 import com.example.demo.filecontent.dto.response.FileContentResponseDto;
 
 import java.util.List;
@@ -17,5 +19,11 @@ public interface FileContentService {
 
     // 히스토리 조회
     List<FileContentResponseDto> getFileContentHistory(Long fileId, Long userId);
+
+    // 버전 목록 조회 (메타데이터만, 페이지 단위)
+    FileContentHistoryPageResponseDto getFileContentVersions(Long fileId, int page, int size, Long userId);
+
+    // 버전 이후 변경 사항 조회 (재연결 따라잡기)
+    FileContentOperationsResponseDto getOperationsSince(Long fileId, Integer sinceVersion, Long userId);
 }
 
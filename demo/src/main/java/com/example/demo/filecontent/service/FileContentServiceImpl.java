@@ -5,16 +5,30 @@ import com.example.demo.common.ErrorMessage;
 import com.example.demo.file.entity.FileEntity;
 import com.example.demo.file.repository.FileRepository;
 import com.example.demo.filecontent.dto.request.SaveFileContentRequestDto;
+import com.example.demo.filecontent.dto.response.FileContentHistoryPageResponseDto;
+import com.example.demo.filecontent.dto.response.FileContentOperationsResponseDto;
 import com.example.demo.filecontent.dto.response.FileContentResponseDto;
+import com.example.demo.filecontent.dto.response.FileContentVersionSummaryDto;
 import com.example.demo.filecontent.entity.FileContent;
 import com.example.demo.filecontent.repository.FileContentRepository;
+import com.example.demo.filecontent.repository.FileContentSummary;
 import com.example.demo.project.service.ProjectMemberService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,13 +36,19 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class FileContentServiceImpl implements FileContentService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final long ROOM_EDIT_TIMEOUT_SECONDS = 5;
+
     private final FileContentRepository fileContentRepository;
+    private final FileContentVersionStore fileContentVersionStore;
     private final FileRepository fileRepository;
     private final ProjectMemberService projectMemberService;
+    private final EditorRoomGateway editorRoomGateway;
 
     // 저장
+    // 트랜잭션 없이 실행 (room 적용 대기 중에 DB 연결을 잡지 않음, DB 저장은 FileContentVersionStore 트랜잭션)
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FileContentResponseDto saveFileContent(SaveFileContentRequestDto requestDto, Long userId) {
         // File 존재 여부 및 타입 검증
         FileEntity file = fileRepository.findByIdAndIsDeletedFalse(requestDto.getFileId())
@@ -40,19 +60,58 @@ public class FileContentServiceImpl implements FileContentService {
 
         projectMemberService.validateProjectMember(file.getProjectId(), userId);
 
-        Integer nextVersion = fileContentRepository.findFirstByFileIdOrderByVersionDesc(requestDto.getFileId())
-            .map(fileContent -> fileContent.getVersion() + 1)
-            .orElse(1);
+        // 편집 중인 파일은 room을 거쳐 저장 (DB에 직접 저장하면 room의 write-behind 버전과 충돌)
+        EditorRoomGateway.RoomLocation location = editorRoomGateway.locate(requestDto.getFileId());
+        if (location != EditorRoomGateway.RoomLocation.NONE) {
+            return saveThroughRoom(requestDto, userId, location);
+        }
+
+        // 저장 방식(FULL/DELTA)은 FileContentVersionStore에서 결정, 최신 버전과 내용이 같으면 새 버전을 만들지 않음
+        FileContent savedFileContent = fileContentVersionStore.appendNext(
+            requestDto.getFileId(), requestDto.getContent(), userId);
 
-        FileContent fileContent = FileContent.create(
-            requestDto.getFileId(),
-            requestDto.getContent(),
-            nextVersion
-        );
+        return toResponseDto(savedFileContent, requestDto.getContent());
+    }
 
-        FileContent savedFileContent = fileContentRepository.save(fileContent);
+    /**
+     * 열린 room에 서버 편집으로 반영 (세션 편집과 같은 순서로 적용, DB에는 room이 저장)
+     * - 이 노드에 room이 있으면 적용된 버전을 응답 (DB 행은 아직 없을 수 있으므로 id는 null)
+     * - 다른 노드에만 room이 있으면 발행만 하고 version 없이 응답 (컨트롤러가 202 Accepted)
+     *
+     * @throws CustomException EDITOR_ROOM_UNAVAILABLE(503) - 제한 시간 안에 적용되지 않았거나 적용 전에 room이 닫힌 경우
+     */
+    private FileContentResponseDto saveThroughRoom(SaveFileContentRequestDto requestDto, Long userId,
+                                                   EditorRoomGateway.RoomLocation location) {
+        Long fileId = requestDto.getFileId();
+        CompletableFuture<Integer> applied = editorRoomGateway.submitContent(fileId, userId, requestDto.getContent());
+
+        Integer version = null;
+        if (location == EditorRoomGateway.RoomLocation.LOCAL) {
+            try {
+                version = applied.get(ROOM_EDIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                applied.cancel(false);
+                Thread.currentThread().interrupt();
+                throw new CustomException(ErrorMessage.EDITOR_ROOM_UNAVAILABLE, e);
+            } catch (TimeoutException e) {
+                applied.cancel(false);
+                throw new CustomException(ErrorMessage.EDITOR_ROOM_UNAVAILABLE, e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("room 편집 적용 실패: fileId=" + fileId, e.getCause());
+            }
+
+            // 적용 전에 room이 닫힘 (남은 편집을 저장하는 중일 수 있으므로 다시 시도하도록 응답)
+            if (version == null) {
+                throw new CustomException(ErrorMessage.EDITOR_ROOM_UNAVAILABLE);
+            }
+        }
 
-        return toResponseDto(savedFileContent);
+        return FileContentResponseDto.builder()
+            .fileId(fileId)
+            .content(requestDto.getContent())
+            .version(version)
+            .updatedAt(LocalDateTime.now())
+            .build();
     }
 
     // 조회
@@ -67,10 +126,10 @@ public class FileContentServiceImpl implements FileContentService {
 
         projectMemberService.validateProjectMember(file.getProjectId(), userId);
 
-        FileContent fileContent = fileContentRepository.findFirstByFileIdOrderByVersionDesc(fileId)
+        FileContent fileContent = fileContentVersionStore.findLatest(file, fileId)
             .orElseThrow(() -> new CustomException(ErrorMessage.FILE_CONTENT_NOT_FOUND));
 
-        return toResponseDto(fileContent);
+        return toResponseDto(fileContent, fileContentVersionStore.reconstruct(fileContent));
     }
 
     // 버전으로 조회
@@ -81,10 +140,13 @@ public class FileContentServiceImpl implements FileContentService {
 
         projectMemberService.validateProjectMember(file.getProjectId(), userId);
 
+        // 보존 정책으로 삭제된 버전이면 그 버전을 흡수한 다음 보관 버전 (응답의 version으로 구분)
         FileContent fileContent = fileContentRepository.findByFileIdAndVersion(fileId, version)
+            .or(() -> fileContentRepository.findFirstByFileIdAndVersionGreaterThanEqualOrderByVersionAsc(fileId, version))
             .orElseThrow(() -> new CustomException(ErrorMessage.FILE_CONTENT_NOT_FOUND));
 
-        return toResponseDto(fileContent);
+        // 가장 가까운 키프레임부터 복원
+        return toResponseDto(fileContent, fileContentVersionStore.reconstruct(fileContent));
     }
 
     // 기록 조회
@@ -97,16 +159,115 @@ public class FileContentServiceImpl implements FileContentService {
 
         List<FileContent> fileContents = fileContentRepository.findByFileIdOrderByVersionDesc(fileId);
 
+        // 키프레임부터 한 번만 순회하며 모든 버전 복원
+        Map<Integer, String> texts = fileContentVersionStore.reconstructAll(fileContents);
+
         return fileContents.stream()
-            .map(this::toResponseDto)
+            .map(fileContent -> toResponseDto(fileContent, texts.get(fileContent.getVersion())))
             .collect(Collectors.toList());
     }
 
-    private FileContentResponseDto toResponseDto(FileContent fileContent) {
+    // 버전 목록 조회 (본문은 읽지 않고 메타데이터만, 본문은 버전별 조회로 필요할 때만)
+    @Override
+    public FileContentHistoryPageResponseDto getFileContentVersions(Long fileId, int page, int size, Long userId) {
+        FileEntity file = fileRepository.findByIdAndIsDeletedFalse(fileId)
+            .orElseThrow(() -> new CustomException(ErrorMessage.FILE_NOT_FOUND));
+
+        projectMemberService.validateProjectMember(file.getProjectId(), userId);
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        Page<FileContentSummary> summaries = fileContentRepository.findSummariesByFileId(
+            fileId, PageRequest.of(Math.max(page, 0), pageSize));
+
+        return FileContentHistoryPageResponseDto.builder()
+            .fileId(fileId)
+            .versions(summaries.getContent().stream()
+                .map(this::toSummaryDto)
+                .collect(Collectors.toList()))
+            .page(summaries.getNumber())
+            .size(summaries.getSize())
+            .totalElements(summaries.getTotalElements())
+            .hasNext(summaries.hasNext())
+            .build();
+    }
+
+    // 버전 이후 변경 사항 조회
+    // 편집 중인 room이 있으면 메모리 연산 로그에서, 없으면 마지막 저장 버전과 비교
+    @Override
+    public FileContentOperationsResponseDto getOperationsSince(Long fileId, Integer sinceVersion, Long userId) {
+        FileEntity file = fileRepository.findByIdAndIsDeletedFalse(fileId)
+            .orElseThrow(() -> new CustomException(ErrorMessage.FILE_NOT_FOUND));
+
+        if (file.getType() != FileEntity.FileType.FILE) {
+            throw new CustomException(ErrorMessage.CANNOT_READ_FOLDER_CONTENT);
+        }
+
+        projectMemberService.validateProjectMember(file.getProjectId(), userId);
+
+        FileContentOperationsResponseDto roomOperations = editorRoomGateway.operationsSince(fileId, sinceVersion);
+        if (roomOperations != null) {
+            return roomOperations;
+        }
+
+        // 편집 중이 아니면 모든 편집이 저장된 상태 → 최신 버전이면 변경 없음, 아니면 스냅샷
+        FileContent fileContent = fileContentVersionStore.findLatest(file, fileId)
+            .orElseThrow(() -> new CustomException(ErrorMessage.FILE_CONTENT_NOT_FOUND));
+
+        if (fileContent.getVersion().equals(sinceVersion)) {
+            return toOperationsDto(fileId, sinceVersion, fileContent.getVersion());
+        }
+        return toSnapshotDto(fileId, sinceVersion, fileContent.getVersion(),
+            fileContentVersionStore.reconstruct(fileContent));
+    }
+
+    private FileContentVersionSummaryDto toSummaryDto(FileContentSummary summary) {
+        boolean delta = summary.getStorageType() == FileContent.StorageType.DELTA;
+        int storedLength = summary.getStoredLength() != null ? summary.getStoredLength() : 0;
+
+        // 전체 텍스트 길이 (기존 FULL 데이터는 행에 저장된 텍스트 길이, 기존 DELTA 데이터는 알 수 없음)
+        Integer size = summary.getContentLength();
+        if (size == null && !delta) {
+            size = storedLength;
+        }
+
+        // 변경 크기: DELTA는 지운 글자 수 + 넣은 글자 수, 키프레임은 전체 텍스트
+        Integer deltaSize = delta ? (summary.getDeltaEnd() - summary.getDeltaStart()) + storedLength : size;
+
+        return FileContentVersionSummaryDto.builder()
+            .version(summary.getVersion())
+            .updatedAt(summary.getUpdatedAt())
+            .authorId(summary.getAuthorId())
+            .size(size)
+            .deltaSize(deltaSize)
+            .build();
+    }
+
+    private FileContentOperationsResponseDto toOperationsDto(Long fileId, Integer sinceVersion, int version) {
+        return FileContentOperationsResponseDto.builder()
+            .fileId(fileId)
+            .sinceVersion(sinceVersion)
+            .version(version)
+            .snapshot(false)
+            .operations(new ArrayList<>())
+            .build();
+    }
+
+    private FileContentOperationsResponseDto toSnapshotDto(Long fileId, Integer sinceVersion, int version, String content) {
+        return FileContentOperationsResponseDto.builder()
+            .fileId(fileId)
+            .sinceVersion(sinceVersion)
+            .version(version)
+            .snapshot(true)
+            .content(content)
+            .operations(new ArrayList<>())
+            .build();
+    }
+
+    private FileContentResponseDto toResponseDto(FileContent fileContent, String content) {
         return FileContentResponseDto.builder()
             .id(fileContent.getId())
             .fileId(fileContent.getFileId())
-            .content(fileContent.getContent())
+            .content(content)
             .version(fileContent.getVersion())
             .updatedAt(fileContent.getUpdatedAt())
             .build();
@@ -0,0 +1,248 @@
+package com.example.demo.filecontent.service;
+
+import com.example.demo.common.CustomException;
+import com.example.demo.common.ErrorMessage;
+import com.example.demo.file.entity.FileEntity;
+import com.example.demo.file.repository.FileRepository;
+import com.example.demo.filecontent.config.FileContentProperties;
+import com.example.demo.filecontent.entity.FileContent;
+import com.example.demo.filecontent.repository.ContentHashCount;
+import com.example.demo.filecontent.repository.FileContentRepository;
+import com.example.demo.websocket.util.TextDiffUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 파일 내용 버전 저장/복원
+ *
+ * - DELTA 모드: 직전 버전 대비 TextDiffUtil.TextChange만 저장, keyframeInterval 버전마다 전체 텍스트 저장
+ * - 복원: 가장 가까운 키프레임부터 대상 버전까지 변경 사항을 순서대로 적용
+ * - 키프레임 전체 텍스트는 ContentBlobStore에 저장 (같은 텍스트는 blob 하나를 공유)
+ * - 최신 버전은 FileEntity의 head 포인터로 관리 (저장과 같은 트랜잭션에서 파일 행을 잠그고 갱신)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileContentVersionStore {
+
+    private final FileContentRepository fileContentRepository;
+    private final FileContentProperties fileContentProperties;
+    private final ContentBlobStore contentBlobStore;
+    private final FileRepository fileRepository;
+
+    /**
+     * 새 버전 저장
+     *
+     * @param fileId 파일 ID
+     * @param version 저장할 버전
+     * @param newText 새 전체 텍스트
+     * @param knownVersion 호출자가 알고 있는 직전 버전 (없으면 null)
+     * @param knownText knownVersion의 전체 텍스트 (직전 버전이 일치하면 복원 생략)
+     * @param authorId 저장한 사용자 ID (모르면 null)
+     * @return 저장된 엔티티
+     * @throws CustomException FILE_CONTENT_VERSION_CONFLICT - 같거나 더 높은 버전이 이미 저장된 경우
+     */
+    @Transactional
+    public FileContent append(Long fileId, Integer version, String newText, Integer knownVersion, String knownText,
+                              Long authorId) {
+        // 같은 파일의 저장은 파일 행 잠금으로 순서대로 처리 (동시 저장은 (file_id, version) 유니크 인덱스가 한 번 더 막음)
+        FileEntity file = fileRepository.findByIdForUpdate(fileId).orElse(null);
+        FileContent previous = findLatest(file, fileId).orElse(null);
+
+        // 이미 같거나 더 높은 버전이 저장되어 있으면 충돌 (호출자가 다시 읽고 판단, 조용히 건너뛰면 저장한 것으로 오인)
+        if (previous != null && previous.getVersion() >= version) {
+            log.warn("파일 내용 버전 충돌: fileId={}, 저장할 버전={}, 저장된 최신 버전={}",
+                fileId, version, previous.getVersion());
+            throw new CustomException(ErrorMessage.FILE_CONTENT_VERSION_CONFLICT);
+        }
+
+        FileContent saved = fileContentRepository.save(createVersion(fileId, version, newText, knownVersion, knownText,
+            authorId, previous));
+        if (file != null) {
+            file.updateHead(saved.getId(), saved.getVersion(), saved.getContentLength());
+        }
+        return saved;
+    }
+
+    /**
+     * 최신 버전 다음 번호로 저장 (API 저장)
+     * - 최신 버전 조회부터 새 버전 저장까지 파일 행을 잠가 같은 파일의 저장을 순서대로 처리
+     *   (동시에 저장해도 뒤 요청은 앞 요청이 저장한 버전 다음 번호로 저장)
+     *
+     * @param fileId 파일 ID
+     * @param newText 새 전체 텍스트
+     * @param authorId 저장한 사용자 ID
+     * @return 저장된 엔티티 (최신 버전과 내용이 같으면 새 버전을 만들지 않고 최신 버전)
+     * @throws CustomException FILE_NOT_FOUND - 파일 행이 없는 경우
+     */
+    @Transactional
+    public FileContent appendNext(Long fileId, String newText, Long authorId) {
+        FileEntity file = fileRepository.findByIdForUpdate(fileId)
+            .orElseThrow(() -> new CustomException(ErrorMessage.FILE_NOT_FOUND));
+        FileContent latest = findLatest(file, fileId).orElse(null);
+        if (latest == null) {
+            return append(fileId, 1, newText, null, null, authorId);
+        }
+
+        String latestText = reconstruct(latest);
+        if (latestText.equals(newText)) {
+            return latest;
+        }
+        return append(fileId, latest.getVersion() + 1, newText, latest.getVersion(), latestText, authorId);
+    }
+
+    private FileContent createVersion(Long fileId, Integer version, String newText, Integer knownVersion,
+                                      String knownText, Long authorId, FileContent previous) {
+        // 키프레임 저장 조건: FULL 모드, 첫 버전, 키프레임 간격 도달
+        if (fileContentProperties.getStorageMode() == FileContent.StorageType.FULL
+            || previous == null
+            || version - previous.getKeyframeVersion() >= fileContentProperties.getKeyframeInterval()) {
+            return FileContent.createKeyframe(
+                fileId, contentBlobStore.store(newText), version, newText != null ? newText.length() : 0, authorId);
+        }
+
+        String previousText = previous.getVersion().equals(knownVersion) ? knownText : reconstruct(previous);
+
+        // 변경이 없으면 빈 변경 사항 저장 (버전만 증가)
+        TextDiffUtil.TextChange change = TextDiffUtil.calculateDiff(previousText, newText);
+        int start = change != null ? change.getRange().getStart() : 0;
+        int end = change != null ? change.getRange().getEnd() : 0;
+        String deltaText = change != null ? change.getNewText() : "";
+
+        return FileContent.createDelta(
+            fileId, version, previous.getKeyframeVersion(), start, end, deltaText, newText.length(), authorId);
+    }
+
+    /**
+     * 최신 버전 번호 조회 (저장된 버전이 없으면 0)
+     *
+     * @param fileId 파일 ID
+     */
+    public int findLatestVersion(Long fileId) {
+        return findLatest(fileId).map(FileContent::getVersion).orElse(0);
+    }
+
+    /**
+     * 최신 버전 조회 (head 포인터가 있으면 기본 키 조회)
+     *
+     * @param fileId 파일 ID
+     */
+    public Optional<FileContent> findLatest(Long fileId) {
+        return findLatest(fileRepository.findById(fileId).orElse(null), fileId);
+    }
+
+    /**
+     * 최신 버전 조회 (이미 조회한 파일 사용)
+     * - head 포인터가 없는 기존 데이터는 버전 역순 조회
+     */
+    public Optional<FileContent> findLatest(FileEntity file, Long fileId) {
+        if (file != null && file.getHeadContentId() != null) {
+            Optional<FileContent> head = fileContentRepository.findById(file.getHeadContentId());
+            if (head.isPresent()) {
+                return head;
+            }
+        }
+        return fileContentRepository.findFirstByFileIdOrderByVersionDesc(fileId);
+    }
+
+    /**
+     * 단일 버전의 전체 텍스트 복원
+     *
+     * @param fileContent 복원할 버전
+     * @return 전체 텍스트
+     */
+    public String reconstruct(FileContent fileContent) {
+        if (fileContent.isKeyframe()) {
+            return keyframeText(fileContent);
+        }
+
+        List<FileContent> chain = fileContentRepository.findByFileIdAndVersionBetweenOrderByVersionAsc(
+            fileContent.getFileId(), fileContent.getKeyframeVersion(), fileContent.getVersion());
+
+        return replay(chain).get(fileContent.getVersion());
+    }
+
+    /**
+     * 여러 버전의 전체 텍스트 복원 (히스토리 조회용)
+     * - 가장 오래된 버전의 키프레임부터 한 번만 순회
+     *
+     * @param fileContents 복원할 버전 목록 (같은 파일)
+     * @return 버전별 전체 텍스트
+     */
+    public Map<Integer, String> reconstructAll(List<FileContent> fileContents) {
+        if (fileContents.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        FileContent oldest = fileContents.stream()
+            .min(Comparator.comparing(FileContent::getVersion))
+            .get();
+        FileContent latest = fileContents.stream()
+            .max(Comparator.comparing(FileContent::getVersion))
+            .get();
+
+        List<FileContent> chain = fileContentRepository.findByFileIdAndVersionBetweenOrderByVersionAsc(
+            oldest.getFileId(), oldest.getKeyframeVersion(), latest.getVersion());
+
+        return replay(chain);
+    }
+
+    // 키프레임부터 순서대로 변경 사항 적용
+    Map<Integer, String> replay(List<FileContent> chain) {
+        Map<Integer, String> texts = new HashMap<>();
+        String text = null;
+
+        for (FileContent fileContent : chain) {
+            if (fileContent.isKeyframe()) {
+                text = keyframeText(fileContent);
+            } else {
+                if (text == null) {
+                    // 키프레임 없이 DELTA부터 시작하면 복원 불가
+                    throw new CustomException(ErrorMessage.FILE_CONTENT_NOT_FOUND);
+                }
+                text = TextDiffUtil.applyChange(text, toChange(fileContent));
+            }
+            texts.put(fileContent.getVersion(), text);
+        }
+
+        return texts;
+    }
+
+    /**
+     * 파일의 모든 버전 삭제 (참조가 없어진 blob도 삭제)
+     *
+     * @param fileId 파일 ID
+     */
+    @Transactional
+    public void deleteAll(Long fileId) {
+        // 본문을 읽지 않고 blob별 참조 수만 집계한 뒤 행은 한 번의 DELETE로 삭제
+        Map<String, Integer> references = new HashMap<>();
+        for (ContentHashCount count : fileContentRepository.countContentHashesByFileId(fileId)) {
+            references.put(count.getContentHash(), count.getReferenceCount().intValue());
+        }
+        fileContentRepository.deleteAllByFileId(fileId);
+        fileRepository.findById(fileId).ifPresent(FileEntity::clearHead);
+
+        contentBlobStore.release(references);
+    }
+
+    // 키프레임 전체 텍스트 (기존 데이터는 행에 직접 저장)
+    String keyframeText(FileContent fileContent) {
+        return fileContent.isBlobReference() ? contentBlobStore.load(fileContent.getContentHash()) : fileContent.getContent();
+    }
+
+    private static TextDiffUtil.TextChange toChange(FileContent fileContent) {
+        return new TextDiffUtil.TextChange(
+            new TextDiffUtil.TextChange.Range(fileContent.getDeltaStart(), fileContent.getDeltaEnd()),
+            fileContent.getContent()
+        );
+    }
+}
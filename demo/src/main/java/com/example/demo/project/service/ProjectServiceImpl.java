@@ -4,7 +4,7 @@ import com.example.demo.common.CustomException;
 import com.example.demo.common.ErrorMessage;
 import com.example.demo.file.entity.FileEntity;
 import com.example.demo.file.repository.FileRepository;
-import com.example.demo.filecontent.repository.FileContentRepository;
+import com.example.demo.filecontent.service.FileContentVersionStore;
 import com.example.demo.project.dto.request.AddProjectMemberRequestDto;
 import com.example.demo.project.dto.request.CreateProjectRequestDto;
 import com.example.demo.project.dto.response.ProjectResponseDto;
@@ -27,7 +27,7 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProjectMemberRepository projectMemberRepository;
     private final ProjectMemberService projectMemberService;
     private final FileRepository fileRepository;
-    private final FileContentRepository fileContentRepository;
+    private final FileContentVersionStore fileContentVersionStore;
 
     @Override
     @Transactional
@@ -99,10 +99,10 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findById(projectId)
             .orElseThrow(() -> new CustomException(ErrorMessage.PROJECT_NOT_FOUND));
 
-        // 연관된 FileContent 삭제 (프로젝트의 모든 파일의 FileContent)
+        // 연관된 FileContent 삭제 (프로젝트의 모든 파일의 FileContent, 참조가 없어진 blob도 삭제)
         List<FileEntity> projectFiles = fileRepository.findByProjectIdAndIsDeletedFalse(projectId);
         for (FileEntity file : projectFiles) {
-            fileContentRepository.deleteAll(fileContentRepository.findByFileIdOrderByVersionDesc(file.getId()));
+            fileContentVersionStore.deleteAll(file.getId());
         }
 
         // 연관된 File 삭제
@@ -0,0 +1,66 @@
+package com.example.demo.websocket.backplane;
+
+import java.util.function.Consumer;
+
+/**
+ * room backplane - 여러 노드에 흩어진 같은 파일의 room을 하나로 묶는 전달 계층
+ *
+ * - 노드는 로컬 세션이 있는 파일에만 구독 (room 생성 시 subscribe, 제거 시 unsubscribe)
+ * - publish한 이벤트는 자기 자신을 포함한 구독 노드 모두에게 같은 순서로 전달되어야 함
+ *   (EDIT 이벤트의 전달 순서가 곧 모든 노드의 버전 순서)
+ * - 같은 파일의 DB 저장은 writer 권한을 가진 노드 하나만 수행
+ *
+ * 구현
+ * - LocalEditorRoomBackplane: 단일 노드 (기본값, editor.backplane.type=local)
+ * - RedisEditorRoomBackplane: Redis pub/sub (editor.backplane.type=redis)
+ */
+public interface EditorRoomBackplane {
+
+    /**
+     * 수신 이벤트 처리기 등록 (한 번만 호출)
+     */
+    void setEventListener(Consumer<RoomEvent> listener);
+
+    /**
+     * 파일 채널 구독
+     *
+     * @param fileId 파일 ID
+     * @return 같은 파일을 연 다른 노드가 있으면 true (현재 상태를 받아와야 함)
+     */
+    boolean subscribe(Long fileId);
+
+    /**
+     * 같은 파일을 연 다른 노드가 있는지 확인 (구독하지 않은 노드에서도 호출 가능)
+     *
+     * @param fileId 파일 ID
+     * @return 이 노드 외에 살아 있는 노드가 파일을 열고 있으면 true
+     */
+    boolean hasOtherNodes(Long fileId);
+
+    /**
+     * 파일 채널 구독 해제
+     */
+    void unsubscribe(Long fileId);
+
+    /**
+     * 이벤트 발행 (nodeId, sequence는 backplane이 설정)
+     */
+    void publish(RoomEvent event);
+
+    /**
+     * 이 노드의 ID
+     */
+    String getNodeId();
+
+    /**
+     * 파일 DB 저장 권한 획득/갱신
+     *
+     * @return 이 노드가 저장해야 하면 true
+     */
+    boolean tryAcquireWriter(Long fileId);
+
+    /**
+     * 파일 DB 저장 권한 반납 (room이 닫히고 마지막 저장이 끝난 뒤)
+     */
+    void releaseWriter(Long fileId);
+}
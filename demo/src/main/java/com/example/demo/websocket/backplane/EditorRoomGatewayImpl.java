@@ -0,0 +1,83 @@
+package com.example.demo.websocket.backplane;
+
+import com.example.demo.filecontent.dto.response.FileContentOperationsResponseDto;
+import com.example.demo.filecontent.service.EditorRoomGateway;
+import com.example.demo.websocket.document.EditorDocument;
+import com.example.demo.websocket.manager.EditorSessionManager;
+import com.example.demo.websocket.ot.OperationLog;
+import com.example.demo.websocket.util.TextDiffUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 파일 내용 API에서 보는 에디터 room (EditorRoomGateway 구현)
+ */
+@Component
+@RequiredArgsConstructor
+public class EditorRoomGatewayImpl implements EditorRoomGateway {
+
+    private final EditorSessionManager sessionManager;
+    private final EditorRoomSynchronizer roomSynchronizer;
+    private final EditorRoomBackplane backplane;
+
+    @Override
+    public RoomLocation locate(Long fileId) {
+        if (sessionManager.getRoom(fileId) != null) {
+            return RoomLocation.LOCAL;
+        }
+        return backplane.hasOtherNodes(fileId) ? RoomLocation.REMOTE : RoomLocation.NONE;
+    }
+
+    @Override
+    public CompletableFuture<Integer> submitContent(Long fileId, Long userId, String content) {
+        return roomSynchronizer.submitServerContent(fileId, userId, content);
+    }
+
+    @Override
+    public FileContentOperationsResponseDto operationsSince(Long fileId, Integer sinceVersion) {
+        EditorDocument document = sessionManager.getDocument(fileId);
+        if (document == null) {
+            return null;
+        }
+
+        EditorDocument.CatchUp catchUp = document.catchUpSince(sinceVersion);
+        if (catchUp.getEntries() == null) {
+            return FileContentOperationsResponseDto.builder()
+                .fileId(fileId)
+                .sinceVersion(sinceVersion)
+                .version(catchUp.getVersion())
+                .snapshot(true)
+                .content(catchUp.getContent().toString())
+                .operations(new ArrayList<>())
+                .build();
+        }
+
+        List<FileContentOperationsResponseDto.Operation> operations = new ArrayList<>();
+        for (OperationLog.Entry entry : catchUp.getEntries()) {
+            List<FileContentOperationsResponseDto.Change> changes = new ArrayList<>();
+            for (TextDiffUtil.TextChange change : entry.getOperation().getChanges()) {
+                changes.add(new FileContentOperationsResponseDto.Change(
+                    new FileContentOperationsResponseDto.Change.Range(change.getRange().getStart(), change.getRange().getEnd()),
+                    change.getNewText()
+                ));
+            }
+            operations.add(FileContentOperationsResponseDto.Operation.builder()
+                .version(entry.getVersion())
+                .userId(entry.getUserId())
+                .changes(changes)
+                .build());
+        }
+
+        return FileContentOperationsResponseDto.builder()
+            .fileId(fileId)
+            .sinceVersion(sinceVersion)
+            .version(catchUp.getVersion())
+            .snapshot(false)
+            .operations(operations)
+            .build();
+    }
+}
@@ -0,0 +1,592 @@
+package com.example.demo.websocket.backplane;
+
+import com.example.demo.websocket.broadcast.EditorBroadcaster;
+import com.example.demo.websocket.config.EditorProperties;
+import com.example.demo.websocket.document.EditorDocument;
+import com.example.demo.websocket.dto.CursorBatchMessage;
+import com.example.demo.websocket.dto.TextSnapshotMessage;
+import com.example.demo.websocket.dto.TextSyncMessage;
+import com.example.demo.websocket.lane.FileLaneExecutor;
+import com.example.demo.websocket.manager.EditorSessionManager;
+import com.example.demo.websocket.manager.FileRoom;
+import com.example.demo.websocket.ot.OperationLog;
+import com.example.demo.websocket.ot.SessionBridge;
+import com.example.demo.websocket.ot.TextOperation;
+import com.example.demo.websocket.util.TextDiffUtil;
+import com.example.demo.websocket.util.TextRope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * room 이벤트 처리기
+ *
+ * - 편집은 바로 적용하지 않고 backplane에 EDIT 이벤트로 발행 (TEXT_CHANGE도 세션이 연결된 노드가 연산으로 바꿔 발행)
+ * - 모든 노드는 backplane이 전달한 순서대로 같은 OT 변환/적용을 수행 → 노드마다 같은 버전, 같은 텍스트
+ * - 문서 변경과 동기화 상태 변경은 모두 파일 lane(FileLaneExecutor)에서 수행
+ * - 적용된 변경은 로컬 세션에만 TEXT_SYNC로 브로드캐스트 (다른 노드 세션은 그 노드가 브로드캐스트)
+ * - 커서는 로컬 세션에 바로 보내고, 다른 노드에서 온 CURSOR 이벤트만 로컬 세션에 전달 (자기 이벤트는 무시)
+ * - 새로 room을 연 노드는 다른 노드에게 현재 상태(텍스트, 버전, 연산 로그, 세션별 변환 상태)를 받아온 뒤 이벤트를 적용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EditorRoomSynchronizer implements InitializingBean {
+
+    private final EditorSessionManager sessionManager;
+    private final EditorBroadcaster broadcaster;
+    private final EditorRoomBackplane backplane;
+    private final EditorProperties editorProperties;
+    private final FileLaneExecutor fileLaneExecutor;
+
+    // 이 노드가 발행한 서버 편집 (requestId → 적용된 버전)
+    private final Map<String, CompletableFuture<Integer>> serverEdits = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        backplane.setEventListener(this::onEvent);
+        broadcaster.setResyncListener(this::resyncIdleSession);
+    }
+
+    /**
+     * 편집 발행 (TEXT_OPERATION)
+     *
+     * @param fileId 파일 ID
+     * @param userId 편집한 사용자 ID
+     * @param session 편집을 보낸 세션
+     * @param baseVersion 세션이 받은 마지막 버전
+     * @param clientSeq 세션의 편집 번호 (없으면 null)
+     * @param operation 세션 좌표(baseVersion 텍스트 + 세션이 이미 보낸 편집)의 연산
+     */
+    public void submitEdit(Long fileId, Long userId, WebSocketSession session, int baseVersion, Integer clientSeq,
+                           TextOperation operation) {
+        if (operation.isNoop()) {
+            return;
+        }
+        submit(fileId, session, new LocalSessionEdits.Submission(userId, baseVersion, clientSeq, operation, null));
+    }
+
+    /**
+     * 전체 텍스트 편집 발행 (TEXT_CHANGE)
+     * - 이 노드가 파일 lane에서 세션 좌표 텍스트와 비교하여 연산을 계산하고 EDIT 이벤트로 발행 (전체 텍스트는 발행하지 않음)
+     *
+     * @param fileId 파일 ID
+     * @param userId 편집한 사용자 ID
+     * @param session 편집을 보낸 세션
+     * @param baseVersion 세션이 받은 마지막 버전
+     * @param clientSeq 세션의 편집 번호 (없으면 null)
+     * @param content 편집 후 세션의 전체 텍스트
+     */
+    public void submitContent(Long fileId, Long userId, WebSocketSession session, int baseVersion, Integer clientSeq,
+                              String content) {
+        submit(fileId, session, new LocalSessionEdits.Submission(userId, baseVersion, clientSeq, null, content));
+    }
+
+    // 세션 편집은 파일 lane에서 보낸 순서대로 발행 (TEXT_CHANGE가 세션 좌표 텍스트를 기다리는 동안 뒤 편집도 대기)
+    private void submit(Long fileId, WebSocketSession session, LocalSessionEdits.Submission submission) {
+        fileLaneExecutor.execute(fileId, () -> {
+            FileRoom room = sessionManager.getRoom(fileId);
+            if (room == null || room.findSession(session.getId()) == null) {
+                return;
+            }
+            LocalSessionEdits edits = room.editsOf(session.getId());
+            edits.enqueue(submission);
+            publishWaiting(room, session, edits);
+        });
+    }
+
+    /**
+     * 대기 중인 세션 편집을 순서대로 발행 (파일 lane에서 호출)
+     * - TEXT_CHANGE는 같은 버전 기준으로 보낸 직전 텍스트가 있으면 그 텍스트와 비교
+     * - 없으면 세션이 보낸 편집이 모두 적용되고 room이 ready일 때 문서의 세션 좌표 텍스트와 비교 (그 전까지 대기)
+     * - 세션 좌표 텍스트를 알 수 없으면 TEXT_SNAPSHOT으로 재동기화
+     */
+    private void publishWaiting(FileRoom room, WebSocketSession session, LocalSessionEdits edits) {
+        LocalSessionEdits.Submission next;
+        while ((next = edits.peek()) != null) {
+            TextOperation operation = next.getOperation();
+            if (operation != null) {
+                edits.forgetContent();
+            } else {
+                String clientText = edits.contentAt(next.getBaseVersion());
+                if (clientText == null) {
+                    if (edits.hasInFlight() || !room.getReplica().isReady()) {
+                        return;
+                    }
+                    TextRope sessionText = room.getDocument().sessionText(session.getId(), next.getBaseVersion());
+                    if (sessionText == null) {
+                        log.info("세션 좌표 텍스트를 알 수 없는 TEXT_CHANGE: fileId={}, sessionId={}, 기준 버전={}",
+                            room.getFileId(), session.getId(), next.getBaseVersion());
+                        edits.poll();
+                        edits.forgetContent();
+                        sendTextSnapshot(session, room.getDocument());
+                        continue;
+                    }
+                    clientText = sessionText.toString();
+                }
+                operation = TextOperation.diff(clientText, next.getContent());
+                edits.markContent(next.getBaseVersion(), next.getContent());
+            }
+            edits.poll();
+
+            // 변경이 없어도 편집 번호가 있으면 확인 응답을 받도록 발행
+            if (operation.isNoop() && next.getClientSeq() == null) {
+                continue;
+            }
+            edits.markPublished();
+            backplane.publish(RoomEvent.edit(room.getFileId(), next.getUserId(), session.getId(),
+                next.getBaseVersion(), next.getClientSeq(), operation.getChanges()));
+        }
+    }
+
+    // 이 노드 세션의 편집이 처리됨 → 세션 좌표 텍스트를 기다리던 편집 발행
+    private void onLocalEditProcessed(FileRoom room, RoomEvent event) {
+        WebSocketSession session = findLocalSender(room, event);
+        LocalSessionEdits edits = session != null ? room.getSessionEdits().get(session.getId()) : null;
+        if (edits != null && edits.markApplied() == 0) {
+            publishWaiting(room, session, edits);
+        }
+    }
+
+    /**
+     * 서버 편집 발행 (REST 저장 등 세션 밖에서 전체 텍스트를 바꾸는 경우)
+     * - 이 노드에 ready인 room이 있으면 파일 lane에서 현재 텍스트와 비교한 연산을 발행 (현재 버전 기준)
+     * - 없으면 전체 텍스트를 발행하고, 적용하는 노드가 그 시점의 텍스트와 비교
+     *
+     * @param fileId 파일 ID
+     * @param userId 저장한 사용자 ID
+     * @param content 저장할 전체 텍스트
+     * @return 이 노드의 room에 적용된 버전 (이 노드에 room이 없거나 적용 전에 닫히면 null)
+     */
+    public CompletableFuture<Integer> submitServerContent(Long fileId, Long userId, String content) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        fileLaneExecutor.execute(fileId, () -> {
+            FileRoom room = sessionManager.getRoom(fileId);
+            if (room == null) {
+                backplane.publish(RoomEvent.editContent(fileId, userId, null, Integer.MAX_VALUE, null, content));
+                result.complete(null);
+                return;
+            }
+
+            RoomEvent event;
+            if (room.getReplica().isReady()) {
+                EditorDocument document = room.getDocument();
+                TextOperation operation = TextOperation.diff(document.getText(), content);
+                if (operation.isNoop()) {
+                    result.complete(document.getVersion());
+                    return;
+                }
+                event = RoomEvent.edit(fileId, userId, null, document.getVersion(), null, operation.getChanges());
+            } else {
+                event = RoomEvent.editContent(fileId, userId, null, Integer.MAX_VALUE, null, content);
+            }
+
+            String requestId = UUID.randomUUID().toString();
+            result.whenComplete((version, error) -> serverEdits.remove(requestId));
+            serverEdits.put(requestId, result);
+            event.setRequestId(requestId);
+            backplane.publish(event);
+        });
+        return result;
+    }
+
+    /**
+     * 커서 위치 전송 (로컬 세션 + 다른 노드)
+     */
+    public void publishCursors(FileRoom room, List<CursorBatchMessage.UserCursor> cursors) {
+        broadcaster.broadcastCursor(room.getSessions(), null, createCursorBatch(room.getFileId(), cursors));
+        backplane.publish(RoomEvent.cursor(room.getFileId(), cursors));
+    }
+
+    /**
+     * TEXT_SNAPSHOT 메시지 전송 (해당 세션에만 현재 전체 텍스트 전송)
+     *
+     * @param session 재동기화할 세션
+     * @param document 메모리 문서
+     */
+    public void sendTextSnapshot(WebSocketSession session, EditorDocument document) {
+        if (session.isOpen()) {
+            broadcaster.send(session, createTextSnapshot(document));
+        }
+    }
+
+    // 송신 큐가 비었는데 재동기화 대기 중인 세션 → 파일 lane에서 현재 스냅샷 전송 (이후 TEXT_SYNC와 버전이 이어짐)
+    private void resyncIdleSession(WebSocketSession session, Long fileId) {
+        fileLaneExecutor.execute(fileId, () -> {
+            FileRoom room = sessionManager.getRoom(fileId);
+            // 상태를 받아오는 중인 room은 동기화가 끝날 때 모든 세션에 스냅샷을 보냄
+            if (room != null && room.getReplica().isReady() && room.findSession(session.getId()) != null) {
+                room.editsOf(session.getId()).forgetContent();
+                sendTextSnapshot(session, room.getDocument());
+            }
+        });
+    }
+
+    /**
+     * 재연결한 세션 따라잡기 (파일 lane에서 호출해야 이후 브로드캐스트와 버전이 이어짐)
+     * - 연산 로그에 남아 있으면 빠진 버전의 TEXT_SYNC를 순서대로 전송
+     * - 로그 범위를 벗어났으면 TEXT_SNAPSHOT 전송
+     *
+     * @param session 재연결한 세션
+     * @param document 메모리 문서
+     * @param sinceVersion 클라이언트가 마지막으로 적용한 버전
+     */
+    public void sendCatchUp(WebSocketSession session, EditorDocument document, int sinceVersion) {
+        if (!session.isOpen()) {
+            return;
+        }
+
+        EditorDocument.CatchUp catchUp = document.catchUpSince(sinceVersion);
+        if (catchUp.getEntries() == null) {
+            log.info("연산 로그 범위를 벗어난 RESYNC: fileId={}, 클라이언트 버전={}, 서버 버전={}",
+                document.getFileId(), sinceVersion, catchUp.getVersion());
+            broadcaster.send(session, createTextSnapshot(document));
+            return;
+        }
+
+        for (OperationLog.Entry entry : catchUp.getEntries()) {
+            broadcaster.send(session, createTextSync(document.getFileId(), entry.getOperation(),
+                entry.getVersion(), entry.getUserId()));
+        }
+        log.debug("RESYNC 완료: fileId={}, sinceVersion={}, version={}, count={}",
+            document.getFileId(), sinceVersion, catchUp.getVersion(), catchUp.getEntries().size());
+    }
+
+    /**
+     * 상태를 받아오는 중인 room 처리
+     * - 요청이 채널에 보이지 않으면 다시 요청 (구독이 아직 완료되지 않은 경우)
+     * - 요청이 보인 뒤 응답이 없으면 다른 노드에 살아 있는 room이 없는 것으로 보고 현재(DB) 상태로 시작
+     */
+    @Scheduled(fixedDelayString = "${editor.backplane.sync-tick-millis:100}")
+    public void syncPendingRooms() {
+        EditorProperties.Backplane properties = editorProperties.getBackplane();
+        long now = System.currentTimeMillis();
+
+        for (FileRoom room : sessionManager.getRooms()) {
+            if (!room.getReplica().isReady()) {
+                fileLaneExecutor.execute(room.getFileId(), () -> checkSync(room, properties, now));
+            }
+        }
+    }
+
+    // 파일 lane에서 실행
+    private void checkSync(FileRoom room, EditorProperties.Backplane properties, long now) {
+        RoomReplica replica = room.getReplica();
+        if (replica.isReady() || sessionManager.getRoom(room.getFileId()) != room) {
+            return;
+        }
+
+        if (replica.getMarkerSeenAt() == 0) {
+            if (now - replica.getRequestedAt() >= properties.getSnapshotRetryMillis()) {
+                replica.markRequested(now);
+                backplane.publish(RoomEvent.snapshotRequest(room.getFileId(), replica.getRequestId()));
+            }
+        } else if (now - replica.getMarkerSeenAt() >= properties.getSnapshotTimeoutMillis()) {
+            log.warn("room 상태 응답 없음, 현재 상태로 시작: fileId={}, version={}",
+                room.getFileId(), room.getDocument().getVersion());
+            completeSync(room);
+        }
+    }
+
+    // backplane 수신 이벤트 처리 (발행 순서대로 호출됨 → 파일 lane에 같은 순서로 등록)
+    private void onEvent(RoomEvent event) {
+        if (event.getType() == RoomEvent.Type.CURSOR) {
+            FileRoom room = sessionManager.getRoom(event.getFileId());
+            // 자기 노드 커서는 이미 로컬 세션에 보냈음
+            if (room != null && !backplane.getNodeId().equals(event.getNodeId())) {
+                broadcaster.broadcastCursor(room.getSessions(), null,
+                    createCursorBatch(room.getFileId(), event.getCursors()));
+            }
+            return;
+        }
+
+        fileLaneExecutor.execute(event.getFileId(), () -> {
+            FileRoom room = sessionManager.getRoom(event.getFileId());
+            if (room == null) {
+                completeServerEdit(event, null);
+                return;
+            }
+            if (room.getReplica().isReady()) {
+                process(room, event);
+            } else {
+                processWhileSyncing(room, event);
+            }
+        });
+    }
+
+    private void process(FileRoom room, RoomEvent event) {
+        switch (event.getType()) {
+            case EDIT:
+                applyEdit(room, event);
+                onLocalEditProcessed(room, event);
+                break;
+            case SNAPSHOT_REQUEST:
+                // 다른 노드의 요청 → 채널에서 요청이 놓인 위치 기준의 상태로 응답
+                if (!backplane.getNodeId().equals(event.getNodeId())) {
+                    publishSnapshot(room, event.getRequestId());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void processWhileSyncing(FileRoom room, RoomEvent event) {
+        RoomReplica replica = room.getReplica();
+        boolean ownRequest = replica.getRequestId().equals(event.getRequestId());
+
+        if (event.getType() == RoomEvent.Type.SNAPSHOT_REQUEST && ownRequest) {
+            replica.markMarkerSeen(System.currentTimeMillis());
+            return;
+        }
+
+        if (event.getType() == RoomEvent.Type.SNAPSHOT) {
+            if (ownRequest && replica.getMarkerSeenAt() > 0) {
+                installSnapshot(room, event);
+            }
+            return;
+        }
+
+        // 요청 이후 이벤트만 보관 (요청 이전 이벤트는 받을 스냅샷에 포함됨)
+        if (replica.getMarkerSeenAt() > 0) {
+            replica.buffer(event);
+        } else if (event.getType() == RoomEvent.Type.EDIT) {
+            onLocalEditProcessed(room, event);
+        }
+    }
+
+    private void installSnapshot(FileRoom room, RoomEvent event) {
+        List<OperationLog.Entry> entries = new ArrayList<>();
+        if (event.getLog() != null) {
+            for (RoomEvent.LogEntry entry : event.getLog()) {
+                entries.add(new OperationLog.Entry(entry.getVersion(), TextOperation.of(entry.getChanges()),
+                    TextOperation.of(entry.getInverseChanges()), entry.getUserId(), entry.getSessionId()));
+            }
+        }
+        Map<String, SessionBridge> bridges = new LinkedHashMap<>();
+        if (event.getSessions() != null) {
+            for (RoomEvent.SessionState state : event.getSessions()) {
+                List<SessionBridge.Entry> bridgeEntries = new ArrayList<>();
+                for (RoomEvent.LogEntry entry : state.getEntries()) {
+                    bridgeEntries.add(new SessionBridge.Entry(entry.getVersion(), TextOperation.of(entry.getChanges()),
+                        TextOperation.of(entry.getInverseChanges())));
+                }
+                bridges.put(state.getSessionId(),
+                    new SessionBridge(state.getAckedVersion(), state.getLastSeq(), bridgeEntries));
+            }
+        }
+        room.getDocument().replaceWith(event.getContent(), event.getVersion(), entries, bridges);
+        log.info("다른 노드에서 room 상태 수신: fileId={}, version={}, from={}",
+            room.getFileId(), event.getVersion(), event.getNodeId());
+
+        completeSync(room);
+    }
+
+    // 쌓인 이벤트를 순서대로 처리하고, 로컬 세션들은 최종 상태로 재동기화
+    // 세션 좌표 텍스트를 기다리던 편집은 발행한 뒤 스냅샷 전송 (편집은 이후 TEXT_SYNC로 도착)
+    private void completeSync(FileRoom room) {
+        for (RoomEvent buffered : room.getReplica().markReady()) {
+            process(room, buffered);
+        }
+        for (WebSocketSession session : room.getSessions()) {
+            LocalSessionEdits edits = room.getSessionEdits().get(session.getId());
+            if (edits != null) {
+                publishWaiting(room, session, edits);
+                edits.forgetContent();
+            }
+        }
+        broadcaster.broadcast(room.getSessions(), createTextSnapshot(room.getDocument()), null);
+    }
+
+    private void publishSnapshot(FileRoom room, String requestId) {
+        EditorDocument document = room.getDocument();
+        List<RoomEvent.LogEntry> entries = new ArrayList<>();
+        for (OperationLog.Entry entry : document.getOperationLogEntries()) {
+            entries.add(new RoomEvent.LogEntry(entry.getVersion(), entry.getUserId(),
+                entry.getOperation().getChanges(), entry.getInverse().getChanges(), entry.getSessionId()));
+        }
+        List<RoomEvent.SessionState> sessions = new ArrayList<>();
+        for (Map.Entry<String, SessionBridge> bridge : document.getSessionBridges().entrySet()) {
+            List<RoomEvent.LogEntry> bridgeEntries = new ArrayList<>();
+            for (SessionBridge.Entry entry : bridge.getValue().entries()) {
+                bridgeEntries.add(new RoomEvent.LogEntry(entry.getVersion(), null,
+                    entry.getOperation().getChanges(), entry.getInverse().getChanges(), null));
+            }
+            sessions.add(new RoomEvent.SessionState(bridge.getKey(), bridge.getValue().getAckedVersion(),
+                bridge.getValue().getLastSeq(), bridgeEntries));
+        }
+        backplane.publish(RoomEvent.snapshot(
+            room.getFileId(), requestId, document.getText(), document.getVersion(), entries, sessions));
+    }
+
+    /**
+     * EDIT 적용 (파일 lane에서 호출)
+     * - 세션 좌표의 편집을 세션이 받지 못한 다른 세션 연산에만 맞춰 변환 (EditorDocument.transformClientEdit)
+     * - 연산 로그 범위를 벗어나거나 세션 좌표에 맞지 않으면 모든 노드가 똑같이 버리고, 보낸 세션이 있는 노드만 재동기화
+     * - 변환 결과 변경이 없으면 버전을 올리지 않고, 보낸 세션에만 확인 응답
+     */
+    private void applyEdit(FileRoom room, RoomEvent event) {
+        Long fileId = room.getFileId();
+        EditorDocument document = room.getDocument();
+        TextOperation operation = event.getChanges() != null ? TextOperation.of(event.getChanges()) : null;
+
+        EditorDocument.ClientEdit edit = document.transformClientEdit(event.getSessionId(), event.getBaseVersion(),
+            event.getClientSeq(), operation, event.getContent());
+        switch (edit.getStatus()) {
+            case OUT_OF_LOG:
+                log.info("연산 로그 범위를 벗어난 편집: fileId={}, 기준 버전={}, 서버 버전={}",
+                    fileId, event.getBaseVersion(), document.getVersion());
+                resyncSender(room, event);
+                completeServerEdit(event, null);
+                return;
+            case INVALID:
+                log.info("적용할 수 없는 편집: fileId={}, 기준 버전={}, 서버 버전={}, operation={}",
+                    fileId, event.getBaseVersion(), document.getVersion(), operation);
+                resyncSender(room, event);
+                completeServerEdit(event, null);
+                return;
+            case DUPLICATE:
+                log.debug("이미 받은 편집 번호: fileId={}, sessionId={}, clientSeq={}",
+                    fileId, event.getSessionId(), event.getClientSeq());
+                return;
+            default:
+                break;
+        }
+
+        TextOperation transformed = edit.getOperation();
+        if (transformed.isNoop()) {
+            log.debug("변경 사항이 없어 브로드캐스트하지 않음: fileId={}, version={}", fileId, document.getVersion());
+            acknowledgeSender(room, event);
+            completeServerEdit(event, document.getVersion());
+            return;
+        }
+
+        if (event.getBaseVersion() < document.getVersion()) {
+            log.debug("동시 편집 변환: fileId={}, 기준 버전={}, 서버 버전={}, operation={}",
+                fileId, event.getBaseVersion(), document.getVersion(), transformed);
+        }
+
+        // 메모리 문서에 반영 (새 버전 = 기존 버전 + 1)
+        int nextVersion = document.apply(transformed, event.getUserId(), event.getSessionId());
+
+        TextSyncMessage syncMessage = createTextSync(fileId, transformed, nextVersion, event.getUserId());
+        syncMessage.setSessionId(event.getSessionId());
+        syncMessage.setClientSeq(event.getClientSeq());
+        broadcastTextSync(room, syncMessage);
+        completeServerEdit(event, nextVersion);
+    }
+
+    // 이 노드가 발행한 서버 편집이면 적용 결과 전달
+    private void completeServerEdit(RoomEvent event, Integer version) {
+        if (event.getType() != RoomEvent.Type.EDIT || event.getRequestId() == null
+            || !backplane.getNodeId().equals(event.getNodeId())) {
+            return;
+        }
+        CompletableFuture<Integer> result = serverEdits.get(event.getRequestId());
+        if (result != null) {
+            result.complete(version);
+        }
+    }
+
+    // 편집을 보낸 세션이 이 노드에 있으면 전체 텍스트로 재동기화
+    private void resyncSender(FileRoom room, RoomEvent event) {
+        WebSocketSession session = findLocalSender(room, event);
+        if (session != null) {
+            room.editsOf(session.getId()).forgetContent();
+            sendTextSnapshot(session, room.getDocument());
+        }
+    }
+
+    // 변경 없이 끝난 편집의 확인 응답 (편집 번호를 보낸 세션만, 버전은 그대로)
+    private void acknowledgeSender(FileRoom room, RoomEvent event) {
+        WebSocketSession session = event.getClientSeq() != null ? findLocalSender(room, event) : null;
+        if (session == null || !session.isOpen()) {
+            return;
+        }
+        EditorDocument document = room.getDocument();
+        TextSyncMessage ack = createTextSync(room.getFileId(), TextOperation.noop(), document.getVersion(),
+            event.getUserId());
+        ack.setSessionId(event.getSessionId());
+        ack.setClientSeq(event.getClientSeq());
+        broadcaster.send(session, ack);
+    }
+
+    private WebSocketSession findLocalSender(FileRoom room, RoomEvent event) {
+        if (!backplane.getNodeId().equals(event.getNodeId())) {
+            return null;
+        }
+        return room.findSession(event.getSessionId());
+    }
+
+    /**
+     * TEXT_SYNC 메시지 브로드캐스트 (로컬 세션 전체, 자신 포함)
+     *
+     * @param room 파일 room
+     * @param syncMessage 적용된 변경 사항 (보낸 세션에는 확인 응답)
+     */
+    private void broadcastTextSync(FileRoom room, TextSyncMessage syncMessage) {
+        // 모든 세션에 변경 사항 전송 (자신 포함, 한 번만 직렬화하여 세션별 송신 큐에 추가)
+        // 송신 큐가 밀린 세션에는 현재 전체 텍스트(TEXT_SNAPSHOT)를 대신 전송
+        EditorDocument document = room.getDocument();
+        broadcaster.broadcast(room.getSessions(), syncMessage, () -> createTextSnapshot(document));
+
+        log.debug("TEXT_SYNC 브로드캐스트 완료: fileId={}, version={}, changeCount={}, sessionCount={}",
+            room.getFileId(), syncMessage.getVersion(), syncMessage.getChanges().size(), room.getSessions().size());
+    }
+
+    // TEXT_SYNC 메시지 생성 (operation: version 직전 텍스트 기준 연산)
+    private TextSyncMessage createTextSync(Long fileId, TextOperation operation, Integer version, Long userId) {
+        TextSyncMessage syncMessage = new TextSyncMessage();
+        syncMessage.setType("TEXT_SYNC");
+        syncMessage.setFileId(fileId);
+        syncMessage.setVersion(version);
+        syncMessage.setUserId(userId);
+
+        // 변경 사항 정보 설정
+        List<TextSyncMessage.TextChange> changes = new ArrayList<>();
+        for (TextDiffUtil.TextChange change : operation.getChanges()) {
+            TextSyncMessage.TextChange textChange = new TextSyncMessage.TextChange();
+            textChange.setRange(new TextSyncMessage.TextChange.Range(
+                change.getRange().getStart(),
+                change.getRange().getEnd()
+            ));
+            textChange.setNewText(change.getNewText());
+            changes.add(textChange);
+        }
+        syncMessage.setChanges(changes);
+        // 변경 사항이 하나면 기존 필드도 설정 (기존 클라이언트 호환)
+        if (changes.size() == 1) {
+            syncMessage.setChange(changes.get(0));
+        }
+        return syncMessage;
+    }
+
+    // 현재 전체 텍스트로 TEXT_SNAPSHOT 메시지 생성 (파일 lane에서 호출해야 이후 TEXT_SYNC와 버전이 이어짐)
+    private TextSnapshotMessage createTextSnapshot(EditorDocument document) {
+        TextSnapshotMessage snapshotMessage = new TextSnapshotMessage();
+        snapshotMessage.setType("TEXT_SNAPSHOT");
+        snapshotMessage.setFileId(document.getFileId());
+        snapshotMessage.setContent(document.getText());
+        snapshotMessage.setVersion(document.getVersion());
+        return snapshotMessage;
+    }
+
+    private CursorBatchMessage createCursorBatch(Long fileId, List<CursorBatchMessage.UserCursor> cursors) {
+        CursorBatchMessage batchMessage = new CursorBatchMessage();
+        batchMessage.setType("CURSOR_BATCH");
+        batchMessage.setFileId(fileId);
+        batchMessage.setCursors(cursors);
+        return batchMessage;
+    }
+}
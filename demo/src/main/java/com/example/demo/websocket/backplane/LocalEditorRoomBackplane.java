@@ -0,0 +1,63 @@
+package com.example.demo.websocket.backplane;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 단일 노드 backplane
+ *
+ * - 발행한 이벤트를 호출 스레드에서 바로 전달 (다른 노드 없음)
+ * - 항상 이 노드가 저장 권한을 가짐
+ */
+@Component
+@ConditionalOnProperty(prefix = "editor.backplane", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalEditorRoomBackplane implements EditorRoomBackplane {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile Consumer<RoomEvent> listener = event -> { };
+
+    @Override
+    public void setEventListener(Consumer<RoomEvent> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean subscribe(Long fileId) {
+        return false;
+    }
+
+    @Override
+    public boolean hasOtherNodes(Long fileId) {
+        return false;
+    }
+
+    @Override
+    public void unsubscribe(Long fileId) {
+    }
+
+    @Override
+    public void publish(RoomEvent event) {
+        event.setNodeId(nodeId);
+        event.setSequence(sequence.incrementAndGet());
+        listener.accept(event);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public boolean tryAcquireWriter(Long fileId) {
+        return true;
+    }
+
+    @Override
+    public void releaseWriter(Long fileId) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.websocket.backplane;
+
+import com.example.demo.websocket.ot.TextOperation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 이 노드에 연결된 세션의 편집 발행 상태
+ *
+ * - TEXT_CHANGE(전체 텍스트)는 세션이 연결된 노드가 세션 좌표 텍스트와 비교하여 연산으로 바꾼 뒤 발행
+ *   (backplane에는 변경 사항만 실림, 적용하는 노드마다 전체 텍스트를 다시 비교하지 않음)
+ * - 세션 좌표 텍스트는 같은 버전 기준으로 마지막에 보낸 텍스트(lastContent)가 있으면 그 텍스트,
+ *   없으면 세션이 보낸 편집이 모두 적용된 뒤 문서에서 계산 → 그 전까지 세션 편집은 보낸 순서대로 대기
+ * - 파일 lane에서만 변경
+ */
+public class LocalSessionEdits {
+
+    private final Deque<Submission> waiting = new ArrayDeque<>();
+    private int inFlight; // 발행했지만 이 노드에서 아직 처리하지 않은 편집 수
+    private String lastContent; // 마지막으로 보낸 TEXT_CHANGE 텍스트 (세션 좌표)
+    private int lastVersion; // lastContent의 기준 버전
+
+    public void enqueue(Submission submission) {
+        waiting.addLast(submission);
+    }
+
+    public Submission peek() {
+        return waiting.peekFirst();
+    }
+
+    public void poll() {
+        waiting.pollFirst();
+    }
+
+    public void markPublished() {
+        inFlight++;
+    }
+
+    /**
+     * 발행한 편집이 이 노드에서 처리됨
+     *
+     * @return 아직 처리되지 않은 편집 수
+     */
+    public int markApplied() {
+        inFlight = Math.max(0, inFlight - 1);
+        return inFlight;
+    }
+
+    public boolean hasInFlight() {
+        return inFlight > 0;
+    }
+
+    /**
+     * baseVersion 기준 세션 좌표 텍스트 (같은 버전 기준으로 보낸 TEXT_CHANGE가 없으면 null)
+     */
+    public String contentAt(int baseVersion) {
+        return lastContent != null && lastVersion == baseVersion ? lastContent : null;
+    }
+
+    public void markContent(int baseVersion, String content) {
+        this.lastVersion = baseVersion;
+        this.lastContent = content;
+    }
+
+    // 세션 텍스트가 바뀌었거나(TEXT_SNAPSHOT, TEXT_OPERATION) 알 수 없게 됨
+    public void forgetContent() {
+        this.lastContent = null;
+    }
+
+    /**
+     * 발행 대기 중인 세션 편집 (operation과 content 중 하나)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Submission {
+        private final Long userId;
+        private final int baseVersion;
+        private final Integer clientSeq;
+        private final TextOperation operation; // TEXT_OPERATION (세션 좌표)
+        private final String content; // TEXT_CHANGE (편집 후 전체 텍스트)
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.demo.websocket.backplane;
+
+import com.example.demo.websocket.config.EditorProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub backplane
+ *
+ * - 파일마다 채널 하나 (editor.room.{fileId}), 로컬 room이 있는 파일에만 구독
+ * - 수신 메시지는 전용 listener container에서 한 스레드로 순서대로 처리 (EditorBackplaneConfig)
+ * - 노드 중복 제거: 이미 받은 (nodeId, sequence)는 다시 전달하지 않음
+ * - editor:room-nodes:{fileId} 집합으로 같은 파일을 연 노드가 있는지 확인
+ *   노드는 editor:node-alive:{nodeId} 키(TTL)를 주기적으로 갱신하고, 키가 만료된 노드(비정상 종료)는 조회할 때 집합에서 제거
+ * - editor:writer:{fileId} 키(TTL)를 먼저 잡은 노드만 DB에 저장
+ */
+@Slf4j
+public class RedisEditorRoomBackplane implements EditorRoomBackplane, DisposableBean {
+
+    private static final String CHANNEL_PREFIX = "editor.room.";
+    private static final String NODES_KEY_PREFIX = "editor:room-nodes:";
+    private static final String WRITER_KEY_PREFIX = "editor:writer:";
+    private static final String ALIVE_KEY_PREFIX = "editor:node-alive:";
+    private static final int RECENT_EVENT_LIMIT = 10000;
+
+    // 내가 가진 writer 키만 삭제
+    private static final RedisScript<Long> RELEASE_WRITER_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class
+    );
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final EditorProperties.Backplane properties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, MessageListener> subscriptions = new ConcurrentHashMap<>();
+    // 최근 받은 이벤트 ID (nodeId:sequence)
+    private final Map<String, Boolean> recentEvents = Collections.synchronizedMap(
+        new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > RECENT_EVENT_LIMIT;
+            }
+        });
+    private volatile Consumer<RoomEvent> listener = event -> { };
+    // 생존 표시 갱신 전용 스레드 (Spring 기본 스케줄러와 분리)
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "editor-backplane-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RedisEditorRoomBackplane(RedisTemplate<String, String> redisTemplate,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    ObjectMapper objectMapper,
+                                    EditorProperties editorProperties) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.properties = editorProperties.getBackplane();
+
+        long interval = Math.max(1, properties.getNodeTtlMillis() / 3);
+        heartbeatExecutor.scheduleWithFixedDelay(this::safeHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void setEventListener(Consumer<RoomEvent> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean subscribe(Long fileId) {
+        MessageListener messageListener = this::onMessage;
+        if (subscriptions.putIfAbsent(fileId, messageListener) == null) {
+            listenerContainer.addMessageListener(messageListener, new ChannelTopic(CHANNEL_PREFIX + fileId));
+        }
+
+        markAlive();
+        redisTemplate.opsForSet().add(NODES_KEY_PREFIX + fileId, nodeId);
+        boolean others = hasOtherNodes(fileId);
+        log.debug("room 채널 구독: fileId={}, nodeId={}, otherNodes={}", fileId, nodeId, others);
+        return others;
+    }
+
+    @Override
+    public boolean hasOtherNodes(Long fileId) {
+        String nodesKey = NODES_KEY_PREFIX + fileId;
+        Set<String> members = redisTemplate.opsForSet().members(nodesKey);
+        if (members == null) {
+            return false;
+        }
+
+        boolean others = false;
+        for (String member : members) {
+            if (nodeId.equals(member)) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(ALIVE_KEY_PREFIX + member))) {
+                others = true;
+            } else {
+                // 생존 표시가 만료된 노드 (정리 없이 종료됨)
+                redisTemplate.opsForSet().remove(nodesKey, member);
+                log.info("종료된 노드를 room 노드 목록에서 제거: fileId={}, nodeId={}", fileId, member);
+            }
+        }
+        return others;
+    }
+
+    @Override
+    public void unsubscribe(Long fileId) {
+        MessageListener messageListener = subscriptions.remove(fileId);
+        if (messageListener != null) {
+            listenerContainer.removeMessageListener(messageListener, new ChannelTopic(CHANNEL_PREFIX + fileId));
+        }
+        redisTemplate.opsForSet().remove(NODES_KEY_PREFIX + fileId, nodeId);
+        log.debug("room 채널 구독 해제: fileId={}, nodeId={}", fileId, nodeId);
+    }
+
+    @Override
+    public void publish(RoomEvent event) {
+        event.setNodeId(nodeId);
+        event.setSequence(sequence.incrementAndGet());
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + event.getFileId(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("room 이벤트 직렬화 실패: fileId={}, type={}, error={}",
+                event.getFileId(), event.getType(), e.getMessage());
+        }
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public boolean tryAcquireWriter(Long fileId) {
+        String key = WRITER_KEY_PREFIX + fileId;
+        Duration lease = Duration.ofMillis(properties.getWriterLeaseMillis());
+
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, nodeId, lease);
+        if (Boolean.TRUE.equals(acquired)) {
+            return true;
+        }
+        // 이미 내가 가진 권한이면 만료 시간 갱신
+        if (nodeId.equals(redisTemplate.opsForValue().get(key))) {
+            redisTemplate.expire(key, lease);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void releaseWriter(Long fileId) {
+        redisTemplate.execute(RELEASE_WRITER_SCRIPT, Collections.singletonList(WRITER_KEY_PREFIX + fileId), nodeId);
+    }
+
+    /**
+     * 생존 표시 갱신 및 구독 중인 파일의 노드 등록 복구 (다른 노드가 만료로 보고 제거한 경우)
+     */
+    void heartbeat() {
+        markAlive();
+        for (Long fileId : subscriptions.keySet()) {
+            redisTemplate.opsForSet().add(NODES_KEY_PREFIX + fileId, nodeId);
+        }
+    }
+
+    private void safeHeartbeat() {
+        try {
+            heartbeat();
+        } catch (Exception e) {
+            log.warn("노드 생존 표시 갱신 실패: nodeId={}, error={}", nodeId, e.getMessage());
+        }
+    }
+
+    private void markAlive() {
+        redisTemplate.opsForValue().set(ALIVE_KEY_PREFIX + nodeId, "1", Duration.ofMillis(properties.getNodeTtlMillis()));
+    }
+
+    // listener container 스레드에서 순서대로 호출됨
+    private void onMessage(Message message, byte[] pattern) {
+        RoomEvent event;
+        try {
+            event = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), RoomEvent.class);
+        } catch (Exception e) {
+            log.error("room 이벤트 역직렬화 실패: channel={}, error={}",
+                new String(message.getChannel(), StandardCharsets.UTF_8), e.getMessage());
+            return;
+        }
+
+        // 같은 이벤트를 두 번 받으면 무시 (재구독 등)
+        if (recentEvents.put(event.getNodeId() + ":" + event.getSequence(), Boolean.TRUE) != null) {
+            return;
+        }
+
+        try {
+            listener.accept(event);
+        } catch (Exception e) {
+            log.error("room 이벤트 처리 실패: fileId={}, type={}, error={}",
+                event.getFileId(), event.getType(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 종료 시 구독 해제 및 노드 등록 정리
+     */
+    @Override
+    public void destroy() {
+        heartbeatExecutor.shutdownNow();
+        for (Long fileId : subscriptions.keySet()) {
+            try {
+                unsubscribe(fileId);
+                releaseWriter(fileId);
+            } catch (Exception e) {
+                log.warn("room 채널 정리 실패: fileId={}, error={}", fileId, e.getMessage());
+            }
+        }
+        try {
+            redisTemplate.delete(ALIVE_KEY_PREFIX + nodeId);
+        } catch (Exception e) {
+            log.warn("노드 생존 표시 삭제 실패: nodeId={}, error={}", nodeId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.websocket.backplane;
+
+import com.example.demo.websocket.dto.CursorBatchMessage;
+import com.example.demo.websocket.util.TextDiffUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * room 이벤트 - 같은 파일을 연 노드들 사이에 backplane으로 주고받는 메시지
+ *
+ * - EDIT: 편집 (세션 좌표의 변경 사항, room이 없는 노드의 서버 편집만 전체 텍스트). 모든 노드가 채널 순서대로 같은 OT를 적용
+ * - CURSOR: 노드에서 모은 커서 위치 (CURSOR_BATCH 내용)
+ * - SNAPSHOT_REQUEST: 새로 room을 연 노드가 현재 상태를 요청
+ * - SNAPSHOT: 요청 시점의 텍스트, 버전, 연산 로그, 세션별 변환 상태
+ */
+@Data
+@NoArgsConstructor
+public class RoomEvent {
+
+    public enum Type {
+        EDIT, CURSOR, SNAPSHOT_REQUEST, SNAPSHOT
+    }
+
+    private Type type;
+    private String nodeId; // 발행 노드 (backplane이 설정)
+    private long sequence; // 노드별 발행 순번 (backplane이 설정, 중복 제거용)
+    private Long fileId;
+    private Long userId;
+
+    // EDIT
+    private String sessionId; // 편집을 보낸 세션 (병합 불가 시 이 세션만 재동기화, 서버 편집이면 null)
+    private Integer baseVersion; // 서버 편집은 Integer.MAX_VALUE (적용 시점의 현재 버전 기준)
+    private Integer clientSeq; // 세션의 편집 번호 (TEXT_SYNC 확인 응답에 그대로 돌려줌)
+    private List<TextDiffUtil.TextChange> changes; // TEXT_OPERATION, TEXT_CHANGE(세션이 연결된 노드가 계산한 연산)
+    // room이 없는 노드의 서버 편집은 content에 전체 텍스트 (현재 텍스트와의 차이는 적용하는 노드가 계산)
+
+    // CURSOR
+    private List<CursorBatchMessage.UserCursor> cursors;
+
+    // SNAPSHOT_REQUEST, SNAPSHOT (서버 EDIT이면 발행 노드가 적용 결과를 기다리는 요청 ID)
+    private String requestId;
+    private String content;
+    private Integer version;
+    private List<LogEntry> log;
+    private List<SessionState> sessions;
+
+    public static RoomEvent edit(Long fileId, Long userId, String sessionId, int baseVersion, Integer clientSeq,
+                                 List<TextDiffUtil.TextChange> changes) {
+        RoomEvent event = new RoomEvent();
+        event.setType(Type.EDIT);
+        event.setFileId(fileId);
+        event.setUserId(userId);
+        event.setSessionId(sessionId);
+        event.setBaseVersion(baseVersion);
+        event.setClientSeq(clientSeq);
+        event.setChanges(changes);
+        return event;
+    }
+
+    public static RoomEvent editContent(Long fileId, Long userId, String sessionId, int baseVersion, Integer clientSeq,
+                                        String content) {
+        RoomEvent event = new RoomEvent();
+        event.setType(Type.EDIT);
+        event.setFileId(fileId);
+        event.setUserId(userId);
+        event.setSessionId(sessionId);
+        event.setBaseVersion(baseVersion);
+        event.setClientSeq(clientSeq);
+        event.setContent(content);
+        return event;
+    }
+
+    public static RoomEvent cursor(Long fileId, List<CursorBatchMessage.UserCursor> cursors) {
+        RoomEvent event = new RoomEvent();
+        event.setType(Type.CURSOR);
+        event.setFileId(fileId);
+        event.setCursors(cursors);
+        return event;
+    }
+
+    public static RoomEvent snapshotRequest(Long fileId, String requestId) {
+        RoomEvent event = new RoomEvent();
+        event.setType(Type.SNAPSHOT_REQUEST);
+        event.setFileId(fileId);
+        event.setRequestId(requestId);
+        return event;
+    }
+
+    public static RoomEvent snapshot(Long fileId, String requestId, String content, int version, List<LogEntry> log,
+                                     List<SessionState> sessions) {
+        RoomEvent event = new RoomEvent();
+        event.setType(Type.SNAPSHOT);
+        event.setFileId(fileId);
+        event.setRequestId(requestId);
+        event.setContent(content);
+        event.setVersion(version);
+        event.setLog(log);
+        event.setSessions(sessions);
+        return event;
+    }
+
+    /**
+     * 연산 로그 항목 (OperationLog.Entry 직렬화용)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LogEntry {
+        private int version;
+        private Long userId;
+        private List<TextDiffUtil.TextChange> changes;
+        private List<TextDiffUtil.TextChange> inverseChanges;
+        private String sessionId;
+    }
+
+    /**
+     * 세션별 변환 상태 (SessionBridge 직렬화용, entries의 userId/sessionId는 비어 있음)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SessionState {
+        private String sessionId;
+        private int ackedVersion;
+        private Integer lastSeq;
+        private List<LogEntry> entries;
+    }
+}
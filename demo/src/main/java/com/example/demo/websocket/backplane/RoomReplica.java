@@ -0,0 +1,55 @@
+package com.example.demo.websocket.backplane;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * room의 노드 간 동기화 상태
+ *
+ * - 다른 노드가 같은 파일을 열고 있으면 SNAPSHOT_REQUEST를 발행하고 응답(SNAPSHOT)을 기다림
+ * - 자신의 요청이 채널에 보인 뒤(marker)부터 받은 이벤트는 쌓아 두었다가 스냅샷 적용 후 순서대로 처리
+ *   (marker 이전 이벤트는 응답 노드의 스냅샷에 이미 포함됨)
+ * - 파일 lane에서만 변경 (ready는 다른 스레드에서 확인할 수 있도록 volatile)
+ */
+@Getter
+public class RoomReplica {
+
+    private final String requestId = UUID.randomUUID().toString();
+    private volatile boolean ready;
+    private long requestedAt; // 마지막 요청 발행 시각 (0이면 아직 요청 전)
+    private long markerSeenAt; // 자신의 요청을 채널에서 받은 시각 (0이면 아직 못 받음)
+    private final List<RoomEvent> buffered = new ArrayList<>();
+
+    public RoomReplica(boolean ready) {
+        this.ready = ready;
+    }
+
+    public void markRequested(long now) {
+        this.requestedAt = now;
+    }
+
+    public void markMarkerSeen(long now) {
+        if (markerSeenAt == 0) {
+            this.markerSeenAt = now;
+        }
+    }
+
+    public void buffer(RoomEvent event) {
+        buffered.add(event);
+    }
+
+    /**
+     * 동기화 완료 처리
+     *
+     * @return 그동안 쌓인 이벤트 (받은 순서)
+     */
+    public List<RoomEvent> markReady() {
+        this.ready = true;
+        List<RoomEvent> events = new ArrayList<>(buffered);
+        buffered.clear();
+        return events;
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.demo.websocket.broadcast;
+
+import com.example.demo.common.websocket.MessageCodec;
+import com.example.demo.websocket.broadcast.SessionOutbound.FrameType;
+import com.example.demo.websocket.broadcast.SessionOutbound.OfferResult;
+import com.example.demo.websocket.config.EditorProperties;
+import com.example.demo.websocket.dto.EditorMessage;
+import com.example.demo.websocket.dto.TextSnapshotMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 에디터 메시지 브로드캐스터
+ * 
+ * - 메시지는 브로드캐스트마다 형식(JSON/CBOR)별로 한 번만 직렬화하여 같은 형식의 세션이 프레임을 공유
+ * - 세션마다 제한된 송신 큐(SessionOutbound)를 두고 sender 스레드에서 전송 → 느린 클라이언트가 room 전체를 막지 않음
+ * - 느린 클라이언트는 커서 프레임부터 버리고, 그래도 밀리면 TEXT_SNAPSHOT으로 재동기화
+ *   (큐가 빈 뒤 보낼 변경 사항이 없으면 resyncListener에 스냅샷 전송을 요청)
+ * - sender 스레드 수는 senderThreads로 제한, 전송 시간 제한은 watchdog 스레드가 주기적으로 확인
+ * 
+ * 측정 지표 (room 크기 구간별 room 태그)
+ * - editor.broadcast.fanout: 직렬화 + 모든 세션 큐 추가까지 걸린 시간
+ * - editor.broadcast.delivery: 큐 추가부터 실제 전송 완료까지 걸린 시간 (프레임별)
+ * - editor.broadcast.dropped / editor.broadcast.resync / editor.broadcast.closed: 느린 클라이언트 정책 발생 횟수
+ * - editor.broadcast.sender.queue: sender 스레드를 기다리는 세션 수
+ */
+@Slf4j
+@Component
+public class EditorBroadcaster implements DisposableBean {
+
+    private final MessageCodec codec;
+    private final EditorProperties.Broadcast properties;
+    private final MeterRegistry meterRegistry;
+
+    // sessionId -> 송신 큐
+    private final Map<String, SessionOutbound> outbounds = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter droppedCursorFrames;
+    private final Counter resyncs;
+    private final Counter closedSessions;
+
+    // 세션당 동시에 하나의 drain, 스레드 수는 제한 (남는 drain은 큐에서 대기)
+    private final AtomicInteger senderThreadCount = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService watchdog;
+
+    // 큐가 빈 뒤에도 재동기화 대기 중인 (세션, fileId) → 파일 lane에서 TEXT_SNAPSHOT 전송 (EditorRoomSynchronizer가 설정)
+    private volatile BiConsumer<WebSocketSession, Long> resyncListener = (session, fileId) -> { };
+
+    public EditorBroadcaster(MessageCodec codec, EditorProperties editorProperties, MeterRegistry meterRegistry) {
+        this.codec = codec;
+        this.properties = editorProperties.getBroadcast();
+        this.meterRegistry = meterRegistry;
+        this.droppedCursorFrames = meterRegistry.counter("editor.broadcast.dropped", "type", "cursor");
+        this.resyncs = meterRegistry.counter("editor.broadcast.resync");
+        this.closedSessions = meterRegistry.counter("editor.broadcast.closed");
+
+        int threads = properties.getSenderThreads();
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors() * 2;
+        }
+        this.sender = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            runnable -> daemon(runnable, "editor-broadcast-sender-" + senderThreadCount.incrementAndGet()));
+        this.sender.allowCoreThreadTimeOut(true);
+        Gauge.builder("editor.broadcast.sender.queue", sender, executor -> executor.getQueue().size())
+            .register(meterRegistry);
+
+        long checkMillis = Math.max(100, Math.min(1000, properties.getSendTimeLimitMillis() / 2));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemon(runnable, "editor-broadcast-watchdog"));
+        this.watchdog.scheduleWithFixedDelay(this::closeStalledSessions, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        log.info("브로드캐스트 sender 생성: threads={}, sendTimeCheckMillis={}", threads, checkMillis);
+    }
+
+    /**
+     * 재동기화 요청 수신자 설정 (큐가 빈 세션에 파일 lane에서 TEXT_SNAPSHOT을 보내야 함)
+     */
+    public void setResyncListener(BiConsumer<WebSocketSession, Long> resyncListener) {
+        this.resyncListener = resyncListener;
+    }
+
+    /**
+     * 세션 송신 큐 등록 (연결 수립 시)
+     */
+    public void register(WebSocketSession session) {
+        outbounds.put(session.getId(), new SessionOutbound(
+            session,
+            sender,
+            (target, fileId) -> resyncListener.accept(target, fileId),
+            properties.getSendTimeLimitMillis(),
+            properties.getBufferSizeLimit(),
+            properties.getCursorDropThreshold(),
+            properties.getResyncThreshold()
+        ));
+    }
+
+    /**
+     * 세션 송신 큐 제거 (연결 종료 시)
+     */
+    public void unregister(WebSocketSession session) {
+        SessionOutbound outbound = outbounds.remove(session.getId());
+        if (outbound != null) {
+            outbound.discard();
+        }
+    }
+
+    /**
+     * 텍스트 프레임(TEXT_SYNC) 브로드캐스트 (자신 포함)
+     * 
+     * @param sessions room의 세션들
+     * @param message 전송할 메시지
+     * @param resync 재동기화가 필요한 세션에 대신 보낼 메시지 (파일 lane에서 호출되어야 버전이 일치)
+     */
+    public void broadcast(Collection<WebSocketSession> sessions, Object message, Supplier<?> resync) {
+        fanOut(sessions, null, message, FrameType.TEXT, resync);
+    }
+
+    /**
+     * 커서 프레임 브로드캐스트 (exclude가 null이 아니면 해당 세션 제외, 느린 세션에는 버려질 수 있음)
+     */
+    public void broadcastCursor(Collection<WebSocketSession> sessions, WebSocketSession exclude, Object message) {
+        fanOut(sessions, exclude, message, FrameType.CURSOR, null);
+    }
+
+    /**
+     * 한 세션에만 텍스트 프레임 전송 (TEXT_SNAPSHOT 등)
+     */
+    public void send(WebSocketSession session, Object message) {
+        SessionOutbound outbound = outbounds.get(session.getId());
+        if (outbound == null) {
+            return;
+        }
+        EncodedMessage encoded = EncodedMessage.of(codec, message);
+        WebSocketMessage<?> frame = encoded.get(outbound.getFormat());
+        if (frame == null) {
+            return;
+        }
+        // 스냅샷 자체가 재동기화이므로 대체 메시지는 자기 자신 (TEXT_SYNC 따라잡기/확인 응답은 재동기화 대기 중이면 버림)
+        EncodedMessage resync = message instanceof TextSnapshotMessage ? encoded : null;
+        handleResult(outbound, outbound.offer(frame, fileIdOf(message), FrameType.TEXT, resync,
+            deliveryListener(FrameType.TEXT, 1)));
+    }
+
+    // 전송이 제한 시간 안에 끝나지 않는 세션 종료 (새 프레임이 오지 않는 세션도 확인)
+    private void closeStalledSessions() {
+        for (SessionOutbound outbound : outbounds.values()) {
+            try {
+                if (outbound.checkSendTime()) {
+                    handleResult(outbound, OfferResult.CLOSED);
+                }
+            } catch (RuntimeException e) {
+                log.error("전송 시간 확인 실패: sessionId={}, error={}", outbound.getSession().getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void fanOut(Collection<WebSocketSession> sessions, WebSocketSession exclude, Object message, 
+                        FrameType type, Supplier<?> resync) {
+        long startedAt = System.nanoTime();
+        int roomSize = sessions.size();
+
+        // 형식별로 한 번만 직렬화
+        EncodedMessage encoded = EncodedMessage.of(codec, message);
+        EncodedMessage resyncMessage = resync != null ? new EncodedMessage(codec, resync) : null;
+        Runnable listener = deliveryListener(type, roomSize);
+        Long fileId = fileIdOf(message);
+
+        for (WebSocketSession session : sessions) {
+            if (exclude != null && exclude.getId().equals(session.getId())) {
+                continue;
+            }
+            SessionOutbound outbound = outbounds.get(session.getId());
+            if (outbound == null) {
+                continue;
+            }
+            WebSocketMessage<?> frame = encoded.get(outbound.getFormat());
+            if (frame == null) {
+                continue;
+            }
+            handleResult(outbound, outbound.offer(frame, fileId, type, resyncMessage, listener));
+        }
+
+        timer("editor.broadcast.fanout", type, roomSize).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void handleResult(SessionOutbound outbound, OfferResult result) {
+        switch (result) {
+            case DROPPED:
+                droppedCursorFrames.increment();
+                break;
+            case RESYNC:
+                resyncs.increment();
+                log.debug("느린 클라이언트 재동기화: sessionId={}", outbound.getSession().getId());
+                break;
+            case CLOSED:
+                if (outbounds.remove(outbound.getSession().getId(), outbound)) {
+                    closedSessions.increment();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Runnable deliveryListener(FrameType type, int roomSize) {
+        Timer delivery = timer("editor.broadcast.delivery", type, roomSize);
+        long enqueuedAt = System.nanoTime();
+        return () -> delivery.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, FrameType type, int roomSize) {
+        String room = roomSizeBucket(roomSize);
+        String typeTag = type.name().toLowerCase();
+        return timers.computeIfAbsent(name + ":" + typeTag + ":" + room, key -> Timer.builder(name)
+            .tag("type", typeTag)
+            .tag("room", room)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry));
+    }
+
+    // 태그 수가 늘지 않도록 room 크기를 구간으로 묶음
+    private String roomSizeBucket(int roomSize) {
+        if (roomSize <= 1) return "1";
+        if (roomSize <= 5) return "2-5";
+        if (roomSize <= 20) return "6-20";
+        if (roomSize <= 100) return "21-100";
+        return "100+";
+    }
+
+    // 재동기화 단위 (한 연결이 여러 파일을 구독하므로 파일별로 재동기화)
+    private Long fileIdOf(Object message) {
+        return message instanceof EditorMessage ? ((EditorMessage) message).getFileId() : null;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        sender.shutdownNow();
+    }
+}
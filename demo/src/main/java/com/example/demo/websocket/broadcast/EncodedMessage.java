@@ -0,0 +1,62 @@
+package com.example.demo.websocket.broadcast;
+
+import com.example.demo.common.websocket.MessageCodec;
+import com.example.demo.common.websocket.WireFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * 형식별 직렬화 결과를 공유하는 메시지
+ *
+ * - room에 JSON/CBOR 연결이 섞여 있어도 형식마다 한 번만 직렬화 (사용하지 않는 형식은 직렬화하지 않음)
+ * - 원본 메시지는 처음 필요할 때 한 번만 만듦 (재동기화 스냅샷은 필요한 세션이 있을 때만 생성)
+ */
+@Slf4j
+public class EncodedMessage {
+
+    private final MessageCodec codec;
+    private final Supplier<?> source;
+    private final WebSocketMessage<?>[] encoded = new WebSocketMessage<?>[WireFormat.values().length];
+    private Object message;
+    private boolean resolved;
+
+    public EncodedMessage(MessageCodec codec, Supplier<?> source) {
+        this.codec = codec;
+        this.source = source;
+    }
+
+    public static EncodedMessage of(MessageCodec codec, Object message) {
+        EncodedMessage encodedMessage = new EncodedMessage(codec, null);
+        encodedMessage.message = message;
+        encodedMessage.resolved = true;
+        return encodedMessage;
+    }
+
+    /**
+     * 형식에 맞게 직렬화된 프레임 (실패하면 null)
+     */
+    public synchronized WebSocketMessage<?> get(WireFormat format) {
+        WebSocketMessage<?> frame = encoded[format.ordinal()];
+        if (frame != null) {
+            return frame;
+        }
+        if (!resolved) {
+            message = source.get();
+            resolved = true;
+        }
+        if (message == null) {
+            return null;
+        }
+        try {
+            frame = codec.encode(message, format);
+        } catch (IOException e) {
+            log.error("메시지 직렬화 실패: format={}, message={}, error={}", format, message, e.getMessage());
+            return null;
+        }
+        encoded[format.ordinal()] = frame;
+        return frame;
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.demo.websocket.broadcast;
+
+import com.example.demo.common.websocket.WireFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * 세션별 송신 큐
+ * 
+ * - 연결의 메시지 형식(JSON/CBOR)에 맞는 프레임만 큐에 넣음
+ * - 브로드캐스트 스레드는 큐에 넣기만 하고, 실제 전송은 sender 스레드가 세션당 하나씩 순서대로 처리
+ *   (느린 클라이언트가 있어도 다른 세션 전송이나 편집 처리 스레드가 막히지 않음)
+ * - 큐에 쌓인 바이트 수 기준 느린 클라이언트 정책
+ *   1) cursorDropThreshold 초과: 새 커서 프레임은 버림
+ *   2) resyncThreshold 초과: 쌓인 커서 프레임을 먼저 버리고, 그래도 초과하면 텍스트 프레임도 모두 버리고
+ *      버린 프레임의 파일들을 재동기화 대기 상태로 전환 (한 연결이 여러 파일을 구독하므로 파일별로 관리)
+ *      → 큐가 빈 뒤 그 파일의 다음 텍스트 프레임 대신 TEXT_SNAPSHOT 전송
+ *      → 다음 텍스트 프레임이 없어도 큐가 비면 resyncRequest로 스냅샷을 요청 (room이 조용해져도 재동기화됨)
+ *   3) bufferSizeLimit 초과 또는 한 번의 전송이 sendTimeLimitMillis 이상 걸리면 세션 종료
+ *      (전송 시간은 새 프레임이 들어올 때와 checkSendTime 호출 시 확인, session.close는 락 밖에서 호출)
+ * - sender 스레드 수는 제한되어 있으므로 한 번의 drain은 최대 MAX_FRAMES_PER_DRAIN개까지 보내고 다시 등록
+ */
+@Slf4j
+public class SessionOutbound {
+
+    private static final int MAX_FRAMES_PER_DRAIN = 64;
+
+    public enum FrameType {
+        TEXT, // TEXT_SYNC, TEXT_SNAPSHOT (순서/누락이 중요)
+        CURSOR // CURSOR_MOVE (최신 값만 의미 있음, 버려도 됨)
+    }
+
+    public enum OfferResult {
+        QUEUED, DROPPED, RESYNC, CLOSED
+    }
+
+    @Getter
+    private final WebSocketSession session;
+    @Getter
+    private final WireFormat format;
+    private final Executor sender;
+    private final BiConsumer<WebSocketSession, Long> resyncRequest;
+    private final long sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+    private final int cursorDropThreshold;
+    private final int resyncThreshold;
+
+    private final Deque<Frame> queue = new ArrayDeque<>();
+    private long bufferedBytes;
+    private boolean draining;
+    private final Set<Long> resyncFileIds = new HashSet<>(); // 재동기화 대기 중인 파일 (null = 파일 구분 없는 프레임)
+    private final Set<Long> resyncRequested = new HashSet<>(); // 스냅샷을 요청했지만 아직 받지 못한 파일
+    private boolean closed;
+    private volatile long sendStartedAt; // 진행 중인 전송 시작 시각 (0이면 전송 중 아님)
+
+    /**
+     * @param resyncRequest 큐가 비었는데 재동기화 대기 중인 파일이 남았을 때 호출 (세션, fileId)
+     *                      → 파일 lane에서 TEXT_SNAPSHOT을 만들어 offer로 다시 보내야 함
+     */
+    public SessionOutbound(WebSocketSession session, Executor sender, BiConsumer<WebSocketSession, Long> resyncRequest,
+                           long sendTimeLimitMillis, int bufferSizeLimit, int cursorDropThreshold, int resyncThreshold) {
+        this.session = session;
+        this.format = WireFormat.of(session);
+        this.sender = sender;
+        this.resyncRequest = resyncRequest;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.cursorDropThreshold = cursorDropThreshold;
+        this.resyncThreshold = resyncThreshold;
+    }
+
+    /**
+     * 프레임을 송신 큐에 추가
+     * 
+     * @param message 이 연결의 형식으로 직렬화된 메시지 (같은 형식의 세션이 같은 인스턴스를 공유)
+     * @param fileId 메시지의 파일 ID (재동기화 단위, 없으면 null)
+     * @param type 프레임 종류
+     * @param resync 재동기화가 필요할 때 대신 보낼 TEXT_SNAPSHOT (TEXT 프레임만, null이면 재동기화 보류)
+     * @param listener 전송 완료 시 호출 (큐 대기 + 전송 시간 측정용, null 가능)
+     * @return 처리 결과
+     */
+    public OfferResult offer(WebSocketMessage<?> message, Long fileId, FrameType type, EncodedMessage resync, 
+                             Runnable listener) {
+        boolean startDrain;
+        OfferResult result;
+        synchronized (this) {
+            if (closed || !session.isOpen()) {
+                return OfferResult.CLOSED;
+            }
+            if (isSendTimeExceeded()) {
+                log.warn("전송 시간 제한 초과로 세션 종료: sessionId={}, 전송 경과={}ms", 
+                    session.getId(), System.currentTimeMillis() - sendStartedAt);
+                markClosedLocked();
+                return closeOnSender();
+            }
+
+            int length = message.getPayloadLength();
+            if (type == FrameType.CURSOR) {
+                if (!resyncFileIds.isEmpty() || bufferedBytes + length > cursorDropThreshold) {
+                    return OfferResult.DROPPED;
+                }
+                result = OfferResult.QUEUED;
+            } else {
+                if (bufferedBytes + length > resyncThreshold) {
+                    dropQueuedCursorFrames();
+                    if (bufferedBytes + length > resyncThreshold) {
+                        // 이미 쌓인 TEXT_SYNC는 파일별 스냅샷으로 대체되므로 모두 버림
+                        dropQueuedTextFrames();
+                        resyncFileIds.add(fileId);
+                    }
+                }
+                if (resyncFileIds.contains(fileId)) {
+                    // 진행 중인 전송이 끝나 큐가 비었을 때만 현재 스냅샷으로 교체
+                    // 버린 경우 큐가 다시 비었을 때 스냅샷을 새로 요청
+                    resyncRequested.remove(fileId);
+                    if (resync == null || draining) {
+                        return OfferResult.RESYNC;
+                    }
+                    WebSocketMessage<?> snapshot = resync.get(format);
+                    if (snapshot == null) {
+                        return OfferResult.RESYNC;
+                    }
+                    message = snapshot;
+                    length = message.getPayloadLength();
+                    resyncFileIds.remove(fileId);
+                    result = OfferResult.RESYNC;
+                } else {
+                    result = OfferResult.QUEUED;
+                }
+            }
+
+            if (bufferedBytes + length > bufferSizeLimit) {
+                log.warn("송신 버퍼 제한 초과로 세션 종료: sessionId={}, buffered={}, limit={}", 
+                    session.getId(), bufferedBytes + length, bufferSizeLimit);
+                markClosedLocked();
+                return closeOnSender();
+            }
+
+            queue.addLast(new Frame(message, fileId, type, listener));
+            bufferedBytes += length;
+            startDrain = !draining;
+            draining = true;
+        }
+
+        if (startDrain) {
+            sender.execute(this::drain);
+        }
+        return result;
+    }
+
+    /**
+     * 진행 중인 전송이 제한 시간을 넘었으면 세션 종료 (새 프레임이 없어도 주기적으로 확인)
+     * - 세션 종료는 락 밖에서 호출한 스레드(watchdog)가 수행
+     *
+     * @return 이번 호출로 세션을 종료했으면 true
+     */
+    public boolean checkSendTime() {
+        synchronized (this) {
+            if (closed || !isSendTimeExceeded()) {
+                return false;
+            }
+            log.warn("전송 시간 제한 초과로 세션 종료: sessionId={}, 전송 경과={}ms",
+                session.getId(), System.currentTimeMillis() - sendStartedAt);
+            markClosedLocked();
+        }
+        closeSession();
+        return true;
+    }
+
+    /**
+     * 세션 종료 시 남은 프레임 정리
+     */
+    public synchronized void discard() {
+        closed = true;
+        queue.clear();
+        bufferedBytes = 0;
+    }
+
+    // sender 스레드에서 큐가 빌 때까지 순서대로 전송 (세션당 동시에 하나의 drain만 실행)
+    // 큐가 비었을 때 재동기화 대기 중인 파일이 남아 있으면 스냅샷 요청
+    private void drain() {
+        int sent = 0;
+        while (true) {
+            Frame frame;
+            List<Long> requests = null;
+            synchronized (this) {
+                if (closed) {
+                    draining = false;
+                    return;
+                }
+                if (sent >= MAX_FRAMES_PER_DRAIN && !queue.isEmpty()) {
+                    // 다른 세션이 sender 스레드를 기다리지 않도록 양보하고 다시 등록 (draining 유지)
+                    break;
+                }
+                frame = queue.pollFirst();
+                if (frame == null) {
+                    draining = false;
+                    requests = pendingResyncRequests();
+                } else {
+                    bufferedBytes -= frame.message.getPayloadLength();
+                    sendStartedAt = System.currentTimeMillis();
+                }
+            }
+            if (frame == null) {
+                for (Long fileId : requests) {
+                    resyncRequest.accept(session, fileId);
+                }
+                return;
+            }
+
+            try {
+                if (session.isOpen()) {
+                    session.sendMessage(frame.message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.error("메시지 전송 실패: sessionId={}, type={}, error={}", 
+                    session.getId(), frame.type, e.getMessage());
+            } finally {
+                sendStartedAt = 0;
+            }
+
+            if (frame.listener != null) {
+                frame.listener.run();
+            }
+            sent++;
+        }
+        sender.execute(this::drain);
+    }
+
+    // 아직 요청하지 않은 재동기화 대기 파일 (파일 구분 없는 프레임은 스냅샷을 만들 수 없어 제외)
+    private List<Long> pendingResyncRequests() {
+        List<Long> requests = new ArrayList<>();
+        for (Long fileId : resyncFileIds) {
+            if (fileId != null && resyncRequested.add(fileId)) {
+                requests.add(fileId);
+            }
+        }
+        return requests;
+    }
+
+    private boolean isSendTimeExceeded() {
+        long startedAt = sendStartedAt;
+        return startedAt > 0 && System.currentTimeMillis() - startedAt > sendTimeLimitMillis;
+    }
+
+    private void dropQueuedCursorFrames() {
+        Iterator<Frame> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Frame frame = iterator.next();
+            if (frame.type == FrameType.CURSOR) {
+                bufferedBytes -= frame.message.getPayloadLength();
+                iterator.remove();
+            }
+        }
+    }
+
+    // 버린 텍스트 프레임의 파일은 재동기화 대기 (커서 프레임은 먼저 버려진 상태)
+    private void dropQueuedTextFrames() {
+        for (Frame frame : queue) {
+            if (frame.type == FrameType.TEXT) {
+                resyncFileIds.add(frame.fileId);
+            }
+        }
+        queue.clear();
+        bufferedBytes = 0;
+    }
+
+    // 락 안에서는 상태만 바꿈 (session.close는 막힌 전송과 같은 락을 기다릴 수 있으므로 락 밖에서 호출)
+    private void markClosedLocked() {
+        closed = true;
+        queue.clear();
+        bufferedBytes = 0;
+    }
+
+    // offer를 호출한 브로드캐스트 스레드(파일 lane)를 막지 않도록 sender 스레드에서 세션 종료
+    private OfferResult closeOnSender() {
+        sender.execute(this::closeSession);
+        return OfferResult.CLOSED;
+    }
+
+    private void closeSession() {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.error("세션 종료 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Frame {
+        private final WebSocketMessage<?> message;
+        private final Long fileId;
+        private final FrameType type;
+        private final Runnable listener;
+    }
+}
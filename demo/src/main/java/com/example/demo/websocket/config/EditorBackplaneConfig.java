@@ -0,0 +1,40 @@
+package com.example.demo.websocket.config;
+
+import com.example.demo.websocket.backplane.RedisEditorRoomBackplane;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 에디터 Redis backplane 설정 (editor.backplane.type=redis 일 때만)
+ *
+ * - RedisConfig의 RedisTemplate<String, String>과 커넥션을 그대로 사용
+ * - 채팅용 container는 메시지마다 별도 스레드로 처리하므로 순서가 보장되지 않음
+ *   → 에디터 전용 container는 구독 스레드에서 바로 처리 (채널 메시지 순서 = 편집 적용 순서)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "editor.backplane", name = "type", havingValue = "redis")
+public class EditorBackplaneConfig {
+
+    @Bean
+    public RedisMessageListenerContainer editorRoomListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(new SyncTaskExecutor());
+        return container;
+    }
+
+    @Bean
+    public RedisEditorRoomBackplane redisEditorRoomBackplane(
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer editorRoomListenerContainer,
+            ObjectMapper objectMapper,
+            EditorProperties editorProperties) {
+        return new RedisEditorRoomBackplane(redisTemplate, editorRoomListenerContainer, objectMapper, editorProperties);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.websocket.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실시간 에디터 설정
+ */
+@Getter
+@Component
+@ConfigurationProperties(prefix = "editor")
+public class EditorProperties {
+
+    private final Persistence persistence = new Persistence();
+    private final Document document = new Document();
+    private final Broadcast broadcast = new Broadcast();
+    private final Cursor cursor = new Cursor();
+    private final Backplane backplane = new Backplane();
+    private final Lane lane = new Lane();
+    private final Session session = new Session();
+
+    /**
+     * 메모리 문서의 write-behind 저장 설정
+     * - 마지막 저장 이후 flushIntervalMillis가 지났거나, 저장되지 않은 편집이 flushEditThreshold개 이상이면 저장
+     */
+    @Getter
+    @Setter
+    public static class Persistence {
+        private long tickMillis = 500; // 저장 대상 검사 주기
+        private long flushIntervalMillis = 2000; // 시간 임계값
+        private int flushEditThreshold = 100; // 편집 수 임계값
+    }
+
+    /**
+     * 메모리 문서 설정
+     * - operationLogSize: 오래된 버전 기준 편집을 변환하기 위해 보관하는 최근 연산 수
+     */
+    @Getter
+    @Setter
+    public static class Document {
+        private int operationLogSize = 1000;
+    }
+
+    /**
+     * 브로드캐스트 송신 큐 설정 (세션별, 바이트 단위)
+     * - 쌓인 바이트가 cursorDropThreshold를 넘으면 커서 프레임을 버리고, resyncThreshold를 넘으면 TEXT_SNAPSHOT으로 재동기화
+     * - bufferSizeLimit를 넘거나 한 번의 전송이 sendTimeLimitMillis 이상 걸리면 세션 종료
+     * - senderThreads: 실제 전송 스레드 수, 0 이하면 CPU 코어 수 × 2
+     */
+    @Getter
+    @Setter
+    public static class Broadcast {
+        private int senderThreads = 0;
+        private long sendTimeLimitMillis = 10000;
+        private int bufferSizeLimit = 4 * 1024 * 1024;
+        private int cursorDropThreshold = 64 * 1024;
+        private int resyncThreshold = 1024 * 1024;
+    }
+
+    /**
+     * 커서 위치 전송 설정
+     * - batchTickMillis마다 room별로 이동한 사용자들의 마지막 커서 위치를 CURSOR_BATCH 한 번으로 전송
+     */
+    @Getter
+    @Setter
+    public static class Cursor {
+        private long batchTickMillis = 50;
+    }
+
+    /**
+     * 노드 간 room 연결 설정
+     * - type: local(단일 노드) 또는 redis(Redis pub/sub)
+     * - 다른 노드가 같은 파일을 열고 있으면 현재 상태를 요청하고, snapshotTimeoutMillis 안에 응답이 없으면 DB 상태로 시작
+     * - writerLeaseMillis: 파일 DB 저장 권한 유지 시간 (저장할 때마다 갱신)
+     * - nodeTtlMillis: 노드 생존 표시 유지 시간 (1/3 주기로 갱신, 만료된 노드는 room 노드 목록에서 제거)
+     */
+    @Getter
+    @Setter
+    public static class Backplane {
+        private String type = "local";
+        private long syncTickMillis = 100;
+        private long snapshotRetryMillis = 300;
+        private long snapshotTimeoutMillis = 1000;
+        private long writerLeaseMillis = 30000;
+        private long nodeTtlMillis = 30000;
+    }
+
+    /**
+     * 파일별 편집 처리 lane 설정
+     * - count: lane(단일 스레드) 수, 0 이하면 CPU 코어 수
+     */
+    @Getter
+    @Setter
+    public static class Lane {
+        private int count = 0;
+    }
+
+    /**
+     * 에디터 연결 설정
+     * - maxSubscriptions: 하나의 연결(/ws/editor)에서 동시에 구독할 수 있는 파일 수
+     */
+    @Getter
+    @Setter
+    public static class Session {
+        private int maxSubscriptions = 50;
+    }
+}
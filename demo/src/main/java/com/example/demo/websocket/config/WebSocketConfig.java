@@ -25,10 +25,12 @@ public class WebSocketConfig implements WebSocketConfigurer {
      * WebSocket 핸들러 등록
      * 
      * CORS 설정: 현재는 모든 origin 허용 (이후에 특정 도메인으로 제한 예정)
+     * /ws/editor: 하나의 연결에서 SUBSCRIBE/UNSUBSCRIBE로 여러 파일 편집
+     * /ws/editor/{fileId}: 기존 방식 (연결한 파일만 편집)
      */
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(editorWebSocketHandler, "/ws/editor/{fileId}")
+        registry.addHandler(editorWebSocketHandler, "/ws/editor", "/ws/editor/{fileId}")
             .addInterceptors(jwtHandshakeInterceptor) // JWT 토큰 인증 인터셉터 추가
             .setAllowedOrigins(allowedOrigins);
     }
@@ -0,0 +1,354 @@
+package com.example.demo.websocket.document;
+
+import com.example.demo.websocket.ot.OperationLog;
+import com.example.demo.websocket.ot.SessionBridge;
+import com.example.demo.websocket.ot.TextOperation;
+import com.example.demo.websocket.util.TextRope;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 편집 중인 파일의 메모리 문서 상태
+ *
+ * - room이 살아있는 동안 텍스트와 버전의 기준 값 (DB는 write-behind로 뒤따라 저장)
+ * - 버전마다 적용된 연산을 OperationLog에 남겨 오래된 버전 기준의 편집을 변환(OT)할 수 있게 함
+ * - 편집을 보낸 세션마다 아직 받지 못한 연산을 SessionBridge로 보관 (연달아 보낸 편집을 자기 편집에 다시 변환하지 않음)
+ * - 편집 적용은 파일 lane에서만 수행, 메서드 단위 동기화는 writer 스레드의 저장 스냅샷 조회용
+ * - 텍스트는 TextRope로 보관 → 편집은 문서 크기와 무관하게 O(log n), 저장 스냅샷은 참조 복사
+ */
+public class EditorDocument {
+
+    @Getter
+    private final Long fileId;
+
+    private TextRope text;
+    private int version;
+    private final OperationLog operationLog;
+    private final int operationLogSize;
+    private final Map<String, SessionBridge> bridges = new LinkedHashMap<>(); // 세션별 변환 상태 (편집을 보낸 세션만)
+
+    private int persistedVersion; // 마지막으로 DB에 저장된 버전
+    private TextRope persistedText; // 마지막으로 DB에 저장된 텍스트 (DELTA 저장 기준)
+    private int pendingEdits; // 저장되지 않은 편집 수
+    private Long lastEditorId; // 마지막으로 편집한 사용자 (저장 버전의 작성자)
+    private long lastPersistedAt;
+    private boolean flushQueued;
+    private long flushRetryAt; // 저장하지 못한 스냅샷의 재시도 시각
+
+    public EditorDocument(Long fileId, String text, int version, int operationLogSize) {
+        this.fileId = fileId;
+        this.text = TextRope.of(text);
+        this.version = version;
+        this.operationLog = new OperationLog(operationLogSize);
+        this.operationLogSize = Math.max(1, operationLogSize);
+        this.persistedVersion = version;
+        this.persistedText = this.text;
+        this.lastPersistedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 현재 전체 텍스트 (문서 크기만큼 복사하므로 전체 전송/저장에만 사용)
+     */
+    public synchronized String getText() {
+        return text.toString();
+    }
+
+    /**
+     * 현재 텍스트 rope (불변이라 복사 없이 공유 가능)
+     */
+    public synchronized TextRope getContent() {
+        return text;
+    }
+
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * 현재 버전 기준 연산을 적용하고 버전 증가
+     * - 보낸 세션을 제외한 세션별 변환 상태에 연산 추가 (그 세션들이 아직 받지 못한 연산)
+     * - 보관 연산이 연산 로그 크기를 넘은 세션은 변환 상태를 버림 (다음 편집 때 로그로 다시 만들거나 재동기화)
+     *
+     * @param operation 현재 텍스트 좌표의 연산
+     * @param userId 편집한 사용자 ID
+     * @param sessionId 편집을 보낸 세션 (서버에서 만든 편집이면 null)
+     * @return 새 버전
+     */
+    public synchronized int apply(TextOperation operation, Long userId, String sessionId) {
+        TextOperation inverse = operation.invert(text);
+        this.text = operation.apply(text);
+        this.version++;
+        this.pendingEdits++;
+        this.lastEditorId = userId;
+        operationLog.append(version, operation, inverse, userId, sessionId);
+
+        Iterator<Map.Entry<String, SessionBridge>> iterator = bridges.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, SessionBridge> entry = iterator.next();
+            if (entry.getKey().equals(sessionId)) {
+                continue;
+            }
+            SessionBridge bridge = entry.getValue();
+            bridge.add(version, operation, inverse);
+            if (bridge.size() > operationLogSize) {
+                iterator.remove();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * 세션이 보낸 편집을 현재 버전 기준 연산으로 변환 (Jupiter 방식)
+     *
+     * - 편집은 세션 좌표(baseVersion 텍스트 + 세션이 이미 보낸 편집) 기준
+     * - 세션이 아직 받지 못한 다른 세션의 연산에만 변환 → 확인 전에 연달아 보낸 편집이 자기 편집에 다시 변환되지 않음
+     * - 세션의 첫 편집이면 연산 로그의 baseVersion 이후 연산으로 변환 상태를 만듦
+     * - 모든 노드가 같은 이벤트 순서로 호출하므로 노드마다 같은 결과
+     *
+     * @param sessionId 편집을 보낸 세션
+     * @param baseVersion 세션이 받은 마지막 버전
+     * @param clientSeq 세션의 편집 번호 (없으면 null, 이미 받은 번호면 무시)
+     * @param operation 세션 좌표의 연산 (content가 있으면 사용하지 않음)
+     * @param content 편집 후 전체 텍스트 (room이 없는 노드가 발행한 서버 편집, 없으면 null)
+     * @return 변환 결과
+     */
+    public synchronized ClientEdit transformClientEdit(String sessionId, int baseVersion, Integer clientSeq,
+                                                       TextOperation operation, String content) {
+        SessionBridge bridge = bridgeFor(sessionId, Math.min(baseVersion, version));
+        if (bridge == null) {
+            return new ClientEdit(ClientEdit.Status.OUT_OF_LOG, null);
+        }
+        if (clientSeq != null && !bridge.acceptSeq(clientSeq)) {
+            return new ClientEdit(ClientEdit.Status.DUPLICATE, null);
+        }
+
+        TextRope clientText = bridge.clientText(text);
+        TextOperation clientOperation = content != null
+            ? TextOperation.diff(clientText.toString(), content)
+            : operation;
+        if (!clientOperation.isValidFor(clientText.length())) {
+            return new ClientEdit(ClientEdit.Status.INVALID, null);
+        }
+        return new ClientEdit(ClientEdit.Status.TRANSFORMED, bridge.transform(clientOperation, clientText));
+    }
+
+    /**
+     * 세션 좌표 텍스트 조회 (baseVersion 텍스트 + 세션이 보낸 편집, 변환 상태는 만들거나 바꾸지 않음)
+     * - 세션이 보낸 편집이 모두 적용된 뒤에만 정확함 (세션이 연결된 노드가 TEXT_CHANGE의 변경 사항을 계산할 때 사용)
+     *
+     * @param sessionId 세션 ID
+     * @param baseVersion 세션이 받은 마지막 버전
+     * @return 로그 범위를 벗어났거나 세션 좌표를 알 수 없으면 null (재동기화 필요)
+     */
+    public synchronized TextRope sessionText(String sessionId, int baseVersion) {
+        int base = Math.min(baseVersion, version);
+        SessionBridge bridge = bridges.get(sessionId);
+        if (bridge != null) {
+            return base >= bridge.getAckedVersion() ? bridge.clientText(text, base) : null;
+        }
+
+        List<OperationLog.Entry> entries = operationLog.since(base, version);
+        if (entries == null) {
+            return null;
+        }
+        TextRope result = text;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            OperationLog.Entry entry = entries.get(i);
+            // 변환 상태를 버린 뒤의 편집 → 세션 좌표를 알 수 없음
+            if (sessionId.equals(entry.getSessionId())) {
+                return null;
+            }
+            result = entry.getInverse().apply(result);
+        }
+        return result;
+    }
+
+    // 세션별 변환 상태 조회 (없으면 연산 로그로 생성, 로그 범위를 벗어났거나 세션 편집이 이미 로그에 있으면 null)
+    private SessionBridge bridgeFor(String sessionId, int baseVersion) {
+        SessionBridge bridge = sessionId != null ? bridges.get(sessionId) : null;
+        if (bridge != null) {
+            bridge.acknowledge(baseVersion);
+            return bridge;
+        }
+
+        List<OperationLog.Entry> entries = operationLog.since(baseVersion, version);
+        if (entries == null) {
+            return null;
+        }
+        bridge = new SessionBridge(baseVersion);
+        for (OperationLog.Entry entry : entries) {
+            // 변환 상태를 버린 뒤의 편집 → 세션 좌표를 알 수 없음
+            if (sessionId != null && sessionId.equals(entry.getSessionId())) {
+                return null;
+            }
+            bridge.add(entry.getVersion(), entry.getOperation(), entry.getInverse());
+        }
+        if (sessionId != null) {
+            bridges.put(sessionId, bridge);
+        }
+        return bridge;
+    }
+
+    /**
+     * sinceVersion 이후의 변경 사항 조회 (재연결한 클라이언트 따라잡기용)
+     * - 연산 목록과 그 시점의 버전/텍스트를 한 번에 조회하여 서로 어긋나지 않음
+     *
+     * @param sinceVersion 클라이언트가 마지막으로 적용한 버전
+     * @return 로그 범위를 벗어나거나 서버보다 앞선 버전이면 entries가 null (스냅샷 필요)
+     */
+    public synchronized CatchUp catchUpSince(int sinceVersion) {
+        List<OperationLog.Entry> entries = sinceVersion <= version ? operationLog.since(sinceVersion, version) : null;
+        return new CatchUp(version, entries, text);
+    }
+
+    /**
+     * 저장 시점 판단 (시간 또는 편집 수 임계값 초과)
+     */
+    public synchronized boolean isFlushDue(long now, long flushIntervalMillis, int flushEditThreshold) {
+        if (pendingEdits == 0 || flushQueued || isFlushDeferred(now)) {
+            return false;
+        }
+        return pendingEdits >= flushEditThreshold || now - lastPersistedAt >= flushIntervalMillis;
+    }
+
+    /**
+     * 저장하지 못한 스냅샷 처리 (저장된 것으로 표시하지 않고 retryAt까지 저장 보류)
+     */
+    public synchronized void deferFlush(long retryAt) {
+        flushRetryAt = retryAt;
+    }
+
+    public synchronized boolean isFlushDeferred(long now) {
+        return now < flushRetryAt;
+    }
+
+    // writer 큐에 중복으로 올라가지 않도록 표시
+    public synchronized boolean markFlushQueued() {
+        if (flushQueued) {
+            return false;
+        }
+        flushQueued = true;
+        return true;
+    }
+
+    /**
+     * 저장할 스냅샷 생성 (저장되지 않은 변경이 없으면 null)
+     */
+    public synchronized Snapshot snapshotForFlush() {
+        flushQueued = false;
+        if (version == persistedVersion) {
+            return null;
+        }
+        return new Snapshot(text, version, persistedText, persistedVersion, lastEditorId);
+    }
+
+    /**
+     * 스냅샷 저장 완료 처리
+     * - 저장 중에 들어온 편집은 pendingEdits에 남김
+     */
+    public synchronized void markPersisted(Snapshot snapshot) {
+        if (snapshot.getVersion() > persistedVersion) {
+            persistedVersion = snapshot.getVersion();
+            persistedText = snapshot.text;
+        }
+        pendingEdits = version - persistedVersion;
+        lastPersistedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 보관 중인 연산 로그 조회 (다른 노드에 상태를 넘길 때 사용)
+     */
+    public synchronized List<OperationLog.Entry> getOperationLogEntries() {
+        return operationLog.entries();
+    }
+
+    /**
+     * 세션별 변환 상태 조회 (다른 노드에 상태를 넘길 때 사용, 복사본)
+     */
+    public synchronized Map<String, SessionBridge> getSessionBridges() {
+        Map<String, SessionBridge> copy = new LinkedHashMap<>();
+        bridges.forEach((sessionId, bridge) -> copy.put(sessionId,
+            new SessionBridge(bridge.getAckedVersion(), bridge.getLastSeq(), bridge.entries())));
+        return copy;
+    }
+
+    /**
+     * 다른 노드에서 받은 상태로 교체
+     * - 텍스트, 버전, 연산 로그, 세션별 변환 상태를 모두 교체하여 이후 같은 연산 순서를 적용하면 같은 결과가 나오도록 함
+     * - 저장 상태(persistedVersion/Text)는 유지하고, 저장되지 않은 버전 수만 다시 계산
+     *
+     * @param text 전체 텍스트
+     * @param version 버전
+     * @param entries 연산 로그 (오래된 순)
+     * @param sessionBridges 세션별 변환 상태
+     */
+    public synchronized void replaceWith(String text, int version, List<OperationLog.Entry> entries,
+                                         Map<String, SessionBridge> sessionBridges) {
+        this.text = TextRope.of(text);
+        this.version = version;
+        operationLog.clear();
+        for (OperationLog.Entry entry : entries) {
+            operationLog.append(entry.getVersion(), entry.getOperation(), entry.getInverse(),
+                entry.getUserId(), entry.getSessionId());
+            this.lastEditorId = entry.getUserId();
+        }
+        bridges.clear();
+        bridges.putAll(sessionBridges);
+        this.pendingEdits = Math.max(0, version - persistedVersion);
+    }
+
+    /**
+     * 세션 편집 변환 결과
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ClientEdit {
+
+        public enum Status {
+            TRANSFORMED, // 변환됨 (operation이 현재 텍스트 좌표의 연산)
+            OUT_OF_LOG, // 연산 로그 범위를 벗어남 (재동기화 필요)
+            INVALID, // 세션 좌표 텍스트에 맞지 않는 범위 (재동기화 필요)
+            DUPLICATE // 이미 받은 편집 번호
+        }
+
+        private final Status status;
+        private final TextOperation operation;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CatchUp {
+        private final int version; // 조회 시점 버전
+        private final List<OperationLog.Entry> entries; // sinceVersion 이후 연산 (오래된 순), null이면 스냅샷 필요
+        private final TextRope content; // 조회 시점 텍스트
+    }
+
+    /**
+     * 저장용 스냅샷
+     * - rope 참조만 보관하고, 문자열은 writer 스레드가 저장할 때 만듦 (파일 lane을 막지 않음)
+     */
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final TextRope text;
+        @Getter
+        private final int version;
+        private final TextRope previousText; // 직전 저장 텍스트
+        @Getter
+        private final int previousVersion; // 직전 저장 버전
+        @Getter
+        private final Long authorId; // 마지막 편집자
+
+        public String getText() {
+            return text.toString();
+        }
+
+        public String getPreviousText() {
+            return previousText.toString();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * CURSOR_BATCH 메시지 - 커서 위치 묶음 메시지 (서버 → 클라이언트)
+ * 
+ * - 서버는 CURSOR_MOVE를 바로 전달하지 않고 room별로 사용자당 마지막 위치만 보관
+ * - 일정 주기(editor.cursor.batch-tick-millis)마다 그 사이 이동한 사용자들의 위치만 한 번에 전송
+ * (자신의 커서도 포함될 수 있으므로 클라이언트는 자신의 userId 항목을 무시)
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorBatchMessage extends EditorMessage {
+    private List<UserCursor> cursors; // 사용자별 마지막 커서 위치
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserCursor {
+        private Long userId;
+        private CursorMoveMessage.CursorPosition cursor;
+    }
+}
@@ -12,19 +12,34 @@ import lombok.NoArgsConstructor;
  * - 모든 에디터 메시지의 공통 필드 정의
  * - Jackson의 다형성 지원을 통해 메시지 타입에 따라 적절한 하위 클래스로 역직렬화
  * 
- * - JSON의 "type" 필드를 기반으로 적절한 하위 클래스로 변환
+ * - JSON의 "type" 필드를 기반으로 적절한 하위 클래스로 변환 (한 번 읽기로 구체 타입 생성)
+ * - type은 기존 필드를 그대로 사용 (직렬화 시 "type"을 중복으로 쓰지 않고, 역직렬화 후에도 값이 남음)
  * - {"type": "TEXT_CHANGE", ...} → TextChangeMessage로 변환
+ * - {"type": "TEXT_OPERATION", ...} → TextOperationMessage로 변환
  * - {"type": "TEXT_SYNC", ...} → TextSyncMessage로 변환
  * - {"type": "CURSOR_MOVE", ...} → CursorMoveMessage로 변환
+ * - {"type": "TEXT_SNAPSHOT", ...} → TextSnapshotMessage로 변환
+ * - {"type": "CURSOR_BATCH", ...} → CursorBatchMessage로 변환
+ * - {"type": "RESYNC", ...} → ResyncMessage로 변환
+ * - {"type": "SUBSCRIBE", ...} → SubscribeMessage로 변환
+ * - {"type": "UNSUBSCRIBE", ...} → UnsubscribeMessage로 변환
+ * - {"type": "SUBSCRIBE_ERROR", ...} → SubscribeErrorMessage로 변환
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "type", visible = true)
 @JsonSubTypes({
     @JsonSubTypes.Type(value = TextChangeMessage.class, name = "TEXT_CHANGE"), // 텍스트 변경 메시지
+    @JsonSubTypes.Type(value = TextOperationMessage.class, name = "TEXT_OPERATION"), // 범위 기반 텍스트 변경 메시지
     @JsonSubTypes.Type(value = TextSyncMessage.class, name = "TEXT_SYNC"), // 텍스트 동기화 메시지
     @JsonSubTypes.Type(value = CursorMoveMessage.class, name = "CURSOR_MOVE"), // 커서 이동 메시지
+    @JsonSubTypes.Type(value = TextSnapshotMessage.class, name = "TEXT_SNAPSHOT"), // 전체 텍스트 스냅샷 메시지
+    @JsonSubTypes.Type(value = CursorBatchMessage.class, name = "CURSOR_BATCH"), // 커서 위치 묶음 메시지
+    @JsonSubTypes.Type(value = ResyncMessage.class, name = "RESYNC"), // 재연결 따라잡기 요청 메시지
+    @JsonSubTypes.Type(value = SubscribeMessage.class, name = "SUBSCRIBE"), // 파일 구독 메시지
+    @JsonSubTypes.Type(value = UnsubscribeMessage.class, name = "UNSUBSCRIBE"), // 파일 구독 해제 메시지
+    @JsonSubTypes.Type(value = SubscribeErrorMessage.class, name = "SUBSCRIBE_ERROR"), // 파일 구독 실패 메시지
 })
 public abstract class EditorMessage {
     private String type;
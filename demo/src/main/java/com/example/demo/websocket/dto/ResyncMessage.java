@@ -0,0 +1,21 @@
+package com.example.demo.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * RESYNC 메시지 - 재연결한 클라이언트의 따라잡기 요청
+ * 
+ * - 클라이언트가 마지막으로 적용한 버전 이후의 변경 사항만 요청
+ * - 서버는 연산 로그에 남아 있으면 빠진 버전의 TEXT_SYNC들을 순서대로 보내고,
+ *   로그 범위를 벗어났으면 TEXT_SNAPSHOT(전체 텍스트)을 보냄
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResyncMessage extends EditorMessage {
+    private Integer sinceVersion; // 클라이언트가 마지막으로 적용한 버전
+}
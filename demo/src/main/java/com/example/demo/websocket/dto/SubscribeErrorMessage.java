@@ -0,0 +1,22 @@
+package com.example.demo.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * SUBSCRIBE_ERROR 메시지
+ *
+ * - 서버가 SUBSCRIBE를 처리하지 못했을 때 보낸 세션에만 전송 (fileId는 요청한 파일)
+ * - code는 ErrorMessage 이름 (FILE_NOT_FOUND, EDITOR_SUBSCRIPTION_LIMIT_EXCEEDED 등)
+ * (클라이언트는 해당 파일을 구독하지 않은 상태로 처리)
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscribeErrorMessage extends EditorMessage {
+    private String code; // 오류 코드
+    private String message; // 오류 메시지
+}
@@ -0,0 +1,20 @@
+package com.example.demo.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * SUBSCRIBE 메시지 - 하나의 연결(/ws/editor)에서 파일 편집 시작
+ * 
+ * - 구독한 파일의 TEXT_SYNC, TEXT_SNAPSHOT, CURSOR_BATCH를 같은 연결로 받음 (메시지의 fileId로 구분)
+ * - sinceVersion이 있으면 그 이후 변경 사항만(RESYNC와 같음), 없으면 TEXT_SNAPSHOT(전체 텍스트)을 보냄
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscribeMessage extends EditorMessage {
+    private Integer sinceVersion; // 클라이언트가 이미 가지고 있는 버전 (없으면 null)
+}
@@ -7,6 +7,9 @@ import lombok.NoArgsConstructor;
 
 /**
  * TEXT_CHANGE 메시지 - 텍스트 변경 메시지
+ *
+ * - content는 클라이언트 텍스트 전체: version 텍스트 + 이 세션이 이미 보냈지만 아직 확인받지 못한 편집 + 이번 편집
+ * - 확인(TEXT_SYNC의 sessionId/clientSeq)을 기다리지 않고 연달아 보내도 이전 편집이 두 번 적용되지 않음
  */
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -14,5 +17,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class TextChangeMessage extends EditorMessage {
     private String content; // 변경된 전체 텍스트 내용
-    private Integer version; // 클라이언트가 알고 있는 기존 파일 버전
+    private Integer version; // 클라이언트가 받은 마지막 파일 버전
+    private Integer clientSeq; // 세션별 편집 번호 (선택, 1씩 증가, 이미 받은 번호는 무시)
 }
@@ -0,0 +1,26 @@
+package com.example.demo.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * TEXT_OPERATION 메시지 - 범위 기반 텍스트 변경 메시지
+ * 
+ * - 전체 텍스트 대신 클라이언트 텍스트 기준의 변경 범위와 새 텍스트만 전송
+ *   (클라이언트 텍스트 = baseVersion 텍스트 + 이 세션이 이미 보냈지만 아직 확인받지 못한 편집)
+ * - 확인(TEXT_SYNC의 sessionId/clientSeq)을 기다리지 않고 연달아 보내도 됨
+ * - 서버는 diff 계산 없이 메모리 문서에 적용하고 그대로 TEXT_SYNC로 브로드캐스트
+ * (전체 텍스트를 보내는 TEXT_CHANGE는 재동기화용으로 유지)
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextOperationMessage extends EditorMessage {
+    private TextSyncMessage.TextChange.Range range; // 클라이언트 텍스트 기준 교체 범위
+    private String text; // 새 텍스트 (삭제의 경우 빈 문자열)
+    private Integer baseVersion; // 클라이언트가 받은 마지막 파일 버전
+    private Integer clientSeq; // 세션별 편집 번호 (선택, 1씩 증가, 이미 받은 번호는 무시)
+}
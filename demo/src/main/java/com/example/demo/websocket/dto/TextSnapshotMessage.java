@@ -0,0 +1,22 @@
+package com.example.demo.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * TEXT_SNAPSHOT 메시지
+ * 
+ * - 서버가 특정 클라이언트에게 현재 전체 텍스트와 버전을 전송
+ * - 클라이언트의 기준 버전이 너무 오래되어 변경 사항을 변환할 수 없을 때 사용
+ * (클라이언트는 로컬 텍스트를 content로 교체)
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextSnapshotMessage extends EditorMessage {
+    private String content; // 현재 전체 텍스트
+    private Integer version; // 현재 파일 버전
+}
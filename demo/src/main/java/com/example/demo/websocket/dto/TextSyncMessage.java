@@ -5,11 +5,18 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * TEXT_SYNC 메시지
  * 
  * - 서버가 TEXT_CHANGE 처리 후 변경 사항만 브로드캐스트
  * (클라이언트는 받은 변경 사항을 로컬 텍스트에 적용)
+ * 
+ * - changes: 이전 버전 텍스트 좌표의 변경 사항 목록 (start 오름차순, 겹치지 않음 → 뒤에서부터 적용)
+ * - change: 변경 사항이 하나일 때만 설정 (기존 클라이언트 호환)
+ * - sessionId, clientSeq: 편집을 보낸 세션과 그 세션의 편집 번호 (보낸 클라이언트는 자기 편집의 확인으로 사용)
+ *   변환 결과 변경이 없으면 보낸 세션에만 changes가 빈 확인 응답을 보냄 (version은 그대로)
  */
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -18,7 +25,10 @@ import lombok.NoArgsConstructor;
 public class TextSyncMessage extends EditorMessage {
     
     private Integer version; // 최신 파일 버전
-    private TextChange change; // 변경 사항
+    private TextChange change; // 변경 사항 (하나일 때)
+    private List<TextChange> changes; // 변경 사항 목록
+    private String sessionId; // 편집을 보낸 세션
+    private Integer clientSeq; // 보낸 세션의 편집 번호 (보내지 않았으면 null)
     
 
     @Data
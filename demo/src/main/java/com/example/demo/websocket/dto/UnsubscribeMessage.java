@@ -0,0 +1,16 @@
+package com.example.demo.websocket.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * UNSUBSCRIBE 메시지 - 파일 편집 종료 (연결은 유지)
+ * 
+ * - 마지막 구독자가 나가면 room이 닫히면서 메모리 문서를 저장
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class UnsubscribeMessage extends EditorMessage {
+}
@@ -1,49 +1,82 @@
 package com.example.demo.websocket.handler;
 
-import com.example.demo.filecontent.entity.FileContent;
-import com.example.demo.filecontent.repository.FileContentRepository;
+import com.example.demo.common.CustomException;
+import com.example.demo.common.ErrorMessage;
+import com.example.demo.common.websocket.MessageCodec;
+import com.example.demo.common.websocket.WireFormat;
+import com.example.demo.websocket.backplane.EditorRoomSynchronizer;
+import com.example.demo.websocket.broadcast.EditorBroadcaster;
+import com.example.demo.websocket.config.EditorProperties;
+import com.example.demo.websocket.document.EditorDocument;
 import com.example.demo.websocket.dto.*;
+import com.example.demo.websocket.lane.FileLaneExecutor;
 import com.example.demo.websocket.manager.EditorSessionManager;
+import com.example.demo.websocket.manager.FileRoom;
+import com.example.demo.websocket.ot.TextOperation;
 import com.example.demo.websocket.util.TextDiffUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
-import java.io.IOException;
-import java.util.Set;
+import java.util.List;
 
 /**
  * 에디터 핸들러
  * 
- * - TEXT_CHANGE 메시지 처리 및 버전 관리
- * - CURSOR_MOVE 메시지 브로드캐스트
- * - TEXT_SYNC 메시지 브로드캐스트
+ * - TEXT_CHANGE 메시지 처리 및 버전 관리 (오래된 버전 기준 편집은 OT로 변환하여 병합)
+ * - TEXT_OPERATION 메시지 처리 (범위 기반 변경, 전체 텍스트 업로드/diff 계산 없음)
+ * - CURSOR_MOVE 메시지는 room별 사용자당 마지막 위치만 보관 후 주기마다 CURSOR_BATCH로 브로드캐스트
+ * - 계산한 편집은 EditorRoomSynchronizer로 발행 → 모든 노드가 같은 순서로 적용하고 TEXT_SYNC 브로드캐스트
+ * - TEXT_SNAPSHOT 메시지 전송 (병합할 수 없을 만큼 오래된 클라이언트 재동기화)
+ * - RESYNC 메시지 처리 (재연결한 클라이언트에게 빠진 버전의 변경 사항만 전송)
+ * - 하나의 연결(/ws/editor)에서 SUBSCRIBE/UNSUBSCRIBE로 여러 파일 편집 (메시지의 fileId로 구분)
+ *   기존 /ws/editor/{fileId} 연결은 해당 파일을 바로 구독한 연결로 처리
+ * - 메시지 형식은 연결 시 서브프로토콜로 선택 (기본 JSON 텍스트 프레임, "cbor"면 CBOR 바이너리 프레임)
+ * - 편집 메시지는 파일별 lane(FileLaneExecutor)에서 처리 (같은 파일은 락 없이 순서대로)
+ * - 모든 전송은 EditorBroadcaster의 세션별 송신 큐를 통해 처리 (핸들러 스레드에서 직접 전송하지 않음)
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class EditorWebSocketHandler extends TextWebSocketHandler {
+public class EditorWebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
     private final EditorSessionManager sessionManager;
-    private final FileContentRepository fileContentRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EditorBroadcaster broadcaster;
+    private final EditorRoomSynchronizer roomSynchronizer;
+    private final FileLaneExecutor fileLaneExecutor;
+    private final EditorProperties editorProperties;
+    private final MessageCodec codec;
 
-    // fileId와 userId를 추출하여 세션 관리자에 등록 (세션 생성)
+    // 연결 시 선택 가능한 메시지 형식 (json, cbor)
+    @Override
+    public List<String> getSubProtocols() {
+        return WireFormat.subprotocols();
+    }
+
+    // userId를 추출하여 세션 관리자에 등록 (세션 생성), 경로에 fileId가 있으면 해당 파일 구독
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         String path = session.getUri().getPath();
-        Long fileId = extractFileIdFromPath(path); // fileId 추출
         Long userId = extractUserIdFromSession(session); // userId 추출
 
-        if (fileId == null) {
-            log.warn("fileId를 추출할 수 없습니다. path: {}", path);
-            session.close(CloseStatus.BAD_DATA);
-            return;
+        // 기존 방식(/ws/editor/{fileId})이면 fileId 추출
+        Long fileId = null;
+        if (hasFileIdInPath(path)) {
+            fileId = extractFileIdFromPath(path);
+            if (fileId == null) {
+                log.warn("fileId를 추출할 수 없습니다. path: {}", path);
+                session.close(CloseStatus.BAD_DATA);
+                return;
+            }
         }
 
         if (userId == null) {
@@ -52,41 +85,74 @@ public class EditorWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
-        sessionManager.addSession(fileId, userId, session);
-        log.info("WebSocket 연결 성공: fileId={}, userId={}, sessionId={}", fileId, userId, session.getId());
+        broadcaster.register(session);
+        sessionManager.registerSession(userId, session);
+        if (fileId != null) {
+            try {
+                sessionManager.subscribe(fileId, session);
+            } catch (CustomException e) {
+                log.warn("파일 구독 실패: fileId={}, sessionId={}, error={}", fileId, session.getId(), e.getMessage());
+                session.close(CloseStatus.BAD_DATA);
+                return;
+            }
+        }
+        log.info("WebSocket 연결 성공: fileId={}, userId={}, sessionId={}, format={}", 
+            fileId, userId, session.getId(), WireFormat.of(session));
     }
 
-    // 메시지 타입에 따라 분기 처리 [TEXT_CHANGE: handleTextChange(), CURSOR_MOVE: handleCursorMove()]
+    // 메시지 타입에 따라 분기 처리 [TEXT_CHANGE: handleTextChange(), TEXT_OPERATION: handleTextOperation(), CURSOR_MOVE: handleCursorMove(), RESYNC: handleResync(), SUBSCRIBE: handleSubscribe(), UNSUBSCRIBE: handleUnsubscribe()]
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        receive(session, message);
+    }
+
+    // CBOR 형식 연결의 메시지
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        receive(session, message);
+    }
+
+    // 한 번만 역직렬화 ("type" 필드로 구체 메시지 타입 생성)
+    private void receive(WebSocketSession session, WebSocketMessage<?> message) {
         try {
-            EditorMessage editorMessage = objectMapper.readValue(message.getPayload(), EditorMessage.class);
+            EditorMessage editorMessage = codec.decode(message, EditorMessage.class);
             
             switch (editorMessage.getType()) {
                 case "TEXT_CHANGE":
-                    // TEXT_CHANGE --> TextChangeMessage
-                    TextChangeMessage textChangeMessage = objectMapper.readValue(
-                        message.getPayload(), 
-                        TextChangeMessage.class
-                    );
-                    handleTextChange(session, textChangeMessage);
+                    TextChangeMessage textChangeMessage = (TextChangeMessage) editorMessage;
+                    dispatch(textChangeMessage.getFileId(), () -> handleTextChange(session, textChangeMessage));
+                    break;
+                    
+                case "TEXT_OPERATION":
+                    TextOperationMessage textOperationMessage = (TextOperationMessage) editorMessage;
+                    dispatch(textOperationMessage.getFileId(), () -> handleTextOperation(session, textOperationMessage));
                     break;
                     
                 case "CURSOR_MOVE":
-                    // CURSOR_MOVE --> CursorMoveMessage
-                    CursorMoveMessage cursorMoveMessage = objectMapper.readValue(
-                        message.getPayload(), 
-                        CursorMoveMessage.class
-                    );
-                    handleCursorMove(session, cursorMoveMessage);
+                    handleCursorMove(session, (CursorMoveMessage) editorMessage);
+                    break;
+                    
+                case "RESYNC":
+                    ResyncMessage resyncMessage = (ResyncMessage) editorMessage;
+                    dispatch(resyncMessage.getFileId(), () -> handleResync(session, resyncMessage));
+                    break;
+                    
+                case "SUBSCRIBE":
+                    handleSubscribe(session, (SubscribeMessage) editorMessage);
+                    break;
+                    
+                case "UNSUBSCRIBE":
+                    handleUnsubscribe(session, (UnsubscribeMessage) editorMessage);
                     break;
                     
                 default:
-                    log.warn("알 수 없는 메시지 타입: {}", editorMessage.getType());
+                    log.warn("처리할 수 없는 메시지 타입: {}", editorMessage.getType());
             }
+        } catch (InvalidTypeIdException e) {
+            log.warn("알 수 없는 메시지 타입: sessionId={}, type={}", session.getId(), e.getTypeId());
         } catch (Exception e) {
             log.error("메시지 처리 중 오류 발생: sessionId={}, message={}", 
-                session.getId(), message.getPayload(), e);
+                session.getId(), MessageCodec.describe(message), e);
         }
     }
 
@@ -99,6 +165,7 @@ public class EditorWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         sessionManager.removeSession(session);
+        broadcaster.unregister(session);
         log.info("WebSocket 연결 종료: sessionId={}, status={}", session.getId(), status);
     }
 
@@ -106,145 +173,250 @@ public class EditorWebSocketHandler extends TextWebSocketHandler {
      * TEXT_CHANGE 메시지 처리
      * - 변경 사항만 브로드캐스트
      * 
-     * 세션의 fileId와 메시지의 fileId 일치 여부 확인
-     * DB에서 현재 파일의 최신 버전 조회
-     * 새 버전 계산: 기존 버전 + 1 (없으면 1)
-     * 새 FileContent 엔티티 생성 및 DB 저장 (전체 텍스트 저장)
-     * 이전 텍스트와 새 텍스트를 비교하여 변경 사항 계산
-     * 변경 사항만 TEXT_SYNC 메시지로 브로드캐스트 (변경이 없으면 브로드캐스트하지 않음)
+     * 세션이 메시지의 fileId를 구독 중인지 확인
+     * 편집 후 전체 텍스트를 연산으로 바꿔 room 이벤트로 발행 (EditorRoomSynchronizer)
+     * - 이 노드가 파일 lane에서 세션 좌표 텍스트(받은 버전 + 세션이 이미 보낸 편집)와 비교하여 변경 사항(연산) 계산
+     *   → 확인 전에 연달아 보낸 TEXT_CHANGE도 이전 편집을 다시 넣지 않음, backplane에는 변경 사항만 실림
+     * - 세션이 받지 못한 다른 세션 연산에 맞춰 변환 (OT) → 동시 편집도 버리지 않고 병합
+     * - 메모리 문서에 반영 (DB 저장은 EditorDocumentStore가 모아서 처리)
+     * - 변환된 변경 사항만 TEXT_SYNC 메시지로 브로드캐스트 (변경이 없으면 보낸 세션에만 확인 응답)
      * 
      * @param session WebSocket 세션
      * @param message TEXT_CHANGE 메시지
      */
     protected void handleTextChange(WebSocketSession session, TextChangeMessage message) {
-        Long fileId = sessionManager.getFileIdBySession(session);
-        
-        if (fileId == null || !fileId.equals(message.getFileId())) {
-            log.warn("세션의 fileId({})와 메시지의 fileId({})가 일치하지 않습니다.", 
-                fileId, message.getFileId());
+        Long fileId = message.getFileId();
+        if (!checkSubscribed(session, fileId)) {
             return;
         }
 
-        // DB에서 현재 파일의 최신 버전 조회
-        FileContent currentContent = fileContentRepository
-            .findFirstByFileIdOrderByVersionDesc(fileId)
-            .orElse(null);
+        if (message.getContent() == null || message.getVersion() == null) {
+            log.warn("TEXT_CHANGE 메시지에 content 또는 version이 없습니다. sessionId={}", session.getId());
+            return;
+        }
 
-        // 클라이언트가 가진 버전이 서버의 저장된 버전보다 낮으면 드랍 (버전 충돌 처리)
-        if (currentContent != null && message.getVersion() < currentContent.getVersion()) {
-            log.info("버전 충돌 발생: fileId={}, 클라이언트 버전={}, 서버 버전={}", 
-                fileId, message.getVersion(), currentContent.getVersion());
+        if (sessionManager.getDocument(fileId) == null) {
+            log.warn("fileId({})의 room이 없습니다. sessionId={}", fileId, session.getId());
             return;
         }
 
-        // 새 버전 계산
-        // 현재 버전이 있으면 +1, 없으면 1
-        Integer nextVersion = currentContent != null ? currentContent.getVersion() + 1 : 1;
-        
-        // 새 FileContent 엔티티 생성 및 DB 저장 (전체 텍스트 저장)
-        FileContent newContent = FileContent.create(fileId, message.getContent(), nextVersion);
-        fileContentRepository.save(newContent);
-        log.debug("FileContent 저장 완료: fileId={}, version={}", fileId, nextVersion);
-
-        // 이전 텍스트와 비교하여 변경 사항 계산
-        String oldText = currentContent != null ? currentContent.getContent() : "";
-        String newText = message.getContent();
-        
-        // Diff 계산
-        TextDiffUtil.TextChange change = TextDiffUtil.calculateDiff(oldText, newText);
-        
         Long userId = sessionManager.getUserIdBySession(session);
-        
-        // 변경 사항만 브로드캐스트 (변경이 없으면 브로드캐스트하지 않음)
-        if (change != null) {
-            broadcastTextSync(fileId, change, nextVersion, userId);
-        } else {
-            log.debug("변경 사항이 없어 브로드캐스트하지 않음: fileId={}, version={}", fileId, nextVersion);
+        roomSynchronizer.submitContent(fileId, userId, session, message.getVersion(), message.getClientSeq(),
+            message.getContent());
+    }
+
+    /**
+     * TEXT_OPERATION 메시지 처리
+     * - 클라이언트가 보낸 범위 변경을 diff 계산 없이 그대로 적용
+     * 
+     * 세션이 메시지의 fileId를 구독 중인지 확인
+     * room 이벤트로 발행 → 세션 좌표 텍스트 길이로 범위 검증, 세션이 받지 못한 다른 세션 연산에 맞춰 변환 후 적용
+     * (범위가 잘못되면 해당 클라이언트만 재동기화, 확인 전에 연달아 보낸 편집은 세션 좌표 기준이라 그대로 유효)
+     * TEXT_SYNC 메시지로 브로드캐스트
+     * 
+     * @param session WebSocket 세션
+     * @param message TEXT_OPERATION 메시지
+     */
+    protected void handleTextOperation(WebSocketSession session, TextOperationMessage message) {
+        Long fileId = message.getFileId();
+        if (!checkSubscribed(session, fileId)) {
+            return;
+        }
+
+        if (message.getRange() == null || message.getRange().getStart() == null 
+            || message.getRange().getEnd() == null || message.getBaseVersion() == null) {
+            log.warn("TEXT_OPERATION 메시지에 range 또는 baseVersion이 없습니다. sessionId={}", session.getId());
+            return;
+        }
+
+        if (sessionManager.getDocument(fileId) == null) {
+            log.warn("fileId({})의 room이 없습니다. sessionId={}", fileId, session.getId());
+            return;
         }
+
+        Long userId = sessionManager.getUserIdBySession(session);
+        TextOperation operation = TextOperation.of(new TextDiffUtil.TextChange(
+            new TextDiffUtil.TextChange.Range(message.getRange().getStart(), message.getRange().getEnd()),
+            message.getText() != null ? message.getText() : ""
+        ));
+
+        roomSynchronizer.submitEdit(fileId, userId, session, message.getBaseVersion(), message.getClientSeq(),
+            operation);
     }
 
     /**
-     * CURSOR_MOVE 메시지 처리
+     * RESYNC 메시지 처리
+     * - 재연결한 클라이언트가 마지막으로 적용한 버전 이후의 변경 사항만 전송 (전체 텍스트 재다운로드 방지)
      * 
-     * DB 저장하지 않음
+     * 세션이 메시지의 fileId를 구독 중인지 확인
+     * 연산 로그에 sinceVersion 이후 연산이 모두 남아 있으면 버전별 TEXT_SYNC를 순서대로 전송
+     * 로그 범위를 벗어났으면 TEXT_SNAPSHOT 전송
+     * 파일 lane에서 실행되므로 이후 브로드캐스트되는 TEXT_SYNC와 버전이 끊기지 않음
      * 
      * @param session WebSocket 세션
-     * @param message CURSOR_MOVE 메시지
+     * @param message RESYNC 메시지
      */
-    protected void handleCursorMove(WebSocketSession session, CursorMoveMessage message) {
-        Long fileId = sessionManager.getFileIdBySession(session);
-        
-        if (fileId == null || !fileId.equals(message.getFileId())) {
-            log.warn("세션의 fileId({})와 메시지의 fileId({})가 일치하지 않습니다.", 
-                fileId, message.getFileId());
+    protected void handleResync(WebSocketSession session, ResyncMessage message) {
+        Long fileId = message.getFileId();
+        if (!checkSubscribed(session, fileId)) {
             return;
         }
 
-        // 같은 fileId의 room에 있는 모든 세션 조회
-        Set<WebSocketSession> sessions = sessionManager.getSessionsByFileId(fileId);
-        
-        // 자신을 제외한 다른 세션들에게만 커서 위치 브로드캐스트
-        for (WebSocketSession s : sessions) {
-            if (!s.getId().equals(session.getId()) && s.isOpen()) {
-                try {
-                    String jsonMessage = objectMapper.writeValueAsString(message);
-                    s.sendMessage(new TextMessage(jsonMessage));
-                } catch (IOException e) {
-                    log.error("CURSOR_MOVE 브로드캐스트 실패: sessionId={}, error={}", s.getId(), e.getMessage());
+        EditorDocument document = sessionManager.getDocument(fileId);
+        if (document == null) {
+            log.warn("fileId({})의 room이 없습니다. sessionId={}", fileId, session.getId());
+            return;
+        }
+
+        if (message.getSinceVersion() == null) {
+            roomSynchronizer.sendTextSnapshot(session, document);
+            return;
+        }
+
+        roomSynchronizer.sendCatchUp(session, document, message.getSinceVersion());
+    }
+
+    /**
+     * SUBSCRIBE 메시지 처리
+     * - 같은 연결에서 파일 room 구독 (연결/JWT 검증을 파일마다 반복하지 않음)
+     * 
+     * 연결당 구독 수 제한 확인 (maxSubscriptions)
+     * room에 세션 추가 (room이 없으면 파일 확인 후 문서 로드)
+     * 제한 초과, 없거나 삭제된 파일, room을 열지 못한 경우 SUBSCRIBE_ERROR 전송
+     * 파일 lane에서 현재 상태 전송: sinceVersion이 있으면 그 이후 변경 사항, 없으면 TEXT_SNAPSHOT
+     * (다른 노드에서 상태를 받아오는 중인 room은 동기화가 끝날 때 room 전체에 TEXT_SNAPSHOT 전송)
+     * 이미 구독 중인 파일이면 현재 상태만 다시 전송
+     * 
+     * @param session WebSocket 세션
+     * @param message SUBSCRIBE 메시지
+     */
+    protected void handleSubscribe(WebSocketSession session, SubscribeMessage message) {
+        Long fileId = message.getFileId();
+        if (fileId == null) {
+            log.warn("SUBSCRIBE 메시지에 fileId가 없습니다. sessionId={}", session.getId());
+            return;
+        }
+
+        if (!sessionManager.isSubscribed(session, fileId)) {
+            int maxSubscriptions = editorProperties.getSession().getMaxSubscriptions();
+            if (sessionManager.getFileIdsBySession(session).size() >= maxSubscriptions) {
+                log.warn("연결당 구독 수 제한 초과: sessionId={}, fileId={}, limit={}", 
+                    session.getId(), fileId, maxSubscriptions);
+                sendSubscribeError(session, fileId, ErrorMessage.EDITOR_SUBSCRIPTION_LIMIT_EXCEEDED);
+                return;
+            }
+            try {
+                if (!sessionManager.subscribe(fileId, session)) {
+                    return;
                 }
+            } catch (CustomException e) {
+                log.warn("파일 구독 실패: fileId={}, sessionId={}, error={}", fileId, session.getId(), e.getMessage());
+                sendSubscribeError(session, fileId, e.getErrorMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.error("파일 room을 열지 못했습니다: fileId={}, sessionId={}", fileId, session.getId(), e);
+                sendSubscribeError(session, fileId, ErrorMessage.EDITOR_ROOM_UNAVAILABLE);
+                return;
             }
+            log.info("파일 구독: fileId={}, sessionId={}", fileId, session.getId());
         }
+
+        fileLaneExecutor.execute(fileId, () -> {
+            FileRoom room = sessionManager.getRoom(fileId);
+            if (room == null || !room.getReplica().isReady() || !sessionManager.isSubscribed(session, fileId)) {
+                return;
+            }
+            if (message.getSinceVersion() == null) {
+                roomSynchronizer.sendTextSnapshot(session, room.getDocument());
+            } else {
+                roomSynchronizer.sendCatchUp(session, room.getDocument(), message.getSinceVersion());
+            }
+        });
+    }
+
+    // 구독 실패를 보낸 세션에만 알림
+    private void sendSubscribeError(WebSocketSession session, Long fileId, ErrorMessage errorMessage) {
+        SubscribeErrorMessage error = new SubscribeErrorMessage();
+        error.setType("SUBSCRIBE_ERROR");
+        error.setFileId(fileId);
+        error.setCode(errorMessage.name());
+        error.setMessage(errorMessage.getMessage());
+        broadcaster.send(session, error);
     }
 
     /**
-     * TEXT_SYNC 메시지 브로드캐스트 (변경 사항만 전송)
+     * UNSUBSCRIBE 메시지 처리
+     * - room에서 세션 제거 (마지막 구독자면 room을 닫고 문서 저장), 연결은 유지
      * 
-     * 변경 사항만 브로드캐스트 (다른 위치에서 작업 중인 다른 사용자의 변경사항 건들지 않음)
+     * @param session WebSocket 세션
+     * @param message UNSUBSCRIBE 메시지
+     */
+    protected void handleUnsubscribe(WebSocketSession session, UnsubscribeMessage message) {
+        if (sessionManager.unsubscribe(message.getFileId(), session)) {
+            log.info("파일 구독 해제: fileId={}, sessionId={}", message.getFileId(), session.getId());
+        }
+    }
+
+    // 편집 메시지를 메시지 파일의 lane에서 처리 (같은 파일은 순서대로, 다른 파일은 병렬로)
+    private void dispatch(Long fileId, Runnable task) {
+        if (fileId == null) {
+            log.warn("메시지에 fileId가 없습니다.");
+            return;
+        }
+        fileLaneExecutor.execute(fileId, task);
+    }
+
+    // 세션이 메시지의 파일을 구독 중인지 확인
+    private boolean checkSubscribed(WebSocketSession session, Long fileId) {
+        if (!sessionManager.isSubscribed(session, fileId)) {
+            log.warn("구독하지 않은 파일의 메시지입니다. sessionId={}, fileId={}", session.getId(), fileId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * CURSOR_MOVE 메시지 처리
      * 
-     * 모든 세션(자신 포함)에 변경 사항만 전송
+     * DB 저장하지 않음
+     * 바로 브로드캐스트하지 않고 room에 사용자별 마지막 위치만 보관 (flushCursorBatches()에서 전송)
      * 
-     * @param fileId 파일 ID
-     * @param change 변경 사항 (diff 계산 결과)
-     * @param version 최신 버전 번호
-     * @param userId 변경을 수행한 사용자 ID
+     * @param session WebSocket 세션
+     * @param message CURSOR_MOVE 메시지
      */
-    protected void broadcastTextSync(Long fileId, TextDiffUtil.TextChange change, Integer version, Long userId) {
-        // TEXT_SYNC 메시지 생성
-        TextSyncMessage syncMessage = new TextSyncMessage();
-        syncMessage.setType("TEXT_SYNC");
-        syncMessage.setFileId(fileId);
-        syncMessage.setVersion(version);
-        syncMessage.setUserId(userId);
-        
-        // 변경 사항 정보 설정
-        TextSyncMessage.TextChange textChange = new TextSyncMessage.TextChange();
-        textChange.setRange(new TextSyncMessage.TextChange.Range(
-            change.getRange().getStart(),
-            change.getRange().getEnd()
-        ));
-        textChange.setNewText(change.getNewText());
-        syncMessage.setChange(textChange);
+    protected void handleCursorMove(WebSocketSession session, CursorMoveMessage message) {
+        Long fileId = message.getFileId();
+        if (!checkSubscribed(session, fileId)) {
+            return;
+        }
 
-        // 같은 file의 room에 있는 모든 세션 조회
-        Set<WebSocketSession> sessions = sessionManager.getSessionsByFileId(fileId);
-        
-        // 모든 세션에 변경 사항 전송 (자신 포함)
-        for (WebSocketSession session : sessions) {
-            if (session.isOpen()) {
-                try {
-                    String jsonMessage = objectMapper.writeValueAsString(syncMessage);
-                    session.sendMessage(new TextMessage(jsonMessage));
-                } catch (IOException e) {
-                    log.error("TEXT_SYNC 브로드캐스트 실패: sessionId={}, fileId={}, version={}, error={}", 
-                        session.getId(), fileId, version, e.getMessage());
-                }
+        FileRoom room = sessionManager.getRoom(fileId);
+        Long userId = sessionManager.getUserIdBySession(session);
+        if (room == null || userId == null || message.getCursor() == null) {
+            return;
+        }
+
+        room.updateCursor(userId, message.getCursor());
+    }
+
+    /**
+     * room별 CURSOR_BATCH 브로드캐스트
+     * - 마지막 전송 이후 커서를 이동한 사용자만 포함 (이동한 사용자가 없으면 전송하지 않음)
+     * - 같은 파일을 연 다른 노드에도 전달
+     * - 커서 프레임이므로 송신 큐가 밀린 세션에는 버려질 수 있음
+     */
+    @Scheduled(fixedDelayString = "${editor.cursor.batch-tick-millis:50}")
+    public void flushCursorBatches() {
+        for (FileRoom room : sessionManager.getRooms()) {
+            List<CursorBatchMessage.UserCursor> cursors = room.drainCursors();
+            if (cursors.isEmpty()) {
+                continue;
             }
+
+            roomSynchronizer.publishCursors(room, cursors);
         }
-        
-        log.debug("TEXT_SYNC 브로드캐스트 완료: fileId={}, version={}, change={}, sessionCount={}", 
-            fileId, version, change, sessions.size());
     }
-    
+
     // 기존 방식 - 전체 텍스트를 브로드캐스트
     // protected void broadcastTextSync(Long fileId, String content, Integer version, Long userId) {
     //     // TEXT_SYNC 메시지 객체 생성
@@ -279,6 +451,11 @@ public class EditorWebSocketHandler extends TextWebSocketHandler {
     //         fileId, version, sessions.size());
     // }
 
+    // 기존 방식(/ws/editor/{fileId}) 경로인지 확인
+    private boolean hasFileIdInPath(String path) {
+        return path.split("/").length >= 4;
+    }
+
     /**
      * URL 경로에서 fileId 추출
      * 
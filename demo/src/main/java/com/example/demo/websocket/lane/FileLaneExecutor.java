@@ -0,0 +1,114 @@
+package com.example.demo.websocket.lane;
+
+import com.example.demo.websocket.config.EditorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일별 편집 처리 lane
+ *
+ * - fileId로 고정된 단일 스레드 lane에서 편집을 처리 → 같은 파일은 락 없이 순서대로 처리 (버전 증가 경합 없음)
+ * - 서로 다른 파일은 여러 lane에 나뉘어 코어 수만큼 병렬 처리
+ * - 문서(EditorDocument) 상태 변경과 room 동기화 상태(RoomReplica)는 해당 파일 lane에서만 수행
+ *
+ * 측정 지표 (lane 태그)
+ * - editor.lane.queue.depth: lane에 대기 중인 작업 수
+ * - editor.lane.lag: 작업 등록부터 실행 시작까지 걸린 시간
+ * - editor.lane.processing: 작업 실행 시간
+ */
+@Slf4j
+@Component
+public class FileLaneExecutor implements DisposableBean {
+
+    private final Lane[] lanes;
+
+    public FileLaneExecutor(EditorProperties editorProperties, MeterRegistry meterRegistry) {
+        int count = editorProperties.getLane().getCount();
+        if (count <= 0) {
+            count = Runtime.getRuntime().availableProcessors();
+        }
+
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(i, meterRegistry);
+        }
+        log.info("편집 lane 생성: count={}", count);
+    }
+
+    /**
+     * 파일 lane에 작업 등록 (같은 fileId의 작업은 등록 순서대로 실행)
+     *
+     * @param fileId 파일 ID
+     * @param task 작업
+     */
+    public void execute(Long fileId, Runnable task) {
+        Lane lane = lanes[Math.floorMod(Long.hashCode(fileId), lanes.length)];
+        long submittedAt = System.nanoTime();
+
+        lane.executor.execute(() -> {
+            long startedAt = System.nanoTime();
+            lane.lag.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("편집 lane 작업 실패: fileId={}, lane={}, error={}", fileId, lane.index, e.getMessage(), e);
+            } finally {
+                lane.processing.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * 애플리케이션 종료 시 대기 중인 작업까지 처리 후 종료
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+        for (Lane lane : lanes) {
+            if (!lane.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("편집 lane 작업이 제한 시간 안에 끝나지 않았습니다: lane={}", lane.index);
+                lane.executor.shutdownNow();
+            }
+        }
+    }
+
+    private static class Lane {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final Timer lag;
+        private final Timer processing;
+
+        private Lane(int index, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "editor-lane-" + index);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+            String lane = String.valueOf(index);
+            Gauge.builder("editor.lane.queue.depth", executor, e -> e.getQueue().size())
+                .tag("lane", lane)
+                .register(meterRegistry);
+            this.lag = Timer.builder("editor.lane.lag")
+                .tag("lane", lane)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+            this.processing = Timer.builder("editor.lane.processing")
+                .tag("lane", lane)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        }
+    }
+}
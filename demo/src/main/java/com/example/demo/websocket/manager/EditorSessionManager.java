@@ -1,77 +1,245 @@
 package com.example.demo.websocket.manager;
 
+import com.example.demo.common.CustomException;
+import com.example.demo.common.ErrorMessage;
+import com.example.demo.file.entity.FileEntity;
+import com.example.demo.file.repository.FileRepository;
+import com.example.demo.websocket.backplane.EditorRoomBackplane;
+import com.example.demo.websocket.document.EditorDocument;
+import com.example.demo.websocket.persistence.EditorDocumentStore;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * WebSocket 세션 관리자
  * 
- * - 파일 단위로 세션을 그룹화하여 관리
- * - 세션과 fileId, userId의 매핑 관리
+ * - 파일 단위로 세션을 그룹화하여 관리 (FileRoom)
+ * - 하나의 세션(연결)이 여러 파일을 구독할 수 있음 (세션 → 구독 중인 fileId 집합)
+ * - room이 처음 생성될 때 메모리 문서를 열고, 마지막 구독자가 나가면 문서를 닫음
+ *   (삭제되었거나 없는 파일, 폴더는 room을 열지 않음)
+ *   (문서 로드와 backplane 구독/해제는 Map 잠금 밖에서 수행, 같은 파일의 열기/닫기는 순서대로)
+ * - room이 있는 동안만 backplane의 파일 채널을 구독 (다른 노드의 같은 파일 room과 연결)
+ * - 세션과 구독 파일, userId의 매핑 관리
  * - 동시성 안전 보장 (ConcurrentHashMap 사용)
  * -- ConcurrentHashMap -> 멀티스레드 환경에서 안전하게 사용할 수 있는 HashMap
  */
 @Component
+@RequiredArgsConstructor
 public class EditorSessionManager {
 
+    private final EditorDocumentStore documentStore;
+    private final EditorRoomBackplane backplane;
+    private final FileRepository fileRepository;
 
-    // 파일별 세션 관리 Map
-    private final Map<Long, Set<WebSocketSession>> fileRooms = new ConcurrentHashMap<>();
-    // 세션과 fileId 매핑
-    private final Map<WebSocketSession, Long> sessionToFileId = new ConcurrentHashMap<>();
+    // 파일별 room 관리 Map
+    private final Map<Long, FileRoom> fileRooms = new ConcurrentHashMap<>();
+    // 세션과 구독 중인 fileId 집합 매핑
+    private final Map<WebSocketSession, Set<Long>> sessionToFileIds = new ConcurrentHashMap<>();
     // 세션과 userId 매핑
     private final Map<WebSocketSession, Long> sessionToUserId = new ConcurrentHashMap<>();
+    // room을 열거나 닫는 중인 파일 (끝나면 완료되는 future, 같은 파일의 다음 열기/닫기가 대기)
+    private final Map<Long, CompletableFuture<Void>> roomTransitions = new ConcurrentHashMap<>();
 
     /**
-     * 세션을 파일 room에 추가
+     * 연결된 세션 등록 (구독 파일 없음)
      * 
-     * 세션과 fileId, userId 매핑 저장
-     * 
-     * @param fileId 파일 ID
      * @param userId 사용자 ID
      * @param session 세션
      */
-    public void addSession(Long fileId, Long userId, WebSocketSession session) {
-        fileRooms.computeIfAbsent(fileId, k -> ConcurrentHashMap.newKeySet()).add(session);
-        sessionToFileId.put(session, fileId);
+    public void registerSession(Long userId, WebSocketSession session) {
         sessionToUserId.put(session, userId);
+        sessionToFileIds.put(session, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * 세션이 파일 room을 구독
+     * 
+     * room이 없으면 생성하면서 문서를 한 번만 로드하고 파일 채널 구독
+     * (다른 노드가 같은 파일을 열고 있으면 room은 상태를 받아올 때까지 동기화 중)
+     * 문서 로드/채널 구독은 Map 잠금 밖에서 수행하고, 같은 파일을 동시에 여는 세션은 먼저 연 세션을 기다림
+     * 
+     * @param fileId 파일 ID
+     * @param session 세션
+     * @return 새로 구독했으면 true (등록되지 않은 세션이거나 이미 구독 중이면 false)
+     * @throws CustomException FILE_NOT_FOUND - 없거나 삭제된 파일, CANNOT_READ_FOLDER_CONTENT - 폴더
+     */
+    public boolean subscribe(Long fileId, WebSocketSession session) {
+        Set<Long> fileIds = sessionToFileIds.get(session);
+        if (fileIds == null || !fileIds.add(fileId)) {
+            return false;
+        }
+
+        try {
+            joinRoom(fileId, session);
+        } catch (RuntimeException e) {
+            // room을 열지 못했으면 구독하지 않은 상태로 되돌림
+            fileIds.remove(fileId);
+            throw e;
+        }
+
+        // 구독 도중 연결이 끊겨 removeSession이 먼저 끝났으면 room에서 다시 제거
+        if (sessionToFileIds.get(session) != fileIds) {
+            leaveRoom(fileId, session);
+            return false;
+        }
+        return true;
+    }
+
+    // 열린 room에 세션 추가, 없으면 이 스레드가 room을 엶 (다른 스레드가 열거나 닫는 중이면 끝날 때까지 대기)
+    private void joinRoom(Long fileId, WebSocketSession session) {
+        while (true) {
+            // computeIfPresent로 세션 추가 (room 제거와 경합 방지)
+            FileRoom joined = fileRooms.computeIfPresent(fileId, (id, room) -> {
+                room.addSession(session);
+                return room;
+            });
+            if (joined != null) {
+                return;
+            }
+
+            CompletableFuture<Void> transition = new CompletableFuture<>();
+            CompletableFuture<Void> running = roomTransitions.putIfAbsent(fileId, transition);
+            if (running != null) {
+                running.join();
+                continue;
+            }
+
+            try {
+                // 등록 직전에 다른 스레드가 room을 열었으면 다시 참여 시도
+                if (fileRooms.containsKey(fileId)) {
+                    continue;
+                }
+                openRoom(fileId, session);
+                return;
+            } finally {
+                roomTransitions.remove(fileId, transition);
+                transition.complete(null);
+            }
+        }
+    }
+
+    // 채널 구독 후 문서 로드 (로드에 실패하면 구독을 되돌림)
+    private void openRoom(Long fileId, WebSocketSession session) {
+        FileEntity file = fileRepository.findByIdAndIsDeletedFalse(fileId)
+            .orElseThrow(() -> new CustomException(ErrorMessage.FILE_NOT_FOUND));
+        if (file.getType() == FileEntity.FileType.FOLDER) {
+            throw new CustomException(ErrorMessage.CANNOT_READ_FOLDER_CONTENT);
+        }
+
+        boolean syncRequired = backplane.subscribe(fileId);
+        FileRoom room;
+        try {
+            room = new FileRoom(fileId, documentStore.open(fileId), syncRequired);
+        } catch (RuntimeException e) {
+            backplane.unsubscribe(fileId);
+            throw e;
+        }
+        room.addSession(session);
+        fileRooms.put(fileId, room);
     }
 
     /**
-     * 세션 제거
+     * 파일 room 구독 해제 (연결은 유지)
+     * 
+     * @param fileId 파일 ID
+     * @param session 세션
+     * @return 구독 중이었으면 true
+     */
+    public boolean unsubscribe(Long fileId, WebSocketSession session) {
+        Set<Long> fileIds = sessionToFileIds.get(session);
+        if (fileIds == null || !fileIds.remove(fileId)) {
+            return false;
+        }
+        leaveRoom(fileId, session);
+        return true;
+    }
+
+    /**
+     * 세션 제거 (구독 중인 모든 room에서 나감)
      * 
      * @param session 제거할 WebSocket 세션
      */
     public void removeSession(WebSocketSession session) {
-        Long fileId = sessionToFileId.remove(session);
+        Set<Long> fileIds = sessionToFileIds.remove(session);
         sessionToUserId.remove(session);
         
-        if (fileId != null) {
-            Set<WebSocketSession> sessions = fileRooms.get(fileId);
-            if (sessions != null) {
-                // room에서 세션 제거
-                sessions.remove(session);
-                // room이 비어있으면 Map에서도 제거 = 메모리 절약
-                if (sessions.isEmpty()) {
-                    fileRooms.remove(fileId);
-                }
+        if (fileIds != null) {
+            for (Long fileId : fileIds) {
+                leaveRoom(fileId, session);
+            }
+        }
+    }
+
+    private void leaveRoom(Long fileId, WebSocketSession session) {
+        CompletableFuture<Void> transition = new CompletableFuture<>();
+        AtomicReference<FileRoom> closed = new AtomicReference<>();
+        fileRooms.computeIfPresent(fileId, (id, room) -> {
+            // room에서 세션 제거
+            room.removeSession(session);
+            // room이 비어있으면 Map에서도 제거 = 메모리 절약
+            // 닫는 동안 같은 파일을 여는 세션은 기다렸다가 저장 전 문서를 이어받음
+            if (room.isEmpty()) {
+                roomTransitions.put(id, transition);
+                closed.set(room);
+                return null;
             }
+            return room;
+        });
+
+        FileRoom room = closed.get();
+        if (room == null) {
+            return;
+        }
+        try {
+            documentStore.close(room.getDocument());
+            backplane.unsubscribe(fileId);
+        } finally {
+            roomTransitions.remove(fileId, transition);
+            transition.complete(null);
         }
     }
 
     // 파일 room의 모든 세션 조회
     public Set<WebSocketSession> getSessionsByFileId(Long fileId) {
-        return fileRooms.getOrDefault(fileId, Collections.emptySet());
+        FileRoom room = fileRooms.get(fileId);
+        return room != null ? room.getSessions() : Collections.emptySet();
+    }
+
+    // 파일 room 조회 (room이 없으면 null)
+    public FileRoom getRoom(Long fileId) {
+        return fileRooms.get(fileId);
+    }
+
+    // 현재 열린 모든 room 조회
+    public Collection<FileRoom> getRooms() {
+        return fileRooms.values();
+    }
+
+    // 파일 room의 메모리 문서 조회 (room이 없으면 null)
+    public EditorDocument getDocument(Long fileId) {
+        FileRoom room = fileRooms.get(fileId);
+        return room != null ? room.getDocument() : null;
+    }
+
+    // 세션이 구독 중인 fileId 조회 (등록되지 않은 세션이면 빈 집합)
+    public Set<Long> getFileIdsBySession(WebSocketSession session) {
+        Set<Long> fileIds = sessionToFileIds.get(session);
+        return fileIds != null ? Collections.unmodifiableSet(fileIds) : Collections.emptySet();
     }
 
-    // 세션의 fileId 조회
-    public Long getFileIdBySession(WebSocketSession session) {
-        return sessionToFileId.get(session);
+    // 세션이 파일을 구독 중인지 확인
+    public boolean isSubscribed(WebSocketSession session, Long fileId) {
+        Set<Long> fileIds = sessionToFileIds.get(session);
+        return fileId != null && fileIds != null && fileIds.contains(fileId);
     }
 
     // 세션의 userId 조회
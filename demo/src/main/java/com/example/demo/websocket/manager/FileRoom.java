@@ -0,0 +1,96 @@
+package com.example.demo.websocket.manager;
+
+import com.example.demo.websocket.backplane.LocalSessionEdits;
+import com.example.demo.websocket.backplane.RoomReplica;
+import com.example.demo.websocket.document.EditorDocument;
+import com.example.demo.websocket.dto.CursorBatchMessage;
+import com.example.demo.websocket.dto.CursorMoveMessage;
+import lombok.Getter;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파일 단위 편집 room
+ *
+ * - 같은 파일을 편집 중인 세션 목록
+ * - room이 소유하는 메모리 문서 상태
+ * - 다음 CURSOR_BATCH로 보낼 사용자별 마지막 커서 위치
+ * - 노드 간 동기화 상태 (다른 노드에서 현재 상태를 받아오기 전까지 ready가 아님)
+ * - 이 노드 세션별 편집 발행 상태 (파일 lane에서만 사용)
+ */
+@Getter
+public class FileRoom {
+
+    private final Long fileId;
+    private final EditorDocument document;
+    private final RoomReplica replica;
+    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+    // userId -> 마지막 전송 이후 이동한 커서 위치 (사용자당 최신 값만 유지)
+    private final Map<Long, CursorMoveMessage.CursorPosition> pendingCursors = new ConcurrentHashMap<>();
+    // sessionId -> 편집 발행 상태 (편집을 보낸 세션만)
+    private final Map<String, LocalSessionEdits> sessionEdits = new ConcurrentHashMap<>();
+
+    public FileRoom(Long fileId, EditorDocument document, boolean syncRequired) {
+        this.fileId = fileId;
+        this.document = document;
+        this.replica = new RoomReplica(!syncRequired);
+    }
+
+    public void addSession(WebSocketSession session) {
+        sessions.add(session);
+    }
+
+    public void removeSession(WebSocketSession session) {
+        sessions.remove(session);
+        sessionEdits.remove(session.getId());
+    }
+
+    // 세션의 편집 발행 상태 (없으면 생성)
+    public LocalSessionEdits editsOf(String sessionId) {
+        return sessionEdits.computeIfAbsent(sessionId, id -> new LocalSessionEdits());
+    }
+
+    // 커서 위치 갱신 (이전 위치는 덮어씀)
+    public void updateCursor(Long userId, CursorMoveMessage.CursorPosition cursor) {
+        pendingCursors.put(userId, cursor);
+    }
+
+    /**
+     * 이동한 커서 위치를 꺼내고 비움
+     * - 꺼내는 도중 갱신된 위치는 지우지 않고 다음 주기에 전송
+     * 
+     * @return 사용자별 커서 위치 (이동한 사용자가 없으면 빈 리스트)
+     */
+    public List<CursorBatchMessage.UserCursor> drainCursors() {
+        if (pendingCursors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<CursorBatchMessage.UserCursor> cursors = new ArrayList<>();
+        for (Map.Entry<Long, CursorMoveMessage.CursorPosition> entry : pendingCursors.entrySet()) {
+            if (pendingCursors.remove(entry.getKey(), entry.getValue())) {
+                cursors.add(new CursorBatchMessage.UserCursor(entry.getKey(), entry.getValue()));
+            }
+        }
+        return cursors;
+    }
+
+    // 세션 ID로 room의 세션 조회 (없으면 null)
+    public WebSocketSession findSession(String sessionId) {
+        for (WebSocketSession session : sessions) {
+            if (session.getId().equals(sessionId)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return sessions.isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.websocket.ot;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 파일별 적용 연산 로그 (크기 제한)
+ *
+ * - 버전마다 적용된 연산과 역연산, 보낸 세션을 보관
+ * - 오래된 버전 기준의 연산을 최신 버전으로 변환하거나, 과거 버전 텍스트를 되돌릴 때 사용
+ * - 동기화는 소유한 문서(EditorDocument)가 담당
+ */
+public class OperationLog {
+
+    private final int maxSize;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    public OperationLog(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * 적용된 연산 기록 (가장 오래된 기록부터 제거)
+     */
+    public void append(int version, TextOperation operation, TextOperation inverse, Long userId, String sessionId) {
+        entries.addLast(new Entry(version, operation, inverse, userId, sessionId));
+        while (entries.size() > maxSize) {
+            entries.removeFirst();
+        }
+    }
+
+    /**
+     * baseVersion 이후에 적용된 연산 목록 (오래된 순)
+     *
+     * @param baseVersion 기준 버전
+     * @param currentVersion 현재 버전
+     * @return 로그가 baseVersion까지 거슬러 올라가지 못하면 null
+     */
+    public List<Entry> since(int baseVersion, int currentVersion) {
+        if (baseVersion >= currentVersion) {
+            return new ArrayList<>();
+        }
+        if (entries.isEmpty() || entries.peekFirst().getVersion() > baseVersion + 1) {
+            return null;
+        }
+
+        List<Entry> result = new ArrayList<>();
+        Iterator<Entry> iterator = entries.descendingIterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.getVersion() <= baseVersion) {
+                break;
+            }
+            result.add(entry);
+        }
+        // 최신 순으로 모았으므로 한 번만 뒤집음
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 보관 중인 연산 전체 (오래된 순, 복사본)
+     */
+    public List<Entry> entries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * 보관 중인 연산 비우기
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final int version; // 이 연산 적용 후 버전
+        private final TextOperation operation;
+        private final TextOperation inverse; // 적용 결과 좌표의 역연산
+        private final Long userId;
+        private final String sessionId; // 편집을 보낸 세션 (세션별 변환 상태를 다시 만들 때 사용)
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.websocket.ot;
+
+import com.example.demo.websocket.util.TextRope;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세션별 변환 상태 (Jupiter 방식)
+ *
+ * - 세션 좌표: 세션이 받은 마지막 서버 버전(ackedVersion)의 텍스트 + 세션이 보낸 연산 (서버 확인 여부와 무관)
+ * - ackedVersion 이후 적용된 다른 세션의 연산을 세션 좌표로 보관 (세션 좌표 → 현재 서버 텍스트로 가는 연산 순서)
+ * - 세션이 보낸 연산은 보관한 연산들만 지나며 서버 좌표로 변환 (자기 연산에는 다시 변환하지 않음)
+ *   보관한 연산들도 그 연산 뒤 좌표로 바꿔 두어, 확인 전에 연달아 보낸 연산(pipelining)도 같은 방식으로 변환
+ * - 동기화는 소유한 문서(EditorDocument)가 담당
+ */
+public class SessionBridge {
+
+    @Getter
+    private int ackedVersion;
+    @Getter
+    private Integer lastSeq; // 마지막으로 받은 클라이언트 연산 번호 (보내지 않는 클라이언트면 null)
+    private final List<Entry> entries = new ArrayList<>();
+
+    public SessionBridge(int ackedVersion) {
+        this.ackedVersion = ackedVersion;
+    }
+
+    /**
+     * 다른 노드에서 받은 상태로 생성
+     *
+     * @param entries 세션 좌표 연산 (오래된 순)
+     */
+    public SessionBridge(int ackedVersion, Integer lastSeq, List<Entry> entries) {
+        this.ackedVersion = ackedVersion;
+        this.lastSeq = lastSeq;
+        this.entries.addAll(entries);
+    }
+
+    /**
+     * 다른 세션의 연산이 적용될 때 추가 (서버 좌표 = 지금의 세션 좌표 끝)
+     */
+    public void add(int version, TextOperation operation, TextOperation inverse) {
+        entries.add(new Entry(version, operation, inverse));
+    }
+
+    /**
+     * 세션이 baseVersion까지 받았음을 반영 (그 버전까지의 연산은 세션 텍스트에 이미 있음)
+     */
+    public void acknowledge(int baseVersion) {
+        if (baseVersion <= ackedVersion) {
+            return;
+        }
+        ackedVersion = baseVersion;
+        int received = 0;
+        while (received < entries.size() && entries.get(received).getVersion() <= baseVersion) {
+            received++;
+        }
+        entries.subList(0, received).clear();
+    }
+
+    /**
+     * 연산 번호 확인 (이미 받은 번호면 false)
+     */
+    public boolean acceptSeq(int seq) {
+        if (lastSeq != null && seq <= lastSeq) {
+            return false;
+        }
+        lastSeq = seq;
+        return true;
+    }
+
+    /**
+     * 세션 좌표 텍스트 (현재 서버 텍스트에서 보관 연산을 거꾸로 되돌림)
+     */
+    public TextRope clientText(TextRope serverText) {
+        return clientText(serverText, ackedVersion);
+    }
+
+    /**
+     * baseVersion까지 받은 세션 좌표 텍스트 (baseVersion 이후 보관 연산만 되돌림, 상태는 바꾸지 않음)
+     */
+    public TextRope clientText(TextRope serverText, int baseVersion) {
+        TextRope result = serverText;
+        for (int i = entries.size() - 1; i >= 0 && entries.get(i).getVersion() > baseVersion; i--) {
+            result = entries.get(i).getInverse().apply(result);
+        }
+        return result;
+    }
+
+    /**
+     * 세션 연산을 현재 서버 좌표로 변환
+     * - 서버에는 보관 연산이 먼저 적용되어 있으므로 같은 위치에서는 보관 연산의 텍스트가 앞
+     * - 보관 연산은 세션 연산 뒤 좌표로 바꾸고, 역연산도 바뀐 좌표로 다시 계산
+     *
+     * @param operation 세션 좌표 연산
+     * @param clientText 세션 좌표 텍스트 (clientText 결과)
+     * @return 현재 서버 텍스트 좌표의 연산
+     */
+    public TextOperation transform(TextOperation operation, TextRope clientText) {
+        TextOperation incoming = operation;
+        TextRope text = operation.apply(clientText);
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            TextOperation moved = entry.getOperation().transform(incoming, true);
+            incoming = incoming.transform(entry.getOperation());
+            entries.set(i, new Entry(entry.getVersion(), moved, moved.invert(text)));
+            text = moved.apply(text);
+        }
+        return incoming;
+    }
+
+    /**
+     * 보관 중인 연산 수
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 보관 중인 연산 전체 (오래된 순, 복사본)
+     */
+    public List<Entry> entries() {
+        return new ArrayList<>(entries);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final int version; // 서버에서 이 연산이 적용된 버전
+        private final TextOperation operation; // 세션 좌표 연산
+        private final TextOperation inverse; // 적용 결과 좌표의 역연산
+    }
+}
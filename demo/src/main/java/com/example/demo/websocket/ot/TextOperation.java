@@ -0,0 +1,305 @@
+package com.example.demo.websocket.ot;
+
+import com.example.demo.websocket.util.TextDiffUtil;
+import com.example.demo.websocket.util.TextRope;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 텍스트 편집 연산 (OT 단위)
+ *
+ * - 같은 기준 텍스트 좌표의 변경 사항(TextDiffUtil.TextChange) 목록
+ * - 변경 사항은 start 오름차순이며 서로 겹치지 않음 (뒤에서부터 적용하면 좌표가 밀리지 않음)
+ * - 불변 객체: 변환/역연산은 항상 새 연산을 반환
+ */
+public final class TextOperation {
+
+    private static final TextOperation NOOP = new TextOperation(Collections.emptyList());
+
+    private final List<TextDiffUtil.TextChange> changes;
+
+    private TextOperation(List<TextDiffUtil.TextChange> changes) {
+        this.changes = changes;
+    }
+
+    public static TextOperation noop() {
+        return NOOP;
+    }
+
+    /**
+     * 변경 사항 목록으로 연산 생성
+     * - 비어있는 변경(범위 없음 + 텍스트 없음)은 제외
+     *
+     * @param changes 같은 기준 텍스트 좌표, start 오름차순, 겹치지 않는 변경 사항
+     */
+    public static TextOperation of(List<TextDiffUtil.TextChange> changes) {
+        List<TextDiffUtil.TextChange> filtered = new ArrayList<>();
+        for (TextDiffUtil.TextChange change : changes) {
+            if (!isEmpty(change)) {
+                filtered.add(change);
+            }
+        }
+        return filtered.isEmpty() ? NOOP : new TextOperation(Collections.unmodifiableList(filtered));
+    }
+
+    public static TextOperation of(TextDiffUtil.TextChange change) {
+        return change != null ? of(Collections.singletonList(change)) : NOOP;
+    }
+
+    /**
+     * 두 텍스트의 차이로 연산 생성 (떨어진 위치의 변경은 각각의 변경 사항)
+     */
+    public static TextOperation diff(String oldText, String newText) {
+        return of(TextDiffUtil.calculateDiffs(oldText, newText));
+    }
+
+    public List<TextDiffUtil.TextChange> getChanges() {
+        return changes;
+    }
+
+    public boolean isNoop() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * 적용 후 텍스트 길이 변화량
+     */
+    public int lengthDelta() {
+        int total = 0;
+        for (TextDiffUtil.TextChange change : changes) {
+            total += delta(change);
+        }
+        return total;
+    }
+
+    /**
+     * 길이가 length인 텍스트에 적용 가능한지 확인 (범위, 정렬, 겹침)
+     */
+    public boolean isValidFor(int length) {
+        int previousEnd = 0;
+        for (TextDiffUtil.TextChange change : changes) {
+            int start = start(change);
+            int end = end(change);
+            if (start < previousEnd || end < start || end > length) {
+                return false;
+            }
+            previousEnd = end;
+        }
+        return true;
+    }
+
+    /**
+     * 텍스트에 연산 적용 (뒤쪽 변경부터 적용)
+     */
+    public String apply(String text) {
+        if (changes.isEmpty()) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text);
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            TextDiffUtil.TextChange change = changes.get(i);
+            builder.replace(start(change), end(change), text(change));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * rope에 연산 적용 (뒤쪽 변경부터 적용, 변경마다 O(log n))
+     */
+    public TextRope apply(TextRope text) {
+        TextRope result = text;
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            TextDiffUtil.TextChange change = changes.get(i);
+            result = result.replace(start(change), end(change), text(change));
+        }
+        return result;
+    }
+
+    /**
+     * 역연산 생성 (적용 결과 텍스트 좌표)
+     *
+     * @param baseText 이 연산을 적용하기 전 텍스트
+     * @return 적용 결과에 역연산을 적용하면 baseText가 됨
+     */
+    public TextOperation invert(String baseText) {
+        return invert(TextRope.of(baseText));
+    }
+
+    /**
+     * 역연산 생성 (rope 기준, 지워지는 구간만 꺼냄)
+     */
+    public TextOperation invert(TextRope baseText) {
+        List<TextDiffUtil.TextChange> inverted = new ArrayList<>(changes.size());
+        int shift = 0;
+        for (TextDiffUtil.TextChange change : changes) {
+            int start = start(change) + shift;
+            int insertedLength = text(change).length();
+            inverted.add(change(start, start + insertedLength, baseText.substring(start(change), end(change))));
+            shift += delta(change);
+        }
+        return of(inverted);
+    }
+
+    /**
+     * 이미 적용된 연산(applied) 이후에 적용할 수 있도록 변환
+     *
+     * - this와 applied는 같은 기준 텍스트 좌표
+     * - 같은 위치의 삽입은 applied가 먼저 (this는 applied 뒤에 위치)
+     * - this의 삭제 범위 안에 applied가 삽입한 텍스트는 지우지 않음 (삭제 범위를 나눔)
+     * - this의 삭제 범위를 applied가 이미 지웠으면 남은 부분만 삭제
+     *
+     * @param applied 먼저 적용된 연산
+     * @return applied 적용 결과 좌표로 변환된 연산
+     */
+    public TextOperation transform(TextOperation applied) {
+        return transform(applied, false);
+    }
+
+    /**
+     * 이미 적용된 연산(applied) 이후에 적용할 수 있도록 변환 (같은 위치 우선순위 지정)
+     *
+     * - a.transform(b, false)와 b.transform(a, true)는 같은 결과 텍스트를 만듦
+     *   (a 다음 b' 적용 = b 다음 a' 적용, 서버와 클라이언트 상태를 양쪽으로 맞출 때 사용)
+     * - 교체는 "시작 위치에 삽입 + 범위 삭제"로 나누어 변환
+     *
+     * @param applied 먼저 적용된 연산
+     * @param priority true면 같은 위치에 넣는 텍스트를 applied의 텍스트보다 앞에 둠
+     * @return applied 적용 결과 좌표로 변환된 연산
+     */
+    public TextOperation transform(TextOperation applied, boolean priority) {
+        if (changes.isEmpty() || applied.changes.isEmpty()) {
+            return this;
+        }
+
+        List<TextDiffUtil.TextChange> transformed = new ArrayList<>();
+        for (TextDiffUtil.TextChange change : changes) {
+            transformChange(change, applied.changes, priority, transformed);
+        }
+        return of(transformed);
+    }
+
+    // 변경 하나를 applied 기준으로 변환 (겹치는 applied 변경을 피해 여러 조각으로 나뉠 수 있음)
+    private static void transformChange(TextDiffUtil.TextChange change, List<TextDiffUtil.TextChange> applied,
+                                        boolean priority, List<TextDiffUtil.TextChange> out) {
+        int start = start(change);
+        int end = end(change);
+        String text = text(change);
+        int position = mapInsert(start, applied, priority);
+
+        // 삭제 범위: applied 변경이 차지한 구간을 잘라내고 남은 구간만 삭제
+        List<TextDiffUtil.TextChange> segments = new ArrayList<>();
+        int segmentStart = start;
+        for (TextDiffUtil.TextChange other : applied) {
+            if (segmentStart >= end) {
+                break;
+            }
+            int otherStart = start(other);
+            int otherEnd = end(other);
+            if (otherEnd <= start && otherStart < start) {
+                continue; // 앞쪽에 있는 변경
+            }
+            if (otherStart >= end) {
+                break; // 뒤쪽에 있는 변경
+            }
+            if (otherStart == otherEnd && (otherStart == start || otherStart == end)) {
+                continue; // 경계의 삽입은 범위 밖
+            }
+            if (otherStart > segmentStart) {
+                segments.add(change(mapStart(segmentStart, applied), mapEnd(otherStart, applied), ""));
+            }
+            segmentStart = Math.max(segmentStart, otherEnd);
+        }
+        if (segmentStart < end) {
+            segments.add(change(mapStart(segmentStart, applied), mapEnd(end, applied), ""));
+        }
+
+        // 삽입 텍스트는 변환한 시작 위치에 (첫 삭제 구간과 위치가 같으면 교체 하나로 합침)
+        if (!text.isEmpty()) {
+            if (!segments.isEmpty() && start(segments.get(0)) == position) {
+                segments.set(0, change(position, end(segments.get(0)), text));
+            } else {
+                out.add(change(position, position, text));
+            }
+        }
+        out.addAll(segments);
+    }
+
+    // 삽입 위치 변환: applied가 같은 위치에 넣은 텍스트와는 우선순위에 따라 앞/뒤, applied가 지운 구간 안이면 applied가 넣은 텍스트 뒤로
+    private static int mapInsert(int position, List<TextDiffUtil.TextChange> applied, boolean priority) {
+        int shift = 0;
+        for (TextDiffUtil.TextChange other : applied) {
+            if (position < start(other) || (priority && position == start(other))) {
+                break;
+            }
+            if (position >= end(other)) {
+                shift += delta(other);
+                continue;
+            }
+            return start(other) + shift + text(other).length();
+        }
+        return position + shift;
+    }
+
+    // 시작 위치 변환: applied가 지운 구간 안이면 applied가 넣은 텍스트 뒤로
+    private static int mapStart(int position, List<TextDiffUtil.TextChange> applied) {
+        int shift = 0;
+        for (TextDiffUtil.TextChange other : applied) {
+            if (position < start(other)) {
+                break;
+            }
+            if (position >= end(other)) {
+                shift += delta(other);
+                continue;
+            }
+            return start(other) + shift + text(other).length();
+        }
+        return position + shift;
+    }
+
+    // 끝 위치 변환: applied가 지운 구간 안이면 applied가 넣은 텍스트 앞으로
+    private static int mapEnd(int position, List<TextDiffUtil.TextChange> applied) {
+        int shift = 0;
+        for (TextDiffUtil.TextChange other : applied) {
+            if (position <= start(other)) {
+                break;
+            }
+            if (position >= end(other)) {
+                shift += delta(other);
+                continue;
+            }
+            return start(other) + shift;
+        }
+        return position + shift;
+    }
+
+    private static boolean isEmpty(TextDiffUtil.TextChange change) {
+        return change == null || (start(change) == end(change) && text(change).isEmpty());
+    }
+
+    private static int start(TextDiffUtil.TextChange change) {
+        return change.getRange().getStart();
+    }
+
+    private static int end(TextDiffUtil.TextChange change) {
+        return change.getRange().getEnd();
+    }
+
+    private static String text(TextDiffUtil.TextChange change) {
+        return change.getNewText() != null ? change.getNewText() : "";
+    }
+
+    private static int delta(TextDiffUtil.TextChange change) {
+        return text(change).length() - (end(change) - start(change));
+    }
+
+    private static TextDiffUtil.TextChange change(int start, int end, String text) {
+        return new TextDiffUtil.TextChange(new TextDiffUtil.TextChange.Range(start, end), text);
+    }
+
+    @Override
+    public String toString() {
+        return "TextOperation" + changes;
+    }
+}
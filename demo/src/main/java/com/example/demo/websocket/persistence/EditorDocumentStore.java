@@ -0,0 +1,212 @@
+package com.example.demo.websocket.persistence;
+
+import com.example.demo.common.CustomException;
+import com.example.demo.common.ErrorMessage;
+import com.example.demo.filecontent.entity.FileContent;
+import com.example.demo.filecontent.service.FileContentVersionStore;
+import com.example.demo.websocket.backplane.EditorRoomBackplane;
+import com.example.demo.websocket.config.EditorProperties;
+import com.example.demo.websocket.document.EditorDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에디터 메모리 문서 저장소 (write-behind)
+ *
+ * - 첫 세션 입장 시 DB에서 최신 내용을 한 번만 로드
+ * - 편집은 메모리 문서에만 반영하고, 별도 writer 스레드가 모아서 스냅샷으로 저장
+ * - 시간/편집 수 임계값을 넘었을 때, 마지막 세션이 나갈 때 저장
+ * - 여러 노드가 같은 파일을 열고 있으면 backplane의 writer 권한을 가진 노드만 저장
+ *   다른 노드는 DB에 같은 버전 이상이 저장된 것을 확인해야 저장된 것으로 표시 (writer가 종료되면 권한 만료 후 이어서 저장)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EditorDocumentStore implements DisposableBean {
+
+    private final FileContentVersionStore fileContentVersionStore;
+    private final EditorProperties editorProperties;
+    private final EditorRoomBackplane backplane;
+
+    // room이 열려 있는 문서
+    private final Map<Long, EditorDocument> openDocuments = new ConcurrentHashMap<>();
+    // room이 닫혀 저장을 기다리는 문서 (저장 전에 다시 열리면 그대로 재사용)
+    private final Map<Long, EditorDocument> closingDocuments = new ConcurrentHashMap<>();
+    // DB 저장 전용 단일 스레드 (파일별 저장 순서 보장)
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "editor-document-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 문서 열기 (room 생성 시 호출)
+     *
+     * @param fileId 파일 ID
+     * @return 메모리 문서
+     */
+    public EditorDocument open(Long fileId) {
+        EditorDocument document = closingDocuments.remove(fileId);
+        if (document == null) {
+            document = load(fileId);
+        }
+        openDocuments.put(fileId, document);
+        return document;
+    }
+
+    /**
+     * 문서 닫기 (마지막 세션이 나갈 때 호출)
+     * - 남은 변경 사항을 비동기로 저장
+     *
+     * @param document 닫을 문서
+     */
+    public void close(EditorDocument document) {
+        Long fileId = document.getFileId();
+        openDocuments.remove(fileId, document);
+        closingDocuments.put(fileId, document);
+        writer.execute(() -> flushClosing(document));
+    }
+
+    /**
+     * 저장 시점이 된 문서를 writer 큐에 등록
+     */
+    @Scheduled(fixedDelayString = "${editor.persistence.tick-millis:500}")
+    public void flushDueDocuments() {
+        EditorProperties.Persistence persistence = editorProperties.getPersistence();
+        long now = System.currentTimeMillis();
+
+        for (EditorDocument document : openDocuments.values()) {
+            if (document.isFlushDue(now, persistence.getFlushIntervalMillis(), persistence.getFlushEditThreshold())
+                && document.markFlushQueued()) {
+                writer.execute(() -> flush(document));
+            }
+        }
+
+        // 닫힐 때 저장에 실패한 문서 재시도
+        for (EditorDocument document : closingDocuments.values()) {
+            if (!document.isFlushDeferred(now) && document.markFlushQueued()) {
+                writer.execute(() -> flushClosing(document));
+            }
+        }
+    }
+
+    // DB에서 최신 내용 로드 (없으면 빈 문서, 버전 0)
+    private EditorDocument load(Long fileId) {
+        int operationLogSize = editorProperties.getDocument().getOperationLogSize();
+        return fileContentVersionStore.findLatest(fileId)
+            .map(content -> new EditorDocument(
+                fileId, fileContentVersionStore.reconstruct(content), content.getVersion(), operationLogSize))
+            .orElseGet(() -> new EditorDocument(fileId, "", 0, operationLogSize));
+    }
+
+    // 닫힌 문서 저장 후 저장이 끝났으면 대기 목록에서 제거
+    private void flushClosing(EditorDocument document) {
+        if (flush(document)) {
+            closingDocuments.remove(document.getFileId(), document);
+            // 이 노드에서 더 저장할 것이 없으므로 다른 노드가 저장할 수 있도록 권한 반납
+            if (!openDocuments.containsKey(document.getFileId())) {
+                backplane.releaseWriter(document.getFileId());
+            }
+        }
+    }
+
+    /**
+     * 스냅샷 저장 (writer 스레드에서만 호출)
+     *
+     * @return 저장할 변경이 없거나 저장(확인)이 끝나 더 저장할 것이 없으면 true
+     */
+    private boolean flush(EditorDocument document) {
+        EditorDocument.Snapshot snapshot = document.snapshotForFlush();
+        if (snapshot == null) {
+            return true;
+        }
+
+        Long fileId = document.getFileId();
+        try {
+            // 같은 파일을 연 다른 노드가 저장 중 → 그 노드가 이 버전 이상을 저장했을 때만 저장된 것으로 표시
+            // (모든 노드가 같은 연산 순서를 적용하므로 같은 버전이면 내용 동일)
+            if (!backplane.tryAcquireWriter(fileId)) {
+                if (fileContentVersionStore.findLatestVersion(fileId) >= snapshot.getVersion()) {
+                    document.markPersisted(snapshot);
+                    return true;
+                }
+                deferFlush(document);
+                return false;
+            }
+
+            // 직전 저장 텍스트를 넘겨 DELTA 계산 시 복원 생략
+            fileContentVersionStore.append(fileId, snapshot.getVersion(), snapshot.getText(),
+                snapshot.getPreviousVersion(), snapshot.getPreviousText(), snapshot.getAuthorId());
+            document.markPersisted(snapshot);
+            log.debug("문서 스냅샷 저장 완료: fileId={}, version={}", fileId, snapshot.getVersion());
+            return true;
+        } catch (CustomException e) {
+            if (e.getErrorMessage() == ErrorMessage.FILE_CONTENT_VERSION_CONFLICT) {
+                return resolveConflict(document, snapshot);
+            }
+            log.error("문서 스냅샷 저장 실패: fileId={}, version={}, error={}",
+                fileId, snapshot.getVersion(), e.getMessage());
+            return false;
+        } catch (Exception e) {
+            log.error("문서 스냅샷 저장 실패: fileId={}, version={}, error={}",
+                fileId, snapshot.getVersion(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * DB에 같거나 더 높은 버전이 이미 있는 경우 (권한이 넘어가기 전 다른 노드가 저장했거나 room 밖에서 저장됨)
+     * - 같은 버전, 같은 내용이면 저장된 것으로 표시
+     * - 아니면 저장된 것으로 표시하지 않음
+     *   열린 문서: 버전이 DB 버전을 넘으면 DB 최신 내용 기준으로 이어서 저장
+     *   닫힌 문서: 더 높은 버전으로 저장할 수 없으므로 버림 (다음에 열 때 DB 최신 내용을 로드)
+     *
+     * @return 더 저장할 것이 없으면 true
+     */
+    private boolean resolveConflict(EditorDocument document, EditorDocument.Snapshot snapshot) {
+        Long fileId = document.getFileId();
+        FileContent head = fileContentVersionStore.findLatest(fileId).orElse(null);
+        if (head != null && head.getVersion() == snapshot.getVersion()
+            && fileContentVersionStore.reconstruct(head).equals(snapshot.getText())) {
+            document.markPersisted(snapshot);
+            return true;
+        }
+
+        log.warn("DB에 더 높은 버전이 있어 문서 스냅샷을 저장하지 않음: fileId={}, version={}, DB 버전={}",
+            fileId, snapshot.getVersion(), head != null ? head.getVersion() : null);
+        deferFlush(document);
+        return true;
+    }
+
+    // 저장하지 못한 스냅샷은 다음 저장 주기에 다시 시도
+    private void deferFlush(EditorDocument document) {
+        document.deferFlush(System.currentTimeMillis() + editorProperties.getPersistence().getFlushIntervalMillis());
+    }
+
+    /**
+     * 애플리케이션 종료 시 남은 변경 사항 저장
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (EditorDocument document : openDocuments.values()) {
+            writer.execute(() -> flush(document));
+        }
+        for (EditorDocument document : closingDocuments.values()) {
+            writer.execute(() -> flushClosing(document));
+        }
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("문서 저장이 제한 시간 안에 끝나지 않았습니다.");
+            writer.shutdownNow();
+        }
+    }
+}
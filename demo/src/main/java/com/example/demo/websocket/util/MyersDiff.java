@@ -0,0 +1,183 @@
+package com.example.demo.websocket.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Myers diff (선형 공간, middle snake 분할 정복)
+ *
+ * - 정수 토큰 배열(줄 해시 ID 등) 두 개를 비교하여 변경 구간(hunk) 목록 반환
+ * - 각 단계에서 정방향/역방향 탐색이 만나는 middle snake로 문제를 둘로 나눠 O(N + M) 공간만 사용
+ * - 시간 제한(deadline)을 넘기면 TimeBudgetExceededException (호출자가 단순 diff로 대체)
+ */
+final class MyersDiff {
+
+    private MyersDiff() {
+    }
+
+    /**
+     * @param a 이전 토큰
+     * @param b 새 토큰
+     * @param deadlineNanos System.nanoTime() 기준 제한 시각
+     * @return 변경 구간 목록 {aStart, aEnd, bStart, bEnd} (aStart 오름차순, 인접 구간은 병합)
+     */
+    static List<int[]> diff(int[] a, int[] b, long deadlineNanos) {
+        List<int[]> hunks = new ArrayList<>();
+        // 탐색 배열은 가장 큰 첫 호출 크기로 한 번만 할당하여 재귀 호출에서 재사용
+        int vLength = 2 * ((a.length + b.length + 1) / 2) + 2;
+        int[][] scratch = {new int[vLength], new int[vLength]};
+        diff(a, 0, a.length, b, 0, b.length, deadlineNanos, scratch, hunks);
+        return hunks;
+    }
+
+    private static void diff(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi,
+                             long deadlineNanos, int[][] scratch, List<int[]> hunks) {
+        // 공통 앞부분/뒷부분 제거
+        while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+            aLo++;
+            bLo++;
+        }
+        while (aLo < aHi && bLo < bHi && a[aHi - 1] == b[bHi - 1]) {
+            aHi--;
+            bHi--;
+        }
+
+        if (aLo == aHi || bLo == bHi) {
+            if (aLo < aHi || bLo < bHi) {
+                addHunk(hunks, aLo, aHi, bLo, bHi);
+            }
+            return;
+        }
+
+        int[] split = middleSnake(a, aLo, aHi, b, bLo, bHi, deadlineNanos, scratch);
+        if (split == null || (split[0] == 0 && split[1] == 0) || (split[0] == aHi - aLo && split[1] == bHi - bLo)) {
+            // 공통 부분 없음 → 전체 교체
+            addHunk(hunks, aLo, aHi, bLo, bHi);
+            return;
+        }
+
+        diff(a, aLo, aLo + split[0], b, bLo, bLo + split[1], deadlineNanos, scratch, hunks);
+        diff(a, aLo + split[0], aHi, b, bLo + split[1], bHi, deadlineNanos, scratch, hunks);
+    }
+
+    /**
+     * 정방향/역방향 경로가 겹치는 지점 탐색
+     *
+     * @return 구간 시작 기준 분할 위치 {x, y}, 찾지 못하면 null
+     */
+    private static int[] middleSnake(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi, long deadlineNanos,
+                                     int[][] scratch) {
+        int n = aHi - aLo;
+        int m = bHi - bLo;
+        int maxD = (n + m + 1) / 2;
+        int vOffset = maxD;
+        int vLength = 2 * maxD + 2;
+        int[] v1 = scratch[0];
+        int[] v2 = scratch[1];
+        Arrays.fill(v1, 0, vLength, -1);
+        Arrays.fill(v2, 0, vLength, -1);
+        v1[vOffset + 1] = 0;
+        v2[vOffset + 1] = 0;
+
+        int delta = n - m;
+        // 차이가 홀수면 정방향 탐색에서, 짝수면 역방향 탐색에서 겹침 확인
+        boolean front = (delta % 2 != 0);
+        int k1Start = 0;
+        int k1End = 0;
+        int k2Start = 0;
+        int k2End = 0;
+
+        for (int d = 0; d < maxD; d++) {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                throw new TimeBudgetExceededException();
+            }
+
+            // 정방향
+            for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+                int k1Offset = vOffset + k1;
+                int x1;
+                if (k1 == -d || (k1 != d && v1[k1Offset - 1] < v1[k1Offset + 1])) {
+                    x1 = v1[k1Offset + 1];
+                } else {
+                    x1 = v1[k1Offset - 1] + 1;
+                }
+                int y1 = x1 - k1;
+                while (x1 < n && y1 < m && a[aLo + x1] == b[bLo + y1]) {
+                    x1++;
+                    y1++;
+                }
+                v1[k1Offset] = x1;
+
+                if (x1 > n) {
+                    k1End += 2; // 오른쪽 경계 초과
+                } else if (y1 > m) {
+                    k1Start += 2; // 아래쪽 경계 초과
+                } else if (front) {
+                    int k2Offset = vOffset + delta - k1;
+                    if (k2Offset >= 0 && k2Offset < vLength && v2[k2Offset] != -1) {
+                        int x2 = n - v2[k2Offset];
+                        if (x1 >= x2) {
+                            return new int[] {x1, y1};
+                        }
+                    }
+                }
+            }
+
+            // 역방향
+            for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+                int k2Offset = vOffset + k2;
+                int x2;
+                if (k2 == -d || (k2 != d && v2[k2Offset - 1] < v2[k2Offset + 1])) {
+                    x2 = v2[k2Offset + 1];
+                } else {
+                    x2 = v2[k2Offset - 1] + 1;
+                }
+                int y2 = x2 - k2;
+                while (x2 < n && y2 < m && a[aHi - x2 - 1] == b[bHi - y2 - 1]) {
+                    x2++;
+                    y2++;
+                }
+                v2[k2Offset] = x2;
+
+                if (x2 > n) {
+                    k2End += 2;
+                } else if (y2 > m) {
+                    k2Start += 2;
+                } else if (!front) {
+                    int k1Offset = vOffset + delta - k2;
+                    if (k1Offset >= 0 && k1Offset < vLength && v1[k1Offset] != -1) {
+                        int x1 = v1[k1Offset];
+                        int y1 = vOffset + x1 - k1Offset;
+                        if (x1 >= n - x2) {
+                            return new int[] {x1, y1};
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // 직전 구간과 맞닿아 있으면 병합
+    private static void addHunk(List<int[]> hunks, int aLo, int aHi, int bLo, int bHi) {
+        if (!hunks.isEmpty()) {
+            int[] last = hunks.get(hunks.size() - 1);
+            if (last[1] == aLo && last[3] == bLo) {
+                last[1] = aHi;
+                last[3] = bHi;
+                return;
+            }
+        }
+        hunks.add(new int[] {aLo, aHi, bLo, bHi});
+    }
+
+    /**
+     * 시간 제한 초과
+     */
+    static class TimeBudgetExceededException extends RuntimeException {
+        TimeBudgetExceededException() {
+            super("diff time budget exceeded", null, false, false);
+        }
+    }
+}
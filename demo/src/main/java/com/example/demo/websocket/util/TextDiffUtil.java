@@ -4,7 +4,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class TextDiffUtil {
+
+    // 줄 단위 diff 기본 시간 제한 (넘기면 공통 앞/뒤 제외 한 구간으로 대체)
+    public static final long DEFAULT_DIFF_TIME_BUDGET_MILLIS = 50;
     
     /**
      * 두 텍스트를 비교하여 변경 사항 계산
@@ -45,6 +53,192 @@ public class TextDiffUtil {
         return new TextChange(range, newTextPart);
     }
     
+    /**
+     * 두 텍스트를 비교하여 떨어진 위치의 변경을 각각의 변경 사항으로 계산 (기본 시간 제한)
+     *
+     * @see #calculateDiffs(String, String, long)
+     */
+    public static List<TextChange> calculateDiffs(String oldText, String newText) {
+        return calculateDiffs(oldText, newText, DEFAULT_DIFF_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * 두 텍스트를 비교하여 떨어진 위치의 변경을 각각의 변경 사항으로 계산
+     * - 줄 단위 Myers diff로 변경된 줄 구간(hunk)을 찾고, 구간마다 앞뒤 공통 문자를 제외
+     * - 찾기/바꾸기, 포매터 실행처럼 여러 곳이 바뀌어도 변경된 부분만 전송
+     * - 시간 제한을 넘기면 calculateDiff 결과(공통 앞/뒤 제외 한 구간)로 대체
+     *
+     * @param oldText 이전 텍스트
+     * @param newText 새 텍스트
+     * @param timeBudgetMillis 줄 단위 diff 시간 제한
+     * @return 변경 사항 목록 (이전 텍스트 좌표, start 오름차순, 서로 겹치지 않음, 변경이 없으면 빈 리스트)
+     */
+    public static List<TextChange> calculateDiffs(String oldText, String newText, long timeBudgetMillis) {
+        if (oldText == null) oldText = "";
+        if (newText == null) newText = "";
+
+        TextChange whole = calculateDiff(oldText, newText);
+        if (whole == null) {
+            return new ArrayList<>();
+        }
+
+        // 공통 앞/뒤를 제외한 가운데 부분만 줄 단위로 비교
+        int start = whole.getRange().getStart();
+        int oldEnd = whole.getRange().getEnd();
+        int newEnd = start + whole.getNewText().length();
+        if (oldEnd == start || newEnd == start) {
+            // 순수 삽입/삭제는 이미 최소 변경
+            return new ArrayList<>(Collections.singletonList(whole));
+        }
+
+        long deadlineNanos = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int[] oldLineStarts = lineStarts(oldText, start, oldEnd);
+        int[] newLineStarts = lineStarts(newText, start, newEnd);
+
+        List<int[]> hunks;
+        try {
+            LineInterner interner = new LineInterner(oldLineStarts.length + newLineStarts.length, deadlineNanos);
+            int[] oldLines = interner.intern(oldText.toCharArray(), oldLineStarts);
+            int[] newLines = interner.intern(newText.toCharArray(), newLineStarts);
+            hunks = MyersDiff.diff(oldLines, newLines, deadlineNanos);
+        } catch (MyersDiff.TimeBudgetExceededException e) {
+            return new ArrayList<>(Collections.singletonList(whole));
+        }
+
+        List<TextChange> changes = new ArrayList<>();
+        for (int[] hunk : hunks) {
+            int hunkOldStart = oldLineStarts[hunk[0]];
+            int hunkOldEnd = oldLineStarts[hunk[1]];
+            int hunkNewStart = newLineStarts[hunk[2]];
+            int hunkNewEnd = newLineStarts[hunk[3]];
+
+            // 구간 안에서도 공통 앞/뒤 문자 제외
+            while (hunkOldStart < hunkOldEnd && hunkNewStart < hunkNewEnd
+                && oldText.charAt(hunkOldStart) == newText.charAt(hunkNewStart)) {
+                hunkOldStart++;
+                hunkNewStart++;
+            }
+            while (hunkOldEnd > hunkOldStart && hunkNewEnd > hunkNewStart
+                && oldText.charAt(hunkOldEnd - 1) == newText.charAt(hunkNewEnd - 1)) {
+                hunkOldEnd--;
+                hunkNewEnd--;
+            }
+
+            if (hunkOldStart < hunkOldEnd || hunkNewStart < hunkNewEnd) {
+                changes.add(new TextChange(
+                    new TextChange.Range(hunkOldStart, hunkOldEnd),
+                    newText.substring(hunkNewStart, hunkNewEnd)
+                ));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * [from, to) 구간의 줄('\n' 포함) 시작 위치 (마지막에 to 추가 → 줄 수 + 1개)
+     */
+    private static int[] lineStarts(String text, int from, int to) {
+        int count = 0;
+        for (int i = text.indexOf('\n', from); i >= 0 && i < to - 1; i = text.indexOf('\n', i + 1)) {
+            count++;
+        }
+
+        int[] starts = new int[count + 2];
+        starts[0] = from;
+        int index = 1;
+        for (int i = text.indexOf('\n', from); i >= 0 && i < to - 1; i = text.indexOf('\n', i + 1)) {
+            starts[index++] = i + 1;
+        }
+        starts[index] = to;
+        return starts;
+    }
+
+    /**
+     * 줄 내용 → 정수 ID (같은 내용이면 같은 ID)
+     * - 부분 문자열을 만들지 않고 원문 구간 그대로 해시/비교 (open addressing)
+     */
+    private static class LineInterner {
+        private final long deadlineNanos;
+        private final int[] slots; // ID + 1 (0이면 빈 칸)
+        private final int[] hashes;
+        private final char[][] texts;
+        private final int[] starts;
+        private final int[] ends;
+        private int size;
+
+        LineInterner(int maxLines, long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+            int capacity = Integer.highestOneBit(Math.max(16, maxLines * 2) - 1) << 1;
+            this.slots = new int[capacity];
+            this.hashes = new int[maxLines];
+            this.texts = new char[maxLines][];
+            this.starts = new int[maxLines];
+            this.ends = new int[maxLines];
+        }
+
+        int[] intern(char[] text, int[] lineStarts) {
+            int[] ids = new int[lineStarts.length - 1];
+            for (int i = 0; i < ids.length; i++) {
+                // 큰 입력은 줄 ID 변환만으로도 시간 제한을 넘길 수 있으므로 주기적으로 확인
+                if ((i & 0xFFF) == 0xFFF && System.nanoTime() - deadlineNanos > 0) {
+                    throw new MyersDiff.TimeBudgetExceededException();
+                }
+                ids[i] = intern(text, lineStarts[i], lineStarts[i + 1]);
+            }
+            return ids;
+        }
+
+        private int intern(char[] text, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + text[i];
+            }
+
+            int mask = slots.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (hashes[id] == hash && ends[id] - starts[id] == end - start
+                    && Arrays.equals(text, start, end, texts[id], starts[id], ends[id])) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int id = size++;
+            hashes[id] = hash;
+            texts[id] = text;
+            starts[id] = start;
+            ends[id] = end;
+            slots[slot] = id + 1;
+            return id;
+        }
+    }
+
+    /**
+     * 텍스트에 변경 사항 적용 (calculateDiff의 역연산)
+     *
+     * @param text 이전 텍스트
+     * @param change 변경 사항 (null이면 변경 없음)
+     * @return 변경이 적용된 텍스트
+     */
+    public static String applyChange(String text, TextChange change) {
+        if (text == null) text = "";
+        if (change == null) {
+            return text;
+        }
+
+        int start = change.getRange().getStart();
+        int end = change.getRange().getEnd();
+        String newText = change.getNewText() != null ? change.getNewText() : "";
+
+        return new StringBuilder(text.length() - (end - start) + newText.length())
+            .append(text, 0, start)
+            .append(newText)
+            .append(text, end, text.length())
+            .toString();
+    }
+    
     // 변경 사항을 나타내는 내부 클래스
     @Data
     @NoArgsConstructor
@@ -0,0 +1,321 @@
+package com.example.demo.websocket.util;
+
+/**
+ * 편집용 텍스트 rope (불변)
+ *
+ * - 최대 MAX_LEAF 글자의 조각(leaf)을 AVL 균형 트리로 연결 → 위치 기반 삽입/삭제가 O(log n)
+ * - 편집은 바뀐 경로의 노드만 새로 만들고 나머지는 공유 → 스냅샷은 참조 복사만으로 충분
+ * - 노드마다 줄바꿈 수를 보관하여 줄 번호 ↔ 위치 변환도 O(log n)
+ * - 전체 문자열(toString)은 저장/전체 전송이 필요할 때만 만듦
+ */
+public final class TextRope {
+
+    static final int MAX_LEAF = 1024;
+
+    private static final TextRope EMPTY = new TextRope(new Leaf(""));
+
+    private final Node root;
+
+    private TextRope(Node root) {
+        this.root = root;
+    }
+
+    public static TextRope empty() {
+        return EMPTY;
+    }
+
+    public static TextRope of(String text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        int leafCount = (text.length() + MAX_LEAF - 1) / MAX_LEAF;
+        return new TextRope(build(text, 0, leafCount));
+    }
+
+    // leaf 구간을 반으로 나누어 쌓음 (양쪽 높이 차이 최대 1)
+    private static Node build(String text, int fromLeaf, int toLeaf) {
+        if (toLeaf - fromLeaf == 1) {
+            int start = fromLeaf * MAX_LEAF;
+            return new Leaf(text.substring(start, Math.min(text.length(), start + MAX_LEAF)));
+        }
+        int middle = (fromLeaf + toLeaf) >>> 1;
+        return new Branch(build(text, fromLeaf, middle), build(text, middle, toLeaf));
+    }
+
+    public int length() {
+        return root.length;
+    }
+
+    public boolean isEmpty() {
+        return root.length == 0;
+    }
+
+    /**
+     * 줄 수 (줄바꿈 수 + 1)
+     */
+    public int lineCount() {
+        return root.newlines + 1;
+    }
+
+    public char charAt(int index) {
+        checkIndex(index, root.length);
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            if (index < branch.left.length) {
+                node = branch.left;
+            } else {
+                index -= branch.left.length;
+                node = branch.right;
+            }
+        }
+        return ((Leaf) node).text.charAt(index);
+    }
+
+    public String substring(int start, int end) {
+        checkRange(start, end, root.length);
+        StringBuilder builder = new StringBuilder(end - start);
+        append(root, start, end, builder);
+        return builder.toString();
+    }
+
+    /**
+     * [start, end) 구간을 text로 교체한 새 rope
+     */
+    public TextRope replace(int start, int end, String text) {
+        checkRange(start, end, root.length);
+        Node[] head = split(root, start);
+        Node tail = split(head[1], end - start)[1];
+        Node result = head[0];
+        if (text != null && !text.isEmpty()) {
+            result = join(result, leaves(text));
+        }
+        return new TextRope(join(result, tail));
+    }
+
+    public TextRope insert(int offset, String text) {
+        return replace(offset, offset, text);
+    }
+
+    public TextRope delete(int start, int end) {
+        return replace(start, end, "");
+    }
+
+    /**
+     * 줄의 시작 위치
+     *
+     * @param line 줄 번호 (0부터 시작)
+     */
+    public int lineStartOffset(int line) {
+        checkIndex(line, lineCount());
+        if (line == 0) {
+            return 0;
+        }
+        // line번째 줄바꿈 바로 뒤
+        int remaining = line;
+        int offset = 0;
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            if (remaining <= branch.left.newlines) {
+                node = branch.left;
+            } else {
+                remaining -= branch.left.newlines;
+                offset += branch.left.length;
+                node = branch.right;
+            }
+        }
+        String text = ((Leaf) node).text;
+        int index = -1;
+        for (int i = 0; i < remaining; i++) {
+            index = text.indexOf('\n', index + 1);
+        }
+        return offset + index + 1;
+    }
+
+    /**
+     * 위치가 속한 줄 번호 (위치 앞의 줄바꿈 수)
+     *
+     * @param offset 0 ~ length
+     */
+    public int lineOfOffset(int offset) {
+        checkIndex(offset, root.length + 1);
+        int line = 0;
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            if (offset < branch.left.length) {
+                node = branch.left;
+            } else {
+                offset -= branch.left.length;
+                line += branch.left.newlines;
+                node = branch.right;
+            }
+        }
+        String text = ((Leaf) node).text;
+        for (int i = 0; i < offset; i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(root.length);
+        append(root, 0, root.length, builder);
+        return builder.toString();
+    }
+
+    private static void append(Node node, int start, int end, StringBuilder builder) {
+        if (start >= end) {
+            return;
+        }
+        if (node instanceof Leaf) {
+            builder.append(((Leaf) node).text, start, end);
+            return;
+        }
+        Branch branch = (Branch) node;
+        int leftLength = branch.left.length;
+        if (start < leftLength) {
+            append(branch.left, start, Math.min(end, leftLength), builder);
+        }
+        if (end > leftLength) {
+            append(branch.right, Math.max(0, start - leftLength), end - leftLength, builder);
+        }
+    }
+
+    // 삽입 텍스트를 leaf 크기로 나누어 트리로 만듦
+    private static Node leaves(String text) {
+        if (text.length() <= MAX_LEAF) {
+            return new Leaf(text);
+        }
+        return of(text).root;
+    }
+
+    /**
+     * offset 위치에서 둘로 나눔 (join 기반이라 O(log n))
+     */
+    private static Node[] split(Node node, int offset) {
+        if (offset <= 0) {
+            return new Node[] {EMPTY.root, node};
+        }
+        if (offset >= node.length) {
+            return new Node[] {node, EMPTY.root};
+        }
+        if (node instanceof Leaf) {
+            String text = ((Leaf) node).text;
+            return new Node[] {new Leaf(text.substring(0, offset)), new Leaf(text.substring(offset))};
+        }
+        Branch branch = (Branch) node;
+        int leftLength = branch.left.length;
+        if (offset < leftLength) {
+            Node[] parts = split(branch.left, offset);
+            return new Node[] {parts[0], join(parts[1], branch.right)};
+        }
+        if (offset == leftLength) {
+            return new Node[] {branch.left, branch.right};
+        }
+        Node[] parts = split(branch.right, offset - leftLength);
+        return new Node[] {join(branch.left, parts[0]), parts[1]};
+    }
+
+    /**
+     * 두 트리를 순서대로 이어 붙임 (높이 차이만큼만 내려가며 AVL 균형 유지)
+     * - 작은 leaf끼리는 하나로 합쳐 한 글자씩 입력해도 조각이 늘어나지 않도록 함
+     */
+    private static Node join(Node left, Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        if (left instanceof Leaf && right instanceof Leaf && left.length + right.length <= MAX_LEAF) {
+            return new Leaf(((Leaf) left).text + ((Leaf) right).text);
+        }
+        if (left.height > right.height + 1) {
+            Branch branch = (Branch) left;
+            return balance(branch.left, join(branch.right, right));
+        }
+        if (right.height > left.height + 1) {
+            Branch branch = (Branch) right;
+            return balance(join(left, branch.left), branch.right);
+        }
+        return new Branch(left, right);
+    }
+
+    // 높이 차이가 2가 된 경우 회전
+    private static Node balance(Node left, Node right) {
+        if (right.height > left.height + 1) {
+            Branch heavy = (Branch) right;
+            if (heavy.left.height > heavy.right.height) {
+                Branch inner = (Branch) heavy.left;
+                return new Branch(new Branch(left, inner.left), new Branch(inner.right, heavy.right));
+            }
+            return new Branch(new Branch(left, heavy.left), heavy.right);
+        }
+        if (left.height > right.height + 1) {
+            Branch heavy = (Branch) left;
+            if (heavy.right.height > heavy.left.height) {
+                Branch inner = (Branch) heavy.right;
+                return new Branch(new Branch(heavy.left, inner.left), new Branch(inner.right, right));
+            }
+            return new Branch(heavy.left, new Branch(heavy.right, right));
+        }
+        return new Branch(left, right);
+    }
+
+    private static void checkIndex(int index, int length) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+    }
+
+    private static void checkRange(int start, int end, int length) {
+        if (start < 0 || end < start || end > length) {
+            throw new IndexOutOfBoundsException("range [" + start + ", " + end + "), length " + length);
+        }
+    }
+
+    private abstract static class Node {
+        final int length;
+        final int newlines;
+        final int height;
+
+        Node(int length, int newlines, int height) {
+            this.length = length;
+            this.newlines = newlines;
+            this.height = height;
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final String text;
+
+        Leaf(String text) {
+            super(text.length(), countNewlines(text), 0);
+            this.text = text;
+        }
+
+        private static int countNewlines(String text) {
+            int count = 0;
+            for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static final class Branch extends Node {
+        final Node left;
+        final Node right;
+
+        Branch(Node left, Node right) {
+            super(left.length + right.length, left.newlines + right.newlines, Math.max(left.height, right.height) + 1);
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
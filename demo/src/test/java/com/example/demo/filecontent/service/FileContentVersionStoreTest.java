@@ -0,0 +1,222 @@
+package com.example.demo.filecontent.service;
+
+import com.example.demo.file.entity.FileEntity;
+import com.example.demo.file.repository.FileRepository;
+import com.example.demo.filecontent.entity.ContentBlob;
+import com.example.demo.filecontent.entity.FileContent;
+import com.example.demo.filecontent.repository.ContentBlobRepository;
+import com.example.demo.filecontent.repository.FileContentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파일 내용 버전 저장/복원 (H2 MySQL 모드, blob 저장은 MySQL의 INSERT ... ON DUPLICATE KEY UPDATE 사용)
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.url=jdbc:h2:mem:filecontent;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.data.redis.host=localhost",
+    "spring.data.redis.port=6379",
+    "jwt.secret=ZmlsZWNvbnRlbnQtdGVzdC1zZWNyZXQta2V5LWZvci1obWFjLXNoYTI1Ng==",
+    "jwt.token-validity-in-seconds=3600",
+    "execution.pool.enabled=false",
+    "execution.class-cache.enabled=false",
+    "file-content.keyframe-interval=3",
+    "file-content.compaction-enabled=false"
+})
+class FileContentVersionStoreTest {
+
+    @MockitoBean
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private FileContentVersionStore versionStore;
+
+    @Autowired
+    private ContentBlobStore blobStore;
+
+    @Autowired
+    private FileContentCompactor compactor;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private FileContentRepository fileContentRepository;
+
+    @Autowired
+    private ContentBlobRepository contentBlobRepository;
+
+    @Test
+    void storedTextIsLoadedFromBlob() {
+        String text = source("store", 40);
+
+        String hash = blobStore.store(text);
+
+        assertThat(blobStore.load(hash)).isEqualTo(text);
+        assertThat(contentBlobRepository.findById(hash))
+            .get()
+            .extracting(ContentBlob::getEncoding)
+            .isEqualTo(ContentBlob.Encoding.DEFLATE);
+    }
+
+    @Test
+    void sameTextSharesOneBlob() {
+        String text = source("dedup", 5);
+
+        String first = blobStore.store(text);
+        String second = blobStore.store(text);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(contentBlobRepository.findById(first))
+            .get()
+            .extracting(ContentBlob::getRefCount)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void blobIsDeletedWhenReferencesReachZero() {
+        String hash = blobStore.store(source("release", 5));
+        blobStore.store(source("release", 5));
+
+        blobStore.release(Map.of(hash, 1));
+        assertThat(contentBlobRepository.findById(hash)).isPresent();
+
+        blobStore.release(Map.of(hash, 1));
+        assertThat(contentBlobRepository.findById(hash)).isEmpty();
+    }
+
+    @Test
+    void deleteAllReleasesSharedKeyframeBlobs() {
+        Long fileId = createFile();
+        String text = source("delete", 5);
+        // v1, v4가 같은 텍스트의 키프레임 → blob 하나를 두 번 참조
+        versionStore.appendNext(fileId, text, 1L);
+        versionStore.appendNext(fileId, text + "a", 1L);
+        versionStore.appendNext(fileId, text + "ab", 1L);
+        versionStore.appendNext(fileId, text, 1L);
+        String hash = ContentBlobStore.hash(text);
+        assertThat(contentBlobRepository.findById(hash)).get().extracting(ContentBlob::getRefCount).isEqualTo(2);
+
+        versionStore.deleteAll(fileId);
+
+        assertThat(fileContentRepository.findByFileIdOrderByVersionDesc(fileId)).isEmpty();
+        assertThat(contentBlobRepository.findById(hash)).isEmpty();
+        assertThat(fileRepository.findById(fileId)).get().extracting(FileEntity::getHeadContentId).isNull();
+    }
+
+    @Test
+    void versionsAreReconstructedAcrossKeyframes() {
+        Long fileId = createFile();
+        List<String> texts = appendVersions(fileId, "reconstruct", 8);
+
+        List<FileContent> rows = fileContentRepository.findByFileIdOrderByVersionDesc(fileId);
+        assertThat(rows).filteredOn(FileContent::isKeyframe)
+            .extracting(FileContent::getVersion)
+            .containsExactlyInAnyOrder(1, 4, 7);
+
+        for (FileContent row : rows) {
+            assertThat(versionStore.reconstruct(row)).isEqualTo(texts.get(row.getVersion() - 1));
+        }
+        Map<Integer, String> all = versionStore.reconstructAll(rows);
+        for (int version = 1; version <= texts.size(); version++) {
+            assertThat(all.get(version)).isEqualTo(texts.get(version - 1));
+        }
+    }
+
+    @Test
+    void compactionKeepsTextOfRemainingVersions() {
+        Long fileId = createFile();
+        List<String> texts = appendVersions(fileId, "compact", 10);
+
+        // 모든 버전이 시간 단위 보존 구간에 들어가는 시각 기준으로 압축 (최신 키프레임 v10 이후는 건드리지 않음)
+        boolean compacted = compactor.compact(fileId, LocalDateTime.now().plusDays(2));
+
+        assertThat(compacted).isTrue();
+        List<FileContent> rows = fileContentRepository.findByFileIdOrderByVersionDesc(fileId);
+        assertThat(rows).hasSizeLessThan(texts.size());
+        assertThat(rows).extracting(FileContent::getVersion).contains(9, 10);
+        for (FileContent row : rows) {
+            assertThat(versionStore.reconstruct(row)).isEqualTo(texts.get(row.getVersion() - 1));
+        }
+        assertThat(versionStore.reconstruct(versionStore.findLatest(fileId).orElseThrow()))
+            .isEqualTo(texts.get(texts.size() - 1));
+    }
+
+    @Test
+    void concurrentAppendsGetConsecutiveVersions() throws Exception {
+        Long fileId = createFile();
+        int writers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<FileContent>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                String text = source("concurrent-" + i, 3);
+                long authorId = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return versionStore.appendNext(fileId, text, authorId);
+                }));
+            }
+            start.countDown();
+
+            List<Integer> versions = new ArrayList<>();
+            for (Future<FileContent> future : futures) {
+                versions.add(future.get(30, TimeUnit.SECONDS).getVersion());
+            }
+
+            // 파일 행 잠금으로 순서대로 저장 → 같은 번호 충돌 없이 1부터 이어짐
+            assertThat(versions).containsExactlyInAnyOrder(1, 2, 3, 4);
+            assertThat(fileRepository.findById(fileId)).get().extracting(FileEntity::getHeadVersion).isEqualTo(writers);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createFile() {
+        FileEntity file = FileEntity.create(1L, null, "Main-" + UUID.randomUUID() + ".java", FileEntity.FileType.FILE);
+        return fileRepository.save(file).getId();
+    }
+
+    // 매 버전 줄 하나를 덧붙여 저장
+    private List<String> appendVersions(Long fileId, String name, int count) {
+        List<String> texts = new ArrayList<>();
+        String text = source(name, 3);
+        for (int version = 1; version <= count; version++) {
+            text = text + "    int v" + version + " = " + version + ";\n";
+            versionStore.appendNext(fileId, text, 1L);
+            texts.add(text);
+        }
+        return texts;
+    }
+
+    // 테스트마다 다른 텍스트 (blob이 테스트 사이에 공유되지 않도록)
+    private static String source(String name, int lines) {
+        StringBuilder builder = new StringBuilder("class " + name.replace('-', '_') + " {\n");
+        for (int i = 0; i < lines; i++) {
+            builder.append("    // ").append(name).append(" line ").append(i).append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.demo.websocket.backplane;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 테스트용 Redis 대역 (여러 노드의 RedisEditorRoomBackplane이 공유)
+ *
+ * - backplane이 쓰는 명령만 메모리에서 처리 (집합, 문자열 키, TTL, writer 반납 스크립트)
+ * - TTL은 advance로 움직이는 가상 시계 기준
+ * - pub/sub은 처리하지 않음 (listener container는 아무 일도 하지 않는 mock)
+ */
+public class InMemoryRedis {
+
+    private final Map<String, Set<String>> sets = new HashMap<>();
+    private final Map<String, String> values = new HashMap<>();
+    private final Map<String, Long> expireAt = new HashMap<>();
+    private long now;
+
+    private final SetOperations<String, String> setOperations;
+    private final ValueOperations<String, String> valueOperations;
+    private final RedisTemplate<String, String> template;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryRedis() {
+        setOperations = mock(SetOperations.class, this::answerSet);
+        valueOperations = mock(ValueOperations.class, this::answerValue);
+        template = mock(RedisTemplate.class, this::answerTemplate);
+    }
+
+    public RedisTemplate<String, String> template() {
+        return template;
+    }
+
+    public RedisMessageListenerContainer listenerContainer() {
+        return mock(RedisMessageListenerContainer.class);
+    }
+
+    /**
+     * 가상 시계를 앞으로 이동 (만료된 키는 다음 조회 때 사라짐)
+     */
+    public synchronized void advance(long millis) {
+        now += millis;
+    }
+
+    public synchronized Set<String> members(String key) {
+        return new HashSet<>(sets.getOrDefault(key, Set.of()));
+    }
+
+    public synchronized boolean exists(String key) {
+        expire();
+        return values.containsKey(key) || sets.containsKey(key);
+    }
+
+    private synchronized Object answerTemplate(InvocationOnMock invocation) {
+        expire();
+        Object[] arguments = invocation.getArguments();
+        switch (invocation.getMethod().getName()) {
+            case "opsForSet":
+                return setOperations;
+            case "opsForValue":
+                return valueOperations;
+            case "hasKey":
+                return values.containsKey((String) arguments[0]) || sets.containsKey((String) arguments[0]);
+            case "delete":
+                return remove((String) arguments[0]);
+            case "expire":
+                if (!values.containsKey((String) arguments[0])) {
+                    return false;
+                }
+                expireAt.put((String) arguments[0], now + ((Duration) arguments[1]).toMillis());
+                return true;
+            case "execute":
+                // RELEASE_WRITER_SCRIPT: 값이 같을 때만 삭제
+                String key = ((List<?>) arguments[1]).get(0).toString();
+                if (arguments[2].equals(values.get(key))) {
+                    remove(key);
+                    return 1L;
+                }
+                return 0L;
+            default:
+                return null;
+        }
+    }
+
+    private synchronized Object answerSet(InvocationOnMock invocation) {
+        expire();
+        Object[] arguments = invocation.getArguments();
+        String key = (String) arguments[0];
+        long changed = 0;
+        switch (invocation.getMethod().getName()) {
+            case "add":
+                Set<String> set = sets.computeIfAbsent(key, k -> new LinkedHashSet<>());
+                for (int i = 1; i < arguments.length; i++) {
+                    changed += set.add((String) arguments[i]) ? 1 : 0;
+                }
+                return changed;
+            case "remove":
+                Set<String> members = sets.get(key);
+                for (int i = 1; members != null && i < arguments.length; i++) {
+                    changed += members.remove(arguments[i]) ? 1 : 0;
+                }
+                // Redis처럼 빈 집합은 키 삭제
+                if (members != null && members.isEmpty()) {
+                    sets.remove(key);
+                }
+                return changed;
+            case "members":
+                return sets.containsKey(key) ? new LinkedHashSet<>(sets.get(key)) : Set.of();
+            case "size":
+                return (long) sets.getOrDefault(key, Set.of()).size();
+            default:
+                return null;
+        }
+    }
+
+    private synchronized Object answerValue(InvocationOnMock invocation) {
+        expire();
+        Object[] arguments = invocation.getArguments();
+        String key = (String) arguments[0];
+        switch (invocation.getMethod().getName()) {
+            case "get":
+                return values.get(key);
+            case "set":
+                values.put(key, (String) arguments[1]);
+                setTtl(key, arguments);
+                return null;
+            case "setIfAbsent":
+                if (values.containsKey(key)) {
+                    return false;
+                }
+                values.put(key, (String) arguments[1]);
+                setTtl(key, arguments);
+                return true;
+            default:
+                return null;
+        }
+    }
+
+    private void setTtl(String key, Object[] arguments) {
+        if (arguments.length > 2 && arguments[2] instanceof Duration) {
+            expireAt.put(key, now + ((Duration) arguments[2]).toMillis());
+        } else {
+            expireAt.remove(key);
+        }
+    }
+
+    private boolean remove(String key) {
+        expireAt.remove(key);
+        return values.remove(key) != null | sets.remove(key) != null;
+    }
+
+    private void expire() {
+        expireAt.entrySet().removeIf(entry -> {
+            if (entry.getValue() <= now) {
+                values.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.websocket.backplane;
+
+import com.example.demo.websocket.config.EditorProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisEditorRoomBackplaneTest {
+
+    private static final Long FILE_ID = 1L;
+    private static final String NODES_KEY = "editor:room-nodes:" + FILE_ID;
+
+    private final InMemoryRedis redis = new InMemoryRedis();
+    private final EditorProperties properties = new EditorProperties();
+    private final List<RedisEditorRoomBackplane> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(RedisEditorRoomBackplane::destroy);
+    }
+
+    @Test
+    void secondNodeSeesFirstNode() {
+        RedisEditorRoomBackplane first = node();
+        RedisEditorRoomBackplane second = node();
+
+        assertThat(first.subscribe(FILE_ID)).isFalse();
+        assertThat(second.subscribe(FILE_ID)).isTrue();
+        assertThat(redis.members(NODES_KEY)).containsExactlyInAnyOrder(first.getNodeId(), second.getNodeId());
+    }
+
+    @Test
+    void deadNodeIsRemovedFromRoomNodes() {
+        RedisEditorRoomBackplane crashed = node();
+        RedisEditorRoomBackplane survivor = node();
+        crashed.subscribe(FILE_ID);
+        survivor.subscribe(FILE_ID);
+
+        // crashed 노드는 생존 표시를 갱신하지 못함
+        redis.advance(properties.getBackplane().getNodeTtlMillis());
+        survivor.heartbeat();
+
+        assertThat(survivor.hasOtherNodes(FILE_ID)).isFalse();
+        assertThat(redis.members(NODES_KEY)).containsExactly(survivor.getNodeId());
+
+        // 남은 노드도 나가면 집합 키가 사라짐
+        survivor.unsubscribe(FILE_ID);
+        assertThat(redis.exists(NODES_KEY)).isFalse();
+    }
+
+    @Test
+    void nodeWhoseRegistrationExpiredRestoresItOnHeartbeat() {
+        RedisEditorRoomBackplane slow = node();
+        RedisEditorRoomBackplane other = node();
+        slow.subscribe(FILE_ID);
+        other.subscribe(FILE_ID);
+
+        redis.advance(properties.getBackplane().getNodeTtlMillis());
+        other.heartbeat();
+        assertThat(other.hasOtherNodes(FILE_ID)).isFalse();
+
+        slow.heartbeat();
+        assertThat(other.hasOtherNodes(FILE_ID)).isTrue();
+        assertThat(redis.members(NODES_KEY)).contains(slow.getNodeId());
+    }
+
+    @Test
+    void writerIsHandedOverWhenLeaseExpires() {
+        RedisEditorRoomBackplane crashed = node();
+        RedisEditorRoomBackplane survivor = node();
+
+        assertThat(crashed.tryAcquireWriter(FILE_ID)).isTrue();
+        assertThat(survivor.tryAcquireWriter(FILE_ID)).isFalse();
+
+        redis.advance(properties.getBackplane().getWriterLeaseMillis());
+
+        assertThat(survivor.tryAcquireWriter(FILE_ID)).isTrue();
+        assertThat(crashed.tryAcquireWriter(FILE_ID)).isFalse();
+    }
+
+    @Test
+    void releasedWriterCanBeAcquiredByAnotherNode() {
+        RedisEditorRoomBackplane first = node();
+        RedisEditorRoomBackplane second = node();
+        first.tryAcquireWriter(FILE_ID);
+
+        // 다른 노드의 반납은 무시
+        second.releaseWriter(FILE_ID);
+        assertThat(second.tryAcquireWriter(FILE_ID)).isFalse();
+
+        first.releaseWriter(FILE_ID);
+        assertThat(second.tryAcquireWriter(FILE_ID)).isTrue();
+    }
+
+    private RedisEditorRoomBackplane node() {
+        RedisEditorRoomBackplane node = new RedisEditorRoomBackplane(
+            redis.template(), redis.listenerContainer(), new ObjectMapper(), properties);
+        nodes.add(node);
+        return node;
+    }
+}
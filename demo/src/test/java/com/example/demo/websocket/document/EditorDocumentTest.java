@@ -0,0 +1,274 @@
+package com.example.demo.websocket.document;
+
+import com.example.demo.websocket.ot.TextOperation;
+import com.example.demo.websocket.util.TextDiffUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EditorDocumentTest {
+
+    @Test
+    void pipelinedTextChangesFromSameSessionAreNotAppliedTwice() {
+        EditorDocument document = new EditorDocument(1L, "hello", 0, 100);
+
+        submitContent(document, "A", 0, 1, "hello!");
+        submitContent(document, "A", 0, 2, "hello!!");
+
+        assertThat(document.getText()).isEqualTo("hello!!");
+        assertThat(document.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentTextChangesFromDifferentSessionsAreMerged() {
+        EditorDocument document = new EditorDocument(1L, "abc", 0, 100);
+
+        submitContent(document, "A", 0, 1, "abcX");
+        submitContent(document, "B", 0, 1, "Yabc");
+        submitContent(document, "A", 0, 2, "abcXZ");
+
+        assertThat(document.getText()).isEqualTo("YabcXZ");
+    }
+
+    @Test
+    void pipelinedEditIsTransformedOnlyAgainstOtherSessions() {
+        EditorDocument document = new EditorDocument(1L, "hello", 0, 100);
+
+        submitContent(document, "A", 0, 1, "hello!");
+        submitContent(document, "B", 0, 1, ">>hello");
+        // A는 자기 편집(v1)만 받은 상태에서 "h"를 지움
+        submitContent(document, "A", 1, 2, "ello!");
+
+        assertThat(document.getText()).isEqualTo(">>ello!");
+    }
+
+    @Test
+    void pipelinedTextOperationsKeepBothKeystrokes() {
+        EditorDocument document = new EditorDocument(1L, "hello", 0, 100);
+
+        submitOperation(document, "A", 0, 1, insert(5, "!"));
+        // 두 번째 입력은 첫 입력이 반영된 클라이언트 텍스트("hello!") 기준 → 기준 버전 길이(5)를 넘어도 유효
+        EditorDocument.ClientEdit second = submitOperation(document, "A", 0, 2, insert(6, "?"));
+
+        assertThat(second.getStatus()).isEqualTo(EditorDocument.ClientEdit.Status.TRANSFORMED);
+        assertThat(document.getText()).isEqualTo("hello!?");
+    }
+
+    @Test
+    void pipelinedTextOperationsAreMergedWithConcurrentEdit() {
+        EditorDocument document = new EditorDocument(1L, "hello", 0, 100);
+
+        submitOperation(document, "A", 0, 1, insert(5, "!"));
+        submitOperation(document, "B", 0, 1, insert(0, ">>"));
+        submitOperation(document, "A", 0, 2, insert(6, "?"));
+
+        assertThat(document.getText()).isEqualTo(">>hello!?");
+    }
+
+    @Test
+    void textOperationOutsideClientTextIsRejected() {
+        EditorDocument document = new EditorDocument(1L, "hello", 0, 100);
+        submitOperation(document, "B", 0, 1, insert(5, " world"));
+
+        // A는 v0("hello")만 받은 상태 → 서버 텍스트 길이로는 유효해도 세션 좌표에서는 범위 밖
+        EditorDocument.ClientEdit edit = submitOperation(document, "A", 0, 1, insert(8, "!"));
+
+        assertThat(edit.getStatus()).isEqualTo(EditorDocument.ClientEdit.Status.INVALID);
+        assertThat(document.getText()).isEqualTo("hello world");
+    }
+
+    @Test
+    void duplicateClientSeqIsIgnored() {
+        EditorDocument document = new EditorDocument(1L, "hello", 0, 100);
+
+        submitContent(document, "A", 0, 1, "hello!");
+        EditorDocument.ClientEdit duplicate = document.transformClientEdit("A", 0, 1, null, "hello!");
+
+        assertThat(duplicate.getStatus()).isEqualTo(EditorDocument.ClientEdit.Status.DUPLICATE);
+        assertThat(document.getText()).isEqualTo("hello!");
+    }
+
+    @Test
+    void editOutsideOperationLogRequiresResync() {
+        EditorDocument document = new EditorDocument(1L, "", 0, 2);
+        submitContent(document, "B", 0, null, "a");
+        submitContent(document, "B", 1, null, "ab");
+        submitContent(document, "B", 2, null, "abc");
+
+        EditorDocument.ClientEdit edit = document.transformClientEdit("A", 0, null, null, "x");
+
+        assertThat(edit.getStatus()).isEqualTo(EditorDocument.ClientEdit.Status.OUT_OF_LOG);
+    }
+
+    @Test
+    void sessionTextKeepsOwnEditsAndRevertsOthersAfterBaseVersion() {
+        EditorDocument document = new EditorDocument(1L, "hello", 0, 100);
+        submitContent(document, "A", 0, 1, "hello!");
+        submitContent(document, "B", 0, 1, ">>hello");
+
+        assertThat(document.sessionText("A", 1).toString()).isEqualTo("hello!");
+        assertThat(document.sessionText("A", 2).toString()).isEqualTo(">>hello!");
+        assertThat(document.sessionText("C", 0).toString()).isEqualTo("hello");
+
+        // 세션이 연결된 노드가 세션 좌표 텍스트와 비교한 연산 = 전체 텍스트로 보낸 편집과 같은 결과
+        TextOperation operation = TextOperation.diff(document.sessionText("A", 1).toString(), "ello!");
+        submitOperation(document, "A", 1, 2, operation);
+
+        assertThat(document.getText()).isEqualTo(">>ello!");
+    }
+
+    @Test
+    void sessionTextIsUnknownAfterOwnEditLeftTheBridge() {
+        EditorDocument document = new EditorDocument(1L, "", 0, 1);
+        submitContent(document, "A", 0, null, "a");
+        submitContent(document, "B", 0, null, "ab");
+        submitContent(document, "B", 2, null, "abc");
+
+        assertThat(document.sessionText("A", 0)).isNull();
+    }
+
+    @Test
+    void sessionBridgesMoveWithReplacedState() {
+        EditorDocument source = new EditorDocument(1L, "hello", 0, 100);
+        submitContent(source, "A", 0, 1, "hello!");
+        submitContent(source, "B", 0, 1, ">>hello");
+
+        EditorDocument replica = new EditorDocument(1L, "", 0, 100);
+        replica.replaceWith(source.getText(), source.getVersion(), source.getOperationLogEntries(),
+            source.getSessionBridges());
+        submitContent(source, "A", 1, 2, "ello!");
+        submitContent(replica, "A", 1, 2, "ello!");
+
+        assertThat(replica.getText()).isEqualTo(source.getText()).isEqualTo(">>ello!");
+    }
+
+    @Test
+    void randomConcurrentAndPipelinedEditsConverge() {
+        Random random = new Random(7);
+        for (int run = 0; run < 500; run++) {
+            String initial = "abcdefgh";
+            EditorDocument document = new EditorDocument(1L, initial, 0, 1000);
+            List<Client> clients = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                clients.add(new Client("s" + i, initial));
+            }
+            Deque<Object[]> network = new ArrayDeque<>();
+
+            for (int step = 0; step < 60; step++) {
+                Client client = clients.get(random.nextInt(clients.size()));
+                int action = random.nextInt(3);
+                if (action == 0) {
+                    network.add(client.edit(random));
+                } else if (action == 1 && !network.isEmpty()) {
+                    deliver(document, clients, network.poll());
+                } else {
+                    client.receiveOne();
+                }
+            }
+            while (!network.isEmpty()) {
+                deliver(document, clients, network.poll());
+            }
+            for (Client client : clients) {
+                client.receiveAll();
+                assertThat(client.text).as("run %d, %s", run, client.id).isEqualTo(document.getText());
+            }
+        }
+    }
+
+    // 서버 처리: 변환 후 적용, 모든 클라이언트에 순서대로 전달 (변경이 없으면 보낸 세션에만 확인 응답)
+    private static void deliver(EditorDocument document, List<Client> clients, Object[] edit) {
+        String sessionId = (String) edit[0];
+        EditorDocument.ClientEdit result = document.transformClientEdit(sessionId, (Integer) edit[1],
+            (Integer) edit[2], (TextOperation) edit[3], null);
+        assertThat(result.getStatus()).isEqualTo(EditorDocument.ClientEdit.Status.TRANSFORMED);
+
+        TextOperation operation = result.getOperation();
+        int version = operation.isNoop()
+            ? document.getVersion()
+            : document.apply(operation, 1L, sessionId);
+        for (Client client : clients) {
+            if (!operation.isNoop() || client.id.equals(sessionId)) {
+                client.inbox.add(new Object[]{version, operation, sessionId});
+            }
+        }
+    }
+
+    private static EditorDocument.ClientEdit submitContent(EditorDocument document, String sessionId,
+                                                           int baseVersion, Integer clientSeq, String content) {
+        EditorDocument.ClientEdit edit = document.transformClientEdit(sessionId, baseVersion, clientSeq, null, content);
+        if (edit.getStatus() == EditorDocument.ClientEdit.Status.TRANSFORMED && !edit.getOperation().isNoop()) {
+            document.apply(edit.getOperation(), 1L, sessionId);
+        }
+        return edit;
+    }
+
+    private static EditorDocument.ClientEdit submitOperation(EditorDocument document, String sessionId,
+                                                             int baseVersion, Integer clientSeq, TextOperation operation) {
+        EditorDocument.ClientEdit edit = document.transformClientEdit(sessionId, baseVersion, clientSeq, operation, null);
+        if (edit.getStatus() == EditorDocument.ClientEdit.Status.TRANSFORMED && !edit.getOperation().isNoop()) {
+            document.apply(edit.getOperation(), 1L, sessionId);
+        }
+        return edit;
+    }
+
+    private static TextOperation insert(int position, String text) {
+        return TextOperation.of(new TextDiffUtil.TextChange(new TextDiffUtil.TextChange.Range(position, position), text));
+    }
+
+    // 확인받지 않은 편집을 보관하고, 받은 연산을 그 편집들에 맞춰 변환하는 클라이언트
+    private static class Client {
+        private final String id;
+        private String text;
+        private int version;
+        private int seq;
+        private final List<TextOperation> pending = new ArrayList<>();
+        private final Deque<Object[]> inbox = new ArrayDeque<>();
+
+        Client(String id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        Object[] edit(Random random) {
+            int start = random.nextInt(text.length() + 1);
+            int end = Math.min(text.length(), start + random.nextInt(3));
+            String inserted = random.nextInt(4) == 0 && end > start ? "" : String.valueOf((char) ('A' + random.nextInt(26)));
+            TextOperation operation = TextOperation.of(
+                new TextDiffUtil.TextChange(new TextDiffUtil.TextChange.Range(start, end), inserted));
+            text = operation.apply(text);
+            pending.add(operation);
+            return new Object[]{id, version, ++seq, operation};
+        }
+
+        void receiveOne() {
+            Object[] message = inbox.poll();
+            if (message == null) {
+                return;
+            }
+            version = (Integer) message[0];
+            if (id.equals(message[2])) {
+                pending.remove(0);
+                return;
+            }
+            TextOperation incoming = (TextOperation) message[1];
+            for (int i = 0; i < pending.size(); i++) {
+                TextOperation own = pending.get(i);
+                pending.set(i, own.transform(incoming));
+                incoming = incoming.transform(own, true);
+            }
+            text = incoming.apply(text);
+        }
+
+        void receiveAll() {
+            while (!inbox.isEmpty()) {
+                receiveOne();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.websocket.ot;
+
+import com.example.demo.websocket.util.TextDiffUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextOperationTest {
+
+    @Test
+    void transformPlacesConcurrentInsertAfterAppliedInsert() {
+        TextOperation applied = insert(5, "!");
+        TextOperation operation = insert(5, "?");
+
+        assertThat(operation.transform(applied).apply("hello!")).isEqualTo("hello!?");
+        assertThat(operation.transform(applied, true).apply("hello!")).isEqualTo("hello?!");
+    }
+
+    @Test
+    void transformKeepsTextInsertedInsideDeletedRange() {
+        TextOperation applied = insert(2, "XY");
+        TextOperation operation = replace(1, 4, "");
+
+        assertThat(operation.transform(applied).apply(applied.apply("abcde"))).isEqualTo("aXYe");
+    }
+
+    @Test
+    void transformWithOppositePriorityConvergesForRandomOperations() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String base = randomText(random, random.nextInt(12));
+            TextOperation a = randomOperation(random, base.length());
+            TextOperation b = randomOperation(random, base.length());
+
+            String ab = a.transform(b, false).apply(b.apply(base));
+            String ba = b.transform(a, true).apply(a.apply(base));
+            assertThat(ab).as("base=%s a=%s b=%s", base, a, b).isEqualTo(ba);
+        }
+    }
+
+    @Test
+    void invertRestoresBaseText() {
+        String base = "hello world";
+        TextOperation operation = TextOperation.of(List.of(change(0, 5, "bye"), change(6, 6, "big ")));
+
+        assertThat(operation.invert(base).apply(operation.apply(base))).isEqualTo(base);
+    }
+
+    private static TextOperation randomOperation(Random random, int length) {
+        List<TextDiffUtil.TextChange> changes = new ArrayList<>();
+        int position = 0;
+        int count = random.nextInt(3) + 1;
+        for (int i = 0; i < count && position <= length; i++) {
+            int start = position + random.nextInt(length - position + 1);
+            int end = start + random.nextInt(Math.min(3, length - start) + 1);
+            String text = random.nextBoolean() ? randomText(random, random.nextInt(3)) : "";
+            changes.add(change(start, end, text));
+            position = end + 1;
+        }
+        return TextOperation.of(changes);
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+
+    private static TextOperation insert(int position, String text) {
+        return TextOperation.of(change(position, position, text));
+    }
+
+    private static TextOperation replace(int start, int end, String text) {
+        return TextOperation.of(change(start, end, text));
+    }
+
+    private static TextDiffUtil.TextChange change(int start, int end, String text) {
+        return new TextDiffUtil.TextChange(new TextDiffUtil.TextChange.Range(start, end), text);
+    }
+}
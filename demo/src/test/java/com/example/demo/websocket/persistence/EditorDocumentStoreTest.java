@@ -0,0 +1,218 @@
+package com.example.demo.websocket.persistence;
+
+import com.example.demo.common.CustomException;
+import com.example.demo.common.ErrorMessage;
+import com.example.demo.filecontent.entity.FileContent;
+import com.example.demo.filecontent.service.FileContentVersionStore;
+import com.example.demo.websocket.backplane.InMemoryRedis;
+import com.example.demo.websocket.backplane.RedisEditorRoomBackplane;
+import com.example.demo.websocket.config.EditorProperties;
+import com.example.demo.websocket.document.EditorDocument;
+import com.example.demo.websocket.ot.TextOperation;
+import com.example.demo.websocket.util.TextDiffUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EditorDocumentStoreTest {
+
+    private static final Long FILE_ID = 1L;
+    private static final long FLUSH_INTERVAL_MILLIS = 60_000;
+
+    private final InMemoryRedis redis = new InMemoryRedis();
+    private final EditorProperties properties = new EditorProperties();
+    private final InMemoryVersionStore database = new InMemoryVersionStore();
+    private final List<RedisEditorRoomBackplane> backplanes = new ArrayList<>();
+    private final List<EditorDocumentStore> stores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.getPersistence().setFlushEditThreshold(1);
+        properties.getPersistence().setFlushIntervalMillis(FLUSH_INTERVAL_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (EditorDocumentStore store : stores) {
+            store.destroy();
+        }
+        backplanes.forEach(RedisEditorRoomBackplane::destroy);
+    }
+
+    @Test
+    void nonWriterKeepsEditsUntilWriterLeaseExpires() {
+        RedisEditorRoomBackplane crashed = backplane();
+        // 저장 권한을 가진 노드가 저장하기 전에 종료됨
+        crashed.tryAcquireWriter(FILE_ID);
+
+        EditorDocumentStore store = store(backplane());
+        EditorDocument document = store.open(FILE_ID);
+        document.apply(insert(0, "a"), 1L, null);
+
+        flushAndWaitForDeferral(store, document);
+        assertThat(database.latestVersion()).isZero();
+        assertThat(hasUnsavedEdits(document)).isTrue();
+
+        // 권한이 만료되면 이 노드가 이어서 저장
+        redis.advance(properties.getBackplane().getWriterLeaseMillis());
+        document.deferFlush(0);
+        store.flushDueDocuments();
+
+        await(() -> database.latestVersion() == 1);
+        assertThat(database.text(1)).isEqualTo("a");
+        await(() -> !hasUnsavedEdits(document));
+    }
+
+    @Test
+    void nonWriterMarksPersistedOnlyWhenWriterSavedSameVersion() {
+        backplane().tryAcquireWriter(FILE_ID);
+
+        EditorDocumentStore store = store(backplane());
+        EditorDocument document = store.open(FILE_ID);
+        document.apply(insert(0, "a"), 1L, null);
+        // writer 노드가 같은 연산 순서로 v1 저장
+        database.put(1, "a");
+
+        store.flushDueDocuments();
+
+        await(() -> database.latestVersionReads() > 0 && !hasUnsavedEdits(document));
+        assertThat(database.appendCount()).isZero();
+    }
+
+    @Test
+    void conflictingSnapshotIsNotMarkedPersisted() {
+        database.put(1, "x");
+        EditorDocumentStore store = store(backplane());
+        EditorDocument document = store.open(FILE_ID);
+
+        // room 밖에서 v2가 먼저 저장됨
+        database.put(2, "external");
+        document.apply(insert(1, "a"), 1L, null);
+
+        flushAndWaitForDeferral(store, document);
+        assertThat(database.text(2)).isEqualTo("external");
+        assertThat(hasUnsavedEdits(document)).isTrue();
+
+        // DB 버전을 넘는 다음 편집부터 DB 최신 내용 위에 저장
+        document.apply(insert(2, "b"), 1L, null);
+        document.deferFlush(0);
+        store.flushDueDocuments();
+
+        await(() -> database.latestVersion() == 3);
+        assertThat(database.text(3)).isEqualTo("xab");
+    }
+
+    private void flushAndWaitForDeferral(EditorDocumentStore store, EditorDocument document) {
+        store.flushDueDocuments();
+        await(() -> document.isFlushDeferred(System.currentTimeMillis()));
+    }
+
+    // 보류를 풀었을 때 저장 대상인지 (저장된 것으로 표시되지 않은 편집이 있는지)
+    private static boolean hasUnsavedEdits(EditorDocument document) {
+        long now = System.currentTimeMillis();
+        return document.isFlushDeferred(now) || document.isFlushDue(now, FLUSH_INTERVAL_MILLIS, 1);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 만족하지 않음");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private RedisEditorRoomBackplane backplane() {
+        RedisEditorRoomBackplane backplane = new RedisEditorRoomBackplane(
+            redis.template(), redis.listenerContainer(), new ObjectMapper(), properties);
+        backplanes.add(backplane);
+        return backplane;
+    }
+
+    private EditorDocumentStore store(RedisEditorRoomBackplane backplane) {
+        EditorDocumentStore store = new EditorDocumentStore(database, properties, backplane);
+        stores.add(store);
+        return store;
+    }
+
+    private static TextOperation insert(int position, String text) {
+        return TextOperation.of(new TextDiffUtil.TextChange(new TextDiffUtil.TextChange.Range(position, position), text));
+    }
+
+    // 버전별 전체 텍스트만 보관하는 저장소 (append의 버전 충돌 규칙은 실제 저장소와 같음)
+    private static class InMemoryVersionStore extends FileContentVersionStore {
+        private final TreeMap<Integer, String> versions = new TreeMap<>();
+        private int appendCount;
+        private int latestVersionReads;
+
+        InMemoryVersionStore() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public synchronized FileContent append(Long fileId, Integer version, String newText, Integer knownVersion,
+                                               String knownText, Long authorId) {
+            if (!versions.isEmpty() && versions.lastKey() >= version) {
+                throw new CustomException(ErrorMessage.FILE_CONTENT_VERSION_CONFLICT);
+            }
+            versions.put(version, newText);
+            appendCount++;
+            return keyframe(version);
+        }
+
+        @Override
+        public synchronized int findLatestVersion(Long fileId) {
+            latestVersionReads++;
+            return latestVersion();
+        }
+
+        @Override
+        public synchronized Optional<FileContent> findLatest(Long fileId) {
+            return versions.isEmpty() ? Optional.empty() : Optional.of(keyframe(versions.lastKey()));
+        }
+
+        @Override
+        public synchronized String reconstruct(FileContent fileContent) {
+            return versions.get(fileContent.getVersion());
+        }
+
+        synchronized void put(int version, String text) {
+            versions.put(version, text);
+        }
+
+        synchronized String text(int version) {
+            return versions.get(version);
+        }
+
+        synchronized int latestVersion() {
+            return versions.isEmpty() ? 0 : versions.lastKey();
+        }
+
+        synchronized int appendCount() {
+            return appendCount;
+        }
+
+        synchronized int latestVersionReads() {
+            return latestVersionReads;
+        }
+
+        private FileContent keyframe(int version) {
+            return FileContent.createKeyframe(FILE_ID, null, version, versions.get(version).length(), null);
+        }
+    }
+}